@@ -0,0 +1,44 @@
+package com.ahmet.hasan.yakup.esra.legalcase.api;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.AuditEntry;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.AuditedEntity;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IAuditJournal;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for the audit journal: who changed what in a case, client, hearing,
+ * document or user, oldest change first
+ */
+@RestController
+@RequestMapping("/audit")
+public class AuditController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditController.class);
+
+    private final IAuditJournal auditJournal;
+
+    @Autowired
+    public AuditController(IAuditJournal auditJournal) {
+        this.auditJournal = auditJournal;
+    }
+
+    @GetMapping("/{entityType}/{entityId}")
+    public ResponseEntity<ApiResponse<List<AuditEntry>>> getEntries(
+            @PathVariable AuditedEntity entityType,
+            @PathVariable Long entityId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        logger.info("REST request to get audit entries of {} with ID: {}", entityType, entityId);
+        ApiResponse<List<AuditEntry>> response = auditJournal.getEntries(entityType, entityId, cursor, size);
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+    }
+}
@@ -3,10 +3,13 @@ package com.ahmet.hasan.yakup.esra.legalcase.api;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ICaseService;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseSummary;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -35,29 +38,87 @@ public class CaseController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Case>> getCaseById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<Case>> getCaseById(@PathVariable Long id, @RequestHeader HttpHeaders headers) {
         logger.info("REST request to get case by ID: {}", id);
         ApiResponse<Case> response = ICaseService.getCaseById(id);
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.of(response.getData(), response.getData().getClients()).respond(headers, response);
+    }
+
+    @GetMapping("/{id}/dossier")
+    public ResponseEntity<ApiResponse<Case>> getCaseDossier(@PathVariable Long id) {
+        logger.info("REST request to get case dossier by ID: {}", id);
+        ApiResponse<Case> response = ICaseService.getCaseDossier(id);
         return new ResponseEntity<>(response,
                 response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Case>>> getAllCases() {
+    public ResponseEntity<ApiResponse<List<Case>>> getAllCases(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader HttpHeaders headers) {
         logger.info("REST request to get all cases");
-        ApiResponse<List<Case>> response = ICaseService.getAllCases();
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        // The page's ETag is read before the page is loaded, so a current copy costs one narrow query
+        ResourceVersion version = ICaseService.getCasePageVersion(cursor, size);
+        if (version != null && version.isNotModified(headers)) {
+            return version.notModified();
+        }
+        ApiResponse<List<Case>> response = ICaseService.getAllCases(cursor, size);
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.ok(version, response);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<ApiResponse<List<Case>>> getCasesByStatus(@PathVariable CaseStatus status) {
+    public ResponseEntity<ApiResponse<List<Case>>> getCasesByStatus(
+            @PathVariable CaseStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         logger.info("REST request to get cases by status: {}", status);
-        ApiResponse<List<Case>> response = ICaseService.getCasesByStatus(status);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        ApiResponse<List<Case>> response = ICaseService.getCasesByStatus(status, cursor, size);
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+    }
+
+    @GetMapping("/summaries")
+    public ResponseEntity<ApiResponse<List<CaseSummary>>> getCaseSummaries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        logger.info("REST request to get all case summaries");
+        ApiResponse<List<CaseSummary>> response = ICaseService.getCaseSummaries(cursor, size);
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+    }
+
+    @GetMapping("/status/{status}/summaries")
+    public ResponseEntity<ApiResponse<List<CaseSummary>>> getCaseSummariesByStatus(
+            @PathVariable CaseStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        logger.info("REST request to get case summaries by status: {}", status);
+        ApiResponse<List<CaseSummary>> response = ICaseService.getCaseSummariesByStatus(status, cursor, size);
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<Case>>> searchCasesByTitle(
+            @RequestParam String term,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        logger.info("REST request to search cases by title: {}", term);
+        ApiResponse<List<Case>> response = ICaseService.searchCasesByTitle(term, cursor, size);
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<Case>> updateCase(@PathVariable Long id, @RequestBody Case caseEntity) {
+    public ResponseEntity<ApiResponse<Case>> updateCase(@PathVariable Long id, @RequestBody Case caseEntity,
+            @RequestHeader HttpHeaders headers) {
         logger.info("REST request to update case with ID: {}", id);
         if (!caseEntity.getId().equals(id)) {
             return new ResponseEntity<>(
@@ -65,7 +126,18 @@ public class CaseController {
                     HttpStatus.BAD_REQUEST
             );
         }
-        ApiResponse<Case> response = ICaseService.updateCase(caseEntity);
+        ApiResponse<Case> response = ICaseService.updateCase(caseEntity, ResourceVersion.expectedVersion(headers));
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        // The new ETag lets the client send its next update without reading the case again
+        return ResourceVersion.ok(ResourceVersion.of(response.getData(), response.getData().getClients()), response);
+    }
+
+    @PostMapping("/{id}/restore")
+    public ResponseEntity<ApiResponse<Case>> restoreCase(@PathVariable Long id) {
+        logger.info("REST request to restore archived case with ID: {}", id);
+        ApiResponse<Case> response = ICaseService.restoreCase(id);
         return new ResponseEntity<>(response,
                 response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
     }
@@ -0,0 +1,124 @@
+package com.ahmet.hasan.yakup.esra.legalcase.api;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IChangeFeed;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IChangeFeed.Filter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * REST controller for the change feed: a server-sent event stream of the committed changes
+ * to cases, hearings and documents.
+ *
+ * Each change is sent as a "change" event whose id is its position in the feed. A client
+ * that reconnects sends the id it saw last (Last-Event-ID, as EventSource does, or the
+ * lastEventId parameter) and gets the changes it missed. When those are no longer known,
+ * or the client fell too far behind, a "resync" event tells it to read the current state
+ * again; the changes after it follow as usual.
+ */
+@RestController
+@RequestMapping("/changes")
+public class ChangeFeedController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedController.class);
+
+    private final IChangeFeed changeFeed;
+    private final long timeoutMillis;
+
+    @Autowired
+    public ChangeFeedController(IChangeFeed changeFeed, @Value("${changes.timeout:30m}") String timeout) {
+        this.changeFeed = changeFeed;
+        this.timeoutMillis = DurationStyle.detectAndParse(timeout).toMillis();
+    }
+
+    /**
+     * The emitter is typed so MVC streams it; a bad filter or event id is answered with 400
+     */
+    @GetMapping
+    public ResponseEntity<SseEmitter> subscribe(
+            @RequestParam(required = false) List<String> entity,
+            @RequestParam(required = false) Long caseId,
+            @RequestParam(required = false) String judge,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long lastEventId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader) {
+
+        logger.info("REST request to subscribe to changes (entity: {}, case: {}, judge: {}, status: {})",
+                entity, caseId, judge, status);
+        Set<Entity> entities = EnumSet.noneOf(Entity.class);
+        if (entity != null) {
+            for (String name : entity) {
+                try {
+                    entities.add(Entity.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown entity: " + name);
+                }
+            }
+        }
+        Long resumeAfter = lastEventId;
+        if (lastEventIdHeader != null && !lastEventIdHeader.isBlank()) {
+            try {
+                resumeAfter = Long.valueOf(lastEventIdHeader.trim());
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Last-Event-ID: " + lastEventIdHeader);
+            }
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Runnable unsubscribe = changeFeed.subscribe(
+                new Filter(entities, caseId, blankToNull(judge), blankToNull(status)), resumeAfter, new EmitterSink(emitter));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Writes the feed's events to the client's event stream
+     */
+    private record EmitterSink(SseEmitter emitter) implements IChangeFeed.Sink {
+
+        @Override
+        public void send(ChangeEvent event) throws IOException {
+            emitter.send(SseEmitter.event().id(Long.toString(event.id())).name("change")
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void resync(long lastEventId) throws IOException {
+            emitter.send(SseEmitter.event().id(Long.toString(lastEventId)).name("resync")
+                    .data(Map.of("lastEventId", lastEventId), MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.ahmet.hasan.yakup.esra.legalcase.api;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IClientService;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Client;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -37,11 +39,13 @@ public class ClientController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Client>> getClientById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<Client>> getClientById(@PathVariable Long id, @RequestHeader HttpHeaders headers) {
         logger.info("REST request to get client by ID: {}", id);
         ApiResponse<Client> response = IClientService.getClientById(id);
-        return new ResponseEntity<>(response,
-                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.of(response.getData(), response.getData().getCases()).respond(headers, response);
     }
 
     @GetMapping("/email/{email}")
@@ -53,21 +57,37 @@ public class ClientController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Client>>> getAllClients() {
+    public ResponseEntity<ApiResponse<List<Client>>> getAllClients(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader HttpHeaders headers) {
         logger.info("REST request to get all clients");
-        ApiResponse<List<Client>> response = IClientService.getAllClients();
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        // The page's ETag is read before the page is loaded, so a current copy costs one narrow query
+        ResourceVersion version = IClientService.getClientPageVersion(cursor, size);
+        if (version != null && version.isNotModified(headers)) {
+            return version.notModified();
+        }
+        ApiResponse<List<Client>> response = IClientService.getAllClients(cursor, size);
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.ok(version, response);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<Client>>> searchClients(@RequestParam String term) {
+    public ResponseEntity<ApiResponse<List<Client>>> searchClients(
+            @RequestParam String term,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         logger.info("REST request to search clients with term: {}", term);
-        ApiResponse<List<Client>> response = IClientService.searchClients(term);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        ApiResponse<List<Client>> response = IClientService.searchClients(term, cursor, size);
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<Client>> updateClient(@PathVariable Long id, @RequestBody Client client) {
+    public ResponseEntity<ApiResponse<Client>> updateClient(@PathVariable Long id, @RequestBody Client client,
+            @RequestHeader HttpHeaders headers) {
         logger.info("REST request to update client with ID: {}", id);
         if (!client.getId().equals(id)) {
             return new ResponseEntity<>(
@@ -75,9 +95,11 @@ public class ClientController {
                     HttpStatus.BAD_REQUEST
             );
         }
-        ApiResponse<Client> response = IClientService.updateClient(client);
-        return new ResponseEntity<>(response,
-                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+        ApiResponse<Client> response = IClientService.updateClient(client, ResourceVersion.expectedVersion(headers));
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.ok(ResourceVersion.of(response.getData(), response.getData().getCases()), response);
     }
 
     @DeleteMapping("/{id}")
@@ -2,15 +2,27 @@ package com.ahmet.hasan.yakup.esra.legalcase.api;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.Document;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.DocumentType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.DocumentSearchHit;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentService;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -47,54 +59,111 @@ public class DocumentController {
                 response.isSuccess() ? HttpStatus.CREATED : HttpStatus.valueOf(response.getErrorCode()));
     }
 
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<Document>> uploadDocument(
+            @RequestParam("caseId") Long caseId,
+            @RequestParam("title") String title,
+            @RequestParam("type") DocumentType type,
+            @RequestParam("file") MultipartFile file) {
+
+        logger.info("REST request to upload a document ({} bytes) for case ID: {}", file.getSize(), caseId);
+        ApiResponse<Document> response;
+        try (InputStream content = file.getInputStream()) {
+            response = documentService.createDocumentWithContent(caseId, title, type, content, file.getContentType());
+        } catch (IOException e) {
+            logger.error("Error reading uploaded document: {}", e.getMessage(), e);
+            response = ApiResponse.error("Failed to read uploaded file: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.CREATED : HttpStatus.valueOf(response.getErrorCode()));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Document>> getDocumentById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<Document>> getDocumentById(@PathVariable Long id, @RequestHeader HttpHeaders headers) {
         logger.info("REST request to get document by ID: {}", id);
         ApiResponse<Document> response = documentService.getDocumentById(id);
-        return new ResponseEntity<>(response,
-                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.of(response.getData(), response.getData().getCse()).respond(headers, response);
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Document>>> getAllDocuments() {
+    public ResponseEntity<ApiResponse<List<Document>>> getAllDocuments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader HttpHeaders headers) {
         logger.info("REST request to get all documents");
-        ApiResponse<List<Document>> response = documentService.getAllDocuments();
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        // The page's ETag is read before the page is loaded, so a current copy costs one narrow query
+        ResourceVersion version = documentService.getDocumentPageVersion(cursor, size);
+        if (version != null && version.isNotModified(headers)) {
+            return version.notModified();
+        }
+        ApiResponse<List<Document>> response = documentService.getAllDocuments(cursor, size);
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.ok(version, response);
     }
 
     @GetMapping("/case/{caseId}")
-    public ResponseEntity<ApiResponse<List<Document>>> getDocumentsByCaseId(@PathVariable Long caseId) {
+    public ResponseEntity<ApiResponse<List<Document>>> getDocumentsByCaseId(
+            @PathVariable Long caseId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader HttpHeaders headers) {
         logger.info("REST request to get documents by case ID: {}", caseId);
-        ApiResponse<List<Document>> response = documentService.getDocumentsByCaseId(caseId);
-        return new ResponseEntity<>(response,
-                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+        ResourceVersion version = documentService.getDocumentPageVersionByCaseId(caseId, cursor, size);
+        if (version != null && version.isNotModified(headers)) {
+            return version.notModified();
+        }
+        ApiResponse<List<Document>> response = documentService.getDocumentsByCaseId(caseId, cursor, size);
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.ok(version, response);
     }
 
     @GetMapping("/type/{type}")
-    public ResponseEntity<ApiResponse<List<Document>>> getDocumentsByType(@PathVariable DocumentType type) {
+    public ResponseEntity<ApiResponse<List<Document>>> getDocumentsByType(
+            @PathVariable DocumentType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         logger.info("REST request to get documents by type: {}", type);
-        ApiResponse<List<Document>> response = documentService.getDocumentsByType(type);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        ApiResponse<List<Document>> response = documentService.getDocumentsByType(type, cursor, size);
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
     }
 
+    /**
+     * Full-text search over titles and text content, best match first
+     */
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<Document>>> searchDocuments(@RequestParam String keyword) {
-        logger.info("REST request to search documents by title: {}", keyword);
-        ApiResponse<List<Document>> response = documentService.searchDocumentsByTitle(keyword);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<ApiResponse<List<DocumentSearchHit>>> searchDocuments(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        logger.info("REST request to search documents for: {}", keyword);
+        ApiResponse<List<DocumentSearchHit>> response = documentService.searchDocuments(keyword, cursor, size);
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<Document>> updateDocument(@PathVariable Long id, @RequestBody Document document) {
+    public ResponseEntity<ApiResponse<Document>> updateDocument(@PathVariable Long id, @RequestBody Document document,
+            @RequestHeader HttpHeaders headers) {
         logger.info("REST request to update document with ID: {}", id);
         if (document.getId() != null && !document.getId().equals(id)) {
             return new ResponseEntity<>(
                     ApiResponse.error("ID in the URL does not match the ID in the request body", HttpStatus.BAD_REQUEST.value()),
                     HttpStatus.BAD_REQUEST);
         }
-        ApiResponse<Document> response = documentService.updateDocument(id, document);
-        return new ResponseEntity<>(response,
-                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+        ApiResponse<Document> response = documentService.updateDocument(id, document, ResourceVersion.expectedVersion(headers));
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.ok(ResourceVersion.of(response.getData(), response.getData().getCse()), response);
     }
 
     @DeleteMapping("/{id}")
@@ -108,26 +177,100 @@ public class DocumentController {
     @GetMapping("/{id}/content")
     public ResponseEntity<ApiResponse<String>> getDocumentContent(@PathVariable Long id) {
         logger.info("REST request to get document content with ID: {}", id);
+        ApiResponse<String> response = documentService.getDocumentContent(id);
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+    }
+
+    /**
+     * Replaces the content with the raw request body (any content type, chunked bodies included),
+     * which is streamed into the content store as it arrives.
+     */
+    @PutMapping("/{id}/content")
+    public ResponseEntity<ApiResponse<Document>> updateDocumentContent(@PathVariable Long id,
+                                                                       HttpServletRequest request) {
+        logger.info("REST request to update document content with ID: {}", id);
+        String contentType = request.getContentType() != null ?
+                request.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        ApiResponse<Document> response;
+        try (InputStream content = request.getInputStream()) {
+            response = documentService.updateDocumentContent(id, content, contentType);
+        } catch (IOException e) {
+            logger.error("Error reading document content upload: {}", e.getMessage(), e);
+            response = ApiResponse.error("Failed to read request body: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+    }
+
+    /**
+     * Streams the raw content. A single byte range is answered with 206 Partial Content;
+     * multiple ranges, or an If-Range that no longer matches, get the whole body. The body is
+     * typed so MVC streams it; errors are sent as a status with an empty body.
+     */
+    @GetMapping("/{id}/download")
+    public ResponseEntity<StreamingResponseBody> downloadDocumentContent(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange) {
+        logger.info("REST request to download document content with ID: {} (range: {})", id, range);
 
-        // Get the document
         ApiResponse<Document> documentResponse = documentService.getDocumentById(id);
         if (!documentResponse.isSuccess()) {
-            return new ResponseEntity<>(
-                    ApiResponse.error("Document not found", documentResponse.getErrorCode()),
-                    HttpStatus.valueOf(documentResponse.getErrorCode()));
+            return ResponseEntity.status(documentResponse.getErrorCode()).build();
         }
-
-        // Get the content from the document
         Document document = documentResponse.getData();
-        String content = document.getContent();
+        // Without its size no range of the body can be served
+        if (!document.hasContent() || document.getContentSize() == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
 
-        if (content == null) {
-            return new ResponseEntity<>(
-                    ApiResponse.error("Document has no content", HttpStatus.NOT_FOUND.value()),
-                    HttpStatus.NOT_FOUND);
+        long size = document.getContentSize();
+        String etag = "\"" + document.getContentHash() + "\"";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setETag(etag);
+        headers.setContentType(document.getContentType() != null ?
+                MediaType.parseMediaType(document.getContentType()) : MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(document.getTitle(), StandardCharsets.UTF_8)
+                .build());
+
+        long start = 0;
+        long end = size - 1;
+        HttpStatus status = HttpStatus.OK;
+        List<HttpRange> ranges = (range != null && (ifRange == null || ifRange.equals(etag))) ?
+                parseRanges(range) : List.of();
+        if (ranges.size() == 1) {
+            try {
+                start = ranges.get(0).getRangeStart(size);
+                end = ranges.get(0).getRangeEnd(size);
+            } catch (IllegalArgumentException e) {
+                start = size;
+            }
+            if (start >= size || start > end) {
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return new ResponseEntity<>(headers, HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+            }
+            status = HttpStatus.PARTIAL_CONTENT;
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
         }
 
-        // Return the content
-        return ResponseEntity.ok(ApiResponse.success(content));
+        long offset = start;
+        long length = end - start + 1;
+        headers.setContentLength(length);
+        StreamingResponseBody body = out -> documentService.streamDocumentContent(document, offset, length, out);
+        return new ResponseEntity<>(body, headers, status);
+    }
+
+    private static List<HttpRange> parseRanges(String range) {
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            // A malformed Range header is ignored and the whole body is sent
+            return List.of();
+        }
     }
-}
\ No newline at end of file
+}
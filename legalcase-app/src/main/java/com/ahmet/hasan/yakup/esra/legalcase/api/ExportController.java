@@ -0,0 +1,116 @@
+package com.ahmet.hasan.yakup.esra.legalcase.api;
+
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IExportService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IExportService.Dataset;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Format;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST controller for full exports. The body is written while the rows are read from the
+ * database, gzip-compressed when the client accepts it (Accept-Encoding: gzip).
+ */
+@RestController
+@RequestMapping("/exports")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    private static final MediaType NDJSON = new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+    private static final MediaType CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final IExportService exportService;
+
+    @Autowired
+    public ExportController(IExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * The body is typed so MVC streams it; a bad dataset or format is answered with 400
+     */
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        logger.info("REST request to export {} as {}", dataset, format);
+        Dataset exportDataset = parse(Dataset.class, dataset);
+        if (exportDataset == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export dataset: " + dataset);
+        }
+        Format exportFormat = parse(Format.class, format);
+        if (exportFormat == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export format: " + format);
+        }
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(exportFormat == Format.CSV ? CSV : NDJSON);
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(exportDataset.name().toLowerCase(Locale.ROOT) + "." + exportFormat.name().toLowerCase(Locale.ROOT))
+                .build());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        StreamingResponseBody body = out -> {
+            if (!gzip) {
+                exportService.export(exportDataset, exportFormat, out);
+                return;
+            }
+            // Sync flush, so every periodic flush of the export reaches the client
+            GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE, true);
+            exportService.export(exportDataset, exportFormat, compressed);
+            compressed.finish();
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            // gzip;q=0 turns it down
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=") && parameter.substring(2).trim().matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -1,17 +1,23 @@
 package com.ahmet.hasan.yakup.esra.legalcase.api;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
+import com.ahmet.hasan.yakup.esra.legalcase.model.HearingEvent;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.SlotSuggestion;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingSlotSuggestionService;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -22,10 +28,12 @@ public class HearingController {
     private static final Logger logger = LoggerFactory.getLogger(HearingController.class);
 
     private final IHearingService hearingService;
+    private final IHearingSlotSuggestionService slotSuggestionService;
 
     @Autowired
-    public HearingController(IHearingService hearingService) {
+    public HearingController(IHearingService hearingService, IHearingSlotSuggestionService slotSuggestionService) {
         this.hearingService = hearingService;
+        this.slotSuggestionService = slotSuggestionService;
     }
 
     @PostMapping
@@ -50,65 +58,152 @@ public class HearingController {
                 response.isSuccess() ? HttpStatus.CREATED : HttpStatus.valueOf(response.getErrorCode()));
     }
 
+    @GetMapping("/schedule/suggestions")
+    public ResponseEntity<ApiResponse<List<SlotSuggestion>>> suggestSlots(
+            @RequestParam Long caseId,
+            @RequestParam(required = false) Integer durationMinutes,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String judge,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Integer count) {
+        logger.info("REST request to suggest hearing slots for case ID: {} between {} and {}", caseId, from, to);
+        ApiResponse<List<SlotSuggestion>> response = slotSuggestionService.suggestSlots(caseId, durationMinutes,
+                from, to, judge, location, count);
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Hearing>> getHearingById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<Hearing>> getHearingById(@PathVariable Long id, @RequestHeader HttpHeaders headers) {
         logger.info("REST request to get hearing by ID: {}", id);
         ApiResponse<Hearing> response = hearingService.getHearingById(id);
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.of(response.getData(), response.getData().getCse()).respond(headers, response);
+    }
+
+    @GetMapping("/{id}/history")
+    public ResponseEntity<ApiResponse<List<HearingEvent>>> getHearingHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        logger.info("REST request to get history of hearing with ID: {}", id);
+        ApiResponse<List<HearingEvent>> response = hearingService.getHearingHistory(id, cursor, size);
         return new ResponseEntity<>(response,
                 response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Hearing>>> getAllHearings() {
+    public ResponseEntity<ApiResponse<List<Hearing>>> getAllHearings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader HttpHeaders headers) {
         logger.info("REST request to get all hearings");
-        ApiResponse<List<Hearing>> response = hearingService.getAllHearings();
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        // The page's ETag is read before the page is loaded, so a current copy costs one narrow query
+        ResourceVersion version = hearingService.getHearingPageVersion(cursor, size);
+        if (version != null && version.isNotModified(headers)) {
+            return version.notModified();
+        }
+        ApiResponse<List<Hearing>> response = hearingService.getAllHearings(cursor, size);
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.ok(version, response);
     }
 
     @GetMapping("/case/{caseId}")
-    public ResponseEntity<ApiResponse<List<Hearing>>> getHearingsByCaseId(@PathVariable Long caseId) {
+    public ResponseEntity<ApiResponse<List<Hearing>>> getHearingsByCaseId(
+            @PathVariable Long caseId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader HttpHeaders headers) {
         logger.info("REST request to get hearings by case ID: {}", caseId);
-        ApiResponse<List<Hearing>> response = hearingService.getHearingsByCaseId(caseId);
-        return new ResponseEntity<>(response,
-                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+        ResourceVersion version = hearingService.getHearingPageVersionByCaseId(caseId, cursor, size);
+        if (version != null && version.isNotModified(headers)) {
+            return version.notModified();
+        }
+        ApiResponse<List<Hearing>> response = hearingService.getHearingsByCaseId(caseId, cursor, size);
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.ok(version, response);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<ApiResponse<List<Hearing>>> getHearingsByStatus(@PathVariable HearingStatus status) {
+    public ResponseEntity<ApiResponse<List<Hearing>>> getHearingsByStatus(
+            @PathVariable HearingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         logger.info("REST request to get hearings by status: {}", status);
-        ApiResponse<List<Hearing>> response = hearingService.getHearingsByStatus(status);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        ApiResponse<List<Hearing>> response = hearingService.getHearingsByStatus(status, cursor, size);
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
     }
 
     @GetMapping("/date-range")
     public ResponseEntity<ApiResponse<List<Hearing>>> getHearingsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
 
         logger.info("REST request to get hearings between {} and {}", start, end);
-        ApiResponse<List<Hearing>> response = hearingService.getHearingsByDateRange(start, end);
+        ApiResponse<List<Hearing>> response = hearingService.getHearingsByDateRange(start, end, cursor, size);
         return new ResponseEntity<>(response,
                 response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<ApiResponse<List<Hearing>>> getUpcomingHearings() {
+    public ResponseEntity<ApiResponse<List<Hearing>>> getUpcomingHearings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         logger.info("REST request to get upcoming hearings");
-        ApiResponse<List<Hearing>> response = hearingService.getUpcomingHearings();
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        ApiResponse<List<Hearing>> response = hearingService.getUpcomingHearings(cursor, size);
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<Hearing>>> searchHearingsByJudge(
+            @RequestParam String judge,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        logger.info("REST request to search hearings by judge: {}", judge);
+        ApiResponse<List<Hearing>> response = hearingService.searchHearingsByJudge(judge, cursor, size);
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+    }
+
+    @GetMapping("/conflicts")
+    public ResponseEntity<ApiResponse<List<Hearing>>> findConflicts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String judge,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Long excludeId) {
+        logger.info("REST request to find hearings booking judge: {} or location: {} between {} and {}",
+                judge, location, start, end);
+        ApiResponse<List<Hearing>> response = hearingService.findConflicts(judge, location, start, end, excludeId);
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<Hearing>> updateHearing(@PathVariable Long id, @RequestBody Hearing hearing) {
+    public ResponseEntity<ApiResponse<Hearing>> updateHearing(@PathVariable Long id, @RequestBody Hearing hearing,
+            @RequestHeader HttpHeaders headers) {
         logger.info("REST request to update hearing with ID: {}", id);
         if (hearing.getId() != null && !hearing.getId().equals(id)) {
             return new ResponseEntity<>(
                     ApiResponse.error("ID in the URL does not match the ID in the request body", HttpStatus.BAD_REQUEST.value()),
                     HttpStatus.BAD_REQUEST);
         }
-        ApiResponse<Hearing> response = hearingService.updateHearing(id, hearing);
-        return new ResponseEntity<>(response,
-                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+        ApiResponse<Hearing> response = hearingService.updateHearing(id, hearing, ResourceVersion.expectedVersion(headers));
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.ok(ResourceVersion.of(response.getData(), response.getData().getCse()), response);
     }
 
     @PutMapping("/{id}/status")
@@ -0,0 +1,98 @@
+package com.ahmet.hasan.yakup.esra.legalcase.api;
+
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService.ImportReport;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService.Target;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Format;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+/**
+ * REST controller for bulk imports. The request body is the NDJSON or CSV input itself
+ * (Content-Type application/x-ndjson or text/csv, or the format parameter) and is read
+ * while it arrives.
+ */
+@RestController
+@RequestMapping("/imports")
+public class ImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportController.class);
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private final IBulkImportService importService;
+
+    @Autowired
+    public ImportController(IBulkImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping("/{target}")
+    public ResponseEntity<ApiResponse<ImportReport>> importRecords(
+            @PathVariable String target,
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) {
+
+        logger.info("REST request to import {}", target);
+        Target importTarget = parse(Target.class, target);
+        if (importTarget == null) {
+            return new ResponseEntity<>(ApiResponse.error("Unknown import target: " + target,
+                    HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+        }
+        Format importFormat = format != null ? parse(Format.class, format) : formatOf(request.getContentType());
+        if (importFormat == null) {
+            return new ResponseEntity<>(ApiResponse.error("Send the records as " + NDJSON_VALUE + " or text/csv",
+                    HttpStatus.UNSUPPORTED_MEDIA_TYPE.value()), HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        }
+
+        ApiResponse<ImportReport> response;
+        try (InputStream input = request.getInputStream()) {
+            response = importService.importRecords(importTarget, importFormat, input);
+        } catch (IOException e) {
+            logger.error("Error reading import request: {}", e.getMessage(), e);
+            response = ApiResponse.error("Failed to read request body: " + e.getMessage(),
+                    HttpStatus.BAD_REQUEST.value());
+        }
+        return new ResponseEntity<>(response,
+                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+    }
+
+    private static Format formatOf(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+            return Format.CSV;
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(NDJSON_VALUE))
+                || mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return Format.NDJSON;
+        }
+        return null;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
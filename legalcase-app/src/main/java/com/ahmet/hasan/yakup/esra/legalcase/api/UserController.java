@@ -4,9 +4,11 @@ import com.ahmet.hasan.yakup.esra.legalcase.model.User;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.UserRole;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IUserService;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -47,27 +49,45 @@ public class UserController {
     /**
      * GET /users : Get all users
      *
-     * @return the ResponseEntity with status 200 (OK) and the list of users in body
+     * @param cursor the cursor returned with the previous page, omitted for the first page
+     * @param size the page size, omitted for the default
+     * @param headers the request headers, checked for If-None-Match
+     * @return the ResponseEntity with status 200 (OK) and one page of users in body, or with status 304 (Not Modified)
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<User>>> getAllUsers() {
+    public ResponseEntity<ApiResponse<List<User>>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader HttpHeaders headers) {
         logger.info("REST request to get all users");
-        ApiResponse<List<User>> response = userService.getAllUsers();
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        // The page's ETag is read before the page is loaded, so a current copy costs one narrow query
+        ResourceVersion version = userService.getUserPageVersion(cursor, size);
+        if (version != null && version.isNotModified(headers)) {
+            return version.notModified();
+        }
+        ApiResponse<List<User>> response = userService.getAllUsers(cursor, size);
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.ok(version, response);
     }
 
     /**
      * GET /users/{id} : Get user by id
      *
      * @param id the id of the user to retrieve
-     * @return the ResponseEntity with status 200 (OK) and with body the user, or with status 404 (Not Found)
+     * @param headers the request headers, checked for If-None-Match and If-Modified-Since
+     * @return the ResponseEntity with status 200 (OK) and with body the user, with status 304 (Not Modified),
+     * or with status 404 (Not Found)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<User>> getUserById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<User>> getUserById(@PathVariable Long id, @RequestHeader HttpHeaders headers) {
         logger.info("REST request to get user by ID: {}", id);
         ApiResponse<User> response = userService.getUserById(id);
-        return new ResponseEntity<>(response,
-                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.of(response.getData()).respond(headers, response);
     }
 
     /**
@@ -116,12 +136,17 @@ public class UserController {
      * GET /users/role/{role} : Get users by role
      *
      * @param role the role to filter users by
-     * @return the ResponseEntity with status 200 (OK) and the list of users in body
+     * @param cursor the cursor returned with the previous page, omitted for the first page
+     * @param size the page size, omitted for the default
+     * @return the ResponseEntity with status 200 (OK) and one page of users in body
      */
     @GetMapping("/role/{role}")
-    public ResponseEntity<ApiResponse<List<User>>> getUsersByRole(@PathVariable UserRole role) {
+    public ResponseEntity<ApiResponse<List<User>>> getUsersByRole(
+            @PathVariable UserRole role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         logger.info("REST request to get users by role: {}", role);
-        ApiResponse<List<User>> response = userService.getUsersByRole(role);
+        ApiResponse<List<User>> response = userService.getUsersByRole(role, cursor, size);
         return new ResponseEntity<>(response,
                 response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
     }
@@ -130,12 +155,17 @@ public class UserController {
      * GET /users/search : Search users by name or surname
      *
      * @param term the search term
-     * @return the ResponseEntity with status 200 (OK) and the list of users in body
+     * @param cursor the cursor returned with the previous page, omitted for the first page
+     * @param size the page size, omitted for the default
+     * @return the ResponseEntity with status 200 (OK) and one page of users in body
      */
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<User>>> searchUsers(@RequestParam String term) {
+    public ResponseEntity<ApiResponse<List<User>>> searchUsers(
+            @RequestParam String term,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         logger.info("REST request to search users with term: {}", term);
-        ApiResponse<List<User>> response = userService.searchUsers(term);
+        ApiResponse<List<User>> response = userService.searchUsers(term, cursor, size);
         return new ResponseEntity<>(response,
                 response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
     }
@@ -145,12 +175,15 @@ public class UserController {
      *
      * @param id the id of the user to update
      * @param user the user to update
-     * @return the ResponseEntity with status 200 (OK) and with body the updated user,
+     * @param headers may carry If-Match with the ETag the update is based on
+     * @return the ResponseEntity with status 200 (OK) and with body the updated user and its new ETag,
      * or with status 400 (Bad Request) if the user is not valid,
+     * or with status 412 (Precondition Failed) if the user has changed since that ETag,
      * or with status 500 (Internal Server Error) if the user couldn't be updated
      */
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<User>> updateUser(@PathVariable Long id, @RequestBody User user) {
+    public ResponseEntity<ApiResponse<User>> updateUser(@PathVariable Long id, @RequestBody User user,
+            @RequestHeader HttpHeaders headers) {
         logger.info("REST request to update user with ID: {}", id);
 
         if (user.getId() == null) {
@@ -162,9 +195,11 @@ public class UserController {
                     HttpStatus.BAD_REQUEST);
         }
 
-        ApiResponse<User> response = userService.updateUser(user);
-        return new ResponseEntity<>(response,
-                response.isSuccess() ? HttpStatus.OK : HttpStatus.valueOf(response.getErrorCode()));
+        ApiResponse<User> response = userService.updateUser(user, ResourceVersion.expectedVersion(headers));
+        if (!response.isSuccess()) {
+            return new ResponseEntity<>(response, HttpStatus.valueOf(response.getErrorCode()));
+        }
+        return ResourceVersion.ok(ResourceVersion.of(response.getData()), response);
     }
 
     /**
@@ -0,0 +1,103 @@
+package com.ahmet.hasan.yakup.esra.legalcase.config;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Client;
+import com.ahmet.hasan.yakup.esra.legalcase.model.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache for the entities read again and again: cases, clients and
+ * users by id, their detail collections, and the natural key lookups through the query
+ * cache (case number, email, username, Keycloak id).
+ *
+ * Every region is an in-process Caffeine cache with a maximum size and a time to live, so
+ * memory stays bounded and a change made outside this application (or on another node) is
+ * seen at the latest after the time to live. The update timestamps region, which tells the
+ * query cache which tables changed, must never lose entries and is left unbounded; it holds
+ * one entry per table.
+ *
+ * Hits, misses, puts and evictions of every region are published as the cache.* metrics
+ * (tagged with the region as cache) at /actuator/metrics.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    private static final URI CACHE_MANAGER_URI = URI.create("legalcase:hibernate");
+
+    static final List<String> ENTITY_REGIONS = List.of(
+            Case.CACHE_REGION, Case.CLIENTS_CACHE_REGION,
+            Client.CACHE_REGION, Client.CASES_CACHE_REGION,
+            User.CACHE_REGION);
+
+    static final String QUERY_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    static final String TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${hibernate-cache.entity.maximum-size:20000}") long entityMaximumSize,
+            @Value("${hibernate-cache.entity.time-to-live:10m}") Duration entityTimeToLive,
+            @Value("${hibernate-cache.query.maximum-size:20000}") long queryMaximumSize,
+            @Value("${hibernate-cache.query.time-to-live:5m}") Duration queryTimeToLive) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(CACHE_MANAGER_URI, HibernateCacheConfig.class.getClassLoader());
+        for (String region : ENTITY_REGIONS) {
+            createRegion(cacheManager, region, OptionalLong.of(entityMaximumSize), OptionalLong.of(entityTimeToLive.toNanos()));
+        }
+        createRegion(cacheManager, QUERY_REGION, OptionalLong.of(queryMaximumSize), OptionalLong.of(queryTimeToLive.toNanos()));
+        createRegion(cacheManager, TIMESTAMPS_REGION, OptionalLong.empty(), OptionalLong.empty());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // Every region is created above; a region missing there is a mapping mistake
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Case.clients is the owning side of Client.cases; keep the inverse collection
+            // from being served stale from the cache
+            properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+        };
+    }
+
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String region : hibernateCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(region));
+            }
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region,
+                                     OptionalLong maximumSize, OptionalLong timeToLiveNanos) {
+        if (cacheManager.getCache(region) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maximumSize);
+        configuration.setExpireAfterWrite(timeToLiveNanos);
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ahmet.hasan.yakup.esra.legalcase.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for JSON serialization of JPA entities
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Serializes only what the service's fetch plan loaded. Uninitialized lazy collections
+     * are written as null and lazy references as their identifier, instead of triggering
+     * extra queries while the response is rendered.
+     *
+     * @return Hibernate module registered with Spring's ObjectMapper
+     */
+    @Bean
+    public Module hibernateModule() {
+        Hibernate6Module module = new Hibernate6Module();
+        module.configure(Hibernate6Module.Feature.FORCE_LAZY_LOADING, false);
+        module.configure(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true);
+        return module;
+    }
+}
@@ -58,6 +58,9 @@ public class KeycloakSecurityConfig {
                         .requestMatchers("/api/hearings/**").hasAnyRole("ADMIN", "LAWYER", "JUDGE")
                         .requestMatchers("/api/clients/**").hasAnyRole("ADMIN", "LAWYER", "ASSISTANT")
                         .requestMatchers("/api/users/**").hasRole("ADMIN")
+                        .requestMatchers("/api/imports/**").hasRole("ADMIN")
+                        .requestMatchers("/api/exports/**").hasRole("ADMIN")
+                        .requestMatchers("/api/audit/**").hasRole("ADMIN")
                         // Any other request requires authentication
                         .anyRequest().authenticated()
                 )
@@ -82,8 +85,10 @@ public class KeycloakSecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Collections.singletonList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With",
+                "Range", "If-Range", "If-None-Match", "If-Modified-Since", "If-Match"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Accept-Ranges", "Content-Range",
+                "Content-Disposition", "ETag", "Last-Modified"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -0,0 +1,197 @@
+package com.ahmet.hasan.yakup.esra.legalcase.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the read replicas and everything else to the primary.
+ *
+ * The decision is taken when a connection is requested, from the transaction that is
+ * running on the thread: only a {@code @Transactional(readOnly = true)} transaction goes to
+ * a replica. Work outside a transaction (startup migrations, index rebuilds) stays on the
+ * primary. The transaction manager asks for a connection before it marks the transaction
+ * read-only, so this data source must sit behind a LazyConnectionDataSourceProxy, which
+ * fetches the connection on the first statement.
+ *
+ * Replicas are taken in turn. A replica whose pool fails to hand out a connection is
+ * skipped until the periodic health check finds it valid again; with no healthy replica
+ * the reads go to the primary.
+ *
+ * With read-your-writes enabled, a thread that used the primary for a read-write
+ * transaction keeps reading from the primary until {@link #clearWrites()} is called (at
+ * the end of each request), so a request never misses its own write because of
+ * replication lag.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private static final ThreadLocal<Boolean> wrote = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final boolean readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService healthChecks;
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, boolean readYourWrites) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (routeToReplica()) {
+            Connection connection = replicaConnection();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        Connection connection = primary.getConnection();
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            wrote.set(Boolean.TRUE);
+        }
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+    }
+
+    /**
+     * Ends read-your-writes for the current thread; reads may use the replicas again
+     */
+    public static void clearWrites() {
+        wrote.remove();
+    }
+
+    /**
+     * Checks every replica and takes the valid ones back into rotation
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean valid;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                valid = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException | RuntimeException e) {
+                valid = false;
+            }
+            if (valid != replica.healthy) {
+                logger.info("Read replica {} is {}", replica.name, valid ? "back in rotation" : "out of rotation");
+            }
+            replica.healthy = valid;
+        }
+    }
+
+    /**
+     * Starts checking the replicas in the background at the given interval
+     */
+    public synchronized void startHealthChecks(Duration interval) {
+        if (healthChecks != null || replicas.isEmpty()) {
+            return;
+        }
+        healthChecks = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "read-replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecks.scheduleWithFixedDelay(this::checkReplicas, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return whether each replica is currently in rotation, by name
+     */
+    public Map<String, Boolean> replicaStatus() {
+        Map<String, Boolean> status = new LinkedHashMap<>();
+        replicas.forEach(replica -> status.put(replica.name, replica.healthy));
+        return status;
+    }
+
+    @Override
+    public synchronized void close() throws SQLException {
+        if (healthChecks != null) {
+            healthChecks.shutdownNow();
+        }
+        // Every pool is closed even when one of them fails
+        SQLException failure = null;
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (failure == null) {
+                        failure = new SQLException("Could not close the read replica pools");
+                    }
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private boolean routeToReplica() {
+        return !replicas.isEmpty()
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !(readYourWrites && Boolean.TRUE.equals(wrote.get()));
+    }
+
+    /**
+     * @return a connection from the next healthy replica, or null when none can give one
+     */
+    private Connection replicaConnection() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException | RuntimeException e) {
+                replica.healthy = false;
+                logger.warn("Read replica {} is out of rotation: {}", replica.name, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.ahmet.hasan.yakup.esra.legalcase.console;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.User;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService.ImportReport;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService.RowError;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService.Target;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+public class BulkImportConsole {
+    // Errors printed after an import; the rest are only counted
+    private static final int MAX_PRINTED_ERRORS = 20;
+
+    private final IBulkImportService importService;
+    private final ConsoleUtils utils;
+
+    public BulkImportConsole(IBulkImportService importService, ConsoleUtils utils) {
+        this.importService = importService;
+        this.utils = utils;
+    }
+
+    public void showMenu(User currentUser) {
+        boolean returnToMain = false;
+        while (!returnToMain) {
+            printBulkImportMenu();
+            int choice = ConsoleUtils.getUserChoice(utils.getScanner(), 5);
+            switch (choice) {
+                case 1 -> importFile(Target.CLIENTS);
+                case 2 -> importFile(Target.CASES);
+                case 3 -> importFile(Target.HEARINGS);
+                case 4 -> importFile(Target.DOCUMENTS);
+                case 5 -> returnToMain = true;
+                default -> System.out.println("Invalid selection!");
+            }
+        }
+    }
+
+    private void printBulkImportMenu() {
+        System.out.println("\n--- Bulk Import (NDJSON or CSV) ---");
+        System.out.println("1. Import Clients");
+        System.out.println("2. Import Cases (clients must exist)");
+        System.out.println("3. Import Hearings (cases must exist)");
+        System.out.println("4. Import Documents (cases must exist)");
+        System.out.println("5. Return to Main Menu");
+        System.out.print("Your choice: ");
+    }
+
+    public void importFile(Target target) {
+        System.out.println("\n--- Import " + target.name().charAt(0) + target.name().substring(1).toLowerCase(Locale.ROOT) + " ---");
+        System.out.print("Enter file path (.csv or .ndjson): ");
+        String fileName = utils.getScanner().nextLine().trim();
+        Path path = Paths.get(fileName);
+        if (!Files.isRegularFile(path)) {
+            System.out.println("File not found: " + fileName);
+            utils.waitForEnter();
+            return;
+        }
+
+        Format format = formatOf(fileName);
+        if (format == null) {
+            System.out.print("Format (1. NDJSON, 2. CSV): ");
+            int choice = ConsoleUtils.getUserChoice(utils.getScanner(), 2);
+            if (choice == -1) {
+                utils.waitForEnter();
+                return;
+            }
+            format = choice == 2 ? Format.CSV : Format.NDJSON;
+        }
+
+        System.out.println("Importing " + path.getFileName() + "...");
+        try (InputStream input = Files.newInputStream(path)) {
+            ApiResponse<ImportReport> response = importService.importRecords(target, format, input);
+            if (response.isSuccess()) {
+                displayReport(response.getData());
+            } else {
+                System.out.println("Import failed: " + (response.getErrorMessages() != null ? response.getErrorMessages().get(0) : "Unknown error"));
+            }
+        } catch (IOException e) {
+            System.out.println("Could not read the file: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println("An error occurred: " + e.getMessage());
+            utils.getLogger().error("Error importing {}: ", target, e);
+        }
+
+        utils.waitForEnter();
+    }
+
+    private void displayReport(ImportReport report) {
+        System.out.println("Rows read: " + report.rows());
+        System.out.println("Imported: " + report.imported());
+        System.out.println("Failed: " + report.failed());
+        int printed = 0;
+        for (RowError error : report.errors()) {
+            if (printed++ == MAX_PRINTED_ERRORS) {
+                break;
+            }
+            System.out.println("  Line " + error.line() + ": " + error.message());
+        }
+        if (report.failed() > MAX_PRINTED_ERRORS) {
+            System.out.println("  ... and " + (report.failed() - MAX_PRINTED_ERRORS) + " more");
+        }
+    }
+
+    static Format formatOf(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) {
+            return Format.CSV;
+        }
+        if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+            return Format.NDJSON;
+        }
+        return null;
+    }
+}
@@ -10,6 +10,7 @@ import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseType;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ICaseService;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IClientService;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import org.hibernate.Hibernate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -80,7 +81,7 @@ public class CaseManagementConsole {
         try {
             Long id = Long.parseLong(utils.getScanner().nextLine());
 
-            ApiResponse<Case> response = caseService.getCaseById(id);
+            ApiResponse<Case> response = caseService.getCaseDossier(id);
             if (response.isSuccess()) {
                 displayCaseDetails(response.getData());
             } else {
@@ -503,8 +504,11 @@ public class CaseManagementConsole {
         System.out.println("Updated At: " + caseItem.getUpdatedAt());
 
         // Display associated clients if available
+        // (collections outside the fetched view are skipped instead of being lazily loaded)
         List<Client> clients = caseItem.getClients();
-        if (clients != null && !clients.isEmpty()) {
+        if (!Hibernate.isInitialized(clients)) {
+            System.out.println("\nClients not loaded in this view.");
+        } else if (clients != null && !clients.isEmpty()) {
             System.out.println("\nAssociated Clients:");
             for (Client client : clients) {
                 System.out.println("- " + client.getName() + " " + client.getSurname() + " (" + client.getEmail() + ")");
@@ -515,7 +519,9 @@ public class CaseManagementConsole {
 
         // Display associated hearings if available
         List<Hearing> hearings = caseItem.getHearings();
-        if (hearings != null && !hearings.isEmpty()) {
+        if (!Hibernate.isInitialized(hearings)) {
+            System.out.println("\nHearings not loaded in this view.");
+        } else if (hearings != null && !hearings.isEmpty()) {
             System.out.println("\nAssociated Hearings:");
             for (Hearing hearing : hearings) {
                 System.out.println("- ID: " + hearing.getId() +
@@ -529,7 +535,9 @@ public class CaseManagementConsole {
 
         // Display associated documents if available
         List<Document> documents = caseItem.getDocuments();
-        if (documents != null && !documents.isEmpty()) {
+        if (!Hibernate.isInitialized(documents)) {
+            System.out.println("\nDocuments not loaded in this view.");
+        } else if (documents != null && !documents.isEmpty()) {
             System.out.println("\nAssociated Documents:");
             for (Document document : documents) {
                 System.out.println("- ID: " + document.getId() +
@@ -272,6 +272,7 @@ public class DocumentManagementConsole {
             // İçeriği güncellemek istiyor mu diye sor
             System.out.print("Do you want to update the document content? (Y/N): ");
             String updateContent = utils.getScanner().nextLine();
+            String newContent = null;
             if (updateContent.equalsIgnoreCase("Y")) {
                 System.out.println("Enter new document content (type 'END' on a new line to finish):");
                 StringBuilder contentBuilder = new StringBuilder();
@@ -279,11 +280,14 @@ public class DocumentManagementConsole {
                 while (!(line = utils.getScanner().nextLine()).equals("END")) {
                     contentBuilder.append(line).append("\n");
                 }
-                documentToUpdate.setContent(contentBuilder.toString());
+                newContent = contentBuilder.toString();
             }
 
             // Update the document
             ApiResponse<Document> updateResponse = documentService.updateDocument(id, documentToUpdate);
+            if (updateResponse.isSuccess() && newContent != null) {
+                updateResponse = documentService.updateDocumentContent(id, newContent);
+            }
             if (updateResponse.isSuccess()) {
                 System.out.println("Document updated successfully!");
             } else {
@@ -316,11 +320,21 @@ public class DocumentManagementConsole {
             }
 
             Document document = getResponse.getData();
+            String content = "<empty>";
+            if (document.hasContent()) {
+                ApiResponse<String> contentResponse = documentService.getDocumentContent(id);
+                if (!contentResponse.isSuccess()) {
+                    System.out.println("Could not read document content: " + (contentResponse.getErrorMessages() != null ?
+                            contentResponse.getErrorMessages().get(0) : "Unknown error"));
+                    return;
+                }
+                content = contentResponse.getData();
+            }
 
             System.out.println("\n=== Document Content ===");
             System.out.println("Title: " + document.getTitle());
             System.out.println("Type: " + document.getType());
-            System.out.println("Content:\n" + document.getContent());
+            System.out.println("Content:\n" + content);
             System.out.println("=== End of Document ===");
 
         } catch (NumberFormatException e) {
@@ -382,26 +396,20 @@ public class DocumentManagementConsole {
 
         System.out.println("------------------------------------------------------------------------");
         System.out.printf("%-5s | %-30s | %-12s | %-15s | %-20s%n",
-                "ID", "Title", "Type", "Case Number", "Content Preview");
+                "ID", "Title", "Type", "Case Number", "Content Size");
         System.out.println("------------------------------------------------------------------------");
 
         for (Document document : documents) {
             String caseNumber = (document.getCse() != null) ? document.getCse().getCaseNumber() : "N/A";
-            String contentPreview = "N/A";
-            if (document.getContent() != null && !document.getContent().isEmpty()) {
-                contentPreview = document.getContent().length() > 20 ?
-                        document.getContent().substring(0, 17) + "..." :
-                        document.getContent();
-                // Yeni satırları kaldır
-                contentPreview = contentPreview.replace("\n", " ");
-            }
+            // Listeler belge içeriğini okumaz, yalnızca boyutu gösterir
+            String contentSize = document.hasContent() ? formatSize(document.getContentSize()) : "N/A";
 
             System.out.printf("%-5d | %-30s | %-12s | %-15s | %-20s%n",
                     document.getId(),
                     utils.truncateString(document.getTitle(), 30),
                     document.getType(),
                     utils.truncateString(caseNumber, 15),
-                    utils.truncateString(contentPreview, 20));
+                    utils.truncateString(contentSize, 20));
         }
 
         System.out.println("------------------------------------------------------------------------");
@@ -424,15 +432,10 @@ public class DocumentManagementConsole {
                         ", Title: " + document.getCse().getTitle()
                 : "N/A"));
 
-        // İçerik önizlemesi göster
-        if (document.getContent() != null && !document.getContent().isEmpty()) {
-            String contentPreview = document.getContent().length() > 100 ?
-                    document.getContent().substring(0, 97) + "..." :
-                    document.getContent();
-            // Yeni satırları koruyarak göster
-            System.out.println("Content Preview: \n----------");
-            System.out.println(contentPreview);
-            System.out.println("----------");
+        // İçeriğin kendisi "View Document Content" ile görüntülenir
+        if (document.hasContent()) {
+            System.out.println("Content: " + formatSize(document.getContentSize()) +
+                    " (SHA-256: " + document.getContentHash() + ")");
         } else {
             System.out.println("Content: <empty>");
         }
@@ -441,4 +444,17 @@ public class DocumentManagementConsole {
         System.out.println("Updated At: " + document.getUpdatedAt());
         System.out.println("------------------------------------------------------------");
     }
-}
\ No newline at end of file
+
+    private String formatSize(Long bytes) {
+        if (bytes == null) {
+            return "N/A";
+        }
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
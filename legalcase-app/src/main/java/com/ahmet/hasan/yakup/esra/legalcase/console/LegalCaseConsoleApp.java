@@ -24,6 +24,7 @@ public class LegalCaseConsoleApp implements CommandLineRunner {
     private final ClientManagementConsole clientConsole;
     private final HearingManagementConsole hearingConsole;
     private final DocumentManagementConsole documentConsole;
+    private final BulkImportConsole importConsole;
 
     private User currentUser = null;
     private String authToken = null;
@@ -35,7 +36,8 @@ public class LegalCaseConsoleApp implements CommandLineRunner {
             ICaseService caseService,
             IClientService clientService,
             IHearingService hearingService,
-            IDocumentService documentService) {
+            IDocumentService documentService,
+            IBulkImportService importService) {
 
         ConsoleUtils utils = new ConsoleUtils(scanner, logger);
 
@@ -44,6 +46,7 @@ public class LegalCaseConsoleApp implements CommandLineRunner {
         this.clientConsole = new ClientManagementConsole(clientService, utils);
         this.hearingConsole = new HearingManagementConsole(hearingService, caseService, utils);
         this.documentConsole = new DocumentManagementConsole(documentService, caseService, utils);
+        this.importConsole = new BulkImportConsole(importService, utils);
     }
 
     @Override
@@ -66,15 +69,16 @@ public class LegalCaseConsoleApp implements CommandLineRunner {
                 }
             } else {
                 printMainMenu();
-                int choice = ConsoleUtils.getUserChoice(scanner, 7);
+                int choice = ConsoleUtils.getUserChoice(scanner, 8);
                 switch (choice) {
                     case 1 -> viewProfile();
                     case 2 -> caseConsole.showMenu(currentUser);
                     case 3 -> clientConsole.showMenu(currentUser);
                     case 4 -> hearingConsole.showMenu(currentUser);
                     case 5 -> documentConsole.showMenu(currentUser);
-                    case 6 -> logout();
-                    case 7 -> exit = true;
+                    case 6 -> importConsole.showMenu(currentUser);
+                    case 7 -> logout();
+                    case 8 -> exit = true;
                     default -> System.out.println("Invalid selection!");
                 }
             }
@@ -100,8 +104,9 @@ public class LegalCaseConsoleApp implements CommandLineRunner {
         System.out.println("3. Client Management");
         System.out.println("4. Hearing Management");
         System.out.println("5. Document Management");
-        System.out.println("6. Logout");
-        System.out.println("7. Exit Application");
+        System.out.println("6. Bulk Import");
+        System.out.println("7. Logout");
+        System.out.println("8. Exit Application");
         System.out.print("Your choice: ");
     }
 
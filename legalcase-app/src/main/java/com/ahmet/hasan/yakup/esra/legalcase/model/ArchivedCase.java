@@ -0,0 +1,54 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * A case moved out of the live tables (see CaseArchive): the case with its hearings, documents
+ * and the ids of its clients, as gzip-compressed JSON (see CaseSnapshot). Only what the lookups
+ * need is a column; the rest is read as a whole.
+ */
+@Entity
+@Table(name = "archived_cases")
+@Getter
+@Setter
+public class ArchivedCase {
+
+    // The id the case had, and gets back when it is restored
+    @Id
+    private Long id;
+
+    @Column(name = "case_number", unique = true)
+    private String caseNumber;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private CaseStatus status;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "longblob")
+    private byte[] payload;
+
+    // Parameterless constructor
+    public ArchivedCase() {
+    }
+
+    // Parameterized constructor
+    public ArchivedCase(Long id, String caseNumber, CaseStatus status, byte[] payload) {
+        this.id = id;
+        this.caseNumber = caseNumber;
+        this.status = status;
+        this.payload = payload;
+        this.archivedAt = LocalDateTime.now();
+    }
+}
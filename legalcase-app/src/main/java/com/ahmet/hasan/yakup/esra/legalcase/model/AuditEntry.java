@@ -0,0 +1,71 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.AuditedEntity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.FieldChange;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Who changed what in an audited entity, and when: one row per committed change, holding
+ * the fields that changed. Rows are written in batches by AuditJournal and never updated.
+ * Not a BaseEntity, which would add a version and an update time to rows that never change;
+ * the id still comes from a pooled block so the rows of a batch are inserted together.
+ */
+@Entity
+@Table(name = "audit_entries")
+@Getter
+@Setter
+public class AuditEntry {
+
+    @Id
+    @GeneratedValue(generator = "pooled")
+    @GenericGenerator(name = "pooled", type = PooledIdGenerator.class)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private AuditedEntity entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private Action action;
+
+    // Name of the authenticated user, "system" for changes made outside a request
+    @Column(nullable = false)
+    private String actor;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "json", nullable = false)
+    private List<FieldChange> changes = new ArrayList<>();
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // Parameterless constructor
+    public AuditEntry() {
+    }
+
+    // Parameterized constructor
+    public AuditEntry(AuditedEntity entityType, Long entityId, Action action, String actor, List<FieldChange> changes) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.action = action;
+        this.actor = actor;
+        this.changes = changes;
+        this.changedAt = LocalDateTime.now();
+    }
+}
@@ -4,13 +4,16 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
 
 @MappedSuperclass
 @Getter
 @Setter
 public abstract class BaseEntity {
+    // Ids come in blocks from id_sequences so inserts can be batched (see PooledIdGenerator)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "pooled")
+    @GenericGenerator(name = "pooled", type = PooledIdGenerator.class)
     private Long id;
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -19,6 +22,12 @@ public abstract class BaseEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: every update is "... where id = ? and version = ?" and bumps it. Primitive
+    // so that, as before, a null id and not a null version is what marks a row as new.
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public BaseEntity() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -2,18 +2,43 @@ package com.ahmet.hasan.yakup.esra.legalcase.model;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "cases")
+@NamedEntityGraph(name = Case.GRAPH_DETAIL, attributeNodes = @NamedAttributeNode("clients"))
+@NamedEntityGraph(name = Case.GRAPH_HEARINGS, attributeNodes = @NamedAttributeNode("hearings"))
+@NamedEntityGraph(name = Case.GRAPH_DOCUMENTS, attributeNodes = @NamedAttributeNode("documents"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Case.CACHE_REGION)
 @Getter
 @Setter
 public class Case extends BaseEntity {
+    /**
+     * Fetch plans. Every association is lazy by default, so list queries only read the
+     * cases table. The detail view adds clients; the dossier additionally loads hearings
+     * and documents, one bag per query to avoid a cartesian product.
+     */
+    public static final String GRAPH_DETAIL = "Case.detail";
+    public static final String GRAPH_HEARINGS = "Case.hearings";
+    public static final String GRAPH_DOCUMENTS = "Case.documents";
+
+    /**
+     * Second-level cache regions (see HibernateCacheConfig). The clients collection is
+     * cached with the case, so the detail view can be served without a query.
+     */
+    public static final String CACHE_REGION = "cases";
+    public static final String CLIENTS_CACHE_REGION = "cases.clients";
+
     public Case() {
         super();
         this.clients = new ArrayList<>();
@@ -47,7 +72,9 @@ public class Case extends BaseEntity {
     @Column(nullable = false)
     private CaseStatus status;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JsonIgnoreProperties("cases")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Case.CLIENTS_CACHE_REGION)
     @JoinTable(
             name = "case_client",
             joinColumns = @JoinColumn(name = "case_id"),
@@ -55,18 +82,21 @@ public class Case extends BaseEntity {
     )
     private List<Client> clients = new ArrayList<>();
 
-    @OneToMany(mappedBy = "cse", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "cse", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @JsonIgnoreProperties("cse")
     private List<Hearing> hearings = new ArrayList<>();
 
-    @OneToMany(mappedBy = "cse", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "cse", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @JsonIgnoreProperties("cse")
     private List<Document> documents = new ArrayList<>();
 
 
     // Helper methods
+    // The inverse side is only synchronised when it has been loaded; Case owns the join table.
     public void addClient(Client client) {
         if (!this.clients.contains(client)) {
             this.clients.add(client);
-            if (!client.getCases().contains(this)) {
+            if (Hibernate.isInitialized(client.getCases()) && !client.getCases().contains(this)) {
                 client.getCases().add(this);
             }
         }
@@ -75,7 +105,7 @@ public class Case extends BaseEntity {
     public void removeClient(Client client) {
         if (this.clients.contains(client)) {
             this.clients.remove(client);
-            if (client.getCases().contains(this)) {
+            if (Hibernate.isInitialized(client.getCases()) && client.getCases().contains(this)) {
                 client.getCases().remove(this);
             }
         }
@@ -1,16 +1,29 @@
 package com.ahmet.hasan.yakup.esra.legalcase.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "clients")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Client.CACHE_REGION)
 @Getter
 @Setter
 public class Client extends BaseEntity {
+    /**
+     * Second-level cache regions (see HibernateCacheConfig). The detail view lists the
+     * client's cases, so that collection is cached too.
+     */
+    public static final String CACHE_REGION = "clients";
+    public static final String CASES_CACHE_REGION = "clients.cases";
+
     public Client() {
         super();
         this.cases = new ArrayList<>();
@@ -32,14 +45,16 @@ public class Client extends BaseEntity {
     @Column(unique = true)
     private String email;
 
-    @ManyToMany(mappedBy = "clients", fetch = FetchType.EAGER)
+    @ManyToMany(mappedBy = "clients", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Client.CASES_CACHE_REGION)
+    @JsonIgnoreProperties({"clients", "hearings", "documents"})
     private List<Case> cases = new ArrayList<>();
 
     //Helper methods
     public void addCase(Case cse) {
         if (!this.cases.contains(cse)) {
             this.cases.add(cse);
-            if (!cse.getClients().contains(this)) {
+            if (Hibernate.isInitialized(cse.getClients()) && !cse.getClients().contains(this)) {
                 cse.getClients().add(this);
             }
         }
@@ -48,7 +63,7 @@ public class Client extends BaseEntity {
     public void removeCase(Case cse) {
         if (this.cases.contains(cse)) {
             this.cases.remove(cse);
-            if (cse.getClients().contains(this)) {
+            if (Hibernate.isInitialized(cse.getClients()) && cse.getClients().contains(this)) {
                 cse.getClients().remove(this);
             }
         }
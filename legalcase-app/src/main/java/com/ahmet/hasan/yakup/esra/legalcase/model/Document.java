@@ -1,6 +1,8 @@
 package com.ahmet.hasan.yakup.esra.legalcase.model;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.DocumentType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -26,12 +28,25 @@ public class Document extends BaseEntity {
     @Column(nullable = false)
     private DocumentType type;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonIgnoreProperties({"clients", "hearings", "documents"})
     @JoinColumn(name = "case_id")
     private Case cse;
 
-    @Column(columnDefinition = "TEXT")
-    private String content;
+    // The body itself lives in the content store (see IDocumentContentStore)
+    @JsonIgnore
+    @Column(name = "content_ref", length = 32)
+    private String contentRef;
+
+    @Column(name = "content_size")
+    private Long contentSize;
+
+    // SHA-256 of the body, hex encoded
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "content_type", length = 127)
+    private String contentType;
 
 
     // Parameterized constructor (case ile)
@@ -41,4 +56,8 @@ public class Document extends BaseEntity {
         this.type = type;
         this.cse = cse;
     }
-}
\ No newline at end of file
+
+    public boolean hasContent() {
+        return contentRef != null;
+    }
+}
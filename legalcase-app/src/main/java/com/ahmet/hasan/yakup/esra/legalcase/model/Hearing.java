@@ -1,7 +1,11 @@
 package com.ahmet.hasan.yakup.esra.legalcase.model;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.SearchTextAnalyzer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import java.time.LocalDateTime;
@@ -12,6 +16,17 @@ import java.time.LocalDateTime;
 @Setter
 public class Hearing extends BaseEntity {
 
+    /**
+     * Length of a hearing booked without one
+     */
+    public static final int DEFAULT_DURATION_MINUTES = 60;
+
+    /**
+     * Longest hearing that can be booked; also bounds how far back the database fallback of
+     * the double booking check looks (see HearingRepository.findSlotsOverlapping)
+     */
+    public static final int MAX_DURATION_MINUTES = 24 * 60;
+
     // Parameterless constructor
     public Hearing() {
         super();
@@ -23,17 +38,23 @@ public class Hearing extends BaseEntity {
         super(id);
         this.cse = cse;
         this.hearingDate = hearingDate;
-        this.judge = judge;
+        setJudge(judge);
         this.status = HearingStatus.SCHEDULED;
+        this.durationMinutes = DEFAULT_DURATION_MINUTES;
     }
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonIgnoreProperties({"clients", "hearings", "documents"})
     @JoinColumn(name = "case_id", nullable = false)
     private Case cse;
 
     @Column(name = "hearing_date", nullable = false)
     private LocalDateTime hearingDate;
 
+    // Left null by the parameterless constructor, so an update without it keeps the stored one
+    @Column(name = "duration_minutes", nullable = false)
+    private Integer durationMinutes;
+
     @Column(nullable = false)
     private String judge;
 
@@ -48,4 +69,43 @@ public class Hearing extends BaseEntity {
     // Add notes about the hearing
     @Column(length = 1000)
     private String notes;
-}
\ No newline at end of file
+
+    // The names the double booking check compares (see SearchTextAnalyzer.nameKey), set with
+    // the judge and the location
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @Column(name = "judge_key")
+    private String judgeKey;
+
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @Column(name = "location_key")
+    private String locationKey;
+
+    public void setJudge(String judge) {
+        this.judge = judge;
+        this.judgeKey = SearchTextAnalyzer.nameKey(judge);
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+        this.locationKey = SearchTextAnalyzer.nameKey(location);
+    }
+
+    /**
+     * @return when the hearing is over, the end of the slot it books
+     */
+    public LocalDateTime getEndDate() {
+        if (hearingDate == null) {
+            return null;
+        }
+        return hearingDate.plusMinutes(durationMinutes == null ? DEFAULT_DURATION_MINUTES : durationMinutes);
+    }
+
+    @PrePersist
+    protected void defaultDuration() {
+        if (durationMinutes == null) {
+            durationMinutes = DEFAULT_DURATION_MINUTES;
+        }
+    }
+}
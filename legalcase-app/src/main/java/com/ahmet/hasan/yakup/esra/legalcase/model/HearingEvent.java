@@ -0,0 +1,60 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingEventType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change in the history of a hearing: what changed, from which value to which. Rows are
+ * only ever inserted, so a hearing that is postponed again and again adds a short row each
+ * time instead of rewriting its notes. Not a BaseEntity: the id comes from auto_increment on
+ * insert, so a hearing's history reads in the order it happened. The rows outlive the
+ * hearing.
+ */
+@Entity
+@Table(name = "hearing_events")
+@Getter
+@Setter
+public class HearingEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hearing_id", nullable = false)
+    private Long hearingId;
+
+    // A varchar column, as in outbox_events, not a MySQL enum
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private HearingEventType type;
+
+    // Dates are written as ISO date-times, statuses by name
+    @Column(name = "old_value")
+    private String oldValue;
+
+    @Column(name = "new_value")
+    private String newValue;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Parameterless constructor
+    public HearingEvent() {
+    }
+
+    // Parameterized constructor
+    public HearingEvent(Long hearingId, HearingEventType type, Object oldValue, Object newValue) {
+        this.hearingId = hearingId;
+        this.type = type;
+        this.oldValue = oldValue == null ? null : oldValue.toString();
+        this.newValue = newValue == null ? null : newValue.toString();
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,76 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed change waiting in the outbox to be handed to the subscribers. Not a BaseEntity:
+ * the id comes from auto_increment on insert, not from a pooled block, so the changes of an
+ * aggregate are numbered in the order they were made, and a row is never updated.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // The columns are varchar rather than the MySQL enums Hibernate expects by default, so
+    // adding a constant needs no migration
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "aggregate_type", nullable = false, length = 16)
+    private ChangeEvent.Entity aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private Action action;
+
+    @Column(name = "case_id")
+    private Long caseId;
+
+    @Column
+    private String judge;
+
+    @Column(length = 32)
+    private String status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Parameterless constructor
+    public OutboxEvent() {
+    }
+
+    // Parameterized constructor
+    public OutboxEvent(ChangeEvent.Entity aggregateType, Long aggregateId, Action action, Long caseId, String judge, String status) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.action = action;
+        this.caseId = caseId;
+        this.judge = judge;
+        this.status = status;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * @return the change, numbered by its outbox id
+     */
+    public ChangeEvent toChangeEvent() {
+        return new ChangeEvent(id, aggregateType, action, aggregateId, caseId, judge, status, createdAt);
+    }
+}
@@ -0,0 +1,63 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Assigns entity ids from blocks reserved in the id_sequences table, one row per entity
+ * table, so Hibernate knows the id before the insert and can send inserts in JDBC batches
+ * (IDENTITY columns force one round trip per row).
+ *
+ * A block is reserved in a separate transaction and then handed out in memory (pooled-lo):
+ * with a block size of 50, one table access serves 50 inserts. Ids left in a block when the
+ * application stops are never used, so ids have gaps; they are still unique across nodes.
+ *
+ * The block size is read from the Hibernate setting legalcase.id.block-size.&lt;table&gt;,
+ * falling back to legalcase.id.block-size.default (both set under spring.jpa.properties).
+ */
+public class PooledIdGenerator extends TableGenerator {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String SEQUENCE_TABLE = "id_sequences";
+    public static final String BLOCK_SIZE_SETTING = "legalcase.id.block-size";
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        String table = parameters.getProperty(PersistentIdentifierGenerator.TABLE);
+        Map<String, Object> settings = serviceRegistry.requireService(ConfigurationService.class).getSettings();
+        parameters.setProperty(TABLE_PARAM, SEQUENCE_TABLE);
+        parameters.setProperty(SEGMENT_VALUE_PARAM, table);
+        parameters.setProperty(OptimizableGenerator.INCREMENT_PARAM, String.valueOf(blockSize(settings, table)));
+        parameters.setProperty(OptimizableGenerator.OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    /**
+     * @return the block size configured for the table, else the default one
+     */
+    public static int blockSize(Map<String, Object> settings, String table) {
+        Object value = settings.get(BLOCK_SIZE_SETTING + "." + table);
+        if (value == null) {
+            value = settings.get(BLOCK_SIZE_SETTING + ".default");
+        }
+        if (value == null) {
+            return DEFAULT_BLOCK_SIZE;
+        }
+        int blockSize = Integer.parseInt(value.toString().trim());
+        if (blockSize < 1) {
+            throw new MappingException("Id block size for " + table + " must be at least 1: " + blockSize);
+        }
+        return blockSize;
+    }
+}
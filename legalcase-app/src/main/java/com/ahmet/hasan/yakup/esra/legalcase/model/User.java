@@ -4,12 +4,21 @@ import com.ahmet.hasan.yakup.esra.legalcase.model.enums.UserRole;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
 @Getter
 @Setter
 public class User extends BaseEntity {
+    /**
+     * Second-level cache region (see HibernateCacheConfig)
+     */
+    public static final String CACHE_REGION = "users";
+
     public User() {
         super();
         this.enabled = true;
@@ -0,0 +1,14 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.enums;
+
+/**
+ * @brief Enumeration of the entities whose changes are kept in the audit journal
+ * @author Team
+ * @date March 2025
+ */
+public enum AuditedEntity {
+    CASE,
+    CLIENT,
+    HEARING,
+    DOCUMENT,
+    USER
+}
@@ -0,0 +1,28 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.enums;
+
+/**
+ * @brief Enumeration of the changes kept in a hearing's history
+ * @author Team
+ * @date March 2025
+ */
+public enum HearingEventType {
+    /**
+     * Hearing date has been moved
+     */
+    RESCHEDULED,
+
+    /**
+     * Hearing status has changed
+     */
+    STATUS_CHANGED,
+
+    /**
+     * Hearing has been assigned to another judge
+     */
+    JUDGE_CHANGED,
+
+    /**
+     * Hearing has been moved to another location
+     */
+    LOCATION_CHANGED
+}
@@ -0,0 +1,31 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @brief One case as written by the export
+ *
+ * Read by a streamed JPQL constructor expression in CaseRepository; the columns are the
+ * import fields (see IBulkImportService) plus the id and timestamps.
+ */
+public record CaseExportRow(
+        Long id,
+        String caseNumber,
+        String title,
+        CaseType type,
+        CaseStatus status,
+        String description,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static final List<String> COLUMNS = List.of("id", "caseNumber", "title", "type", "status",
+            "description", "createdAt", "updatedAt");
+
+    public Object[] values() {
+        return new Object[]{id, caseNumber, title, type, status, description, createdAt, updatedAt};
+    }
+}
@@ -0,0 +1,31 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.DocumentType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @brief An archived case as stored in the cold tier (see ArchivedCase): every column of the
+ * case and of its hearings and documents, ids and versions included, so that it can be read
+ * back and restored as it was. Clients are shared with other cases and stay live; only their
+ * ids are kept.
+ */
+public record CaseSnapshot(Long id, String caseNumber, String title, CaseType type, String description,
+                           CaseStatus status, LocalDateTime createdAt, LocalDateTime updatedAt, long version,
+                           List<Long> clientIds, List<HearingRow> hearings, List<DocumentRow> documents) {
+
+    public record HearingRow(Long id, LocalDateTime hearingDate, Integer durationMinutes, String judge,
+                             HearingStatus status, String location, String notes, LocalDateTime createdAt,
+                             LocalDateTime updatedAt, long version) {
+    }
+
+    // The body stays in the content store, under the same reference
+    public record DocumentRow(Long id, String title, DocumentType type, String contentRef, Long contentSize,
+                              String contentHash, String contentType, LocalDateTime createdAt,
+                              LocalDateTime updatedAt, long version) {
+    }
+}
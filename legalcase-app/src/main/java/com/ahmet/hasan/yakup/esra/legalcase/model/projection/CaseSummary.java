@@ -0,0 +1,24 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseType;
+
+import java.time.LocalDateTime;
+
+/**
+ * @brief Read-only list view of a case
+ *
+ * Built directly by a JPQL constructor expression in CaseRepository, so list endpoints
+ * never hydrate Case entities or their associations.
+ */
+public record CaseSummary(
+        Long id,
+        String caseNumber,
+        String title,
+        CaseType type,
+        CaseStatus status,
+        LocalDateTime updatedAt,
+        int clientCount,
+        int hearingCount,
+        int documentCount) {
+}
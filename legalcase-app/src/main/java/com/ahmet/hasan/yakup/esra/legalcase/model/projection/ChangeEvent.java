@@ -0,0 +1,25 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * @brief A committed create, update or delete of a case, hearing or document, as handed from
+ * the outbox to the subscribers and pushed to the clients of the change feed
+ *
+ * @param id position of the change in what it is read from: its outbox id for the subscribers,
+ *           its position in the feed for the feed's clients, who resume after the last they saw
+ * @param caseId case the entity belongs to, the case itself for a case, null when it has none
+ * @param judge judge of a hearing, null for the other entities
+ * @param status status of a case or hearing after the change, null for a delete and for documents
+ */
+public record ChangeEvent(long id, Entity entity, Action action, Long entityId, Long caseId, String judge,
+                          String status, LocalDateTime at) {
+
+    public enum Entity {
+        CASE, HEARING, DOCUMENT
+    }
+
+    public enum Action {
+        CREATED, UPDATED, DELETED
+    }
+}
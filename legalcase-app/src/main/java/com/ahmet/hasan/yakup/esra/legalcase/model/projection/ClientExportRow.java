@@ -0,0 +1,25 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @brief One client as written by the export
+ *
+ * Read by a streamed JPQL constructor expression in ClientRepository; the columns are the
+ * import fields (see IBulkImportService) plus the id and timestamps.
+ */
+public record ClientExportRow(
+        Long id,
+        String name,
+        String surname,
+        String email,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static final List<String> COLUMNS = List.of("id", "name", "surname", "email", "createdAt", "updatedAt");
+
+    public Object[] values() {
+        return new Object[]{id, name, surname, email, createdAt, updatedAt};
+    }
+}
@@ -0,0 +1,31 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.DocumentType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @brief One document's metadata as written by the export
+ *
+ * Read by a streamed JPQL constructor expression in DocumentRepository. The content itself
+ * stays in the content store and is identified by its hash.
+ */
+public record DocumentExportRow(
+        Long id,
+        String caseNumber,
+        String title,
+        DocumentType type,
+        String contentType,
+        Long contentSize,
+        String contentHash,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static final List<String> COLUMNS = List.of("id", "caseNumber", "title", "type", "contentType",
+            "contentSize", "contentHash", "createdAt", "updatedAt");
+
+    public Object[] values() {
+        return new Object[]{id, caseNumber, title, type, contentType, contentSize, contentHash, createdAt, updatedAt};
+    }
+}
@@ -0,0 +1,33 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.Document;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.DocumentType;
+
+/**
+ * @brief One full-text search result
+ *
+ * Results are listed best first; score is the BM25 relevance and is only comparable
+ * between hits of the same query.
+ */
+public record DocumentSearchHit(
+        Long id,
+        String title,
+        DocumentType type,
+        Long caseId,
+        String caseNumber,
+        Long contentSize,
+        String contentType,
+        double score) {
+
+    public static DocumentSearchHit of(Document document, double score) {
+        return new DocumentSearchHit(
+                document.getId(),
+                document.getTitle(),
+                document.getType(),
+                document.getCse() != null ? document.getCse().getId() : null,
+                document.getCse() != null ? document.getCse().getCaseNumber() : null,
+                document.getContentSize(),
+                document.getContentType(),
+                score);
+    }
+}
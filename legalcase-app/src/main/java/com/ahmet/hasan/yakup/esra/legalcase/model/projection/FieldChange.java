@@ -0,0 +1,9 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+/**
+ * One field of an audited change, with its values before and after as text: dates as ISO
+ * date-times, enums by name, a referenced entity by its id and a collection of entities as
+ * the list of their ids. A value that is not shown (a password) is written as "***".
+ */
+public record FieldChange(String field, String oldValue, String newValue) {
+}
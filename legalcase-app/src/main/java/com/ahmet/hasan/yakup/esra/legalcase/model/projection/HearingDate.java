@@ -0,0 +1,11 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * @brief When a hearing takes place, and nothing else of it
+ *
+ * Read by JPQL constructor expressions when the upcoming hearings index is filled.
+ */
+public record HearingDate(Long id, LocalDateTime date) {
+}
@@ -0,0 +1,32 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @brief One hearing as written by the export
+ *
+ * Read by a streamed JPQL constructor expression in HearingRepository; the case is
+ * identified by its case number, as in the import.
+ */
+public record HearingExportRow(
+        Long id,
+        String caseNumber,
+        LocalDateTime hearingDate,
+        Integer durationMinutes,
+        String judge,
+        String location,
+        String notes,
+        HearingStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static final List<String> COLUMNS = List.of("id", "caseNumber", "hearingDate", "durationMinutes", "judge", "location",
+            "notes", "status", "createdAt", "updatedAt");
+
+    public Object[] values() {
+        return new Object[]{id, caseNumber, hearingDate, durationMinutes, judge, location, notes, status, createdAt, updatedAt};
+    }
+}
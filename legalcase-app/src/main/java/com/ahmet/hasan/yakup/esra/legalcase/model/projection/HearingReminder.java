@@ -0,0 +1,13 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * @brief A reminder that a scheduled hearing is coming up, sent some time before it
+ *
+ * @param before how long before the hearing the reminder is sent, one of the configured offsets
+ */
+public record HearingReminder(Long hearingId, String judge, String location, LocalDateTime hearingDate,
+                              Duration before) {
+}
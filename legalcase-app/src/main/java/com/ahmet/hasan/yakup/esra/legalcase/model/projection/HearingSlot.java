@@ -0,0 +1,24 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
+
+import java.time.LocalDateTime;
+
+/**
+ * @brief The time slot a hearing books, with the judge and courtroom it books them for
+ *
+ * Read by JPQL constructor expressions when the schedule index is filled, so the
+ * entities themselves are never loaded for it.
+ */
+public record HearingSlot(Long id, String judge, String location, LocalDateTime start, LocalDateTime end) {
+
+    public HearingSlot(Long id, String judge, String location, LocalDateTime start, Integer durationMinutes) {
+        this(id, judge, location, start, start.plusMinutes(
+                durationMinutes == null ? Hearing.DEFAULT_DURATION_MINUTES : durationMinutes));
+    }
+
+    public static HearingSlot of(Hearing hearing) {
+        return new HearingSlot(hearing.getId(), hearing.getJudge(), hearing.getLocation(),
+                hearing.getHearingDate(), hearing.getEndDate());
+    }
+}
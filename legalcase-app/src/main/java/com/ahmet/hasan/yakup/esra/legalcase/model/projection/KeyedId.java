@@ -0,0 +1,9 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+/**
+ * @brief The id of a row found by its natural key (case number, client email)
+ *
+ * Read by JPQL constructor expressions when an import resolves many references at once.
+ */
+public record KeyedId(String key, Long id) {
+}
@@ -0,0 +1,16 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * @brief When a row of a list page, and the case embedded with it, last changed
+ *
+ * Read by JPQL constructor expressions so a page's validators (see ResourceVersion) are
+ * known before any entity of the page is loaded.
+ */
+public record RowStamp(Long id, LocalDateTime updatedAt, LocalDateTime caseUpdatedAt) {
+
+    public RowStamp(Long id, LocalDateTime updatedAt) {
+        this(id, updatedAt, null);
+    }
+}
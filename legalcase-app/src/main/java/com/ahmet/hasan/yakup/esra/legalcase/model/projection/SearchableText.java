@@ -0,0 +1,18 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+/**
+ * @brief The searchable text columns of one row
+ *
+ * Read by JPQL constructor expressions when the trigram index is filled, so the
+ * entities themselves are never loaded for it.
+ */
+public record SearchableText(Long id, String text, String secondText) {
+
+    public SearchableText(Long id, String text) {
+        this(id, text, null);
+    }
+
+    public String[] values() {
+        return new String[]{text, secondText};
+    }
+}
@@ -0,0 +1,12 @@
+package com.ahmet.hasan.yakup.esra.legalcase.model.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * @brief A free time slot offered for a new hearing
+ *
+ * The judge and courtroom are free for the whole slot and the case has no other hearing in
+ * it. The judge is the one asked for, or null when the slot was searched for any judge.
+ */
+public record SlotSuggestion(LocalDateTime start, LocalDateTime end, String judge, String location) {
+}
@@ -0,0 +1,15 @@
+package com.ahmet.hasan.yakup.esra.legalcase.repository;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.ArchivedCase;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ArchivedCaseRepository extends JpaRepository<ArchivedCase, Long> {
+
+    Optional<ArchivedCase> findByCaseNumber(String caseNumber);
+
+    boolean existsByCaseNumber(String caseNumber);
+}
@@ -0,0 +1,23 @@
+package com.ahmet.hasan.yakup.esra.legalcase.repository;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.AuditEntry;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.AuditedEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * The audit journal, written in batches by AuditJournal and read per entity
+ */
+@Repository
+public interface AuditEntryRepository extends JpaRepository<AuditEntry, Long> {
+
+    /**
+     * Find the changes of an entity after an id, in order of id (served by the
+     * (entity_type, entity_id, id) index)
+     */
+    List<AuditEntry> findByEntityTypeAndEntityIdAndIdGreaterThanOrderByIdAsc(AuditedEntity entityType, Long entityId,
+                                                                              Long afterId, Limit limit);
+}
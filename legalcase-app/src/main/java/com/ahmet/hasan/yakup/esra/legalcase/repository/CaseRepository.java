@@ -3,19 +3,42 @@ package com.ahmet.hasan.yakup.esra.legalcase.repository;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseExportRow;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseSummary;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.KeyedId;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.SearchableText;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CaseRepository extends JpaRepository<Case, Long> {
 
+    // Natural key lookups: the query cache maps the key to the id, the entity comes from the
+    // second-level cache. Any write to the table invalidates the cached results.
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Case> findByCaseNumber(String caseNumber);
 
+    // Bulk import: resolve many case numbers in one query
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.KeyedId(c.caseNumber, c.id) " +
+            "FROM Case c WHERE c.caseNumber IN :caseNumbers")
+    List<KeyedId> findIdsByCaseNumberIn(@Param("caseNumbers") Collection<String> caseNumbers);
+
     List<Case> findByStatus(CaseStatus status);
 
     List<Case> findByType(CaseType type);
@@ -24,4 +47,89 @@ public interface CaseRepository extends JpaRepository<Case, Long> {
     List<Case> findByClientId(@Param("clientId") Long clientId);
 
     List<Case> findByTitleContainingIgnoreCase(String title);
-}
\ No newline at end of file
+
+    // Trigram index (see ITrigramSearchIndex): fill it without loading entities, then load the matched ids
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.SearchableText(c.id, c.title) " +
+            "FROM Case c WHERE c.id > :afterId ORDER BY c.id")
+    List<SearchableText> findTitleTextAfter(@Param("afterId") Long afterId, Limit limit);
+
+    List<Case> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    // Export (see IExportService): rows are read through a cursor as they are written, never
+    // as entities, so neither the persistence context nor the heap grows with the table
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseExportRow(" +
+            "c.id, c.caseNumber, c.title, c.type, c.status, c.description, c.createdAt, c.updatedAt) " +
+            "FROM Case c ORDER BY c.id")
+    Stream<CaseExportRow> streamExportRows();
+
+    // Summaries: the relation counts are correlated COUNT subqueries, so one statement
+    // serves the whole list without joining (and multiplying) the child tables.
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseSummary(" +
+            "c.id, c.caseNumber, c.title, c.type, c.status, c.updatedAt, " +
+            "SIZE(c.clients), SIZE(c.hearings), SIZE(c.documents)) " +
+            "FROM Case c ORDER BY c.id")
+    List<CaseSummary> findAllSummaries();
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseSummary(" +
+            "c.id, c.caseNumber, c.title, c.type, c.status, c.updatedAt, " +
+            "SIZE(c.clients), SIZE(c.hearings), SIZE(c.documents)) " +
+            "FROM Case c WHERE c.status = :status ORDER BY c.id")
+    List<CaseSummary> findSummariesByStatus(@Param("status") CaseStatus status);
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseSummary(" +
+            "c.id, c.caseNumber, c.title, c.type, c.status, c.updatedAt, " +
+            "SIZE(c.clients), SIZE(c.hearings), SIZE(c.documents)) " +
+            "FROM Case c WHERE c.id > :afterId ORDER BY c.id")
+    List<CaseSummary> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseSummary(" +
+            "c.id, c.caseNumber, c.title, c.type, c.status, c.updatedAt, " +
+            "SIZE(c.clients), SIZE(c.hearings), SIZE(c.documents)) " +
+            "FROM Case c WHERE c.status = :status AND c.id > :afterId ORDER BY c.id")
+    List<CaseSummary> findSummariesByStatusAfter(@Param("status") CaseStatus status,
+                                                 @Param("afterId") Long afterId, Limit limit);
+
+    // Keyset pages (see CursorPage)
+
+    List<Case> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    List<Case> findByStatusAndIdGreaterThanOrderByIdAsc(CaseStatus status, Long afterId, Limit limit);
+
+    List<Case> findByTitleContainingIgnoreCaseAndIdGreaterThanOrderByIdAsc(String title, Long afterId, Limit limit);
+
+    // Validators of a page (see ResourceVersion), read before the page is loaded
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp(c.id, c.updatedAt) " +
+            "FROM Case c WHERE c.id > :afterId ORDER BY c.id")
+    List<RowStamp> findStampsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Cases the archive may move to the cold tier (see CaseArchive): done with, untouched since
+    // the cut-off and with no hearing still to come
+
+    @Query("SELECT c.id FROM Case c WHERE c.status IN :statuses AND c.id > :afterId " +
+            "AND (c.updatedAt IS NULL OR c.updatedAt < :before) " +
+            "AND NOT EXISTS (SELECT h.id FROM Hearing h WHERE h.cse = c AND h.status = :scheduled AND h.hearingDate > :now) " +
+            "ORDER BY c.id")
+    List<Long> findArchivableIds(@Param("statuses") Collection<CaseStatus> statuses,
+                                 @Param("before") LocalDateTime before,
+                                 @Param("scheduled") HearingStatus scheduled,
+                                 @Param("now") LocalDateTime now,
+                                 @Param("afterId") Long afterId,
+                                 Limit limit);
+
+    // Fetch plans (see Case.GRAPH_*). The dossier is assembled from the three id lookups
+    // inside one transaction so that each query joins at most one collection.
+
+    @EntityGraph(Case.GRAPH_DETAIL)
+    Optional<Case> findDetailById(Long id);
+
+    @EntityGraph(Case.GRAPH_HEARINGS)
+    Optional<Case> findWithHearingsById(Long id);
+
+    @EntityGraph(Case.GRAPH_DOCUMENTS)
+    Optional<Case> findWithDocumentsById(Long id);
+}
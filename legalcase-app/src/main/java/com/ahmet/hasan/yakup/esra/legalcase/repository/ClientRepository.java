@@ -1,16 +1,67 @@
 package com.ahmet.hasan.yakup.esra.legalcase.repository;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.Client;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ClientExportRow;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.KeyedId;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.SearchableText;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
 
+    // Natural key lookups: the query cache maps the key to the id, the entity comes from the
+    // second-level cache. Any write to the table invalidates the cached results.
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Client> findByEmail(String email);
 
+    // Bulk import: resolve many emails in one query
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.KeyedId(c.email, c.id) " +
+            "FROM Client c WHERE c.email IN :emails")
+    List<KeyedId> findIdsByEmailIn(@Param("emails") Collection<String> emails);
+
     List<Client> findByNameContainingIgnoreCaseOrSurnameContainingIgnoreCase(String name, String surname);
-}
\ No newline at end of file
+
+    // Trigram index (see ITrigramSearchIndex): fill it without loading entities, then load the matched ids
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.SearchableText(c.id, c.name, c.surname) " +
+            "FROM Client c WHERE c.id > :afterId ORDER BY c.id")
+    List<SearchableText> findNameTextAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Export (see IExportService): rows are read through a cursor as they are written
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.ClientExportRow(" +
+            "c.id, c.name, c.surname, c.email, c.createdAt, c.updatedAt) " +
+            "FROM Client c ORDER BY c.id")
+    Stream<ClientExportRow> streamExportRows();
+
+    List<Client> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    // Keyset pages (see CursorPage)
+
+    List<Client> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Validators of a page (see ResourceVersion), read before the page is loaded
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp(c.id, c.updatedAt) " +
+            "FROM Client c WHERE c.id > :afterId ORDER BY c.id")
+    List<RowStamp> findStampsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT c FROM Client c WHERE (LOWER(c.name) LIKE LOWER(CONCAT('%', :term, '%')) " +
+            "OR LOWER(c.surname) LIKE LOWER(CONCAT('%', :term, '%'))) AND c.id > :afterId ORDER BY c.id")
+    List<Client> searchAfter(@Param("term") String term, @Param("afterId") Long afterId, Limit limit);
+}
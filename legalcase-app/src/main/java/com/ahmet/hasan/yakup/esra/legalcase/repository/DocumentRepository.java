@@ -2,18 +2,82 @@ package com.ahmet.hasan.yakup.esra.legalcase.repository;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.Document;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.DocumentType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.DocumentExportRow;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Document views show the owning case number, so the lazy case reference is fetched
+ * with a single join.
+ */
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
+
+    @Override
+    @EntityGraph(attributePaths = "cse")
+    Optional<Document> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "cse")
+    List<Document> findAll();
+
+    @EntityGraph(attributePaths = "cse")
     List<Document> findByCseId(Long caseId);
 
+    @EntityGraph(attributePaths = "cse")
     List<Document> findByType(DocumentType type);
 
+    @EntityGraph(attributePaths = "cse")
     List<Document> findByTitleContainingIgnoreCase(String title);
 
-    List<Document> findByContentContaining(String text);
-}
\ No newline at end of file
+    // Loads the documents behind one page of search hits
+    @EntityGraph(attributePaths = "cse")
+    List<Document> findByIdIn(Collection<Long> ids);
+
+    // Export (see IExportService): rows are read through a cursor as they are written; a
+    // document without a case has no case number
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.DocumentExportRow(" +
+            "d.id, c.caseNumber, d.title, d.type, d.contentType, d.contentSize, d.contentHash, d.createdAt, d.updatedAt) " +
+            "FROM Document d LEFT JOIN d.cse c ORDER BY d.id")
+    Stream<DocumentExportRow> streamExportRows();
+
+    // Keyset pages (see CursorPage)
+
+    @EntityGraph(attributePaths = "cse")
+    List<Document> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "cse")
+    List<Document> findByCseIdAndIdGreaterThanOrderByIdAsc(Long caseId, Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "cse")
+    List<Document> findByTypeAndIdGreaterThanOrderByIdAsc(DocumentType type, Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "cse")
+    List<Document> findByTitleContainingIgnoreCaseAndIdGreaterThanOrderByIdAsc(String title, Long afterId, Limit limit);
+
+    // Validators of a page (see ResourceVersion), read before the page is loaded; the
+    // embedded case is part of each row
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp(d.id, d.updatedAt, c.updatedAt) " +
+            "FROM Document d LEFT JOIN d.cse c WHERE d.id > :afterId ORDER BY d.id")
+    List<RowStamp> findStampsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp(d.id, d.updatedAt, c.updatedAt) " +
+            "FROM Document d JOIN d.cse c WHERE c.id = :caseId AND d.id > :afterId ORDER BY d.id")
+    List<RowStamp> findStampsByCaseIdAfter(@Param("caseId") Long caseId, @Param("afterId") Long afterId, Limit limit);
+}
@@ -0,0 +1,25 @@
+package com.ahmet.hasan.yakup.esra.legalcase.repository;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.HearingEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * The history of a hearing, read a page at a time in the order it happened
+ */
+@Repository
+public interface HearingEventRepository extends JpaRepository<HearingEvent, Long> {
+
+    /**
+     * Find the events of a hearing after an id, in order of id (served by the (hearing_id, id) index)
+     */
+    List<HearingEvent> findByHearingIdAndIdGreaterThanOrderByIdAsc(Long hearingId, Long afterId, Limit limit);
+
+    /**
+     * Check whether a hearing has any history, which outlives the hearing
+     */
+    boolean existsByHearingId(Long hearingId);
+}
@@ -2,24 +2,184 @@ package com.ahmet.hasan.yakup.esra.legalcase.repository;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingDate;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingExportRow;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.SearchableText;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Every hearing view shows the owning case number, so the lazy case reference is
+ * fetched with a single join instead of one select per hearing.
+ *
+ * The table is partitioned by year of hearing_date (see V10__partition_hearings.sql): a
+ * query that compares the bare hearingDate with a value, as the date range and upcoming
+ * queries do, reads only the partitions of those years. Wrapping the column in a function
+ * would read them all.
+ */
 @Repository
 public interface HearingRepository extends JpaRepository<Hearing, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = "cse")
+    Optional<Hearing> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "cse")
+    List<Hearing> findAll();
+
+    @EntityGraph(attributePaths = "cse")
     List<Hearing> findByCseId(Long caseId);
 
+    @EntityGraph(attributePaths = "cse")
     List<Hearing> findByStatus(HearingStatus status);
 
+    @EntityGraph(attributePaths = "cse")
     List<Hearing> findByHearingDateBetween(LocalDateTime start, LocalDateTime end);
 
+    @EntityGraph(attributePaths = "cse")
     List<Hearing> findByHearingDateAfterAndStatusNot(LocalDateTime date, HearingStatus status);
 
+    @EntityGraph(attributePaths = "cse")
     List<Hearing> findByJudgeContainingIgnoreCase(String judgeName);
 
+    @EntityGraph(attributePaths = "cse")
     List<Hearing> findByLocationContainingIgnoreCase(String location);
-}
\ No newline at end of file
+
+    // Trigram index (see ITrigramSearchIndex): fill it without loading entities, then load the matched ids
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.SearchableText(h.id, h.judge) " +
+            "FROM Hearing h WHERE h.id > :afterId ORDER BY h.id")
+    List<SearchableText> findJudgeTextAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Schedule index (see IHearingScheduleIndex): fill it without loading entities, and check
+    // against the database until it is ready
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot(" +
+            "h.id, h.judge, h.location, h.hearingDate, h.durationMinutes) " +
+            "FROM Hearing h WHERE h.status = :status AND h.id > :afterId ORDER BY h.id")
+    List<HearingSlot> findSlotsAfter(@Param("status") HearingStatus status, @Param("afterId") Long afterId,
+                                     Limit limit);
+
+    // A slot starting before earliestStart (the slot start less the longest duration) ends
+    // before the slot, so the date range stays an index range. The names are compared by
+    // their keys (see SearchTextAnalyzer.nameKey), as the schedule index compares them; a
+    // null key matches nothing.
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot(" +
+            "h.id, h.judge, h.location, h.hearingDate, h.durationMinutes) " +
+            "FROM Hearing h WHERE h.hearingDate > :earliestStart AND h.hearingDate < :end AND h.status = :status " +
+            "AND (h.judgeKey = :judgeKey OR h.locationKey = :locationKey)")
+    List<HearingSlot> findSlotsOverlapping(@Param("status") HearingStatus status,
+                                           @Param("earliestStart") LocalDateTime earliestStart,
+                                           @Param("end") LocalDateTime end,
+                                           @Param("judgeKey") String judgeKey,
+                                           @Param("locationKey") String locationKey);
+
+    // Upcoming hearings index (see IUpcomingHearingIndex): fill it without loading entities
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingDate(h.id, h.hearingDate) " +
+            "FROM Hearing h WHERE h.hearingDate > :date AND h.status <> :status AND h.id > :afterId ORDER BY h.id")
+    List<HearingDate> findUpcomingDatesAfter(@Param("date") LocalDateTime date, @Param("status") HearingStatus status,
+                                             @Param("afterId") Long afterId, Limit limit);
+
+    // Hearing reminders (see IHearingReminderScheduler): register the hearings to come on start,
+    // and check that a hearing is still scheduled when its reminder is due. A hearing moved out
+    // of the dates of the due reminders is no longer the one reminded of, so the check reads
+    // only the partitions of those dates.
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot(" +
+            "h.id, h.judge, h.location, h.hearingDate, h.durationMinutes) " +
+            "FROM Hearing h WHERE h.status = :status AND h.hearingDate > :date AND h.id > :afterId ORDER BY h.id")
+    List<HearingSlot> findSlotsStartingAfter(@Param("status") HearingStatus status, @Param("date") LocalDateTime date,
+                                             @Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot(" +
+            "h.id, h.judge, h.location, h.hearingDate, h.durationMinutes) " +
+            "FROM Hearing h WHERE h.id IN :ids AND h.status = :status " +
+            "AND h.hearingDate >= :earliest AND h.hearingDate <= :latest")
+    List<HearingSlot> findSlotsByIdIn(@Param("ids") Collection<Long> ids, @Param("status") HearingStatus status,
+                                      @Param("earliest") LocalDateTime earliest,
+                                      @Param("latest") LocalDateTime latest);
+
+    // Slot suggestions (see IHearingSlotSuggestionService): the case's own hearings, and every
+    // slot of the window until the schedule index is ready
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot(" +
+            "h.id, h.judge, h.location, h.hearingDate, h.durationMinutes) " +
+            "FROM Hearing h WHERE h.cse.id = :caseId AND h.hearingDate > :earliestStart AND h.hearingDate < :end " +
+            "AND h.status = :status")
+    List<HearingSlot> findSlotsByCaseIdOverlapping(@Param("caseId") Long caseId, @Param("status") HearingStatus status,
+                                                   @Param("earliestStart") LocalDateTime earliestStart,
+                                                   @Param("end") LocalDateTime end);
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot(" +
+            "h.id, h.judge, h.location, h.hearingDate, h.durationMinutes) " +
+            "FROM Hearing h WHERE h.hearingDate > :earliestStart AND h.hearingDate < :end AND h.status = :status")
+    List<HearingSlot> findSlotsBetween(@Param("status") HearingStatus status,
+                                       @Param("earliestStart") LocalDateTime earliestStart,
+                                       @Param("end") LocalDateTime end);
+
+    // Export (see IExportService): rows are read through a cursor as they are written; the
+    // case number comes from the join, not from a loaded case
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingExportRow(" +
+            "h.id, c.caseNumber, h.hearingDate, h.durationMinutes, h.judge, h.location, h.notes, h.status, h.createdAt, h.updatedAt) " +
+            "FROM Hearing h JOIN h.cse c ORDER BY h.id")
+    Stream<HearingExportRow> streamExportRows();
+
+    @EntityGraph(attributePaths = "cse")
+    List<Hearing> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    // Keyset pages (see CursorPage)
+
+    @EntityGraph(attributePaths = "cse")
+    List<Hearing> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "cse")
+    List<Hearing> findByCseIdAndIdGreaterThanOrderByIdAsc(Long caseId, Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "cse")
+    List<Hearing> findByJudgeContainingIgnoreCaseAndIdGreaterThanOrderByIdAsc(String judge, Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "cse")
+    List<Hearing> findByStatusAndIdGreaterThanOrderByIdAsc(HearingStatus status, Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "cse")
+    List<Hearing> findByHearingDateBetweenAndIdGreaterThanOrderByIdAsc(LocalDateTime start, LocalDateTime end,
+                                                                       Long afterId, Limit limit);
+
+    // Ordered by date, then id (see CursorPage.DatePosition); the date range stays an index range
+    @EntityGraph(attributePaths = "cse")
+    @Query("SELECT h FROM Hearing h WHERE h.status <> :status " +
+            "AND (h.hearingDate > :date OR (h.hearingDate = :date AND h.id > :afterId)) " +
+            "ORDER BY h.hearingDate, h.id")
+    List<Hearing> findUpcomingAfter(@Param("date") LocalDateTime date, @Param("afterId") Long afterId,
+                                    @Param("status") HearingStatus status, Limit limit);
+
+    // Validators of a page (see ResourceVersion), read before the page is loaded; the
+    // embedded case is part of each row
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp(h.id, h.updatedAt, c.updatedAt) " +
+            "FROM Hearing h JOIN h.cse c WHERE h.id > :afterId ORDER BY h.id")
+    List<RowStamp> findStampsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp(h.id, h.updatedAt, c.updatedAt) " +
+            "FROM Hearing h JOIN h.cse c WHERE c.id = :caseId AND h.id > :afterId ORDER BY h.id")
+    List<RowStamp> findStampsByCaseIdAfter(@Param("caseId") Long caseId, @Param("afterId") Long afterId, Limit limit);
+}
@@ -0,0 +1,25 @@
+package com.ahmet.hasan.yakup.esra.legalcase.repository;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * The outbox is read in order of id by the relay of every node and emptied by age (see OutboxRelay)
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Find the changes after an id, in order of id
+     */
+    List<OutboxEvent> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Find the changes in a range of ids, in order of id
+     */
+    List<OutboxEvent> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long afterId, Long toId, Limit limit);
+}
@@ -2,22 +2,61 @@ package com.ahmet.hasan.yakup.esra.legalcase.repository;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.User;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.UserRole;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.SearchableText;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // Natural key lookups: the query cache maps the key to the id, the entity comes from the
+    // second-level cache. Any write to the table invalidates the cached results.
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByKeycloakId(String keycloakId);
 
     List<User> findByRole(UserRole role);
 
     List<User> findByNameContainingIgnoreCaseOrSurnameContainingIgnoreCase(String name, String surname);
-}
\ No newline at end of file
+
+    // Trigram index (see ITrigramSearchIndex): fill it without loading entities, then load the matched ids
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.SearchableText(u.id, u.name, u.surname) " +
+            "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<SearchableText> findNameTextAfter(@Param("afterId") Long afterId, Limit limit);
+
+    List<User> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    // Keyset pages (see CursorPage)
+
+    List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    List<User> findByRoleAndIdGreaterThanOrderByIdAsc(UserRole role, Long afterId, Limit limit);
+
+    @Query("SELECT u FROM User u WHERE (LOWER(u.name) LIKE LOWER(CONCAT('%', :term, '%')) " +
+            "OR LOWER(u.surname) LIKE LOWER(CONCAT('%', :term, '%'))) AND u.id > :afterId ORDER BY u.id")
+    List<User> searchAfter(@Param("term") String term, @Param("afterId") Long afterId, Limit limit);
+
+    // Validators of a page (see ResourceVersion), read before the page is loaded
+
+    @Query("SELECT new com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp(u.id, u.updatedAt) " +
+            "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<RowStamp> findStampsAfter(@Param("afterId") Long afterId, Limit limit);
+}
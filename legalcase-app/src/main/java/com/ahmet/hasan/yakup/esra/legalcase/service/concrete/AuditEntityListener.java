@@ -0,0 +1,263 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.AuditEntry;
+import com.ahmet.hasan.yakup.esra.legalcase.model.BaseEntity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Client;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Document;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
+import com.ahmet.hasan.yakup.esra.legalcase.model.User;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.AuditedEntity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.FieldChange;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IAuditJournal;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Captures the changes to the audited entities as Hibernate flushes them, whichever service
+ * or import made them: the fields an insert set, the fields an update changed (the state
+ * Hibernate loaded against the one it writes), the fields a delete removed, and the entities
+ * added to or removed from an owned collection (the clients of a case).
+ *
+ * The diff is taken on the thread of the change, along with the user making it; the entry
+ * goes to the journal (see AuditJournal) only once the transaction has committed, and not at
+ * all when it rolls back.
+ */
+@Component
+public class AuditEntityListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener, PostCollectionUpdateEventListener {
+
+    static final String SYSTEM_ACTOR = "system";
+    static final String HIDDEN = "***";
+
+    private static final Map<Class<?>, AuditedEntity> AUDITED = Map.of(
+            Case.class, AuditedEntity.CASE,
+            Client.class, AuditedEntity.CLIENT,
+            Hearing.class, AuditedEntity.HEARING,
+            Document.class, AuditedEntity.DOCUMENT,
+            User.class, AuditedEntity.USER);
+
+    // Bookkeeping every write moves, and keys derived from other fields, not changes anyone made
+    private static final Set<String> SKIPPED = Set.of("version", "createdAt", "updatedAt", "judgeKey", "locationKey");
+    private static final Set<String> HIDDEN_FIELDS = Set.of("password");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final IAuditJournal journal;
+
+    @Autowired
+    public AuditEntityListener(EntityManagerFactory entityManagerFactory, IAuditJournal journal) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.journal = journal;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        AuditedEntity type = AUDITED.get(event.getPersister().getMappedClass());
+        if (type != null) {
+            List<FieldChange> changes = diff(event.getPersister(), null, event.getState(), null);
+            // The clients a new case starts with
+            String[] names = event.getPersister().getPropertyNames();
+            Type[] types = event.getPersister().getPropertyTypes();
+            for (int i = 0; i < names.length; i++) {
+                if (types[i] instanceof CollectionType collectionType && event.getState()[i] instanceof Collection<?> elements
+                        && !elements.isEmpty() && !isInverse(event.getSession(), collectionType.getRole())) {
+                    changes.add(new FieldChange(names[i], null, ids(elements)));
+                }
+            }
+            afterCommit(event.getSession(), new AuditEntry(type, id(event.getId()), Action.CREATED, actor(), changes));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        AuditedEntity type = AUDITED.get(event.getPersister().getMappedClass());
+        if (type == null) {
+            return;
+        }
+        List<FieldChange> changes = diff(event.getPersister(), event.getOldState(), event.getState(),
+                event.getDirtyProperties());
+        // A version bump alone, e.g. for a change to an owned collection, which is recorded on its own
+        if (!changes.isEmpty()) {
+            afterCommit(event.getSession(), new AuditEntry(type, id(event.getId()), Action.UPDATED, actor(), changes));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        AuditedEntity type = AUDITED.get(event.getPersister().getMappedClass());
+        if (type != null) {
+            List<FieldChange> changes = diff(event.getPersister(), event.getDeletedState(), null, null);
+            afterCommit(event.getSession(), new AuditEntry(type, id(event.getId()), Action.DELETED, actor(), changes));
+        }
+    }
+
+    /**
+     * A change to a collection of an entity that was loaded; the stored snapshot is the
+     * collection as it was loaded. The collections of a new entity are part of its insert.
+     */
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        Object owner = event.getAffectedOwnerOrNull();
+        AuditedEntity type = owner == null ? null : AUDITED.get(Hibernate.getClass(owner));
+        PersistentCollection<?> collection = event.getCollection();
+        // An inverse collection (the hearings of a case) is written by its elements, which are audited themselves
+        if (type == null || collection.getRole() == null || isInverse(event.getSession(), collection.getRole())) {
+            return;
+        }
+        String oldValue = ids(collection.getStoredSnapshot());
+        String newValue = ids(collection);
+        if (!Objects.equals(oldValue, newValue)) {
+            String field = collection.getRole().substring(collection.getRole().lastIndexOf('.') + 1);
+            afterCommit(event.getSession(), new AuditEntry(type, id(event.getAffectedOwnerIdOrNull()), Action.UPDATED,
+                    actor(), List.of(new FieldChange(field, oldValue, newValue))));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * The fields whose values differ between two states of an entity; a missing state (before
+     * an insert, after a delete) counts as all nulls
+     * @param dirty the fields Hibernate found changed, or null to compare every field
+     */
+    public static List<FieldChange> diff(EntityPersister persister, Object[] oldState, Object[] state, int[] dirty) {
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        List<FieldChange> changes = new ArrayList<>();
+        if (dirty != null && oldState != null && state != null) {
+            for (int i : dirty) {
+                addChange(changes, names[i], types[i], oldState[i], state[i]);
+            }
+        } else {
+            for (int i = 0; i < names.length; i++) {
+                addChange(changes, names[i], types[i], oldState == null ? null : oldState[i],
+                        state == null ? null : state[i]);
+            }
+        }
+        return changes;
+    }
+
+    private static void addChange(List<FieldChange> changes, String name, Type type, Object oldValue, Object newValue) {
+        // Collections are recorded from their own events, and only when owned
+        if (SKIPPED.contains(name) || type.isCollectionType()) {
+            return;
+        }
+        String before = text(oldValue);
+        String after = text(newValue);
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (HIDDEN_FIELDS.contains(name)) {
+            changes.add(new FieldChange(name, before == null ? null : HIDDEN, after == null ? null : HIDDEN));
+        } else {
+            changes.add(new FieldChange(name, before, after));
+        }
+    }
+
+    private static String text(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof HibernateProxy proxy) {
+            // The id of a lazy reference, without loading it
+            return String.valueOf(proxy.getHibernateLazyInitializer().getInternalIdentifier());
+        }
+        if (value instanceof BaseEntity entity) {
+            return String.valueOf(entity.getId());
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value.toString();
+    }
+
+    /**
+     * @return the ids of the entities in a collection or its snapshot, in order
+     */
+    private static String ids(Object collection) {
+        Collection<?> elements;
+        if (collection instanceof Map<?, ?> map) {
+            elements = map.values();
+        } else if (collection instanceof Collection<?> values) {
+            elements = values;
+        } else {
+            return "[]";
+        }
+        return elements.stream().map(AuditEntityListener::text).sorted().toList().toString();
+    }
+
+    private static boolean isInverse(EventSource session, String role) {
+        return session.getFactory().getMappingMetamodel().getCollectionDescriptor(role).isInverse();
+    }
+
+    private static Long id(Object id) {
+        return id instanceof Number number ? number.longValue() : null;
+    }
+
+    private static String actor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated() || authentication.getName() == null) {
+            return SYSTEM_ACTOR;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Hands the entry to the journal once the session's transaction commits
+     */
+    private void afterCommit(EventSource session, AuditEntry entry) {
+        if (entry.getEntityId() == null) {
+            return;
+        }
+        session.getActionQueue().registerProcess((success, completed) -> {
+            if (success) {
+                journal.record(entry);
+            }
+        });
+    }
+}
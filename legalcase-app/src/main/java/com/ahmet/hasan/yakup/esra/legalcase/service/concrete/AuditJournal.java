@@ -0,0 +1,185 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.AuditEntry;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.AuditedEntity;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.AuditEntryRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IAuditJournal;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.CursorPage;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.MpscQueue;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes the audit journal behind the requests. A committed change is put on a bounded
+ * lock-free queue (see MpscQueue), which costs the request no database round trip; a single
+ * writer thread takes the queued changes every flush interval, or as soon as a batch is full,
+ * and inserts them in one transaction and one JDBC batch (group commit), so a thousand
+ * changes cost about one commit instead of a thousand.
+ *
+ * A full queue means the writer cannot keep up: the thread recording the change then waits
+ * for room rather than lose the entry. A batch that fails to write is kept and written again
+ * after the next interval. Entries still queued when the application stops are written by
+ * the shutdown; entries queued by a process that dies are lost.
+ */
+@Service
+public class AuditJournal implements IAuditJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditJournal.class);
+
+    private final AuditEntryRepository auditEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MpscQueue<AuditEntry> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    // Writer only: a batch taken from the queue and not written yet
+    private final List<AuditEntry> batch = new ArrayList<>();
+    private volatile Thread writer;
+    private volatile boolean running;
+
+    @Autowired
+    public AuditJournal(AuditEntryRepository auditEntryRepository, PlatformTransactionManager transactionManager,
+                        @Value("${audit.queue-capacity:65536}") int queueCapacity,
+                        @Value("${audit.batch-size:500}") int batchSize,
+                        @Value("${audit.flush-interval:1s}") String flushInterval) {
+        this.auditEntryRepository = auditEntryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new MpscQueue<>(queueCapacity);
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The audit batch size must be at least 1: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = DurationStyle.detectAndParse(flushInterval).toNanos();
+        if (flushIntervalNanos < TimeUnit.MILLISECONDS.toNanos(1)) {
+            throw new IllegalArgumentException("The audit flush interval must be at least a millisecond: " + flushInterval);
+        }
+    }
+
+    @Override
+    public void record(AuditEntry entry) {
+        boolean warned = false;
+        while (!queue.offer(entry)) {
+            if (!warned) {
+                logger.warn("Audit queue full ({} entries), waiting for the writer", queue.capacity());
+                warned = true;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        // A full batch is written without waiting for the interval
+        if (queue.size() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    @Override
+    public ApiResponse<List<AuditEntry>> getEntries(AuditedEntity entityType, Long entityId, String cursor, Integer size) {
+        if (entityType == null || entityId == null) {
+            return ApiResponse.error("Entity type and ID are required", HttpStatus.BAD_REQUEST.value());
+        }
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting audit entries of {} ID: {} after ID: {} (page size {})", entityType, entityId, afterId, pageSize);
+        List<AuditEntry> entries = auditEntryRepository.findByEntityTypeAndEntityIdAndIdGreaterThanOrderByIdAsc(
+                entityType, entityId, afterId, CursorPage.limit(pageSize));
+        return CursorPage.of(entries, pageSize, AuditEntry::getId);
+    }
+
+    /**
+     * @return number of entries waiting to be written
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Writes the queued entries, a batch per transaction, until the queue is empty
+     * @return number of entries written
+     */
+    public synchronized int flush() {
+        int written = 0;
+        while (true) {
+            queue.drain(batch::add, batchSize - batch.size());
+            if (batch.isEmpty()) {
+                return written;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> auditEntryRepository.saveAll(batch));
+            } catch (RuntimeException e) {
+                // Rolled back: written again as new rows, not merged by the ids given to them
+                batch.forEach(entry -> entry.setId(null));
+                throw e;
+            }
+            written += batch.size();
+            batch.clear();
+        }
+    }
+
+    /**
+     * Starts the writer once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startOnStartup() {
+        if (writer != null) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::write, "audit-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = writer;
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Error writing {} audit entries on shutdown: {}", batch.size() + queue.size(), e.getMessage(), e);
+        }
+    }
+
+    private void write() {
+        while (running) {
+            if (queue.size() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            try {
+                flush();
+            } catch (Exception e) {
+                // The batch is kept and written again after the interval
+                logger.error("Error writing {} audit entries: {}", batch.size(), e.getMessage(), e);
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+    }
+}
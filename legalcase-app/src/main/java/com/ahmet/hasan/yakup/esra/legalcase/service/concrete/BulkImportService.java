@@ -0,0 +1,524 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.BaseEntity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Client;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Document;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.DocumentType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.KeyedId;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.ClientRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.DocumentRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingReminderScheduler;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IOutbox;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex.Field;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IUpcomingHearingIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Format;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Record;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.TransactionHooks;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Imports records in chunks: a chunk is read from the input, its rows are validated in
+ * parallel, the case numbers and client emails they refer to are resolved with one query
+ * per chunk (and remembered for the rest of the import), and the valid rows are stored in
+ * one transaction whose inserts go out in JDBC batches. The outbox records the imported
+ * cases, hearings and documents in the same transaction, so the domain event subscribers
+ * see an import like any other change; clients have no events, as elsewhere.
+ *
+ * When storing a chunk fails (a constraint the validation could not see, such as a case
+ * number written by another request meanwhile), its rows are stored again one by one so
+ * only the offending rows are reported.
+ */
+@Service
+public class BulkImportService implements IBulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    // Keys per lookup query, well below the database's limit on parameters
+    private static final int LOOKUP_BATCH = 1000;
+
+    private static final int MAX_TEXT = 255;
+    private static final int MAX_LONG_TEXT = 1000;
+
+    private final CaseRepository caseRepository;
+    private final ClientRepository clientRepository;
+    private final HearingRepository hearingRepository;
+    private final DocumentRepository documentRepository;
+    private final ITrigramSearchIndex trigramIndex;
+    private final IDocumentSearchIndex documentSearchIndex;
+    private final IHearingScheduleIndex scheduleIndex;
+    private final IUpcomingHearingIndex upcomingIndex;
+    private final IHearingReminderScheduler reminderScheduler;
+    private final IOutbox outbox;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final ForkJoinPool validationPool;
+
+    @Autowired
+    public BulkImportService(CaseRepository caseRepository, ClientRepository clientRepository,
+                             HearingRepository hearingRepository, DocumentRepository documentRepository,
+                             ITrigramSearchIndex trigramIndex, IDocumentSearchIndex documentSearchIndex,
+                             IHearingScheduleIndex scheduleIndex, IUpcomingHearingIndex upcomingIndex,
+                             IHearingReminderScheduler reminderScheduler, IOutbox outbox,
+                             PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                             @Value("${imports.chunk-size:500}") int chunkSize,
+                             @Value("${imports.validation-threads:0}") int validationThreads) {
+        this.caseRepository = caseRepository;
+        this.clientRepository = clientRepository;
+        this.hearingRepository = hearingRepository;
+        this.documentRepository = documentRepository;
+        this.trigramIndex = trigramIndex;
+        this.documentSearchIndex = documentSearchIndex;
+        this.scheduleIndex = scheduleIndex;
+        this.upcomingIndex = upcomingIndex;
+        this.reminderScheduler = reminderScheduler;
+        this.outbox = outbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.validationPool = new ForkJoinPool(validationThreads > 0
+                ? validationThreads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationPool.shutdownNow();
+    }
+
+    @Override
+    public ApiResponse<ImportReport> importRecords(Target target, Format format, InputStream input) {
+        if (target == null || format == null) {
+            return ApiResponse.error("Import target and format are required", HttpStatus.BAD_REQUEST.value());
+        }
+        logger.info("Importing {} from {}", target, format);
+        long started = System.currentTimeMillis();
+
+        ImportRun run = new ImportRun(target);
+        // Not closed: the caller owns the stream
+        ImportRecordReader reader = ImportRecordReader.of(format,
+                new InputStreamReader(input, StandardCharsets.UTF_8), objectMapper);
+        try {
+            List<Record> chunk = new ArrayList<>(chunkSize);
+            Record record;
+            while ((record = reader.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    importChunk(run, chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(run, chunk);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Import of {} stopped after {} rows: {}", target, run.rows, e.getMessage(), e);
+            return ApiResponse.error("Import stopped after " + run.rows + " rows (" + run.imported
+                    + " imported): " + e.getMessage(), HttpStatus.BAD_REQUEST.value());
+        }
+
+        logger.info("Imported {} of {} {} rows in {} ms", run.imported, run.rows, target,
+                System.currentTimeMillis() - started);
+        return ApiResponse.success(run.report());
+    }
+
+    private void importChunk(ImportRun run, List<Record> records) {
+        List<Row> rows = validationPool.submit(() -> records.parallelStream()
+                .map(record -> validate(run.target, record))
+                .toList()).join();
+
+        resolveKeys(run, rows);
+        List<Row> valid = new ArrayList<>(rows.size());
+        Set<String> chunkKeys = new HashSet<>();
+        for (Row row : rows) {
+            run.rows++;
+            if (row.error == null) {
+                resolveReferences(run, row, chunkKeys);
+            }
+            if (row.error == null) {
+                valid.add(row);
+            } else {
+                run.fail(row.line, row.error);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> valid.forEach(this::persist));
+            committed(run, valid);
+        } catch (RuntimeException e) {
+            logger.warn("Storing an import chunk of {} rows failed ({}); storing its rows one by one",
+                    valid.size(), rootMessage(e));
+            for (Row row : valid) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(row));
+                    committed(run, List.of(row));
+                } catch (RuntimeException rowFailure) {
+                    run.fail(row.line, "Could not store row: " + rootMessage(rowFailure));
+                }
+            }
+        }
+    }
+
+    // Validation: runs in parallel and only looks at the record itself
+
+    private static Row validate(Target target, Record record) {
+        Row row = new Row(record.line());
+        if (record.error() != null) {
+            row.error = record.error();
+            return row;
+        }
+        try {
+            switch (target) {
+                case CLIENTS -> toClient(record, row);
+                case CASES -> toCase(record, row);
+                case HEARINGS -> toHearing(record, row);
+                case DOCUMENTS -> toDocument(record, row);
+            }
+        } catch (IllegalArgumentException e) {
+            row.error = e.getMessage();
+        }
+        return row;
+    }
+
+    private static void toClient(Record record, Row row) {
+        Client client = new Client();
+        client.setName(required(record, "name", MAX_TEXT));
+        client.setSurname(required(record, "surname", MAX_TEXT));
+        String email = optional(record, "email", MAX_TEXT);
+        if (email != null && (!email.contains("@") || email.contains(" "))) {
+            throw new IllegalArgumentException("Invalid email: " + email);
+        }
+        client.setEmail(email);
+        row.entity = client;
+        row.key = email;
+    }
+
+    private static void toCase(Record record, Row row) {
+        Case caseEntity = new Case();
+        caseEntity.setCaseNumber(required(record, "caseNumber", MAX_TEXT));
+        caseEntity.setTitle(required(record, "title", MAX_TEXT));
+        caseEntity.setType(enumValue(record, "type", CaseType.class, null));
+        caseEntity.setDescription(optional(record, "description", MAX_LONG_TEXT));
+        // Migrated cases keep their status; new ones start as NEW
+        caseEntity.setStatus(enumValue(record, "status", CaseStatus.class, CaseStatus.NEW));
+        row.entity = caseEntity;
+        row.key = caseEntity.getCaseNumber();
+        row.clientEmails = ImportRecordReader.splitList(record.get("clientEmails"));
+    }
+
+    private static void toHearing(Record record, Row row) {
+        Hearing hearing = new Hearing();
+        row.caseNumber = required(record, "caseNumber", MAX_TEXT);
+        hearing.setHearingDate(dateTime(record, "hearingDate"));
+        hearing.setDurationMinutes(minutes(record, "durationMinutes"));
+        hearing.setJudge(required(record, "judge", MAX_TEXT));
+        hearing.setLocation(optional(record, "location", MAX_TEXT));
+        hearing.setNotes(optional(record, "notes", MAX_LONG_TEXT));
+        hearing.setStatus(enumValue(record, "status", HearingStatus.class, HearingStatus.SCHEDULED));
+        row.entity = hearing;
+    }
+
+    private static void toDocument(Record record, Row row) {
+        Document document = new Document();
+        row.caseNumber = optional(record, "caseNumber", MAX_TEXT);
+        document.setTitle(required(record, "title", MAX_TEXT));
+        document.setType(enumValue(record, "type", DocumentType.class, null));
+        row.entity = document;
+    }
+
+    private static String required(Record record, String field, int maxLength) {
+        String value = optional(record, field, maxLength);
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return value;
+    }
+
+    private static String optional(Record record, String field, int maxLength) {
+        String value = record.get(field);
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " is longer than " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Record record, String field, Class<E> type, E defaultValue) {
+        String value = record.get(field);
+        if (value == null) {
+            if (defaultValue == null) {
+                throw new IllegalArgumentException(field + " is required");
+            }
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private static Integer minutes(Record record, String field) {
+        String value = record.get(field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            int minutes = Integer.parseInt(value.trim());
+            if (minutes > 0 && minutes <= Hearing.MAX_DURATION_MINUTES) {
+                return minutes;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid " + field + " (expected 1 to " + Hearing.MAX_DURATION_MINUTES
+                + " minutes): " + value);
+    }
+
+    private static LocalDateTime dateTime(Record record, String field) {
+        String value = required(record, field, MAX_TEXT);
+        try {
+            return LocalDateTime.parse(value.replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field + " (expected yyyy-MM-ddTHH:mm): " + value);
+        }
+    }
+
+    // Reference resolution: one query per chunk for the keys not seen before
+
+    private void resolveKeys(ImportRun run, List<Row> rows) {
+        // Normalized key to the key as written, which is what the lookup queries
+        Map<String, String> caseNumbers = new HashMap<>();
+        Map<String, String> emails = new HashMap<>();
+        for (Row row : rows) {
+            if (row.error != null) {
+                continue;
+            }
+            if (row.key != null) {
+                (run.target == Target.CLIENTS ? emails : caseNumbers).putIfAbsent(normalize(row.key), row.key);
+            }
+            if (row.caseNumber != null) {
+                caseNumbers.putIfAbsent(normalize(row.caseNumber), row.caseNumber);
+            }
+            row.clientEmails.forEach(email -> emails.putIfAbsent(normalize(email), email));
+        }
+        lookup(run.caseIds, caseNumbers, caseRepository::findIdsByCaseNumberIn);
+        lookup(run.clientIds, emails, clientRepository::findIdsByEmailIn);
+    }
+
+    /**
+     * Adds the ids of the keys not looked up before to the map; a key without a row maps to null
+     */
+    private static void lookup(Map<String, Long> ids, Map<String, String> keys,
+                               Function<Collection<String>, List<KeyedId>> finder) {
+        List<String> unknown = new ArrayList<>();
+        keys.forEach((normalized, written) -> {
+            if (!ids.containsKey(normalized)) {
+                ids.put(normalized, null);
+                unknown.add(written);
+            }
+        });
+        for (int from = 0; from < unknown.size(); from += LOOKUP_BATCH) {
+            List<String> batch = unknown.subList(from, Math.min(unknown.size(), from + LOOKUP_BATCH));
+            for (KeyedId found : finder.apply(batch)) {
+                if (found.key() != null) {
+                    ids.put(normalize(found.key()), found.id());
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the row's own key is not taken and looks up the ids of the rows it refers to
+     * @param chunkKeys keys of the earlier rows of the chunk, which are not stored yet
+     */
+    private static void resolveReferences(ImportRun run, Row row, Set<String> chunkKeys) {
+        if (row.key != null) {
+            String key = normalize(row.key);
+            Map<String, Long> ids = run.target == Target.CLIENTS ? run.clientIds : run.caseIds;
+            if (ids.get(key) != null || !chunkKeys.add(key)) {
+                row.error = (run.target == Target.CLIENTS ? "Email address '" : "Case number '")
+                        + row.key + "' is already in use";
+                return;
+            }
+        }
+        if (row.caseNumber != null) {
+            row.caseId = run.caseIds.get(normalize(row.caseNumber));
+            if (row.caseId == null) {
+                row.error = "Case not found with case number: " + row.caseNumber;
+                return;
+            }
+        }
+        Set<Long> clientIds = new LinkedHashSet<>();
+        for (String email : row.clientEmails) {
+            Long clientId = run.clientIds.get(normalize(email));
+            if (clientId == null) {
+                row.error = "Client not found with email: " + email;
+                return;
+            }
+            clientIds.add(clientId);
+        }
+        row.clientIds = List.copyOf(clientIds);
+    }
+
+    // Storing: runs in the chunk's transaction, or in the row's own one after a failure
+
+    private void persist(Row row) {
+        // An id given by an earlier attempt that rolled back is not in the database
+        row.entity.setId(null);
+        if (row.entity instanceof Client client) {
+            clientRepository.save(client);
+            Long id = client.getId();
+            TransactionHooks.afterCommit(() -> trigramIndex.index(Field.CLIENT_NAME, id, client.getName(), client.getSurname()));
+        } else if (row.entity instanceof Case caseEntity) {
+            // Case owns the join table; the clients are only referenced, never loaded
+            caseEntity.getClients().clear();
+            row.clientIds.forEach(clientId -> caseEntity.getClients().add(clientRepository.getReferenceById(clientId)));
+            caseRepository.save(caseEntity);
+            Long id = caseEntity.getId();
+            outbox.record(Entity.CASE, Action.CREATED, id, id, null, caseEntity.getStatus().name());
+            TransactionHooks.afterCommit(() -> trigramIndex.index(Field.CASE_TITLE, id, caseEntity.getTitle()));
+        } else if (row.entity instanceof Hearing hearing) {
+            hearing.setCse(caseRepository.getReferenceById(row.caseId));
+            hearingRepository.save(hearing);
+            Long id = hearing.getId();
+            outbox.record(Entity.HEARING, Action.CREATED, id, row.caseId, hearing.getJudge(), hearing.getStatus().name());
+            TransactionHooks.afterCommit(() -> trigramIndex.index(Field.HEARING_JUDGE, id, hearing.getJudge()));
+            TransactionHooks.afterCommit(() -> upcomingIndex.index(id, hearing.getHearingDate(), hearing.getStatus()));
+            // Imported hearings are not checked for double bookings: they are already on the calendar
+            if (hearing.getStatus() == HearingStatus.SCHEDULED) {
+                HearingSlot slot = HearingSlot.of(hearing);
+                TransactionHooks.afterCommit(() -> {
+                    scheduleIndex.index(slot);
+                    reminderScheduler.schedule(slot);
+                });
+            }
+        } else if (row.entity instanceof Document document) {
+            document.setCse(row.caseId == null ? null : caseRepository.getReferenceById(row.caseId));
+            documentRepository.save(document);
+            Long id = document.getId();
+            outbox.record(Entity.DOCUMENT, Action.CREATED, id, row.caseId, null, null);
+            TransactionHooks.afterCommit(() -> documentSearchIndex.index(id, document.getTitle()));
+        }
+    }
+
+    private static void committed(ImportRun run, List<Row> rows) {
+        for (Row row : rows) {
+            run.imported++;
+            if (row.key != null) {
+                (run.target == Target.CLIENTS ? run.clientIds : run.caseIds)
+                        .put(normalize(row.key), row.entity.getId());
+            }
+        }
+    }
+
+    /**
+     * Case numbers and emails are told apart the way MySQL's default collation (and so the
+     * unique constraints) does, ignoring case
+     */
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    /**
+     * One input row on its way to the database
+     */
+    private static final class Row {
+        private final long line;
+        private String error;
+        private BaseEntity entity;
+        // The row's own natural key: the client email or the case number
+        private String key;
+        private String caseNumber;
+        private List<String> clientEmails = List.of();
+        private Long caseId;
+        private List<Long> clientIds = List.of();
+
+        private Row(long line) {
+            this.line = line;
+        }
+    }
+
+    /**
+     * State of one import: the ids of the natural keys resolved so far and the report
+     */
+    private static final class ImportRun {
+        private final Target target;
+        private final Map<String, Long> caseIds = new HashMap<>();
+        private final Map<String, Long> clientIds = new HashMap<>();
+        private final List<RowError> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+
+        private ImportRun(Target target) {
+            this.target = target;
+        }
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(line, message));
+            }
+        }
+
+        private ImportReport report() {
+            return new ImportReport(target, rows, imported, failed, List.copyOf(errors));
+        }
+    }
+}
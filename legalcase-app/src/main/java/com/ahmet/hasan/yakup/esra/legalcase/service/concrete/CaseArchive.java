@@ -0,0 +1,426 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.ArchivedCase;
+import com.ahmet.hasan.yakup.esra.legalcase.model.BaseEntity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Client;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Document;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseSnapshot;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseSnapshot.DocumentRow;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseSnapshot.HearingRow;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.ArchivedCaseRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.ClientRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ICaseArchive;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IOutbox;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex.Field;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IUpcomingHearingIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.TransactionHooks;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the cases that are done with out of the live tables. A background job moves each case
+ * in one of the configured statuses (by default ARCHIVED), untouched for the configured time
+ * and with no hearing still to come, into a row of archived_cases: the case, its hearings and
+ * documents and the ids of its clients as gzip-compressed JSON (see CaseSnapshot). The live
+ * tables and their indexes then only hold the work in progress.
+ *
+ * A case is archived in a transaction of its own, so a case changed while it is being moved
+ * (caught by its version) is left for the next run without holding back the others. Lookups
+ * by id or number fall through to the archive, which reads the whole case from one row.
+ * Restoring puts the rows back under their ids, versions and timestamps; document bodies
+ * never leave the content store.
+ */
+@Service
+public class CaseArchive implements ICaseArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(CaseArchive.class);
+
+    // Statuses a case can be archived in; the others are work in progress
+    private static final Set<CaseStatus> ARCHIVABLE = EnumSet.of(CaseStatus.CLOSED, CaseStatus.ARCHIVED);
+    private static final String CLIENT_CASES_ROLE = Client.class.getName() + ".cases";
+
+    // The rows go back under the ids, versions and timestamps they had, which persist would
+    // replace, so they are inserted as they are
+    private static final String INSERT_CASE_SQL = "insert into cases (id, case_number, title, type, description, "
+            + "status, created_at, updated_at, version) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CASE_CLIENT_SQL = "insert into case_client (case_id, client_id) values (?, ?)";
+    private static final String INSERT_HEARING_SQL = "insert into hearings (id, case_id, hearing_date, "
+            + "duration_minutes, judge, judge_key, status, location, location_key, notes, created_at, updated_at, "
+            + "version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_DOCUMENT_SQL = "insert into documents (id, case_id, title, type, content_ref, "
+            + "content_size, content_hash, content_type, created_at, updated_at, version) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final CaseRepository caseRepository;
+    private final ArchivedCaseRepository archivedCaseRepository;
+    private final ClientRepository clientRepository;
+    private final ITrigramSearchIndex trigramIndex;
+    private final IHearingScheduleIndex scheduleIndex;
+    private final IUpcomingHearingIndex upcomingIndex;
+    private final IOutbox outbox;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<CaseStatus> statuses;
+    private final Duration idle;
+    private final long intervalMillis;
+    private final int batchSize;
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public CaseArchive(CaseRepository caseRepository, ArchivedCaseRepository archivedCaseRepository,
+                       ClientRepository clientRepository, ITrigramSearchIndex trigramIndex,
+                       IHearingScheduleIndex scheduleIndex, IUpcomingHearingIndex upcomingIndex, IOutbox outbox,
+                       EntityManager entityManager, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${archive.statuses:ARCHIVED}") String statuses,
+                       @Value("${archive.idle:30d}") String idle,
+                       @Value("${archive.interval:1h}") String interval,
+                       @Value("${archive.batch-size:100}") int batchSize) {
+        this.caseRepository = caseRepository;
+        this.archivedCaseRepository = archivedCaseRepository;
+        this.clientRepository = clientRepository;
+        this.trigramIndex = trigramIndex;
+        this.scheduleIndex = scheduleIndex;
+        this.upcomingIndex = upcomingIndex;
+        this.outbox = outbox;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.statuses = Arrays.stream(statuses.split(","))
+                .map(String::trim)
+                .filter(status -> !status.isEmpty())
+                .map(CaseStatus::valueOf)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(CaseStatus.class)));
+        if (this.statuses.isEmpty() || !ARCHIVABLE.containsAll(this.statuses)) {
+            throw new IllegalArgumentException("Only CLOSED and ARCHIVED cases can be archived: " + statuses);
+        }
+        this.idle = DurationStyle.detectAndParse(idle);
+        if (this.idle.isNegative()) {
+            throw new IllegalArgumentException("The archive idle time must not be negative: " + idle);
+        }
+        this.intervalMillis = DurationStyle.detectAndParse(interval).toMillis();
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("The archive interval must be at least a millisecond: " + interval);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The archive batch size must be at least 1: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Optional<Case> findById(Long id) {
+        return archivedCaseRepository.findById(id).map(archived -> toCase(read(archived)));
+    }
+
+    @Override
+    public Optional<Case> findByCaseNumber(String caseNumber) {
+        return archivedCaseRepository.findByCaseNumber(caseNumber).map(archived -> toCase(read(archived)));
+    }
+
+    @Override
+    public boolean containsCaseNumber(String caseNumber) {
+        return archivedCaseRepository.existsByCaseNumber(caseNumber);
+    }
+
+    @Override
+    public ApiResponse<Case> restore(Long id) {
+        Optional<ArchivedCase> archived = archivedCaseRepository.findById(id);
+        if (archived.isEmpty()) {
+            return ApiResponse.error("Archived case not found with ID: " + id, HttpStatus.NOT_FOUND.value());
+        }
+        CaseSnapshot snapshot = read(archived.get());
+        // Case numbers are checked across both tiers, but imports only check the live one
+        if (snapshot.caseNumber() != null && caseRepository.findByCaseNumber(snapshot.caseNumber()).isPresent()) {
+            return ApiResponse.error("Cannot restore case: case number '" + snapshot.caseNumber() +
+                    "' is in use by another case.", HttpStatus.CONFLICT.value());
+        }
+        logger.info("Restoring archived case with ID: {}", id);
+
+        Case restored = toCase(snapshot);
+        archivedCaseRepository.delete(archived.get());
+        insert(restored);
+
+        outbox.record(Entity.CASE, Action.CREATED, id, id, null, restored.getStatus().name());
+        indexAfterCommit(restored, true);
+        return ApiResponse.success(restored);
+    }
+
+    @Override
+    public int archiveDue() {
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime before = now.minus(idle);
+        int archived = 0;
+        long afterId = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = caseRepository.findArchivableIds(statuses, before, HearingStatus.SCHEDULED, now, afterId,
+                    Limit.of(batchSize));
+            for (Long id : ids) {
+                try {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(status -> archive(id, before, now)))) {
+                        archived++;
+                    }
+                } catch (Exception e) {
+                    // Changed while it was being moved; it is picked again next time if it still qualifies
+                    logger.warn("Could not archive case ID: {}: {}", id, e.getMessage());
+                }
+                afterId = id;
+            }
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            logger.info("Archived {} cases in {} ms", archived, System.currentTimeMillis() - started);
+        }
+        return archived;
+    }
+
+    /**
+     * Runs the archive every interval, the first time an interval after the start
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startOnStartup() {
+        if (ticker == null) {
+            ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "case-archive");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleWithFixedDelay(this::tick, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    private void tick() {
+        // An exception would cancel the schedule
+        try {
+            archiveDue();
+        } catch (Exception e) {
+            logger.error("Error archiving cases: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Moves one case, checking again what qualified it, as it may have changed since
+     */
+    private boolean archive(Long id, LocalDateTime before, LocalDateTime now) {
+        Optional<Case> found = caseRepository.findDetailById(id);
+        if (found.isEmpty()) {
+            return false;
+        }
+        Case caseEntity = found.get();
+        if (!statuses.contains(caseEntity.getStatus())
+                || (caseEntity.getUpdatedAt() != null && !caseEntity.getUpdatedAt().isBefore(before))) {
+            return false;
+        }
+        caseRepository.findWithHearingsById(id);
+        caseRepository.findWithDocumentsById(id);
+        if (caseEntity.getHearings().stream().anyMatch(hearing -> hearing.getStatus() == HearingStatus.SCHEDULED
+                && hearing.getHearingDate().isAfter(now))) {
+            return false;
+        }
+
+        entityManager.persist(new ArchivedCase(id, caseEntity.getCaseNumber(), caseEntity.getStatus(),
+                write(snapshot(caseEntity))));
+        // Cascades to the hearings and documents; the clients stay
+        caseRepository.delete(caseEntity);
+        outbox.record(Entity.CASE, Action.DELETED, id, id, null, null);
+        indexAfterCommit(caseEntity, false);
+        return true;
+    }
+
+    /**
+     * Adds the case and its hearings to the search, schedule and upcoming hearing indexes or
+     * removes them once the transaction commits, and drops the cached case lists of its clients, which the move changed
+     */
+    private void indexAfterCommit(Case caseEntity, boolean restored) {
+        Long id = caseEntity.getId();
+        String title = caseEntity.getTitle();
+        List<Hearing> hearings = List.copyOf(caseEntity.getHearings());
+        List<HearingSlot> slots = hearings.stream()
+                .filter(hearing -> hearing.getStatus() == HearingStatus.SCHEDULED && hearing.getHearingDate() != null)
+                .map(HearingSlot::of)
+                .toList();
+        List<Long> clientIds = caseEntity.getClients().stream().map(BaseEntity::getId).toList();
+        TransactionHooks.afterCommit(() -> {
+            if (restored) {
+                trigramIndex.index(Field.CASE_TITLE, id, title);
+                hearings.forEach(hearing -> {
+                    trigramIndex.index(Field.HEARING_JUDGE, hearing.getId(), hearing.getJudge());
+                    upcomingIndex.index(hearing.getId(), hearing.getHearingDate(), hearing.getStatus());
+                });
+                slots.forEach(scheduleIndex::index);
+            } else {
+                trigramIndex.remove(Field.CASE_TITLE, id);
+                hearings.forEach(hearing -> {
+                    trigramIndex.remove(Field.HEARING_JUDGE, hearing.getId());
+                    scheduleIndex.remove(hearing.getId());
+                    upcomingIndex.remove(hearing.getId());
+                });
+            }
+            org.hibernate.Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(org.hibernate.Cache.class);
+            clientIds.forEach(clientId -> cache.evictCollectionData(CLIENT_CASES_ROLE, clientId));
+        });
+    }
+
+    private static CaseSnapshot snapshot(Case caseEntity) {
+        List<HearingRow> hearings = caseEntity.getHearings().stream()
+                .sorted(Comparator.comparing(BaseEntity::getId))
+                .map(hearing -> new HearingRow(hearing.getId(), hearing.getHearingDate(), hearing.getDurationMinutes(),
+                        hearing.getJudge(), hearing.getStatus(), hearing.getLocation(), hearing.getNotes(),
+                        hearing.getCreatedAt(), hearing.getUpdatedAt(), hearing.getVersion()))
+                .toList();
+        List<DocumentRow> documents = caseEntity.getDocuments().stream()
+                .sorted(Comparator.comparing(BaseEntity::getId))
+                .map(document -> new DocumentRow(document.getId(), document.getTitle(), document.getType(),
+                        document.getContentRef(), document.getContentSize(), document.getContentHash(),
+                        document.getContentType(), document.getCreatedAt(), document.getUpdatedAt(),
+                        document.getVersion()))
+                .toList();
+        return new CaseSnapshot(caseEntity.getId(), caseEntity.getCaseNumber(), caseEntity.getTitle(),
+                caseEntity.getType(), caseEntity.getDescription(), caseEntity.getStatus(), caseEntity.getCreatedAt(),
+                caseEntity.getUpdatedAt(), caseEntity.getVersion(),
+                caseEntity.getClients().stream().map(BaseEntity::getId).sorted().toList(), hearings, documents);
+    }
+
+    /**
+     * Inserts the case, its clients, hearings and documents under the ids they had
+     */
+    private void insert(Case caseEntity) {
+        Long id = caseEntity.getId();
+        jdbcTemplate.update(INSERT_CASE_SQL, id, caseEntity.getCaseNumber(), caseEntity.getTitle(),
+                caseEntity.getType().name(), caseEntity.getDescription(), caseEntity.getStatus().name(),
+                caseEntity.getCreatedAt(), caseEntity.getUpdatedAt(), caseEntity.getVersion());
+        jdbcTemplate.batchUpdate(INSERT_CASE_CLIENT_SQL, caseEntity.getClients().stream()
+                .map(client -> new Object[]{id, client.getId()})
+                .toList());
+        jdbcTemplate.batchUpdate(INSERT_HEARING_SQL, caseEntity.getHearings().stream()
+                .map(hearing -> new Object[]{hearing.getId(), id, hearing.getHearingDate(),
+                        hearing.getDurationMinutes(), hearing.getJudge(), hearing.getJudgeKey(),
+                        hearing.getStatus().name(), hearing.getLocation(), hearing.getLocationKey(), hearing.getNotes(),
+                        hearing.getCreatedAt(), hearing.getUpdatedAt(), hearing.getVersion()})
+                .toList());
+        jdbcTemplate.batchUpdate(INSERT_DOCUMENT_SQL, caseEntity.getDocuments().stream()
+                .map(document -> new Object[]{document.getId(), id, document.getTitle(), document.getType().name(),
+                        document.getContentRef(), document.getContentSize(), document.getContentHash(),
+                        document.getContentType(), document.getCreatedAt(), document.getUpdatedAt(),
+                        document.getVersion()})
+                .toList());
+    }
+
+    /**
+     * Builds the case back from its snapshot, with the clients that still exist
+     */
+    private Case toCase(CaseSnapshot snapshot) {
+        Case caseEntity = new Case(snapshot.id(), snapshot.caseNumber(), snapshot.title(), snapshot.type());
+        caseEntity.setDescription(snapshot.description());
+        caseEntity.setStatus(snapshot.status());
+        caseEntity.setCreatedAt(snapshot.createdAt());
+        caseEntity.setUpdatedAt(snapshot.updatedAt());
+        caseEntity.setVersion(snapshot.version());
+        if (!snapshot.clientIds().isEmpty()) {
+            List<Client> clients = new ArrayList<>(clientRepository.findAllById(snapshot.clientIds()));
+            clients.sort(Comparator.comparing(BaseEntity::getId));
+            caseEntity.setClients(clients);
+        }
+        for (HearingRow row : snapshot.hearings()) {
+            Hearing hearing = new Hearing(row.id(), caseEntity, row.hearingDate(), row.judge());
+            hearing.setDurationMinutes(row.durationMinutes());
+            hearing.setStatus(row.status());
+            hearing.setLocation(row.location());
+            hearing.setNotes(row.notes());
+            hearing.setCreatedAt(row.createdAt());
+            hearing.setUpdatedAt(row.updatedAt());
+            hearing.setVersion(row.version());
+            caseEntity.getHearings().add(hearing);
+        }
+        for (DocumentRow row : snapshot.documents()) {
+            Document document = new Document(row.id(), row.title(), row.type(), caseEntity);
+            document.setContentRef(row.contentRef());
+            document.setContentSize(row.contentSize());
+            document.setContentHash(row.contentHash());
+            document.setContentType(row.contentType());
+            document.setCreatedAt(row.createdAt());
+            document.setUpdatedAt(row.updatedAt());
+            document.setVersion(row.version());
+            caseEntity.getDocuments().add(document);
+        }
+        return caseEntity;
+    }
+
+    private byte[] write(CaseSnapshot snapshot) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, snapshot);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the snapshot of case ID: " + snapshot.id(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private CaseSnapshot read(ArchivedCase archived) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(archived.getPayload()))) {
+            return objectMapper.readValue(in, CaseSnapshot.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived case ID: " + archived.getId(), e);
+        }
+    }
+}
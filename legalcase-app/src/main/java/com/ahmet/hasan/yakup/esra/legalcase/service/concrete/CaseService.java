@@ -1,18 +1,38 @@
 package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
 
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ICaseArchive;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ICaseService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentContentStore;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IUpcomingHearingIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex.Field;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IOutbox;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Document;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseSummary;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
 import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.CursorPage;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.TransactionHooks;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -22,10 +42,27 @@ public class CaseService implements ICaseService {
     private static final Logger logger = LoggerFactory.getLogger(CaseService.class);
 
     private final CaseRepository caseRepository;
+    private final ITrigramSearchIndex trigramIndex;
+    private final IOutbox outbox;
+    private final ICaseArchive caseArchive;
+    private final IDocumentContentStore contentStore;
+    private final IDocumentSearchIndex searchIndex;
+    private final IHearingScheduleIndex scheduleIndex;
+    private final IUpcomingHearingIndex upcomingIndex;
 
     @Autowired
-    public CaseService(CaseRepository caseRepository) {
+    public CaseService(CaseRepository caseRepository, ITrigramSearchIndex trigramIndex, IOutbox outbox,
+                       ICaseArchive caseArchive, IDocumentContentStore contentStore,
+                       IDocumentSearchIndex searchIndex, IHearingScheduleIndex scheduleIndex,
+                       IUpcomingHearingIndex upcomingIndex) {
         this.caseRepository = caseRepository;
+        this.trigramIndex = trigramIndex;
+        this.outbox = outbox;
+        this.caseArchive = caseArchive;
+        this.contentStore = contentStore;
+        this.searchIndex = searchIndex;
+        this.scheduleIndex = scheduleIndex;
+        this.upcomingIndex = upcomingIndex;
     }
 
     @Override
@@ -38,7 +75,7 @@ public class CaseService implements ICaseService {
 
         //Check if the case number is already in use
         Optional<Case> existingCase = caseRepository.findByCaseNumber(caseEntity.getCaseNumber());
-        if (existingCase.isPresent()) {
+        if (existingCase.isPresent() || caseArchive.containsCaseNumber(caseEntity.getCaseNumber())) {
             //Case number is already in use so give an error to the user
             return ApiResponse.error("Case number '" + caseEntity.getCaseNumber() + "' is already in use.", HttpStatus.CONFLICT.value());
         }
@@ -62,6 +99,7 @@ public class CaseService implements ICaseService {
         caseEntity.setStatus(CaseStatus.NEW);
 
         Case savedCase = caseRepository.save(caseEntity);
+        recordChange(savedCase, Action.CREATED);
         return ApiResponse.success(savedCase);
     }
 
@@ -73,7 +111,7 @@ public class CaseService implements ICaseService {
             return ApiResponse.error("Invalid case ID: " + id, HttpStatus.BAD_REQUEST.value());
         }
         logger.info("Getting case by ID: {}", id);
-        Optional<Case> caseOptional = caseRepository.findById(id);
+        Optional<Case> caseOptional = withClients(caseRepository.findById(id)).or(() -> caseArchive.findById(id));
         if (caseOptional.isPresent()) {
             return ApiResponse.success(caseOptional.get());
         } else {
@@ -81,6 +119,27 @@ public class CaseService implements ICaseService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<Case> getCaseDossier(Long id) {
+        //Check if the id is null and must be greater than 0
+        if (id == null || id <= 0) {
+            return ApiResponse.error("Invalid case ID: " + id, HttpStatus.BAD_REQUEST.value());
+        }
+        logger.info("Getting case dossier by ID: {}", id);
+        Optional<Case> caseOptional = caseRepository.findDetailById(id);
+        if (caseOptional.isEmpty()) {
+            // An archived case is read whole, hearings and documents included
+            return caseArchive.findById(id).map(ApiResponse::success)
+                    .orElseGet(() -> ApiResponse.error("Case not found with ID: " + id, HttpStatus.NOT_FOUND.value()));
+        }
+
+        // Both lookups resolve to the managed instance above and only initialise its collections
+        caseRepository.findWithHearingsById(id);
+        caseRepository.findWithDocumentsById(id);
+        return ApiResponse.success(caseOptional.get());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ApiResponse<Case> getCaseByCaseNumber(String caseNumber) {
@@ -89,7 +148,8 @@ public class CaseService implements ICaseService {
             return ApiResponse.error("Case number cannot be empty.", HttpStatus.BAD_REQUEST.value());
         }
         logger.info("Getting case by case number: {}", caseNumber);
-        Optional<Case> caseOptional = caseRepository.findByCaseNumber(caseNumber);
+        Optional<Case> caseOptional = withClients(caseRepository.findByCaseNumber(caseNumber))
+                .or(() -> caseArchive.findByCaseNumber(caseNumber));
         if (caseOptional.isPresent()) {
             return ApiResponse.success(caseOptional.get());
         } else {
@@ -123,7 +183,119 @@ public class CaseService implements ICaseService {
     }
 
     @Override
-    public ApiResponse<Case> updateCase(Case caseEntity) {
+    @Transactional(readOnly = true)
+    public ApiResponse<List<CaseSummary>> getCaseSummaries() {
+        logger.info("Getting all case summaries");
+        List<CaseSummary> summaries = caseRepository.findAllSummaries();
+        return ApiResponse.success(summaries);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<CaseSummary>> getCaseSummariesByStatus(CaseStatus status) {
+        //Check if the status is empty
+        if (status == null) {
+            return ApiResponse.error("Case status cannot be empty.", HttpStatus.BAD_REQUEST.value());
+        }
+        logger.info("Getting case summaries by status: {}", status);
+        List<CaseSummary> summaries = caseRepository.findSummariesByStatus(status);
+        return ApiResponse.success(summaries);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Case>> getAllCases(String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting cases after ID: {} (page size {})", afterId, pageSize);
+        List<Case> cases = caseRepository.findByIdGreaterThanOrderByIdAsc(afterId, CursorPage.limit(pageSize));
+        return CursorPage.of(cases, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getCasePageVersion(String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return null;
+        }
+        return ResourceVersion.ofPage(caseRepository.findStampsAfter(afterId, CursorPage.limit(CursorPage.size(size))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Case>> getCasesByStatus(CaseStatus status, String cursor, Integer size) {
+        //Check if the status is empty
+        if (status == null) {
+            return ApiResponse.error("Case status cannot be empty.", HttpStatus.BAD_REQUEST.value());
+        }
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting cases by status: {} after ID: {} (page size {})", status, afterId, pageSize);
+        List<Case> cases = caseRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId,
+                CursorPage.limit(pageSize));
+        return CursorPage.of(cases, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<CaseSummary>> getCaseSummaries(String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting case summaries after ID: {} (page size {})", afterId, pageSize);
+        List<CaseSummary> summaries = caseRepository.findSummariesAfter(afterId, CursorPage.limit(pageSize));
+        return CursorPage.of(summaries, pageSize, CaseSummary::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<CaseSummary>> getCaseSummariesByStatus(CaseStatus status, String cursor, Integer size) {
+        //Check if the status is empty
+        if (status == null) {
+            return ApiResponse.error("Case status cannot be empty.", HttpStatus.BAD_REQUEST.value());
+        }
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting case summaries by status: {} after ID: {} (page size {})", status, afterId, pageSize);
+        List<CaseSummary> summaries = caseRepository.findSummariesByStatusAfter(status, afterId,
+                CursorPage.limit(pageSize));
+        return CursorPage.of(summaries, pageSize, CaseSummary::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Case>> searchCasesByTitle(String term, String cursor, Integer size) {
+        if (term == null || term.isEmpty()) {
+            return ApiResponse.error("Search term cannot be empty", HttpStatus.BAD_REQUEST.value());
+        }
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Searching cases by title containing: {} after ID: {} (page size {})", term, afterId, pageSize);
+        List<Case> cases = trigramIndex.isReady(Field.CASE_TITLE) ?
+                trigramIndex.load(Field.CASE_TITLE, term, afterId, pageSize + 1,
+                        caseRepository::findByIdInOrderByIdAsc) :
+                caseRepository.findByTitleContainingIgnoreCaseAndIdGreaterThanOrderByIdAsc(term, afterId,
+                        CursorPage.limit(pageSize));
+        return CursorPage.of(cases, pageSize);
+    }
+
+    @Override
+    public ApiResponse<Case> updateCase(Case caseEntity, Long expectedVersion) {
         logger.info("Updating case with ID: {}", caseEntity.getId());
 
         // Check if case ID is null
@@ -147,10 +319,16 @@ public class CaseService implements ICaseService {
         }
 
 
-        // Check if case exists
-        if (!caseRepository.existsById(caseEntity.getId())) {
+        // Check if case exists; the row read (mostly from the second-level cache) also gives the
+        // version the update is conditional on and the case number it had
+        Optional<Case> currentCase = caseRepository.findById(caseEntity.getId());
+        if (currentCase.isEmpty()) {
             return ApiResponse.error("Case not found with ID: " + caseEntity.getId(), HttpStatus.NOT_FOUND.value());
         }
+        long currentVersion = currentCase.get().getVersion();
+        if (expectedVersion != null && expectedVersion != currentVersion) {
+            return modifiedSince(caseEntity.getId());
+        }
 
         // Check if case status is valid
         if(caseEntity.getStatus() != CaseStatus.NEW && caseEntity.getStatus() != CaseStatus.ACTIVE && caseEntity.getStatus() != CaseStatus.PENDING &&
@@ -158,17 +336,28 @@ public class CaseService implements ICaseService {
             return ApiResponse.error("Invalid case status: " + caseEntity.getStatus(), HttpStatus.BAD_REQUEST.value());
         }
 
-        // Check if the updated case number conflicts with another case
-        Optional<Case> existingCase = caseRepository.findByCaseNumber(caseEntity.getCaseNumber());
-        if (existingCase.isPresent() && !existingCase.get().getId().equals(caseEntity.getId())) {
-            return ApiResponse.error("Cannot update case: case number '" + caseEntity.getCaseNumber() +
-                    "' is already in use by another case.", HttpStatus.CONFLICT.value());
+        // Check if the updated case number conflicts with another case; only a changed one can
+        if (!caseEntity.getCaseNumber().equals(currentCase.get().getCaseNumber())) {
+            Optional<Case> existingCase = caseRepository.findByCaseNumber(caseEntity.getCaseNumber());
+            if ((existingCase.isPresent() && !existingCase.get().getId().equals(caseEntity.getId()))
+                    || caseArchive.containsCaseNumber(caseEntity.getCaseNumber())) {
+                return ApiResponse.error("Cannot update case: case number '" + caseEntity.getCaseNumber() +
+                        "' is already in use by another case.", HttpStatus.CONFLICT.value());
+            }
         }
 
         try {
-            Case updatedCase = caseRepository.save(caseEntity);
+            // Flushed here so the update, "... where id = ? and version = ?", fails in this method
+            // when another one committed since the read
+            caseEntity.setVersion(currentVersion);
+            Case updatedCase = caseRepository.saveAndFlush(caseEntity);
+            recordChange(updatedCase, Action.UPDATED);
             return ApiResponse.success(updatedCase);
+        } catch (OptimisticLockingFailureException e) {
+            TransactionHooks.setRollbackOnly();
+            return modifiedSince(caseEntity.getId());
         } catch (Exception e) {
+            TransactionHooks.setRollbackOnly();
             logger.error("Error while updating case", e);
             return ApiResponse.error("An unexpected error occurred: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR.value());
         }
@@ -178,16 +367,88 @@ public class CaseService implements ICaseService {
     public ApiResponse<Void> deleteCase(Long id) {
         logger.info("Deleting case with ID: {}", id);
 
-        if (!caseRepository.existsById(id)) {
+        Optional<Case> caseOptional = caseRepository.findWithDocumentsById(id);
+        if (caseOptional.isEmpty()) {
             return ApiResponse.error("Case not found with ID: " + id, HttpStatus.NOT_FOUND.value());
         }
+        // The hearings and documents go with the case, and the bodies and index entries of the
+        // documents once the delete is committed
+        List<String> contentRefs = caseOptional.get().getDocuments().stream()
+                .map(Document::getContentRef)
+                .filter(Objects::nonNull)
+                .toList();
+        List<Long> documentIds = caseOptional.get().getDocuments().stream().map(Document::getId).toList();
+        List<Long> hearingIds = caseOptional.get().getHearings().stream().map(Hearing::getId).toList();
 
         try {
-            caseRepository.deleteById(id);
+            caseRepository.delete(caseOptional.get());
+            outbox.record(Entity.CASE, Action.DELETED, id, id, null, null);
+            TransactionHooks.afterCommit(() -> {
+                trigramIndex.remove(Field.CASE_TITLE, id);
+                hearingIds.forEach(hearingId -> {
+                    trigramIndex.remove(Field.HEARING_JUDGE, hearingId);
+                    scheduleIndex.remove(hearingId);
+                    upcomingIndex.remove(hearingId);
+                });
+                contentRefs.forEach(this::deleteContent);
+                documentIds.forEach(searchIndex::remove);
+            });
             return ApiResponse.success(null);
         } catch (Exception e) {
             logger.error("Error while deleting case", e);
             return ApiResponse.error("An unexpected error occurred: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR.value());
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public ApiResponse<Case> restoreCase(Long id) {
+        //Check if the id is null and must be greater than 0
+        if (id == null || id <= 0) {
+            return ApiResponse.error("Invalid case ID: " + id, HttpStatus.BAD_REQUEST.value());
+        }
+        logger.info("Restoring case with ID: {}", id);
+        try {
+            return caseArchive.restore(id);
+        } catch (Exception e) {
+            TransactionHooks.setRollbackOnly();
+            logger.error("Error while restoring case", e);
+            return ApiResponse.error("An unexpected error occurred: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+    }
+
+    /**
+     * Loads the clients of the case for the detail view. The case and the collection both
+     * come from the second-level cache when they are there, so a cached case costs no query.
+     */
+    private static Optional<Case> withClients(Optional<Case> caseOptional) {
+        caseOptional.ifPresent(caseEntity -> Hibernate.initialize(caseEntity.getClients()));
+        return caseOptional;
+    }
+
+    private static ApiResponse<Case> modifiedSince(Long id) {
+        return ApiResponse.error("Case with ID: " + id + " has been modified since it was read.",
+                HttpStatus.PRECONDITION_FAILED.value());
+    }
+
+    /**
+     * Records the change in the outbox, in this transaction, and indexes the case once it commits
+     */
+    private void recordChange(Case caseEntity, Action action) {
+        if (caseEntity == null || caseEntity.getId() == null) {
+            return;
+        }
+        Long id = caseEntity.getId();
+        String title = caseEntity.getTitle();
+        outbox.record(Entity.CASE, action, id, id, null,
+                caseEntity.getStatus() == null ? null : caseEntity.getStatus().name());
+        TransactionHooks.afterCommit(() -> trigramIndex.index(Field.CASE_TITLE, id, title));
+    }
+
+    private void deleteContent(String ref) {
+        try {
+            contentStore.delete(ref);
+        } catch (IOException e) {
+            logger.warn("Could not delete document content {}: {}", ref, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IChangeFeed;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDomainEventSubscriber;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Change feed held in memory. The last changes are kept in a ring, so a client that lost
+ * its connection resumes after the last event it saw; one that resumes after an event the
+ * ring no longer holds is told to resync instead.
+ *
+ * Publishing never waits for a subscriber: each has a bounded buffer, and a subscriber that
+ * falls so far behind that its buffer fills loses what it holds and is told to resync, then
+ * goes on with the changes that follow. A small pool of threads writes the buffers out, one
+ * thread at a time per subscriber, so a slow client holds up nobody else.
+ *
+ * Ids start from the clock in microseconds on every start, so they keep growing across
+ * restarts and an id from before one is simply older than the ring.
+ *
+ * The changes come from the outbox, as a domain event subscriber; one handed out again
+ * after a restart reaches the clients again, as a change they already know.
+ */
+@Service
+public class ChangeFeed implements IChangeFeed, IDomainEventSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeed.class);
+
+    private final int bufferSize;
+    private final ChangeEvent[] history;
+    // Oldest event of the ring and how many it holds
+    private int head;
+    private int count;
+    private long nextId;
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+
+    @Autowired
+    public ChangeFeed(@Value("${changes.history-size:10000}") int historySize,
+                      @Value("${changes.buffer-size:256}") int bufferSize,
+                      @Value("${changes.sender-threads:4}") int senderThreads,
+                      @Value("${changes.heartbeat:15s}") String heartbeat) {
+        if (historySize < 1 || bufferSize < 1 || senderThreads < 1) {
+            throw new IllegalArgumentException("Change feed history size, buffer size and sender threads must be positive");
+        }
+        long heartbeatMillis = DurationStyle.detectAndParse(heartbeat).toMillis();
+        if (heartbeatMillis < 1) {
+            throw new IllegalArgumentException("The change feed heartbeat must be at least a millisecond: " + heartbeat);
+        }
+        this.bufferSize = bufferSize;
+        this.history = new ChangeEvent[historySize];
+        this.nextId = System.currentTimeMillis() * 1000;
+
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, task -> {
+            Thread thread = new Thread(task, "change-feed-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "change-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(Entity entity, Action action, Long entityId, Long caseId, String judge, String status) {
+        synchronized (this) {
+            ChangeEvent event = new ChangeEvent(nextId++, entity, action, entityId, caseId, judge, status,
+                    LocalDateTime.now());
+            if (count == history.length) {
+                history[head] = event;
+                head = (head + 1) % history.length;
+            } else {
+                history[(head + count++) % history.length] = event;
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.filter.matches(event)) {
+                    subscriber.offer(event);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onEvent(ChangeEvent event) {
+        publish(event.entity(), event.action(), event.entityId(), event.caseId(), event.judge(), event.status());
+    }
+
+    @Override
+    public Runnable subscribe(Filter filter, Long lastEventId, Sink sink) {
+        Subscriber subscriber = new Subscriber(filter == null ? Filter.ALL : filter, sink);
+        synchronized (this) {
+            if (lastEventId != null) {
+                long oldest = nextId - count;
+                if (lastEventId < oldest - 1 || lastEventId >= nextId) {
+                    subscriber.resync(nextId - 1);
+                } else {
+                    for (long id = lastEventId + 1; id < nextId; id++) {
+                        ChangeEvent event = history[(int) ((head + id - oldest) % history.length)];
+                        if (subscriber.filter.matches(event)) {
+                            subscriber.offer(event);
+                        }
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        return () -> unsubscribe(subscriber);
+    }
+
+    /**
+     * @return number of open subscriptions
+     */
+    public synchronized int subscribers() {
+        return subscribers.size();
+    }
+
+    /**
+     * Sends a heartbeat to every subscriber with nothing else to send
+     */
+    public void heartbeat() {
+        List<Subscriber> open;
+        synchronized (this) {
+            open = new ArrayList<>(subscribers);
+        }
+        open.forEach(Subscriber::heartbeat);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<Subscriber> open;
+        synchronized (this) {
+            open = new ArrayList<>(subscribers);
+            subscribers.clear();
+        }
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber subscriber : open) {
+            subscriber.close();
+            subscriber.sink.close();
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        synchronized (this) {
+            subscribers.remove(subscriber);
+        }
+        subscriber.close();
+    }
+
+    /**
+     * A subscriber's buffer and the state of its writer. At most one sender drains it at a
+     * time, taking the buffer's lock only to pick the next thing to write.
+     */
+    private final class Subscriber {
+
+        private final Filter filter;
+        private final Sink sink;
+        private final ArrayDeque<ChangeEvent> buffer = new ArrayDeque<>();
+        // Last event id to resync from, or null when nothing was lost
+        private Long resyncFrom;
+        private boolean heartbeat;
+        private boolean draining;
+        private boolean closed;
+
+        private Subscriber(Filter filter, Sink sink) {
+            this.filter = filter;
+            this.sink = sink;
+        }
+
+        synchronized void offer(ChangeEvent event) {
+            if (closed) {
+                return;
+            }
+            if (buffer.size() >= bufferSize) {
+                // Whatever is buffered is lost with the oldest event anyway
+                buffer.clear();
+                resyncFrom = event.id() - 1;
+            }
+            buffer.add(event);
+            drainLater();
+        }
+
+        synchronized void resync(long lastEventId) {
+            resyncFrom = lastEventId;
+            drainLater();
+        }
+
+        synchronized void heartbeat() {
+            if (!closed && buffer.isEmpty() && resyncFrom == null) {
+                heartbeat = true;
+                drainLater();
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            buffer.clear();
+        }
+
+        private void drainLater() {
+            if (draining || closed) {
+                return;
+            }
+            draining = true;
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                draining = false;
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                ChangeEvent event = null;
+                Long resync = null;
+                synchronized (this) {
+                    if (closed) {
+                        draining = false;
+                        return;
+                    }
+                    if (resyncFrom != null) {
+                        resync = resyncFrom;
+                        resyncFrom = null;
+                    } else if ((event = buffer.poll()) == null) {
+                        if (!heartbeat) {
+                            draining = false;
+                            return;
+                        }
+                    }
+                    heartbeat = false;
+                }
+                try {
+                    if (resync != null) {
+                        sink.resync(resync);
+                    } else if (event != null) {
+                        sink.send(event);
+                    } else {
+                        sink.heartbeat();
+                    }
+                } catch (Exception e) {
+                    // Most often the client has gone away
+                    logger.debug("Closing change feed subscription: {}", e.getMessage());
+                    unsubscribe(this);
+                    synchronized (this) {
+                        draining = false;
+                    }
+                    sink.close();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
 
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IClientService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex.Field;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Client;
 import com.ahmet.hasan.yakup.esra.legalcase.repository.ClientRepository;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.CursorPage;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.TransactionHooks;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -24,10 +32,12 @@ public class ClientService implements IClientService {
     private static final Logger logger = LoggerFactory.getLogger(ClientService.class);
 
     private final ClientRepository clientRepository;
+    private final ITrigramSearchIndex trigramIndex;
 
     @Autowired
-    public ClientService(ClientRepository clientRepository) {
+    public ClientService(ClientRepository clientRepository, ITrigramSearchIndex trigramIndex) {
         this.clientRepository = clientRepository;
+        this.trigramIndex = trigramIndex;
     }
 
     @Override
@@ -43,6 +53,7 @@ public class ClientService implements IClientService {
 
         try {
             Client savedClient = clientRepository.save(client);
+            indexOnCommit(savedClient);
             return ApiResponse.success(savedClient);
         } catch (Exception e) {
             logger.error("Error while saving client", e);
@@ -55,7 +66,7 @@ public class ClientService implements IClientService {
     @Transactional(readOnly = true)
     public ApiResponse<Client> getClientById(Long id) {
         logger.info("Getting client by ID: {}", id);
-        Optional<Client> clientOptional = clientRepository.findById(id);
+        Optional<Client> clientOptional = withCases(clientRepository.findById(id));
         if (clientOptional.isPresent()) {
             return ApiResponse.success(clientOptional.get());
         } else {
@@ -68,7 +79,7 @@ public class ClientService implements IClientService {
     @Transactional(readOnly = true)
     public ApiResponse<Client> getClientByEmail(String email) {
         logger.info("Getting client by email: {}", email);
-        Optional<Client> clientOptional = clientRepository.findByEmail(email);
+        Optional<Client> clientOptional = withCases(clientRepository.findByEmail(email));
         if (clientOptional.isPresent()) {
             return ApiResponse.success(clientOptional.get());
         } else {
@@ -89,32 +100,89 @@ public class ClientService implements IClientService {
     @Transactional(readOnly = true)
     public ApiResponse<List<Client>> searchClients(String searchTerm) {
         logger.info("Searching clients with term: {}", searchTerm);
-        List<Client> clients = clientRepository.findByNameContainingIgnoreCaseOrSurnameContainingIgnoreCase(
-                searchTerm, searchTerm);
+        List<Client> clients = trigramIndex.isReady(Field.CLIENT_NAME) ?
+                trigramIndex.load(Field.CLIENT_NAME, searchTerm, 0L, Integer.MAX_VALUE,
+                        clientRepository::findByIdInOrderByIdAsc) :
+                clientRepository.findByNameContainingIgnoreCaseOrSurnameContainingIgnoreCase(searchTerm, searchTerm);
         return ApiResponse.success(clients);
     }
 
     @Override
-    public ApiResponse<Client> updateClient(Client client) {
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Client>> getAllClients(String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting clients after ID: {} (page size {})", afterId, pageSize);
+        List<Client> clients = clientRepository.findByIdGreaterThanOrderByIdAsc(afterId, CursorPage.limit(pageSize));
+        return CursorPage.of(clients, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getClientPageVersion(String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return null;
+        }
+        return ResourceVersion.ofPage(clientRepository.findStampsAfter(afterId, CursorPage.limit(CursorPage.size(size))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Client>> searchClients(String searchTerm, String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Searching clients with term: {} after ID: {} (page size {})", searchTerm, afterId, pageSize);
+        List<Client> clients = trigramIndex.isReady(Field.CLIENT_NAME) ?
+                trigramIndex.load(Field.CLIENT_NAME, searchTerm, afterId, pageSize + 1,
+                        clientRepository::findByIdInOrderByIdAsc) :
+                clientRepository.searchAfter(searchTerm, afterId, CursorPage.limit(pageSize));
+        return CursorPage.of(clients, pageSize);
+    }
+
+    @Override
+    public ApiResponse<Client> updateClient(Client client, Long expectedVersion) {
         logger.info("Updating client with ID: {}", client.getId());
 
-        // Check if client exists
-        if (!clientRepository.existsById(client.getId())) {
+        // Check if client exists; the row read (mostly from the second-level cache) also gives
+        // the version the update is conditional on and the email it had
+        Optional<Client> currentClient = clientRepository.findById(client.getId());
+        if (currentClient.isEmpty()) {
             return ApiResponse.error("Client not found with ID: " + client.getId(),
                     HttpStatus.NOT_FOUND.value());
         }
+        long currentVersion = currentClient.get().getVersion();
+        if (expectedVersion != null && expectedVersion != currentVersion) {
+            return modifiedSince(client.getId());
+        }
 
-        // Check if email is already used by another client
-        Optional<Client> existingClient = clientRepository.findByEmail(client.getEmail());
-        if (existingClient.isPresent() && !existingClient.get().getId().equals(client.getId())) {
-            return ApiResponse.error("Cannot update client: email address '" + client.getEmail() +
-                    "' is already in use by another client.", HttpStatus.CONFLICT.value());
+        // Check if email is already used by another client; only a changed one can be
+        if (!Objects.equals(client.getEmail(), currentClient.get().getEmail())) {
+            Optional<Client> existingClient = clientRepository.findByEmail(client.getEmail());
+            if (existingClient.isPresent() && !existingClient.get().getId().equals(client.getId())) {
+                return ApiResponse.error("Cannot update client: email address '" + client.getEmail() +
+                        "' is already in use by another client.", HttpStatus.CONFLICT.value());
+            }
         }
 
         try {
-            Client updatedClient = clientRepository.save(client);
+            // Flushed here so the update, "... where id = ? and version = ?", fails in this method
+            // when another one committed since the read
+            client.setVersion(currentVersion);
+            Client updatedClient = clientRepository.saveAndFlush(client);
+            indexOnCommit(updatedClient);
             return ApiResponse.success(updatedClient);
+        } catch (OptimisticLockingFailureException e) {
+            TransactionHooks.setRollbackOnly();
+            return modifiedSince(client.getId());
         } catch (Exception e) {
+            TransactionHooks.setRollbackOnly();
             logger.error("Error while updating client", e);
             return ApiResponse.error("An unexpected error occurred: " + e.getMessage(),
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
@@ -132,6 +200,7 @@ public class ClientService implements IClientService {
 
         try {
             clientRepository.deleteById(id);
+            TransactionHooks.afterCommit(() -> trigramIndex.remove(Field.CLIENT_NAME, id));
             return ApiResponse.success(null);
         } catch (Exception e) {
             logger.error("Error while deleting client", e);
@@ -139,4 +208,28 @@ public class ClientService implements IClientService {
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Loads the cases of the client for the detail view, from the second-level cache when
+     * the client and the collection are there
+     */
+    private static Optional<Client> withCases(Optional<Client> clientOptional) {
+        clientOptional.ifPresent(client -> Hibernate.initialize(client.getCases()));
+        return clientOptional;
+    }
+
+    private static ApiResponse<Client> modifiedSince(Long id) {
+        return ApiResponse.error("Client with ID: " + id + " has been modified since it was read.",
+                HttpStatus.PRECONDITION_FAILED.value());
+    }
+
+    private void indexOnCommit(Client client) {
+        if (client == null || client.getId() == null) {
+            return;
+        }
+        Long id = client.getId();
+        String name = client.getName();
+        String surname = client.getSurname();
+        TransactionHooks.afterCommit(() -> trigramIndex.index(Field.CLIENT_NAME, id, name, surname));
+    }
+}
@@ -3,19 +3,49 @@ package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Document;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.DocumentType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.DocumentSearchHit;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
 import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
 import com.ahmet.hasan.yakup.esra.legalcase.repository.DocumentRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentContentStore;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentSearchIndex;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IOutbox;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.CursorPage;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.TransactionHooks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 @Transactional
@@ -23,13 +53,36 @@ public class DocumentService implements IDocumentService {
 
     private static final Logger logger = LoggerFactory.getLogger(DocumentService.class);
 
+    private static final String TEXT_CONTENT_TYPE = "text/plain;charset=UTF-8";
+
+    // Larger bodies are only served through the streaming download
+    public static final long INLINE_CONTENT_LIMIT = 1024 * 1024;
+
+    // Only the beginning of a very large text body is indexed for search
+    private static final int MAX_INDEXED_CONTENT = 64 * 1024 * 1024;
+
+    // Ranked results are not paged deeper than this
+    public static final int MAX_SEARCH_DEPTH = 10_000;
+
+    private static final int REINDEX_PAGE_SIZE = 500;
+
     private final DocumentRepository documentRepository;
     private final CaseRepository caseRepository;
+    private final IDocumentContentStore contentStore;
+    private final IDocumentSearchIndex searchIndex;
+    private final IOutbox outbox;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public DocumentService(DocumentRepository documentRepository, CaseRepository caseRepository) {
+    public DocumentService(DocumentRepository documentRepository, CaseRepository caseRepository,
+                           IDocumentContentStore contentStore, IDocumentSearchIndex searchIndex,
+                           IOutbox outbox, PlatformTransactionManager transactionManager) {
         this.documentRepository = documentRepository;
         this.caseRepository = caseRepository;
+        this.contentStore = contentStore;
+        this.searchIndex = searchIndex;
+        this.outbox = outbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -37,6 +90,7 @@ public class DocumentService implements IDocumentService {
         logger.info("Creating new document: {}", document.getTitle());
         try {
             Document savedDocument = documentRepository.save(document);
+            recordChange(savedDocument, Action.CREATED);
             return ApiResponse.success(savedDocument);
         } catch (Exception e) {
             logger.error("Error creating document: {}", e.getMessage(), e);
@@ -47,6 +101,22 @@ public class DocumentService implements IDocumentService {
 
     @Override
     public ApiResponse<Document> createDocumentWithContent(Long caseId, String title, DocumentType type, String content) {
+        return saveNewDocument(caseId, title, type, content == null ? null : textStream(content), TEXT_CONTENT_TYPE);
+    }
+
+    /**
+     * Runs without a transaction so no connection is held while the body is streamed;
+     * the case lookup and the insert each use their own short repository transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ApiResponse<Document> createDocumentWithContent(Long caseId, String title, DocumentType type,
+                                                           InputStream content, String contentType) {
+        return saveNewDocument(caseId, title, type, content, contentType);
+    }
+
+    private ApiResponse<Document> saveNewDocument(Long caseId, String title, DocumentType type,
+                                                  InputStream content, String contentType) {
         logger.info("Creating new document with content for case ID: {}", caseId);
 
         // Check Case
@@ -56,17 +126,26 @@ public class DocumentService implements IDocumentService {
                     HttpStatus.NOT_FOUND.value());
         }
 
+        String storedRef = null;
         try {
             // Create the Document object
             Document document = new Document();
             document.setTitle(title);
             document.setType(type);
             document.setCse(caseOptional.get());
-            document.setContent(content);
+            if (content != null) {
+                storedRef = storeContent(document, content, contentType);
+            }
 
-            Document savedDocument = documentRepository.save(document);
+            Document savedDocument = inTransaction(() -> {
+                Document saved = documentRepository.save(document);
+                recordChange(saved, Action.CREATED);
+                return saved;
+            });
+            deleteContentOnCompletion(storedRef, TransactionSynchronization.STATUS_ROLLED_BACK);
             return ApiResponse.success(savedDocument);
         } catch (Exception e) {
+            deleteContent(storedRef);
             logger.error("Error saving document: {}", e.getMessage(), e);
             return ApiResponse.error("Failed to save document: " + e.getMessage(),
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
@@ -124,7 +203,265 @@ public class DocumentService implements IDocumentService {
     }
 
     @Override
-    public ApiResponse<Document> updateDocument(Long id, Document document) {
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Document>> getAllDocuments(String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting documents after ID: {} (page size {})", afterId, pageSize);
+        List<Document> documents = documentRepository.findByIdGreaterThanOrderByIdAsc(afterId,
+                CursorPage.limit(pageSize));
+        return CursorPage.of(documents, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getDocumentPageVersion(String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return null;
+        }
+        return ResourceVersion.ofPage(documentRepository.findStampsAfter(afterId, CursorPage.limit(CursorPage.size(size))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Document>> getDocumentsByCaseId(Long caseId, String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        // First check the existence of case
+        if (!caseRepository.existsById(caseId)) {
+            return ApiResponse.error("Case not found with ID: " + caseId,
+                    HttpStatus.NOT_FOUND.value());
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting documents by case ID: {} after ID: {} (page size {})", caseId, afterId, pageSize);
+        List<Document> documents = documentRepository.findByCseIdAndIdGreaterThanOrderByIdAsc(caseId, afterId,
+                CursorPage.limit(pageSize));
+        return CursorPage.of(documents, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getDocumentPageVersionByCaseId(Long caseId, String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return null;
+        }
+        List<RowStamp> stamps = documentRepository.findStampsByCaseIdAfter(caseId, afterId,
+                CursorPage.limit(CursorPage.size(size)));
+        // An empty page of a deleted case must not match the one cached while it existed
+        if (stamps.isEmpty() && !caseRepository.existsById(caseId)) {
+            return null;
+        }
+        return ResourceVersion.ofPage(stamps);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Document>> getDocumentsByType(DocumentType type, String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting documents by type: {} after ID: {} (page size {})", type, afterId, pageSize);
+        List<Document> documents = documentRepository.findByTypeAndIdGreaterThanOrderByIdAsc(type, afterId,
+                CursorPage.limit(pageSize));
+        return CursorPage.of(documents, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Document>> searchDocumentsByTitle(String keyword, String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Searching documents by title containing: {} after ID: {} (page size {})", keyword, afterId, pageSize);
+        List<Document> documents = documentRepository.findByTitleContainingIgnoreCaseAndIdGreaterThanOrderByIdAsc(
+                keyword, afterId, CursorPage.limit(pageSize));
+        return CursorPage.of(documents, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<DocumentSearchHit>> searchDocuments(String query, String cursor, Integer size) {
+        Integer offset = CursorPage.decodeOffset(cursor);
+        if (offset == null || offset > MAX_SEARCH_DEPTH) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        if (query == null || query.isBlank()) {
+            return ApiResponse.error("Search query cannot be empty", HttpStatus.BAD_REQUEST.value());
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Searching documents for: {} from hit {} (page size {})", query, offset, pageSize);
+
+        IDocumentSearchIndex.Result result = searchIndex.search(query, offset, pageSize);
+        Map<Long, Document> documents = new HashMap<>();
+        if (!result.hits().isEmpty()) {
+            List<Long> ids = result.hits().stream().map(IDocumentSearchIndex.Hit::documentId).toList();
+            for (Document document : documentRepository.findByIdIn(ids)) {
+                documents.put(document.getId(), document);
+            }
+        }
+
+        List<DocumentSearchHit> hits = new ArrayList<>(result.hits().size());
+        for (IDocumentSearchIndex.Hit hit : result.hits()) {
+            Document document = documents.get(hit.documentId());
+            // A miss is deleted by a transaction whose index update has not run yet, or only
+            // not yet replicated to this read; either way the delete path owns the entry
+            if (document != null) {
+                hits.add(DocumentSearchHit.of(document, hit.score()));
+            }
+        }
+
+        int nextOffset = offset + pageSize;
+        String nextCursor = nextOffset < result.totalHits() && nextOffset <= MAX_SEARCH_DEPTH ?
+                CursorPage.encodeOffset(nextOffset) : null;
+        return ApiResponse.success(hits, nextCursor);
+    }
+
+    /**
+     * Walks the documents table in keyset pages and indexes whatever is not indexed yet,
+     * so documents changed while the rebuild runs keep their newer entry.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuildSearchIndex() {
+        long started = System.currentTimeMillis();
+        logger.info("Rebuilding document search index");
+        int added = 0;
+        long afterId = 0;
+        while (true) {
+            List<Document> page = documentRepository.findByIdGreaterThanOrderByIdAsc(afterId,
+                    Limit.of(REINDEX_PAGE_SIZE));
+            for (Document document : page) {
+                if (searchIndex.indexIfAbsent(document.getId(), document.getTitle(),
+                        indexableContent(document.getId(), document.getContentRef(), document.getContentType()))) {
+                    added++;
+                }
+                afterId = document.getId();
+            }
+            if (page.size() < REINDEX_PAGE_SIZE) {
+                break;
+            }
+        }
+        logger.info("Document search index rebuilt: {} documents added in {} ms", added,
+                System.currentTimeMillis() - started);
+        return added;
+    }
+
+    /**
+     * The index lives in memory, so it is filled again on every start. This runs in the
+     * background; until it finishes searches only see documents indexed so far.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildSearchIndexOnStartup() {
+        Thread rebuild = new Thread(() -> {
+            try {
+                rebuildSearchIndex();
+            } catch (Exception e) {
+                logger.error("Error rebuilding document search index: {}", e.getMessage(), e);
+            }
+        }, "document-search-index");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<String> getDocumentContent(Long id) {
+        logger.info("Getting content of document with ID: {}", id);
+
+        Optional<Document> documentOptional = documentRepository.findById(id);
+        if (documentOptional.isEmpty()) {
+            return ApiResponse.error("Document not found with ID: " + id,
+                    HttpStatus.NOT_FOUND.value());
+        }
+
+        Document document = documentOptional.get();
+        if (!document.hasContent()) {
+            return ApiResponse.error("Document has no content", HttpStatus.NOT_FOUND.value());
+        }
+        if (document.getContentSize() != null && document.getContentSize() > INLINE_CONTENT_LIMIT) {
+            return ApiResponse.error("Document content is too large to return inline, download it instead",
+                    HttpStatus.PAYLOAD_TOO_LARGE.value());
+        }
+
+        try {
+            String content = StandardCharsets.UTF_8.decode(contentStore.read(document.getContentRef())).toString();
+            return ApiResponse.success(content);
+        } catch (NoSuchFileException e) {
+            logger.error("Content {} of document {} is missing from the store", document.getContentRef(), id);
+            return ApiResponse.error("Document content is missing", HttpStatus.NOT_FOUND.value());
+        } catch (IOException e) {
+            logger.error("Error reading document content: {}", e.getMessage(), e);
+            return ApiResponse.error("Failed to read document content: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long streamDocumentContent(Document document, long offset, long length, OutputStream out) throws IOException {
+        return contentStore.transferTo(document.getContentRef(), offset, length, Channels.newChannel(out));
+    }
+
+    @Override
+    public ApiResponse<Document> updateDocumentContent(Long id, String content) {
+        return replaceContent(id, content == null ? null : textStream(content), TEXT_CONTENT_TYPE);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ApiResponse<Document> updateDocumentContent(Long id, InputStream content, String contentType) {
+        return replaceContent(id, content, contentType);
+    }
+
+    private ApiResponse<Document> replaceContent(Long id, InputStream content, String contentType) {
+        logger.info("Updating content of document with ID: {}", id);
+
+        if (content == null) {
+            return ApiResponse.error("Document content cannot be null", HttpStatus.BAD_REQUEST.value());
+        }
+
+        Optional<Document> existingDocument = documentRepository.findById(id);
+        if (existingDocument.isEmpty()) {
+            return ApiResponse.error("Document not found with ID: " + id,
+                    HttpStatus.NOT_FOUND.value());
+        }
+
+        String storedRef = null;
+        try {
+            Document documentToUpdate = existingDocument.get();
+            String previousRef = documentToUpdate.getContentRef();
+            storedRef = storeContent(documentToUpdate, content, contentType);
+
+            Document updatedDocument = inTransaction(() -> {
+                Document saved = documentRepository.save(documentToUpdate);
+                recordChange(saved, Action.UPDATED);
+                return saved;
+            });
+            deleteContentOnCompletion(storedRef, TransactionSynchronization.STATUS_ROLLED_BACK);
+            deleteContentOnCompletion(previousRef, TransactionSynchronization.STATUS_COMMITTED);
+            return ApiResponse.success(updatedDocument);
+        } catch (Exception e) {
+            deleteContent(storedRef);
+            logger.error("Error updating document content: {}", e.getMessage(), e);
+            return ApiResponse.error("Failed to update document content: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+    }
+
+    @Override
+    public ApiResponse<Document> updateDocument(Long id, Document document, Long expectedVersion) {
         logger.info("Updating document with ID: {}", id);
 
         Optional<Document> existingDocument = documentRepository.findById(id);
@@ -132,25 +469,30 @@ public class DocumentService implements IDocumentService {
             return ApiResponse.error("Document not found with ID: " + id,
                     HttpStatus.NOT_FOUND.value());
         }
+        if (expectedVersion != null && expectedVersion != existingDocument.get().getVersion()) {
+            return modifiedSince(id);
+        }
 
         try {
             Document documentToUpdate = existingDocument.get();
             documentToUpdate.setTitle(document.getTitle());
             documentToUpdate.setType(document.getType());
 
-            // Update content if provided
-            if (document.getContent() != null) {
-                documentToUpdate.setContent(document.getContent());
-            }
-
             // Preserve other fields if case is not updated
             if (document.getCse() != null) {
                 documentToUpdate.setCse(document.getCse());
             }
 
-            Document updatedDocument = documentRepository.save(documentToUpdate);
+            // Flushed here so the update, "... where id = ? and version = ?", fails in this method
+            // when another one committed since the read
+            Document updatedDocument = documentRepository.saveAndFlush(documentToUpdate);
+            recordChange(updatedDocument, Action.UPDATED);
             return ApiResponse.success(updatedDocument);
+        } catch (OptimisticLockingFailureException e) {
+            TransactionHooks.setRollbackOnly();
+            return modifiedSince(id);
         } catch (Exception e) {
+            TransactionHooks.setRollbackOnly();
             logger.error("Error updating document: {}", e.getMessage(), e);
             return ApiResponse.error("Failed to update document: " + e.getMessage(),
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
@@ -168,8 +510,11 @@ public class DocumentService implements IDocumentService {
         }
 
         try {
-            // Delete from database
+            // Delete from database; the body goes once the delete is committed
             documentRepository.deleteById(id);
+            deleteContentOnCompletion(documentOptional.get().getContentRef(), TransactionSynchronization.STATUS_COMMITTED);
+            outbox.record(Entity.DOCUMENT, Action.DELETED, id, caseId(documentOptional.get()), null, null);
+            TransactionHooks.afterCommit(() -> searchIndex.remove(id));
             return ApiResponse.success(null);
         } catch (Exception e) {
             logger.error("Error deleting document: {}", e.getMessage(), e);
@@ -177,4 +522,98 @@ public class DocumentService implements IDocumentService {
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs a write in a transaction, joining the caller's when there is one: the streaming
+     * methods run without, and a document row and its outbox row must commit together
+     */
+    private Document inTransaction(Supplier<Document> write) {
+        return transactionTemplate.execute(status -> write.get());
+    }
+
+    private String storeContent(Document document, InputStream content, String contentType) throws IOException {
+        IDocumentContentStore.StoredContent stored = contentStore.write(content);
+        document.setContentRef(stored.ref());
+        document.setContentSize(stored.size());
+        document.setContentHash(stored.sha256());
+        document.setContentType(contentType);
+        return stored.ref();
+    }
+
+    private static ApiResponse<Document> modifiedSince(Long id) {
+        return ApiResponse.error("Document with ID: " + id + " has been modified since it was read.",
+                HttpStatus.PRECONDITION_FAILED.value());
+    }
+
+    /**
+     * Records the change in the outbox, in this transaction, and re-indexes the document once
+     * it commits, so searches never see uncommitted titles or bodies. A failure to index is
+     * logged and does not affect the write.
+     */
+    private void recordChange(Document document, Action action) {
+        Long id = document.getId();
+        outbox.record(Entity.DOCUMENT, action, id, caseId(document), null, null);
+        String title = document.getTitle();
+        String contentRef = document.getContentRef();
+        String contentType = document.getContentType();
+        TransactionHooks.afterCommit(() -> {
+            try {
+                searchIndex.index(id, title, indexableContent(id, contentRef, contentType));
+            } catch (Exception e) {
+                logger.warn("Could not index document {}: {}", id, e.getMessage());
+            }
+        });
+    }
+
+    private static Long caseId(Document document) {
+        // The id of a lazy reference is read without loading the case
+        return document.getCse() == null ? null : document.getCse().getId();
+    }
+
+    /**
+     * @return the text body to index, or null when the document has no text body
+     */
+    private CharSequence indexableContent(Long id, String contentRef, String contentType) {
+        boolean text = contentType == null || contentType.startsWith("text/")
+                || contentType.startsWith("application/json") || contentType.startsWith("application/xml");
+        if (contentRef == null || !text) {
+            return null;
+        }
+        try {
+            ByteBuffer content = contentStore.read(contentRef);
+            if (content.remaining() > MAX_INDEXED_CONTENT) {
+                content = content.slice(content.position(), MAX_INDEXED_CONTENT);
+            }
+            return StandardCharsets.UTF_8.decode(content);
+        } catch (IOException e) {
+            logger.warn("Could not read content of document {} for indexing: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private static InputStream textStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Deletes a stored body once the surrounding transaction ends with the given status.
+     * A replaced body is only dropped after the new reference is committed, and a body
+     * written by a transaction that rolls back does not stay behind in the store.
+     */
+    private void deleteContentOnCompletion(String ref, int deleteOnStatus) {
+        if (ref != null) {
+            TransactionHooks.onCompletion(deleteOnStatus, () -> deleteContent(ref));
+        }
+    }
+
+    private void deleteContent(String ref) {
+        if (ref == null) {
+            return;
+        }
+        try {
+            contentStore.delete(ref);
+        } catch (IOException e) {
+            logger.warn("Could not delete document content {}: {}", ref, e.getMessage());
+        }
+    }
+}
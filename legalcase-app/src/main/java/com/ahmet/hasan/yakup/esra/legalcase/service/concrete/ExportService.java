@@ -0,0 +1,110 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseExportRow;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ClientExportRow;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.DocumentExportRow;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingExportRow;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.ClientRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.DocumentRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IExportService;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ExportRecordWriter;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Format;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams a table out row by row: the repository stream reads through a database cursor
+ * (see the fetch size hints), each row is a projection rather than an entity, and the
+ * output is flushed every FLUSH_ROWS rows. Memory use stays the same whatever the size of
+ * the table.
+ *
+ * The read-only transaction keeps the cursor open for the whole export and sends it to a
+ * replica when one is configured (see ReadWriteRoutingDataSource).
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService implements IExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    static final int FLUSH_ROWS = 1000;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CaseRepository caseRepository;
+    private final ClientRepository clientRepository;
+    private final HearingRepository hearingRepository;
+    private final DocumentRepository documentRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ExportService(CaseRepository caseRepository, ClientRepository clientRepository,
+                         HearingRepository hearingRepository, DocumentRepository documentRepository,
+                         ObjectMapper objectMapper) {
+        this.caseRepository = caseRepository;
+        this.clientRepository = clientRepository;
+        this.hearingRepository = hearingRepository;
+        this.documentRepository = documentRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public long export(Dataset dataset, Format format, OutputStream out) throws IOException {
+        logger.info("Exporting {} as {}", dataset, format);
+        long started = System.currentTimeMillis();
+
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ExportRecordWriter records = ExportRecordWriter.of(format, writer, columns(dataset), objectMapper);
+        long rows = switch (dataset) {
+            case CLIENTS -> write(clientRepository.streamExportRows(), ClientExportRow::values, records);
+            case CASES -> write(caseRepository.streamExportRows(), CaseExportRow::values, records);
+            case HEARINGS -> write(hearingRepository.streamExportRows(), HearingExportRow::values, records);
+            case DOCUMENTS -> write(documentRepository.streamExportRows(), DocumentExportRow::values, records);
+        };
+        records.flush();
+
+        logger.info("Exported {} {} rows in {} ms", rows, dataset, System.currentTimeMillis() - started);
+        return rows;
+    }
+
+    private static List<String> columns(Dataset dataset) {
+        return switch (dataset) {
+            case CLIENTS -> ClientExportRow.COLUMNS;
+            case CASES -> CaseExportRow.COLUMNS;
+            case HEARINGS -> HearingExportRow.COLUMNS;
+            case DOCUMENTS -> DocumentExportRow.COLUMNS;
+        };
+    }
+
+    private static <T> long write(Stream<T> rows, Function<T, Object[]> values,
+                                  ExportRecordWriter records) throws IOException {
+        // Closing the stream closes the cursor
+        try (rows) {
+            long count = 0;
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                records.write(values.apply(iterator.next()));
+                if (++count % FLUSH_ROWS == 0) {
+                    records.flush();
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingReminder;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingReminderNotifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends each hearing reminder to a file as a tab separated line: hearing id, hearing
+ * date, how long before it the reminder is, judge and location.
+ * Used when hearings.reminders.notifier=file
+ */
+@Service
+@ConditionalOnProperty(name = "hearings.reminders.notifier", havingValue = "file")
+public class FileHearingReminderNotifier implements IHearingReminderNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileHearingReminderNotifier.class);
+
+    private final Path file;
+
+    public FileHearingReminderNotifier(@Value("${hearings.reminders.file}") String file) {
+        this.file = Paths.get(file).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public synchronized void remind(HearingReminder reminder) {
+        String line = reminder.hearingId() + "\t" + reminder.hearingDate() + "\t" + reminder.before() + "\t"
+                + field(reminder.judge()) + "\t" + field(reminder.location()) + System.lineSeparator();
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.error("Error writing reminder of hearing ID: {} to {}: {}", reminder.hearingId(), file, e.getMessage(), e);
+        }
+    }
+
+    private static String field(String value) {
+        return value == null ? "" : value.replaceAll("[\\t\\r\\n]+", " ");
+    }
+}
@@ -0,0 +1,138 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentContentStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps each document body in its own file under the storage root, fanned out
+ * into sub-directories by the first two characters of the reference.
+ *
+ * Writes go to a temporary file first and are moved into place once complete,
+ * so a reader never sees a partial body. Reads map the file read-only instead of
+ * copying it through the heap.
+ */
+@Service
+public class FileSystemDocumentContentStore implements IDocumentContentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemDocumentContentStore.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern REF_PATTERN = Pattern.compile("[0-9a-f]{32}");
+
+    private final Path root;
+
+    public FileSystemDocumentContentStore(@Value("${documents.storage.root}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public StoredContent write(InputStream content) throws IOException {
+        Files.createDirectories(root);
+        String ref = UUID.randomUUID().toString().replace("-", "");
+        Path tmp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            ReadableByteChannel in = Channels.newChannel(content);
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.rewind();
+                    while (buffer.hasRemaining()) {
+                        size += out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                out.force(false);
+            }
+            Path target = pathOf(ref);
+            Files.createDirectories(target.getParent());
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Stored document content {} ({} bytes)", ref, size);
+            return new StoredContent(ref, size, HexFormat.of().formatHex(digest.digest()));
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public ByteBuffer read(String ref) throws IOException {
+        try (FileChannel channel = FileChannel.open(pathOf(ref), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Document content " + ref + " is too large to map (" + size + " bytes)");
+            }
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    @Override
+    public long transferTo(String ref, long offset, long length, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(pathOf(ref), StandardOpenOption.READ)) {
+            long end = Math.min(offset + length, channel.size());
+            long position = offset;
+            while (position < end) {
+                // Zero-copy when the target is a file or socket channel
+                long transferred = channel.transferTo(position, end - position, target);
+                if (transferred <= 0) {
+                    throw new EOFException("Document content " + ref + " ended at byte " + position);
+                }
+                position += transferred;
+            }
+            return position - offset;
+        }
+    }
+
+    @Override
+    public boolean exists(String ref) {
+        return Files.isRegularFile(pathOf(ref));
+    }
+
+    @Override
+    public void delete(String ref) throws IOException {
+        if (Files.deleteIfExists(pathOf(ref))) {
+            logger.debug("Deleted document content {}", ref);
+        }
+    }
+
+    private Path pathOf(String ref) {
+        // References are generated here; anything else must not be turned into a path
+        if (ref == null || !REF_PATTERN.matcher(ref).matches()) {
+            throw new IllegalArgumentException("Invalid content reference: " + ref);
+        }
+        return root.resolve(ref.substring(0, 2)).resolve(ref);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
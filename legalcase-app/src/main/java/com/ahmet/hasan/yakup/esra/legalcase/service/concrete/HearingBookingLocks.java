@@ -0,0 +1,48 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingBookingLocks;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex.Resource;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.SearchTextAnalyzer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Row locks on hearing_booking_locks (see V11__hearing_booking_locks.sql). The insert adds the
+ * row of a judge or courtroom the first time it is booked and otherwise updates it, and either
+ * way holds an exclusive lock on it until the transaction commits or rolls back. A second
+ * booking of the same judge or courtroom waits on the row, then checks for double booking
+ * against what the first one committed.
+ *
+ * The judge is always locked before the courtroom, so two bookings sharing both cannot
+ * deadlock on them.
+ */
+@Service
+public class HearingBookingLocks implements IHearingBookingLocks {
+
+    private static final String LOCK_SQL = "insert into hearing_booking_locks (resource, name_key) values (?, ?) "
+            + "on duplicate key update name_key = name_key";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public HearingBookingLocks(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(String judge, String location) {
+        lock(Resource.JUDGE, judge);
+        lock(Resource.LOCATION, location);
+    }
+
+    private void lock(Resource resource, String name) {
+        String key = SearchTextAnalyzer.nameKey(name);
+        if (key != null) {
+            jdbcTemplate.update(LOCK_SQL, resource.name(), key);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingPartitionMaintainer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the yearly partitions of the hearings table ahead of the calendar. A background job
+ * reads the partitions from information_schema and, when the last year is fewer than the
+ * configured number of years ahead, splits the missing years off the catch-all partition
+ * (p_future) in one statement. Done ahead of time, the catch-all holds few rows or none, so
+ * the split moves next to nothing; a hearing booked past the last year still lands in the
+ * catch-all and is moved to its year when that year is added.
+ *
+ * Only the primary is changed: the job runs outside a transaction (see
+ * ReadWriteRoutingDataSource), and the replicas follow through replication.
+ */
+@Service
+public class HearingPartitionMaintainer implements IHearingPartitionMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(HearingPartitionMaintainer.class);
+
+    private static final String CATCH_ALL_BOUND = "MAXVALUE";
+    private static final String PARTITIONS_SQL = "select partition_name as name, partition_description as bound "
+            + "from information_schema.partitions "
+            + "where table_schema = database() and table_name = 'hearings' and partition_name is not null "
+            + "order by partition_ordinal_position";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int yearsAhead;
+    private final long intervalMillis;
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public HearingPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                      @Value("${hearings.partitions.years-ahead:2}") int yearsAhead,
+                                      @Value("${hearings.partitions.interval:1d}") String interval) {
+        this.jdbcTemplate = jdbcTemplate;
+        if (yearsAhead < 1) {
+            throw new IllegalArgumentException("Hearing partitions must be kept at least a year ahead: " + yearsAhead);
+        }
+        this.yearsAhead = yearsAhead;
+        this.intervalMillis = DurationStyle.detectAndParse(interval).toMillis();
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("The hearing partition interval must be at least a millisecond: "
+                    + interval);
+        }
+    }
+
+    @Override
+    public int rollOver() {
+        return rollOver(LocalDate.now());
+    }
+
+    /**
+     * Adds the partitions of the years up to the configured number of years after the given
+     * day's year, splitting them off the catch-all partition (p_future) when there is one
+     *
+     * @return number of partitions added
+     */
+    public int rollOver(LocalDate today) {
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList(PARTITIONS_SQL);
+        String catchAll = null;
+        LocalDate end = null;
+        for (Map<String, Object> partition : partitions) {
+            String bound = String.valueOf(partition.get("bound"));
+            if (CATCH_ALL_BOUND.equalsIgnoreCase(bound)) {
+                catchAll = String.valueOf(partition.get("name"));
+            } else {
+                LocalDate date = bound(bound);
+                if (end == null || date.isAfter(end)) {
+                    end = date;
+                }
+            }
+        }
+        if (end == null) {
+            logger.warn("The hearings table has no yearly partitions, none added");
+            return 0;
+        }
+
+        // Each new year runs from the end of the one before to the next new year's day
+        List<String> years = new ArrayList<>();
+        for (LocalDate from = end; from.getYear() <= today.getYear() + yearsAhead; ) {
+            LocalDate to = LocalDate.of(from.getYear() + 1, 1, 1);
+            years.add("partition p" + from.getYear() + " values less than ('" + to + "')");
+            from = to;
+        }
+        if (years.isEmpty()) {
+            return 0;
+        }
+        String definitions = String.join(", ", years);
+        if (catchAll != null) {
+            jdbcTemplate.execute("alter table hearings reorganize partition " + catchAll + " into (" + definitions
+                    + ", partition " + catchAll + " values less than (maxvalue))");
+        } else {
+            jdbcTemplate.execute("alter table hearings add partition (" + definitions + ")");
+        }
+        logger.info("Added {} hearing partitions, up to {}", years.size(), today.getYear() + yearsAhead);
+        return years.size();
+    }
+
+    /**
+     * Checked on start, so a deployment after a long pause catches up right away, then every
+     * interval
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startOnStartup() {
+        if (ticker == null) {
+            ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "hearing-partitions");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleWithFixedDelay(this::tick, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    private void tick() {
+        // An exception would cancel the schedule
+        try {
+            rollOver();
+        } catch (Exception e) {
+            logger.error("Error adding hearing partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param bound the upper bound of a partition as information_schema shows it, e.g.
+     *              '2029-01-01' or '2029-01-01 00:00:00'
+     */
+    private static LocalDate bound(String bound) {
+        return LocalDate.parse(bound.replace("'", "").trim().substring(0, 10));
+    }
+}
@@ -0,0 +1,299 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingReminder;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingReminderNotifier;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingReminderScheduler;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.TimingWheel;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.TimingWheel.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Sends the reminders of the scheduled hearings from a timing wheel (see TimingWheel) with
+ * a tick of a second by default. A single background thread moves the wheel forward each
+ * tick and hands the reminders that fell due to the notifier; registering, moving or
+ * cancelling a hearing's reminders is O(1) per reminder, so millions can be pending without
+ * a thread or a query per reminder.
+ *
+ * The wheel only learns of commits, and hearings deleted along with their case never reach
+ * it, so the rows due in a tick are read in one query before their reminders are sent, and
+ * a reminder whose hearing is no longer scheduled at that time is dropped.
+ *
+ * The wheel lives in memory: the hearings to come are registered again in the background on
+ * every start, and reminders that fell due while the application was down are not sent.
+ */
+@Service
+public class HearingReminderScheduler implements IHearingReminderScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(HearingReminderScheduler.class);
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final int CONFIRM_BATCH_SIZE = 1000;
+
+    private final HearingRepository hearingRepository;
+    private final IHearingReminderNotifier notifier;
+    // Longest first
+    private final List<Duration> offsets;
+    private final long tickMillis;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final TimingWheel<Pending> wheel;
+    // The pending reminders of each hearing, to cancel them. While the reminders are
+    // registered on start an empty list marks a hearing changed since, which the
+    // registration must not bring back.
+    private final Map<Long, List<Timer<Pending>>> timers = new HashMap<>();
+    private ScheduledExecutorService ticker;
+    private volatile boolean ready;
+
+    @Autowired
+    public HearingReminderScheduler(HearingRepository hearingRepository, IHearingReminderNotifier notifier,
+                                    @Value("${hearings.reminders.offsets:7d,1d,1h}") String offsets,
+                                    @Value("${hearings.reminders.tick:1s}") String tick) {
+        this.hearingRepository = hearingRepository;
+        this.notifier = notifier;
+        this.offsets = Arrays.stream(offsets.split(","))
+                .map(String::trim)
+                .filter(offset -> !offset.isEmpty())
+                .map(DurationStyle::detectAndParse)
+                .distinct()
+                .sorted(Comparator.reverseOrder())
+                .collect(Collectors.toList());
+        if (this.offsets.stream().anyMatch(offset -> offset.isNegative() || offset.isZero())) {
+            throw new IllegalArgumentException("Hearing reminder offsets must be positive: " + offsets);
+        }
+        this.tickMillis = DurationStyle.detectAndParse(tick).toMillis();
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("The hearing reminder tick must be at least a millisecond: " + tick);
+        }
+        this.wheel = new TimingWheel<>(Math.floorDiv(millis(LocalDateTime.now()), tickMillis));
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public synchronized void schedule(HearingSlot slot) {
+        put(slot, true, LocalDateTime.now());
+    }
+
+    @Override
+    public synchronized void cancel(Long hearingId) {
+        List<Timer<Pending>> previous = ready ? timers.remove(hearingId) : timers.put(hearingId, new ArrayList<>());
+        if (previous != null) {
+            previous.forEach(wheel::cancel);
+        }
+    }
+
+    @Override
+    public synchronized int pending() {
+        return wheel.size();
+    }
+
+    /**
+     * Moves the wheel to a time and sends the reminders that fell due by it, after checking
+     * their hearings against the database
+     * @return number of reminders sent
+     */
+    public int fireDue(LocalDateTime now) {
+        List<Pending> due;
+        synchronized (this) {
+            due = wheel.advance(Math.floorDiv(millis(now), tickMillis));
+            for (Pending reminder : due) {
+                List<Timer<Pending>> left = timers.get(reminder.slot().id());
+                if (left != null) {
+                    left.removeIf(timer -> !timer.isPending());
+                    if (left.isEmpty() && ready) {
+                        timers.remove(reminder.slot().id());
+                    }
+                }
+            }
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, HearingSlot> current = scheduledSlots(due);
+        int sent = 0;
+        for (Pending reminder : due) {
+            HearingSlot slot = reminder.slot();
+            if (current != null) {
+                // Cancelled, deleted or moved since the reminder was registered
+                slot = current.get(slot.id());
+                if (slot == null || !slot.start().equals(reminder.slot().start())) {
+                    continue;
+                }
+            }
+            try {
+                notifier.remind(new HearingReminder(slot.id(), slot.judge(), slot.location(), slot.start(),
+                        reminder.before()));
+                sent++;
+            } catch (Exception e) {
+                logger.error("Error sending reminder of hearing ID: {}: {}", slot.id(), e.getMessage(), e);
+            }
+        }
+        return sent;
+    }
+
+    /**
+     * Registers the reminders of the hearings to come. Hearings changed while this runs are
+     * newer than the page being read, so they are kept.
+     * @return number of hearings added
+     */
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        int added = 0;
+        long afterId = 0;
+        while (true) {
+            List<HearingSlot> page = hearingRepository.findSlotsStartingAfter(HearingStatus.SCHEDULED, now, afterId,
+                    Limit.of(REBUILD_PAGE_SIZE));
+            synchronized (this) {
+                for (HearingSlot slot : page) {
+                    if (put(slot, false, now)) {
+                        added++;
+                    }
+                    afterId = slot.id();
+                }
+            }
+            if (page.size() < REBUILD_PAGE_SIZE) {
+                break;
+            }
+        }
+        synchronized (this) {
+            timers.values().removeIf(List::isEmpty);
+            ready = true;
+        }
+        logger.info("Hearing reminders ready: {} hearings added in {} ms, {} reminders pending", added,
+                System.currentTimeMillis() - started, pending());
+        return added;
+    }
+
+    /**
+     * The wheel lives in memory, so it is filled again on every start, in the background,
+     * and starts turning right away
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startOnStartup() {
+        Thread rebuild = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.error("Error registering hearing reminders: {}", e.getMessage(), e);
+            }
+        }, "hearing-reminder-registration");
+        rebuild.setDaemon(true);
+        rebuild.start();
+
+        if (ticker == null) {
+            ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "hearing-reminders");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    private void tick() {
+        // An exception would cancel the schedule
+        try {
+            fireDue(LocalDateTime.now());
+        } catch (Exception e) {
+            logger.error("Error sending hearing reminders: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean put(HearingSlot slot, boolean replace, LocalDateTime now) {
+        List<Timer<Pending>> previous = timers.get(slot.id());
+        if (previous != null && !replace) {
+            return false;
+        }
+        if (previous != null) {
+            previous.forEach(wheel::cancel);
+        }
+        List<Timer<Pending>> scheduled = new ArrayList<>(offsets.size());
+        for (Duration before : offsets) {
+            LocalDateTime at = slot.start().minus(before);
+            if (at.isAfter(now)) {
+                // Rounded up to a tick, so a reminder is never sent early
+                scheduled.add(wheel.schedule(-Math.floorDiv(-millis(at), tickMillis), new Pending(slot, before)));
+            }
+        }
+        if (scheduled.isEmpty() && ready) {
+            timers.remove(slot.id());
+        } else {
+            timers.put(slot.id(), scheduled);
+        }
+        return true;
+    }
+
+    /**
+     * @return the due hearings that are still scheduled, by id, or null when the database
+     *         could not be read, in which case the reminders are sent as registered
+     */
+    private Map<Long, HearingSlot> scheduledSlots(List<Pending> due) {
+        List<Long> ids = new ArrayList<>(due.stream().map(reminder -> reminder.slot().id())
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        // A hearing found outside these dates has moved, and its reminder is dropped anyway
+        LocalDateTime earliest = due.stream().map(reminder -> reminder.slot().start()).min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime latest = due.stream().map(reminder -> reminder.slot().start()).max(Comparator.naturalOrder())
+                .orElseThrow();
+        Map<Long, HearingSlot> slots = new HashMap<>();
+        try {
+            for (int from = 0; from < ids.size(); from += CONFIRM_BATCH_SIZE) {
+                Set<Long> batch = new LinkedHashSet<>(ids.subList(from, Math.min(ids.size(), from + CONFIRM_BATCH_SIZE)));
+                hearingRepository.findSlotsByIdIn(batch, HearingStatus.SCHEDULED, earliest, latest)
+                        .forEach(slot -> slots.put(slot.id(), slot));
+            }
+            return slots;
+        } catch (Exception e) {
+            logger.warn("Could not check the hearings of {} due reminders, sending them as registered: {}",
+                    due.size(), e.getMessage());
+            return null;
+        }
+    }
+
+    private long millis(LocalDateTime time) {
+        return time.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private record Pending(HearingSlot slot, Duration before) {
+    }
+}
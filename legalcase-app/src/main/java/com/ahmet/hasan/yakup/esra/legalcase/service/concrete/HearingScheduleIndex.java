@@ -0,0 +1,397 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.SearchTextAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory schedule of the booked hearings: one interval tree per judge and one per
+ * courtroom, each holding the [start, end) slots of the hearings booking it.
+ *
+ * Finding the hearings that overlap a slot walks a single tree in O(log n) plus one step
+ * per hearing found, however many hearings the judge or courtroom has had, where the
+ * database would have to read every hearing of the period.
+ *
+ * The index is filled from the database in the background once the application is up;
+ * until it is ready the hearing service checks against the database instead.
+ */
+@Service
+public class HearingScheduleIndex implements IHearingScheduleIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(HearingScheduleIndex.class);
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final HearingRepository hearingRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Resource, Map<String, IntervalTree>> trees = new EnumMap<>(Resource.class);
+    // What each hearing is indexed under, so it can be taken out again
+    private final Map<Long, Entry> entries = new HashMap<>();
+    // A name for each key, kept when its tree empties so the courtroom is still known
+    private final Map<Resource, Map<String, String>> names = new EnumMap<>(Resource.class);
+    private volatile boolean ready;
+
+    @Autowired
+    public HearingScheduleIndex(HearingRepository hearingRepository) {
+        this.hearingRepository = hearingRepository;
+        for (Resource resource : Resource.values()) {
+            trees.put(resource, new HashMap<>());
+            names.put(resource, new HashMap<>());
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void index(HearingSlot slot) {
+        put(slot, true);
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                unlink(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> findOverlapping(Resource resource, String name, LocalDateTime start, LocalDateTime end) {
+        List<Long> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            collectOverlapping(resource, name, start, end, ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    @Override
+    public List<HearingSlot> findSlots(Resource resource, String name, LocalDateTime start, LocalDateTime end) {
+        List<HearingSlot> slots = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            collectOverlapping(resource, name, start, end, ids);
+            // The tree is walked in order of start
+            ids.forEach(id -> slots.add(entries.get(id).slot()));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return slots;
+    }
+
+    @Override
+    public List<String> names(Resource resource) {
+        List<String> result;
+        lock.readLock().lock();
+        try {
+            result = new ArrayList<>(names.get(resource).values());
+        } finally {
+            lock.readLock().unlock();
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private void collectOverlapping(Resource resource, String name, LocalDateTime start, LocalDateTime end,
+                                    List<Long> ids) {
+        String key = SearchTextAnalyzer.nameKey(name);
+        if (key == null || !start.isBefore(end)) {
+            return;
+        }
+        IntervalTree tree = trees.get(resource).get(key);
+        if (tree != null) {
+            tree.collectOverlapping(seconds(start), seconds(end), ids);
+        }
+    }
+
+    /**
+     * Fills the index from the database. Slots written while this runs are newer than the
+     * page being read, so they are kept.
+     * @return number of hearings added
+     */
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        int added = 0;
+        long afterId = 0;
+        while (true) {
+            List<HearingSlot> page = hearingRepository.findSlotsAfter(HearingStatus.SCHEDULED, afterId,
+                    Limit.of(REBUILD_PAGE_SIZE));
+            for (HearingSlot slot : page) {
+                if (put(slot, false)) {
+                    added++;
+                }
+                afterId = slot.id();
+            }
+            if (page.size() < REBUILD_PAGE_SIZE) {
+                break;
+            }
+        }
+        ready = true;
+        logger.info("Hearing schedule index ready: {} hearings added in {} ms", added,
+                System.currentTimeMillis() - started);
+        return added;
+    }
+
+    /**
+     * The index lives in memory, so it is filled again on every start, in the background
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread rebuild = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.error("Error building hearing schedule index: {}", e.getMessage(), e);
+            }
+        }, "hearing-schedule-index");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+
+    private boolean put(HearingSlot slot, boolean replace) {
+        Entry entry = new Entry(slot, SearchTextAnalyzer.nameKey(slot.judge()),
+                SearchTextAnalyzer.nameKey(slot.location()), seconds(slot.start()), seconds(slot.end()));
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(slot.id());
+            if (previous != null && !replace) {
+                return false;
+            }
+            if (previous != null) {
+                unlink(slot.id(), previous);
+            }
+            entries.put(slot.id(), entry);
+            link(Resource.JUDGE, entry.judge(), slot.judge(), slot.id(), entry);
+            link(Resource.LOCATION, entry.location(), slot.location(), slot.id(), entry);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void link(Resource resource, String key, String name, Long id, Entry entry) {
+        if (key != null) {
+            trees.get(resource).computeIfAbsent(key, k -> new IntervalTree()).insert(entry.start(), entry.end(), id);
+            names.get(resource).putIfAbsent(key, name.trim());
+        }
+    }
+
+    private void unlink(Long id, Entry entry) {
+        unlink(Resource.JUDGE, entry.judge(), id, entry);
+        unlink(Resource.LOCATION, entry.location(), id, entry);
+    }
+
+    private void unlink(Resource resource, String key, Long id, Entry entry) {
+        if (key == null) {
+            return;
+        }
+        Map<String, IntervalTree> byKey = trees.get(resource);
+        IntervalTree tree = byKey.get(key);
+        if (tree != null) {
+            tree.remove(entry.start(), id);
+            if (tree.isEmpty()) {
+                byKey.remove(key);
+            }
+        }
+    }
+
+    /**
+     * @return the search terms of the name joined by single spaces, or null for a name without any
+     */
+    private static long seconds(LocalDateTime time) {
+        // Only compared with each other, so any fixed offset will do
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private record Entry(HearingSlot slot, String judge, String location, long start, long end) {
+    }
+
+    /**
+     * [start, end) intervals in an AVL tree ordered by start, then id. Every node also keeps
+     * the latest end in its subtree, so a search skips each subtree that ends before the
+     * slot starts and stops going right at the first node that starts after it ends.
+     */
+    private static final class IntervalTree {
+        private Node root;
+
+        void insert(long start, long end, long id) {
+            root = insert(root, new Node(start, end, id));
+        }
+
+        void remove(long start, long id) {
+            root = remove(root, start, id);
+        }
+
+        boolean isEmpty() {
+            return root == null;
+        }
+
+        void collectOverlapping(long start, long end, List<Long> ids) {
+            collectOverlapping(root, start, end, ids);
+        }
+
+        private static void collectOverlapping(Node node, long start, long end, List<Long> ids) {
+            if (node == null || node.maxEnd <= start) {
+                return;
+            }
+            collectOverlapping(node.left, start, end, ids);
+            if (node.start < end) {
+                if (node.end > start) {
+                    ids.add(node.id);
+                }
+                collectOverlapping(node.right, start, end, ids);
+            }
+        }
+
+        private static int compare(long start, long id, Node node) {
+            int byStart = Long.compare(start, node.start);
+            return byStart != 0 ? byStart : Long.compare(id, node.id);
+        }
+
+        private static Node insert(Node node, Node added) {
+            if (node == null) {
+                return added;
+            }
+            if (compare(added.start, added.id, node) < 0) {
+                node.left = insert(node.left, added);
+            } else {
+                node.right = insert(node.right, added);
+            }
+            return balance(node);
+        }
+
+        private static Node remove(Node node, long start, long id) {
+            if (node == null) {
+                return null;
+            }
+            int order = compare(start, id, node);
+            if (order < 0) {
+                node.left = remove(node.left, start, id);
+            } else if (order > 0) {
+                node.right = remove(node.right, start, id);
+            } else {
+                if (node.left == null) {
+                    return node.right;
+                }
+                if (node.right == null) {
+                    return node.left;
+                }
+                Node successor = node.right;
+                while (successor.left != null) {
+                    successor = successor.left;
+                }
+                successor.right = removeFirst(node.right);
+                successor.left = node.left;
+                node = successor;
+            }
+            return balance(node);
+        }
+
+        private static Node removeFirst(Node node) {
+            if (node.left == null) {
+                return node.right;
+            }
+            node.left = removeFirst(node.left);
+            return balance(node);
+        }
+
+        private static Node balance(Node node) {
+            update(node);
+            int skew = height(node.left) - height(node.right);
+            if (skew > 1) {
+                if (height(node.left.left) < height(node.left.right)) {
+                    node.left = rotateLeft(node.left);
+                }
+                return rotateRight(node);
+            }
+            if (skew < -1) {
+                if (height(node.right.right) < height(node.right.left)) {
+                    node.right = rotateRight(node.right);
+                }
+                return rotateLeft(node);
+            }
+            return node;
+        }
+
+        private static Node rotateRight(Node node) {
+            Node left = node.left;
+            node.left = left.right;
+            left.right = node;
+            update(node);
+            update(left);
+            return left;
+        }
+
+        private static Node rotateLeft(Node node) {
+            Node right = node.right;
+            node.right = right.left;
+            right.left = node;
+            update(node);
+            update(right);
+            return right;
+        }
+
+        private static void update(Node node) {
+            node.height = 1 + Math.max(height(node.left), height(node.right));
+            node.maxEnd = Math.max(node.end, Math.max(maxEnd(node.left), maxEnd(node.right)));
+        }
+
+        private static int height(Node node) {
+            return node == null ? 0 : node.height;
+        }
+
+        private static long maxEnd(Node node) {
+            return node == null ? Long.MIN_VALUE : node.maxEnd;
+        }
+    }
+
+    private static final class Node {
+        private final long start;
+        private final long end;
+        private final long id;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, long id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+}
@@ -2,21 +2,49 @@ package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
+import com.ahmet.hasan.yakup.esra.legalcase.model.HearingEvent;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingEventType;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingDate;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
 import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingEventRepository;
 import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingBookingLocks;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingReminderScheduler;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex.Resource;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex.Field;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IUpcomingHearingIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IOutbox;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.CursorPage;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.SearchTextAnalyzer;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.TransactionHooks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -26,11 +54,28 @@ public class HearingService implements IHearingService {
 
     private final HearingRepository hearingRepository;
     private final CaseRepository caseRepository;
+    private final HearingEventRepository hearingEventRepository;
+    private final ITrigramSearchIndex trigramIndex;
+    private final IHearingScheduleIndex scheduleIndex;
+    private final IUpcomingHearingIndex upcomingIndex;
+    private final IHearingReminderScheduler reminderScheduler;
+    private final IOutbox outbox;
+    private final IHearingBookingLocks bookingLocks;
 
     @Autowired
-    public HearingService(HearingRepository hearingRepository, CaseRepository caseRepository) {
+    public HearingService(HearingRepository hearingRepository, CaseRepository caseRepository,
+                          HearingEventRepository hearingEventRepository, ITrigramSearchIndex trigramIndex, IHearingScheduleIndex scheduleIndex,
+                          IUpcomingHearingIndex upcomingIndex, IHearingReminderScheduler reminderScheduler,
+                          IOutbox outbox, IHearingBookingLocks bookingLocks) {
         this.hearingRepository = hearingRepository;
         this.caseRepository = caseRepository;
+        this.hearingEventRepository = hearingEventRepository;
+        this.trigramIndex = trigramIndex;
+        this.scheduleIndex = scheduleIndex;
+        this.upcomingIndex = upcomingIndex;
+        this.reminderScheduler = reminderScheduler;
+        this.outbox = outbox;
+        this.bookingLocks = bookingLocks;
     }
 
     @Override
@@ -53,7 +98,20 @@ public class HearingService implements IHearingService {
                 return ApiResponse.error("Hearing date is required", HttpStatus.BAD_REQUEST.value());
             }
 
+            if (invalidDuration(hearing.getDurationMinutes())) {
+                return invalidDurationError();
+            }
+
+            if (hearing.getStatus() == HearingStatus.SCHEDULED) {
+                ApiResponse<Hearing> doubleBooking = doubleBooking(null, hearing.getJudge(), hearing.getLocation(),
+                        hearing.getHearingDate(), hearing.getDurationMinutes());
+                if (doubleBooking != null) {
+                    return doubleBooking;
+                }
+            }
+
             Hearing savedHearing = hearingRepository.save(hearing);
+            recordChange(savedHearing, Action.CREATED);
             return ApiResponse.success(savedHearing);
         } catch (Exception e) {
             logger.error("Error creating hearing: {}", e.getMessage(), e);
@@ -72,6 +130,15 @@ public class HearingService implements IHearingService {
             return ApiResponse.error("Case not found with ID: " + caseId, HttpStatus.NOT_FOUND.value());
         }
 
+        if (hearingDate == null) {
+            return ApiResponse.error("Hearing date is required", HttpStatus.BAD_REQUEST.value());
+        }
+
+        ApiResponse<Hearing> doubleBooking = doubleBooking(null, judge, location, hearingDate, null);
+        if (doubleBooking != null) {
+            return doubleBooking;
+        }
+
         try {
             Hearing hearing = new Hearing();
             hearing.setCse(caseOptional.get());
@@ -82,6 +149,7 @@ public class HearingService implements IHearingService {
             hearing.setStatus(HearingStatus.SCHEDULED);
 
             Hearing savedHearing = hearingRepository.save(hearing);
+            recordChange(savedHearing, Action.CREATED);
             return ApiResponse.success(savedHearing);
         } catch (Exception e) {
             logger.error("Error scheduling hearing: {}", e.getMessage(), e);
@@ -162,22 +230,184 @@ public class HearingService implements IHearingService {
     }
 
     @Override
-    public ApiResponse<Hearing> updateHearing(Long id, Hearing hearing) {
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Hearing>> getAllHearings(String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting hearings after ID: {} (page size {})", afterId, pageSize);
+        List<Hearing> hearings = hearingRepository.findByIdGreaterThanOrderByIdAsc(afterId, CursorPage.limit(pageSize));
+        return CursorPage.of(hearings, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getHearingPageVersion(String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return null;
+        }
+        return ResourceVersion.ofPage(hearingRepository.findStampsAfter(afterId, CursorPage.limit(CursorPage.size(size))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Hearing>> getHearingsByCaseId(Long caseId, String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+
+        // Validate case exists
+        if (!caseRepository.existsById(caseId)) {
+            return ApiResponse.error("Case not found with ID: " + caseId, HttpStatus.NOT_FOUND.value());
+        }
+
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting hearings by case ID: {} after ID: {} (page size {})", caseId, afterId, pageSize);
+        List<Hearing> hearings = hearingRepository.findByCseIdAndIdGreaterThanOrderByIdAsc(caseId, afterId,
+                CursorPage.limit(pageSize));
+        return CursorPage.of(hearings, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getHearingPageVersionByCaseId(Long caseId, String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return null;
+        }
+        List<RowStamp> stamps = hearingRepository.findStampsByCaseIdAfter(caseId, afterId,
+                CursorPage.limit(CursorPage.size(size)));
+        // An empty page of a deleted case must not match the one cached while it existed
+        if (stamps.isEmpty() && !caseRepository.existsById(caseId)) {
+            return null;
+        }
+        return ResourceVersion.ofPage(stamps);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Hearing>> getHearingsByStatus(HearingStatus status, String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting hearings by status: {} after ID: {} (page size {})", status, afterId, pageSize);
+        List<Hearing> hearings = hearingRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId,
+                CursorPage.limit(pageSize));
+        return CursorPage.of(hearings, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Hearing>> getHearingsByDateRange(LocalDateTime start, LocalDateTime end,
+                                                             String cursor, Integer size) {
+        if (start == null || end == null) {
+            return ApiResponse.error("Start and end dates are required", HttpStatus.BAD_REQUEST.value());
+        }
+
+        if (start.isAfter(end)) {
+            return ApiResponse.error("Start date must be before end date", HttpStatus.BAD_REQUEST.value());
+        }
+
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting hearings between {} and {} after ID: {} (page size {})", start, end, afterId, pageSize);
+        List<Hearing> hearings = hearingRepository.findByHearingDateBetweenAndIdGreaterThanOrderByIdAsc(
+                start, end, afterId, CursorPage.limit(pageSize));
+        return CursorPage.of(hearings, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Hearing>> getUpcomingHearings(String cursor, Integer size) {
+        CursorPage.DatePosition position = CursorPage.decodeDate(cursor);
+        if (position == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        LocalDateTime now = LocalDateTime.now();
+        // A cursor from before now continues at now: the hearings between have passed
+        boolean resume = position.date() != null && position.date().isAfter(now);
+        LocalDateTime afterDate = resume ? position.date() : now;
+        long afterId = resume ? position.afterId() : Long.MAX_VALUE;
+        logger.info("Getting upcoming hearings after {} ID: {} (page size {})", afterDate, afterId, pageSize);
+        List<Hearing> hearings = upcomingIndex.isReady() ?
+                loadUpcoming(afterDate, afterId, pageSize + 1, now) :
+                hearingRepository.findUpcomingAfter(afterDate, afterId, HearingStatus.CANCELLED,
+                        CursorPage.limit(pageSize));
+        return CursorPage.ofDate(hearings, pageSize, Hearing::getHearingDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Hearing>> searchHearingsByJudge(String judge, String cursor, Integer size) {
+        if (judge == null || judge.isEmpty()) {
+            return ApiResponse.error("Judge name cannot be empty", HttpStatus.BAD_REQUEST.value());
+        }
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Searching hearings by judge containing: {} after ID: {} (page size {})", judge, afterId, pageSize);
+        List<Hearing> hearings = trigramIndex.isReady(Field.HEARING_JUDGE) ?
+                trigramIndex.load(Field.HEARING_JUDGE, judge, afterId, pageSize + 1,
+                        hearingRepository::findByIdInOrderByIdAsc) :
+                hearingRepository.findByJudgeContainingIgnoreCaseAndIdGreaterThanOrderByIdAsc(judge, afterId,
+                        CursorPage.limit(pageSize));
+        return CursorPage.of(hearings, pageSize);
+    }
+
+    @Override
+    public ApiResponse<Hearing> updateHearing(Long id, Hearing hearing, Long expectedVersion) {
         logger.info("Updating hearing with ID: {}", id);
 
         Optional<Hearing> existingHearing = hearingRepository.findById(id);
         if (existingHearing.isEmpty()) {
             return ApiResponse.error("Hearing not found with ID: " + id, HttpStatus.NOT_FOUND.value());
         }
+        if (expectedVersion != null && expectedVersion != existingHearing.get().getVersion()) {
+            return modifiedSince(id);
+        }
+        if (invalidDuration(hearing.getDurationMinutes())) {
+            return invalidDurationError();
+        }
+
+        // Checked against the slot as it will be, before the managed hearing changes
+        Hearing current = existingHearing.get();
+        HearingStatus status = hearing.getStatus() != null ? hearing.getStatus() : current.getStatus();
+        if (status == HearingStatus.SCHEDULED) {
+            ApiResponse<Hearing> doubleBooking = doubleBooking(id,
+                    hearing.getJudge() != null ? hearing.getJudge() : current.getJudge(),
+                    hearing.getLocation() != null ? hearing.getLocation() : current.getLocation(),
+                    hearing.getHearingDate() != null ? hearing.getHearingDate() : current.getHearingDate(),
+                    hearing.getDurationMinutes() != null ? hearing.getDurationMinutes() : current.getDurationMinutes());
+            if (doubleBooking != null) {
+                return doubleBooking;
+            }
+        }
 
         try {
             Hearing hearingToUpdate = existingHearing.get();
+            Booking before = Booking.of(hearingToUpdate);
 
             // Update fields
             if (hearing.getHearingDate() != null) {
                 hearingToUpdate.setHearingDate(hearing.getHearingDate());
             }
 
+            if (hearing.getDurationMinutes() != null) {
+                hearingToUpdate.setDurationMinutes(hearing.getDurationMinutes());
+            }
+
             if (hearing.getJudge() != null) {
                 hearingToUpdate.setJudge(hearing.getJudge());
             }
@@ -204,9 +434,17 @@ public class HearingService implements IHearingService {
                 hearingToUpdate.setCse(caseOptional.get());
             }
 
-            Hearing updatedHearing = hearingRepository.save(hearingToUpdate);
+            // Flushed here so the update, "... where id = ? and version = ?", fails in this method
+            // when another one committed since the read
+            Hearing updatedHearing = hearingRepository.saveAndFlush(hearingToUpdate);
+            recordHistory(id, before, Booking.of(updatedHearing));
+            recordChange(updatedHearing, Action.UPDATED);
             return ApiResponse.success(updatedHearing);
+        } catch (OptimisticLockingFailureException e) {
+            TransactionHooks.setRollbackOnly();
+            return modifiedSince(id);
         } catch (Exception e) {
+            TransactionHooks.setRollbackOnly();
             logger.error("Error updating hearing: {}", e.getMessage(), e);
             return ApiResponse.error("Failed to update hearing: " + e.getMessage(),
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
@@ -222,11 +460,24 @@ public class HearingService implements IHearingService {
             return ApiResponse.error("Hearing not found with ID: " + id, HttpStatus.NOT_FOUND.value());
         }
 
+        Hearing current = existingHearing.get();
+        if (status == HearingStatus.SCHEDULED && current.getStatus() != HearingStatus.SCHEDULED) {
+            // The slot was released while the hearing was not scheduled and may have been booked since
+            ApiResponse<Hearing> doubleBooking = doubleBooking(id, current.getJudge(), current.getLocation(),
+                    current.getHearingDate(), current.getDurationMinutes());
+            if (doubleBooking != null) {
+                return doubleBooking;
+            }
+        }
+
         try {
             Hearing hearingToUpdate = existingHearing.get();
+            Booking before = Booking.of(hearingToUpdate);
             hearingToUpdate.setStatus(status);
 
             Hearing updatedHearing = hearingRepository.save(hearingToUpdate);
+            recordHistory(id, before, Booking.of(updatedHearing));
+            recordChange(updatedHearing, Action.UPDATED);
             return ApiResponse.success(updatedHearing);
         } catch (Exception e) {
             logger.error("Error updating hearing status: {}", e.getMessage(), e);
@@ -248,27 +499,25 @@ public class HearingService implements IHearingService {
             return ApiResponse.error("Hearing not found with ID: " + id, HttpStatus.NOT_FOUND.value());
         }
 
+        Hearing current = existingHearing.get();
+        ApiResponse<Hearing> doubleBooking = doubleBooking(id, current.getJudge(), current.getLocation(), newDate,
+                current.getDurationMinutes());
+        if (doubleBooking != null) {
+            return doubleBooking;
+        }
+
         try {
             Hearing hearingToReschedule = existingHearing.get();
+            Booking before = Booking.of(hearingToReschedule);
 
-            // Keep track of the old date for logging
-            LocalDateTime oldDate = hearingToReschedule.getHearingDate();
-
-            // Update the hearing date and set status to SCHEDULED
+            // Update the hearing date and set status to SCHEDULED; the move goes into the
+            // hearing's history, the notes are left to people
             hearingToReschedule.setHearingDate(newDate);
             hearingToReschedule.setStatus(HearingStatus.SCHEDULED);
 
-            // Add a note about rescheduling if notes field exists
-            String existingNotes = hearingToReschedule.getNotes();
-            String rescheduleNote = "Hearing rescheduled from " + oldDate + " to " + newDate;
-
-            if (existingNotes != null && !existingNotes.isEmpty()) {
-                hearingToReschedule.setNotes(existingNotes + "\n" + rescheduleNote);
-            } else {
-                hearingToReschedule.setNotes(rescheduleNote);
-            }
-
             Hearing rescheduledHearing = hearingRepository.save(hearingToReschedule);
+            recordHistory(id, before, Booking.of(rescheduledHearing));
+            recordChange(rescheduledHearing, Action.UPDATED);
             return ApiResponse.success(rescheduledHearing);
         } catch (Exception e) {
             logger.error("Error rescheduling hearing: {}", e.getMessage(), e);
@@ -277,16 +526,66 @@ public class HearingService implements IHearingService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<HearingEvent>> getHearingHistory(Long id, String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting history of hearing ID: {} after ID: {} (page size {})", id, afterId, pageSize);
+        List<HearingEvent> events = hearingEventRepository.findByHearingIdAndIdGreaterThanOrderByIdAsc(id, afterId,
+                CursorPage.limit(pageSize));
+
+        // The history outlives its hearing; only an unknown hearing is not found
+        if (events.isEmpty() && afterId == 0 && !hearingRepository.existsById(id)) {
+            return ApiResponse.error("Hearing not found with ID: " + id, HttpStatus.NOT_FOUND.value());
+        }
+        return CursorPage.of(events, pageSize, HearingEvent::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<Hearing>> findConflicts(String judge, String location, LocalDateTime start,
+                                                    LocalDateTime end, Long excludeId) {
+        logger.info("Finding hearings booking judge: {} or location: {} between {} and {}", judge, location, start, end);
+
+        if (start == null || end == null) {
+            return ApiResponse.error("Start and end dates are required", HttpStatus.BAD_REQUEST.value());
+        }
+
+        if (!end.isAfter(start)) {
+            return ApiResponse.error("Start date must be before end date", HttpStatus.BAD_REQUEST.value());
+        }
+
+        if (isBlank(judge) && isBlank(location)) {
+            return ApiResponse.error("Judge or location is required", HttpStatus.BAD_REQUEST.value());
+        }
+
+        return ApiResponse.success(conflictingHearings(excludeId, judge, location, start, end, false));
+    }
+
     @Override
     public ApiResponse<Void> deleteHearing(Long id) {
         logger.info("Deleting hearing with ID: {}", id);
 
-        if (!hearingRepository.existsById(id)) {
+        Optional<Hearing> hearingOptional = hearingRepository.findById(id);
+        if (hearingOptional.isEmpty()) {
             return ApiResponse.error("Hearing not found with ID: " + id, HttpStatus.NOT_FOUND.value());
         }
+        Long caseId = caseId(hearingOptional.get());
+        String judge = hearingOptional.get().getJudge();
 
         try {
             hearingRepository.deleteById(id);
+            outbox.record(Entity.HEARING, Action.DELETED, id, caseId, judge, null);
+            TransactionHooks.afterCommit(() -> {
+                trigramIndex.remove(Field.HEARING_JUDGE, id);
+                scheduleIndex.remove(id);
+                upcomingIndex.remove(id);
+                reminderScheduler.cancel(id);
+            });
             return ApiResponse.success(null);
         } catch (Exception e) {
             logger.error("Error deleting hearing: {}", e.getMessage(), e);
@@ -294,4 +593,181 @@ public class HearingService implements IHearingService {
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
         }
     }
-}
\ No newline at end of file
+
+    private static ApiResponse<Hearing> modifiedSince(Long id) {
+        return ApiResponse.error("Hearing with ID: " + id + " has been modified since it was read.",
+                HttpStatus.PRECONDITION_FAILED.value());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static boolean invalidDuration(Integer durationMinutes) {
+        return durationMinutes != null && (durationMinutes < 1 || durationMinutes > Hearing.MAX_DURATION_MINUTES);
+    }
+
+    private static ApiResponse<Hearing> invalidDurationError() {
+        return ApiResponse.error("Hearing duration must be between 1 and " + Hearing.MAX_DURATION_MINUTES + " minutes",
+                HttpStatus.BAD_REQUEST.value());
+    }
+
+    /**
+     * Checks that a scheduled hearing books neither its judge nor its courtroom twice. The
+     * judge and courtroom stay locked until the booking commits or rolls back, so a second
+     * booking of either waits here and then sees this one.
+     * @param hearingId the hearing taking the slot, which never conflicts with itself; null for a new one
+     * @param durationMinutes null for the default duration
+     * @return a 409 response naming the hearings already booked, or null when the slot is free
+     */
+    private ApiResponse<Hearing> doubleBooking(Long hearingId, String judge, String location,
+                                               LocalDateTime start, Integer durationMinutes) {
+        LocalDateTime end = start.plusMinutes(durationMinutes != null ? durationMinutes : Hearing.DEFAULT_DURATION_MINUTES);
+        bookingLocks.lock(judge, location);
+        List<Hearing> conflicts = conflictingHearings(hearingId, judge, location, start, end, true);
+        if (conflicts.isEmpty()) {
+            return null;
+        }
+        String ids = conflicts.stream().map(conflict -> String.valueOf(conflict.getId())).collect(Collectors.joining(", "));
+        logger.warn("Double booking between {} and {} rejected, already booked by hearing(s): {}", start, end, ids);
+        return ApiResponse.error("Judge or location is already booked between " + start + " and " + end
+                + " by hearing(s) with ID: " + ids, HttpStatus.CONFLICT.value());
+    }
+
+    /**
+     * @param booking true for the check of a booking, made under its locks on the primary: the
+     *                index only learns of a booking once its transaction has committed, maybe
+     *                after the lock was passed on, so the rows are read as well
+     */
+    private List<Hearing> conflictingHearings(Long excludeId, String judge, String location,
+                                              LocalDateTime start, LocalDateTime end, boolean booking) {
+        Set<Long> ids = new TreeSet<>();
+        boolean indexed = scheduleIndex.isReady();
+        if (indexed) {
+            ids.addAll(scheduleIndex.findOverlapping(Resource.JUDGE, judge, start, end));
+            ids.addAll(scheduleIndex.findOverlapping(Resource.LOCATION, location, start, end));
+        }
+        String judgeKey = SearchTextAnalyzer.nameKey(judge);
+        String locationKey = SearchTextAnalyzer.nameKey(location);
+        if ((!indexed || booking) && (judgeKey != null || locationKey != null)) {
+            hearingRepository.findSlotsOverlapping(HearingStatus.SCHEDULED,
+                            start.minusMinutes(Hearing.MAX_DURATION_MINUTES), end, judgeKey, locationKey).stream()
+                    .filter(slot -> slot.end().isAfter(start))
+                    .forEach(slot -> ids.add(slot.id()));
+        }
+        if (excludeId != null) {
+            ids.remove(excludeId);
+        }
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // The rows have the last word: the index only learns of commits. An id without a row is
+        // skipped but left to the delete paths, as a read-only check may run on a replica that
+        // has not caught up with the index.
+        List<Hearing> hearings = hearingRepository.findByIdInOrderByIdAsc(ids);
+        return hearings.stream()
+                .filter(hearing -> hearing.getStatus() == HearingStatus.SCHEDULED
+                        && hearing.getHearingDate().isBefore(end) && hearing.getEndDate().isAfter(start))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Loads a page of the upcoming hearings index, in its order. The rows have the last word,
+     * as for the schedule index: a hearing the rows do not call upcoming (changed by a
+     * transaction whose index update has not run yet, or read on a replica that is behind) is
+     * skipped, and the index read on past it, so a page is only short when it is the last.
+     * The index itself is left to the write paths.
+     */
+    private List<Hearing> loadUpcoming(LocalDateTime afterDate, long afterId, int limit, LocalDateTime now) {
+        List<Hearing> hearings = new ArrayList<>();
+        while (hearings.size() < limit) {
+            int wanted = limit - hearings.size();
+            List<HearingDate> entries = upcomingIndex.page(afterDate, afterId, wanted, now);
+            if (!entries.isEmpty()) {
+                Map<Long, Hearing> rows = hearingRepository.findByIdInOrderByIdAsc(
+                                entries.stream().map(HearingDate::id).toList()).stream()
+                        .collect(Collectors.toMap(Hearing::getId, Function.identity()));
+                for (HearingDate entry : entries) {
+                    Hearing hearing = rows.get(entry.id());
+                    if (hearing != null && hearing.getStatus() != HearingStatus.CANCELLED
+                            && hearing.getHearingDate() != null && hearing.getHearingDate().isAfter(now)) {
+                        hearings.add(hearing);
+                    }
+                }
+            }
+            if (entries.size() < wanted) {
+                break;
+            }
+            HearingDate last = entries.get(entries.size() - 1);
+            afterDate = last.date();
+            afterId = last.id();
+        }
+        return hearings;
+    }
+
+    /**
+     * Records the change in the outbox, in this transaction, and updates the in-memory
+     * indexes and the reminders once it commits
+     */
+    private void recordChange(Hearing hearing, Action action) {
+        if (hearing == null || hearing.getId() == null) {
+            return;
+        }
+        Long id = hearing.getId();
+        String judge = hearing.getJudge();
+        LocalDateTime hearingDate = hearing.getHearingDate();
+        HearingStatus status = hearing.getStatus();
+        HearingSlot slot = hearing.getStatus() == HearingStatus.SCHEDULED && hearing.getHearingDate() != null
+                ? HearingSlot.of(hearing) : null;
+        outbox.record(Entity.HEARING, action, id, caseId(hearing), judge, status == null ? null : status.name());
+        TransactionHooks.afterCommit(() -> {
+            trigramIndex.index(Field.HEARING_JUDGE, id, judge);
+            upcomingIndex.index(id, hearingDate, status);
+            if (slot != null) {
+                scheduleIndex.index(slot);
+                reminderScheduler.schedule(slot);
+            } else {
+                scheduleIndex.remove(id);
+                reminderScheduler.cancel(id);
+            }
+        });
+    }
+
+    /**
+     * Appends what changed between two states of a hearing to its history, in this transaction
+     */
+    private void recordHistory(Long id, Booking before, Booking after) {
+        List<HearingEvent> events = new ArrayList<>(4);
+        if (!Objects.equals(before.date(), after.date())) {
+            events.add(new HearingEvent(id, HearingEventType.RESCHEDULED, before.date(), after.date()));
+        }
+        if (before.status() != after.status()) {
+            events.add(new HearingEvent(id, HearingEventType.STATUS_CHANGED, before.status(), after.status()));
+        }
+        if (!Objects.equals(before.judge(), after.judge())) {
+            events.add(new HearingEvent(id, HearingEventType.JUDGE_CHANGED, before.judge(), after.judge()));
+        }
+        if (!Objects.equals(before.location(), after.location())) {
+            events.add(new HearingEvent(id, HearingEventType.LOCATION_CHANGED, before.location(), after.location()));
+        }
+        if (!events.isEmpty()) {
+            hearingEventRepository.saveAll(events);
+        }
+    }
+
+    private static Long caseId(Hearing hearing) {
+        // The id of a lazy reference is read without loading the case
+        return hearing.getCse() == null ? null : hearing.getCse().getId();
+    }
+
+    /**
+     * The fields of a hearing its history follows, as they were at one point
+     */
+    private record Booking(LocalDateTime date, HearingStatus status, String judge, String location) {
+
+        static Booking of(Hearing hearing) {
+            return new Booking(hearing.getHearingDate(), hearing.getStatus(), hearing.getJudge(), hearing.getLocation());
+        }
+    }
+}
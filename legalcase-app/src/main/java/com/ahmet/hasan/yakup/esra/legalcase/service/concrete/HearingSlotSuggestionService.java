@@ -0,0 +1,248 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.SlotSuggestion;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex.Resource;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingSlotSuggestionService;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.DayGrid;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.SearchTextAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Slot search over bitset day grids (see DayGrid). The case and judge calendars are
+ * combined into one, each courtroom calendar is ANDed with it, and the runs of free cells
+ * long enough for the hearing are read off day by day, earliest first, until enough slots
+ * are found. Calendars are filled a week at a time, so a long window costs only the weeks
+ * the search gets to.
+ *
+ * The busy slots come from the schedule index, so a search costs no database round trip
+ * besides the case's own hearings. Until the index is ready, the scheduled hearings of the
+ * window are read with one query instead.
+ */
+@Service
+@Transactional(readOnly = true)
+public class HearingSlotSuggestionService implements IHearingSlotSuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HearingSlotSuggestionService.class);
+
+    // Days whose calendars are read at once; a search usually ends in the first batch
+    private static final int SEARCH_DAYS = 7;
+
+    private final CaseRepository caseRepository;
+    private final HearingRepository hearingRepository;
+    private final IHearingScheduleIndex scheduleIndex;
+    private final LocalTime dayStart;
+    private final LocalTime dayEnd;
+    private final int cellMinutes;
+
+    @Autowired
+    public HearingSlotSuggestionService(CaseRepository caseRepository, HearingRepository hearingRepository,
+                                        IHearingScheduleIndex scheduleIndex,
+                                        @Value("${hearings.slots.day-start:09:00}") String dayStart,
+                                        @Value("${hearings.slots.day-end:17:00}") String dayEnd,
+                                        @Value("${hearings.slots.cell-minutes:15}") int cellMinutes) {
+        this.caseRepository = caseRepository;
+        this.hearingRepository = hearingRepository;
+        this.scheduleIndex = scheduleIndex;
+        this.dayStart = LocalTime.parse(dayStart);
+        this.dayEnd = LocalTime.parse(dayEnd);
+        this.cellMinutes = cellMinutes;
+        // Fails at startup on a court day the grid cannot hold
+        new DayGrid(LocalDate.now(), LocalDate.now(), this.dayStart, this.dayEnd, cellMinutes);
+    }
+
+    @Override
+    public ApiResponse<List<SlotSuggestion>> suggestSlots(Long caseId, Integer durationMinutes, LocalDate from,
+                                                          LocalDate to, String judge, String location,
+                                                          Integer count) {
+        logger.info("Suggesting hearing slots for case ID: {} between {} and {}", caseId, from, to);
+
+        if (from == null || to == null) {
+            return ApiResponse.error("Start and end dates are required", HttpStatus.BAD_REQUEST.value());
+        }
+
+        if (to.isBefore(from)) {
+            return ApiResponse.error("Start date must be before end date", HttpStatus.BAD_REQUEST.value());
+        }
+
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_WINDOW_DAYS) {
+            return ApiResponse.error("The date window cannot be longer than " + MAX_WINDOW_DAYS + " days",
+                    HttpStatus.BAD_REQUEST.value());
+        }
+
+        int wanted = count != null ? count : DEFAULT_COUNT;
+        if (wanted < 1 || wanted > MAX_COUNT) {
+            return ApiResponse.error("Count must be between 1 and " + MAX_COUNT, HttpStatus.BAD_REQUEST.value());
+        }
+
+        DayGrid grid = new DayGrid(from, to, dayStart, dayEnd, cellMinutes);
+        int minutes = durationMinutes != null ? durationMinutes : Hearing.DEFAULT_DURATION_MINUTES;
+        if (minutes < 1 || grid.cells(minutes) > grid.cellsPerDay()) {
+            return ApiResponse.error("Hearing duration must be between 1 minute and a court day ("
+                    + dayStart + " - " + dayEnd + ")", HttpStatus.BAD_REQUEST.value());
+        }
+
+        if (caseId == null || !caseRepository.existsById(caseId)) {
+            return ApiResponse.error("Case not found with ID: " + caseId, HttpStatus.NOT_FOUND.value());
+        }
+
+        String judgeName = isBlank(judge) ? null : judge.trim();
+        String locationName = isBlank(location) ? null : location.trim();
+        LocalDateTime windowStart = from.atStartOfDay();
+        LocalDateTime windowEnd = to.plusDays(1).atStartOfDay();
+        LocalDateTime earliestStart = windowStart.minusMinutes(Hearing.MAX_DURATION_MINUTES);
+
+        // Cells where the case is free; the calendars of the judge and the courtrooms are read
+        // a week at a time while the search runs
+        long[] free = grid.newCalendar();
+        grid.occupy(free, windowStart, LocalDateTime.now());
+        occupy(grid, free, hearingRepository.findSlotsByCaseIdOverlapping(caseId, HearingStatus.SCHEDULED,
+                earliestStart, windowEnd));
+
+        Calendars calendars;
+        List<String> rooms;
+        if (scheduleIndex.isReady()) {
+            calendars = scheduleIndex::findSlots;
+            rooms = locationName != null ? List.of(locationName) : scheduleIndex.names(Resource.LOCATION);
+        } else {
+            WindowCalendars window = new WindowCalendars(hearingRepository.findSlotsBetween(HearingStatus.SCHEDULED,
+                    earliestStart, windowEnd));
+            calendars = window;
+            rooms = locationName != null ? List.of(locationName) : window.locations();
+        }
+        if (rooms.isEmpty()) {
+            // No courtroom is known yet: the slots only fit the case and the judge
+            rooms = Collections.singletonList(null);
+        }
+
+        return ApiResponse.success(search(grid, from, free, calendars, judgeName, rooms, minutes, wanted));
+    }
+
+    private static List<SlotSuggestion> search(DayGrid grid, LocalDate from, long[] free, Calendars calendars,
+                                               String judge, List<String> rooms, int minutes, int wanted) {
+        int cells = grid.cells(minutes);
+        long[][] roomFree = new long[rooms.size()][grid.days()];
+        long[] starts = new long[rooms.size()];
+        List<SlotSuggestion> suggestions = new ArrayList<>();
+        for (int first = 0; first < grid.days() && suggestions.size() < wanted; first += SEARCH_DAYS) {
+            int last = Math.min(grid.days(), first + SEARCH_DAYS);
+            LocalDateTime start = from.plusDays(first).atStartOfDay();
+            LocalDateTime end = from.plusDays(last).atStartOfDay();
+            if (judge != null) {
+                occupy(grid, free, calendars.busy(Resource.JUDGE, judge, start, end));
+            }
+            for (int room = 0; room < rooms.size(); room++) {
+                System.arraycopy(free, first, roomFree[room], first, last - first);
+                occupy(grid, roomFree[room], calendars.busy(Resource.LOCATION, rooms.get(room), start, end));
+            }
+
+            for (int day = first; day < last && suggestions.size() < wanted; day++) {
+                long anyStart = 0;
+                for (int room = 0; room < rooms.size(); room++) {
+                    starts[room] = DayGrid.runStarts(roomFree[room][day], cells);
+                    anyStart |= starts[room];
+                }
+                while (anyStart != 0 && suggestions.size() < wanted) {
+                    int cell = Long.numberOfTrailingZeros(anyStart);
+                    long bit = 1L << cell;
+                    anyStart &= ~bit;
+                    for (int room = 0; room < rooms.size() && suggestions.size() < wanted; room++) {
+                        if ((starts[room] & bit) == 0) {
+                            continue;
+                        }
+                        LocalDateTime slotStart = grid.startOf(day, cell);
+                        suggestions.add(new SlotSuggestion(slotStart, slotStart.plusMinutes(minutes), judge,
+                                rooms.get(room)));
+                        // The next slot offered in this courtroom starts after this one
+                        starts[room] &= ~DayGrid.mask(cell, cells);
+                    }
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    private static void occupy(DayGrid grid, long[] calendar, List<HearingSlot> slots) {
+        for (HearingSlot slot : slots) {
+            grid.occupy(calendar, slot.start(), slot.end());
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Busy slots of a judge or courtroom, the shape of IHearingScheduleIndex.findSlots
+     */
+    private interface Calendars {
+        List<HearingSlot> busy(Resource resource, String name, LocalDateTime start, LocalDateTime end);
+    }
+
+    /**
+     * The scheduled hearings of the window, grouped by judge and by courtroom as the schedule
+     * index groups them, for searching before it is ready
+     */
+    private static final class WindowCalendars implements Calendars {
+
+        private final Map<Resource, Map<List<String>, List<HearingSlot>>> slots = new EnumMap<>(Resource.class);
+        private final Map<List<String>, String> locations = new HashMap<>();
+
+        private WindowCalendars(List<HearingSlot> window) {
+            for (Resource resource : Resource.values()) {
+                slots.put(resource, new HashMap<>());
+            }
+            for (HearingSlot slot : window) {
+                add(Resource.JUDGE, slot.judge(), slot);
+                List<String> terms = add(Resource.LOCATION, slot.location(), slot);
+                if (!terms.isEmpty()) {
+                    locations.putIfAbsent(terms, slot.location().trim());
+                }
+            }
+        }
+
+        private List<String> add(Resource resource, String name, HearingSlot slot) {
+            List<String> terms = SearchTextAnalyzer.terms(name);
+            if (!terms.isEmpty()) {
+                slots.get(resource).computeIfAbsent(terms, t -> new ArrayList<>()).add(slot);
+            }
+            return terms;
+        }
+
+        private List<String> locations() {
+            List<String> names = new ArrayList<>(locations.values());
+            Collections.sort(names);
+            return names;
+        }
+
+        @Override
+        public List<HearingSlot> busy(Resource resource, String name, LocalDateTime start, LocalDateTime end) {
+            return slots.get(resource).getOrDefault(SearchTextAnalyzer.terms(name), List.of()).stream()
+                    .filter(slot -> slot.start().isBefore(end) && slot.end().isAfter(start))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.SearchTextAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index ranked with Okapi BM25.
+ *
+ * Every indexed version of a document gets a new ordinal, and each term keeps a posting
+ * list of (ordinal, term frequency) pairs in primitive arrays. Ordinals only grow, so
+ * postings stay sorted without any re-sorting and a query merges the posting lists of its
+ * terms document-at-a-time, keeping only the best offset + limit hits in a small heap.
+ *
+ * Replacing or removing a document only marks its old ordinal as deleted; the postings are
+ * compacted once deleted ordinals make up a fifth of the index. Document frequencies count
+ * deleted postings until then, which shifts scores slightly but never the set of matches.
+ *
+ * Searches share a read lock; indexing takes the write lock only to append postings, the
+ * text is analyzed before the lock is taken.
+ */
+@Service
+public class InvertedDocumentSearchIndex implements IDocumentSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvertedDocumentSearchIndex.class);
+
+    // Usual BM25 parameters: term frequency saturation and length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int COMPACT_MIN_DELETED = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private long[] documentIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private int nextOrdinal;
+    private int deletedCount;
+    private long totalLength;
+
+    @Override
+    public void index(Long documentId, CharSequence... fields) {
+        Analyzed analyzed = analyze(fields);
+        lock.writeLock().lock();
+        try {
+            add(documentId, analyzed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean indexIfAbsent(Long documentId, CharSequence... fields) {
+        lock.readLock().lock();
+        try {
+            if (ordinals.containsKey(documentId)) {
+                return false;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Analyzed analyzed = analyze(fields);
+        lock.writeLock().lock();
+        try {
+            // Checked again, the document may have been indexed while the text was analyzed
+            if (ordinals.containsKey(documentId)) {
+                return false;
+            }
+            add(documentId, analyzed);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long documentId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(documentId);
+            if (ordinal != null) {
+                markDeleted(ordinal);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Result search(String query, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(SearchTextAnalyzer.terms(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return new Result(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            int liveCount = ordinals.size();
+            if (liveCount == 0) {
+                return new Result(List.of(), 0);
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / liveCount);
+
+            List<Postings> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list != null) {
+                    lists.add(list);
+                }
+            }
+            if (lists.isEmpty()) {
+                return new Result(List.of(), 0);
+            }
+            double[] idfs = new double[lists.size()];
+            for (int t = 0; t < idfs.length; t++) {
+                idfs[t] = idf(lists.get(t).size, nextOrdinal);
+            }
+
+            int wanted = offset + limit;
+            PriorityQueue<Scored> best = new PriorityQueue<>(Math.min(wanted, 1024) + 1, WORST_FIRST);
+            int matches = 0;
+            int[] cursors = new int[lists.size()];
+            while (true) {
+                // Smallest ordinal any posting list is positioned at
+                int ordinal = Integer.MAX_VALUE;
+                for (int t = 0; t < cursors.length; t++) {
+                    Postings list = lists.get(t);
+                    if (cursors[t] < list.size) {
+                        ordinal = Math.min(ordinal, list.ordinals[cursors[t]]);
+                    }
+                }
+                if (ordinal == Integer.MAX_VALUE) {
+                    break;
+                }
+
+                double score = 0;
+                double norm = K1 * (1 - B + B * lengths[ordinal] / averageLength);
+                for (int t = 0; t < cursors.length; t++) {
+                    Postings list = lists.get(t);
+                    if (cursors[t] < list.size && list.ordinals[cursors[t]] == ordinal) {
+                        int frequency = list.frequencies[cursors[t]];
+                        score += idfs[t] * frequency * (K1 + 1) / (frequency + norm);
+                        cursors[t]++;
+                    }
+                }
+                if (deleted.get(ordinal)) {
+                    continue;
+                }
+
+                matches++;
+                long documentId = documentIds[ordinal];
+                if (best.size() < wanted) {
+                    best.add(new Scored(documentId, score));
+                } else if (ranksAbove(score, documentId, best.peek())) {
+                    best.poll();
+                    best.add(new Scored(documentId, score));
+                }
+            }
+
+            Scored[] ranked = best.toArray(new Scored[0]);
+            Arrays.sort(ranked, WORST_FIRST.reversed());
+            List<Hit> hits = new ArrayList<>(Math.max(0, Math.min(limit, ranked.length - offset)));
+            for (int i = offset; i < ranked.length; i++) {
+                hits.add(new Hit(ranked[i].documentId, ranked[i].score));
+            }
+            return new Result(hits, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static double idf(int documentFrequency, int documentCount) {
+        // The BM25 variant that never goes negative for very common terms
+        return Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static boolean ranksAbove(double score, long documentId, Scored other) {
+        return score > other.score || (score == other.score && documentId < other.documentId);
+    }
+
+    private static Analyzed analyze(CharSequence... fields) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        int[] length = new int[1];
+        for (CharSequence field : fields) {
+            SearchTextAnalyzer.forEachTerm(field, term -> {
+                frequencies.computeIfAbsent(term, t -> new int[1])[0]++;
+                length[0]++;
+            });
+        }
+        return new Analyzed(frequencies, length[0]);
+    }
+
+    private void add(Long documentId, Analyzed analyzed) {
+        Integer previous = ordinals.get(documentId);
+        if (previous != null) {
+            markDeleted(previous);
+        }
+
+        int ordinal = nextOrdinal++;
+        if (ordinal == documentIds.length) {
+            documentIds = Arrays.copyOf(documentIds, ordinal * 2);
+            lengths = Arrays.copyOf(lengths, ordinal * 2);
+        }
+        documentIds[ordinal] = documentId;
+        lengths[ordinal] = analyzed.length;
+        totalLength += analyzed.length;
+        ordinals.put(documentId, ordinal);
+        for (Map.Entry<String, int[]> entry : analyzed.frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(ordinal, entry.getValue()[0]);
+        }
+        compactIfNeeded();
+    }
+
+    private void markDeleted(int ordinal) {
+        deleted.set(ordinal);
+        deletedCount++;
+        totalLength -= lengths[ordinal];
+    }
+
+    private void compactIfNeeded() {
+        if (deletedCount < COMPACT_MIN_DELETED || deletedCount * 5L < nextOrdinal) {
+            return;
+        }
+        long started = System.nanoTime();
+
+        // Live ordinals keep their order, so every posting list stays sorted
+        int[] remap = new int[nextOrdinal];
+        int live = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (deleted.get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                remap[ordinal] = live;
+                documentIds[live] = documentIds[ordinal];
+                lengths[live] = lengths[ordinal];
+                live++;
+            }
+        }
+
+        Iterator<Postings> lists = postings.values().iterator();
+        while (lists.hasNext()) {
+            Postings list = lists.next();
+            list.retain(remap);
+            if (list.size == 0) {
+                lists.remove();
+            }
+        }
+        ordinals.replaceAll((documentId, ordinal) -> remap[ordinal]);
+
+        logger.debug("Compacted document search index: dropped {} deleted entries in {} ms",
+                deletedCount, (System.nanoTime() - started) / 1_000_000);
+        nextOrdinal = live;
+        deleted.clear();
+        deletedCount = 0;
+    }
+
+    // Worst hit first: lower score, then higher document id, so ties rank in id order
+    private static final Comparator<Scored> WORST_FIRST = Comparator
+            .comparingDouble((Scored scored) -> scored.score)
+            .thenComparing(scored -> scored.documentId, Comparator.reverseOrder());
+
+    private record Scored(long documentId, double score) {
+    }
+
+    private record Analyzed(Map<String, int[]> frequencies, int length) {
+    }
+
+    /**
+     * Ordinals in increasing order with the term frequency in each
+     */
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void retain(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = remap[ordinals[i]];
+                if (ordinal >= 0) {
+                    ordinals[kept] = ordinal;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+}
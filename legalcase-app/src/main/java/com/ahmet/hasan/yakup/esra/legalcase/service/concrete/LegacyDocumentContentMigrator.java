@@ -0,0 +1,127 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentContentStore;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentContentStore.StoredContent;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ILegacyDocumentContentMigrator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves the document bodies written before the content store existed out of the TEXT
+ * column documents.content, which the Document entity no longer maps. Databases created by
+ * the migrations never had the column, so this does nothing there.
+ *
+ * Runs once in the background on every start until the column is gone: each body is
+ * written to the store and its row updated to point at it, one row at a time and only
+ * while the row has no body of its own, so an instance running the same move at the same
+ * time cannot overwrite a newer body. The column is dropped only after a pass found no body
+ * left in it; a body that could not be written stops the pass and is tried again on the
+ * next start.
+ */
+@Service
+public class LegacyDocumentContentMigrator implements ILegacyDocumentContentMigrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacyDocumentContentMigrator.class);
+
+    private static final int PAGE_SIZE = 100;
+    // What the TEXT column held, as updateDocumentContent stores text
+    private static final String TEXT_CONTENT_TYPE = "text/plain;charset=UTF-8";
+
+    private static final String COLUMN_SQL = "select count(*) from information_schema.columns "
+            + "where table_schema = database() and table_name = 'documents' and column_name = 'content'";
+    private static final String PAGE_SQL = "select id, title, content from documents "
+            + "where content is not null and content_ref is null and id > ? order by id limit " + PAGE_SIZE;
+    private static final String MOVE_SQL = "update documents set content_ref = ?, content_size = ?, content_hash = ?, "
+            + "content_type = coalesce(content_type, ?), content = null, version = version + 1 "
+            + "where id = ? and content_ref is null";
+    private static final String DROP_SQL = "alter table documents drop column content";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IDocumentContentStore contentStore;
+    private final IDocumentSearchIndex searchIndex;
+
+    @Autowired
+    public LegacyDocumentContentMigrator(JdbcTemplate jdbcTemplate, IDocumentContentStore contentStore,
+                                         IDocumentSearchIndex searchIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.contentStore = contentStore;
+        this.searchIndex = searchIndex;
+    }
+
+    @Override
+    public int migrate() {
+        Integer columns = jdbcTemplate.queryForObject(COLUMN_SQL, Integer.class);
+        if (columns == null || columns == 0) {
+            return 0;
+        }
+        long started = System.currentTimeMillis();
+        int moved = 0;
+        long afterId = 0;
+        while (true) {
+            List<Map<String, Object>> page = jdbcTemplate.queryForList(PAGE_SQL, afterId);
+            for (Map<String, Object> row : page) {
+                long id = ((Number) row.get("id")).longValue();
+                if (move(id, (String) row.get("title"), (String) row.get("content"))) {
+                    moved++;
+                }
+                afterId = id;
+            }
+            if (page.size() < PAGE_SIZE) {
+                break;
+            }
+        }
+        jdbcTemplate.execute(DROP_SQL);
+        logger.info("Moved {} legacy document bodies to the content store in {} ms and dropped documents.content",
+                moved, System.currentTimeMillis() - started);
+        return moved;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        Thread migration = new Thread(() -> {
+            try {
+                migrate();
+            } catch (Exception e) {
+                logger.error("Error moving legacy document bodies: {}", e.getMessage(), e);
+            }
+        }, "legacy-document-content");
+        migration.setDaemon(true);
+        migration.start();
+    }
+
+    /**
+     * @return false when the row got a body of its own meanwhile, in which case the copy is
+     *         deleted again
+     */
+    private boolean move(long id, String title, String content) {
+        StoredContent stored;
+        try {
+            stored = contentStore.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store the body of document " + id, e);
+        }
+        if (jdbcTemplate.update(MOVE_SQL, stored.ref(), stored.size(), stored.sha256(), TEXT_CONTENT_TYPE, id) == 0) {
+            try {
+                contentStore.delete(stored.ref());
+            } catch (IOException e) {
+                logger.warn("Could not delete document content {}: {}", stored.ref(), e.getMessage());
+            }
+            return false;
+        }
+        // The startup rebuild of the search index found no body for it
+        searchIndex.index(id, title, content);
+        return true;
+    }
+}
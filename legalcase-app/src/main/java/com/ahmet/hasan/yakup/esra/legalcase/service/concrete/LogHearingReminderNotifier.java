@@ -0,0 +1,25 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingReminder;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingReminderNotifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writes each hearing reminder to the application log.
+ * Used when hearings.reminders.notifier=log or the property is not set
+ */
+@Service
+@ConditionalOnProperty(name = "hearings.reminders.notifier", havingValue = "log", matchIfMissing = true)
+public class LogHearingReminderNotifier implements IHearingReminderNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogHearingReminderNotifier.class);
+
+    @Override
+    public void remind(HearingReminder reminder) {
+        logger.info("Reminder: hearing ID: {} with judge: {} at location: {} is on {} (in {})",
+                reminder.hearingId(), reminder.judge(), reminder.location(), reminder.hearingDate(), reminder.before());
+    }
+}
@@ -0,0 +1,37 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.OutboxEvent;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.OutboxEventRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IOutbox;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes a change to the outbox table in the caller's transaction; the only cost on the
+ * request is the insert, however many subscribers there are. The relay is woken once the
+ * transaction commits, so the change is handed on without waiting for its next poll.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class Outbox implements IOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelay relay;
+
+    @Autowired
+    public Outbox(OutboxEventRepository outboxEventRepository, OutboxRelay relay) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.relay = relay;
+    }
+
+    @Override
+    public void record(Entity entity, Action action, Long entityId, Long caseId, String judge, String status) {
+        outboxEventRepository.save(new OutboxEvent(entity, entityId, action, caseId, judge, status));
+        TransactionHooks.afterCommit(relay::wakeUp);
+    }
+}
@@ -0,0 +1,374 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.OutboxEvent;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.OutboxEventRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDomainEventSubscriber;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.EventRing;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands the committed changes in the outbox to the domain event subscribers.
+ *
+ * One relay thread reads the outbox in batches, in order of id, and publishes the changes
+ * into a ring (see EventRing) that every subscriber reads on a thread of its own. The relay
+ * is woken by each commit that writes to the outbox and otherwise polls, to pick up the
+ * changes of other nodes.
+ *
+ * Every node runs a relay and hands every change to its own subscribers, whichever node made
+ * it, so no node deletes what it has handled. Instead each node keeps a cursor in
+ * outbox_cursors, under its node id (outbox.node-id, the host name by default, which must be
+ * unique and stay the same across restarts): the id up to which every change has committed and
+ * been handled by its subscribers. On start the node reads on from its cursor, so the changes
+ * in its ring when it stopped are handed out again: delivery is at least once. A node new to
+ * the outbox starts at its end. The rows older than the retention are deleted by whichever
+ * node gets to them; a node stopped for longer misses the changes deleted meanwhile.
+ *
+ * Ids are assigned on insert but become visible on commit, so a change can commit after one
+ * with a higher id has been relayed. The changes of one aggregate cannot: its row is locked
+ * and versioned, so its next change is written after the previous one committed and comes
+ * in order. To find the changes of other aggregates that committed late, the ids relayed
+ * within the settle time are swept again every sweep interval; a transaction committing
+ * later than that after writing its change is not waited for.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String CURSOR_SQL = "select last_id from outbox_cursors where node = ?";
+    private static final String LAST_ID_SQL = "select coalesce(max(id), 0) from outbox_events";
+    private static final String SAVE_CURSOR_SQL = "insert into outbox_cursors (node, last_id, updated_at) "
+            + "values (?, ?, ?) on duplicate key update last_id = values(last_id), updated_at = values(updated_at)";
+    private static final String PURGE_SQL = "delete from outbox_events where created_at < ? order by id limit ?";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final List<IDomainEventSubscriber> subscribers;
+    private final int batchSize;
+    private final long pollNanos;
+    private final long sweepNanos;
+    private final long settleNanos;
+    private final long retentionMillis;
+    private final String nodeId;
+    private final EventRing<ChangeEvent> ring;
+
+    // Relay thread only: the changes in the ring that some subscriber has not handled yet,
+    // in the order they were published, and their outbox ids
+    private final ArrayDeque<InFlight> inFlight = new ArrayDeque<>();
+    private final NavigableSet<Long> inFlightIds = new TreeSet<>();
+    // The ids relayed above the settled one, which the sweep skips, and the last relayed id
+    // at each sweep, which becomes the settled one once the settle time has passed
+    private final NavigableSet<Long> relayedIds = new TreeSet<>();
+    private final ArrayDeque<Sweep> sweeps = new ArrayDeque<>();
+    private boolean positioned;
+    private long lastRelayedId;
+    private long settledId;
+    private long savedCursor;
+    private long lastSweep = System.nanoTime();
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile Thread relayThread;
+    private volatile boolean running;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, JdbcTemplate jdbcTemplate,
+                       List<IDomainEventSubscriber> subscribers,
+                       @Value("${outbox.batch-size:500}") int batchSize,
+                       @Value("${outbox.ring-size:1024}") int ringSize,
+                       @Value("${outbox.poll-interval:200ms}") String pollInterval,
+                       @Value("${outbox.sweep-interval:5s}") String sweepInterval,
+                       @Value("${outbox.settle:30s}") String settle,
+                       @Value("${outbox.retention:1d}") String retention,
+                       @Value("${outbox.node-id:}") String nodeId) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The outbox batch size must be positive: " + batchSize);
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.subscribers = List.copyOf(subscribers);
+        this.batchSize = batchSize;
+        this.pollNanos = DurationStyle.detectAndParse(pollInterval).toNanos();
+        this.sweepNanos = DurationStyle.detectAndParse(sweepInterval).toNanos();
+        this.settleNanos = DurationStyle.detectAndParse(settle).toNanos();
+        this.retentionMillis = DurationStyle.detectAndParse(retention).toMillis();
+        if (retentionMillis * 1_000_000 <= settleNanos) {
+            throw new IllegalArgumentException("The outbox retention must be longer than the settle time: " + retention);
+        }
+        this.nodeId = nodeId == null || nodeId.isBlank() ? hostName() : nodeId.trim();
+        this.ring = new EventRing<>(ringSize);
+    }
+
+    /**
+     * Wakes the relay to read the outbox now; called when a change has been committed
+     */
+    public void wakeUp() {
+        Thread relay = relayThread;
+        if (relay != null) {
+            LockSupport.unpark(relay);
+        }
+    }
+
+    /**
+     * Reads the next batch of the outbox into the ring. When the sweep interval has passed, also
+     * sweeps for changes that committed late, moves the node's cursor past the changes every
+     * subscriber has handled and deletes the rows past the retention. Waits while the ring is
+     * full.
+     * @return number of changes relayed
+     */
+    public synchronized int relayOnce() throws InterruptedException {
+        if (!positioned) {
+            position();
+        }
+        acknowledge();
+        List<OutboxEvent> batch = outboxEventRepository.findByIdGreaterThanOrderByIdAsc(lastRelayedId,
+                Limit.of(batchSize));
+        for (OutboxEvent event : batch) {
+            relay(event);
+            lastRelayedId = event.getId();
+        }
+        int relayed = batch.size();
+        if (System.nanoTime() - lastSweep >= sweepNanos) {
+            relayed += sweep();
+            settle();
+            acknowledge();
+            saveCursor();
+            purge();
+            lastSweep = System.nanoTime();
+        }
+        acknowledge();
+        return relayed;
+    }
+
+    /**
+     * @return the id this node is known by in outbox_cursors
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Starts a thread per subscriber, reading the ring
+     */
+    public synchronized void startSubscribers() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (IDomainEventSubscriber subscriber : subscribers) {
+            EventRing.Reader<ChangeEvent> reader = ring.reader();
+            Thread thread = new Thread(() -> deliver(subscriber, reader), "domain-events-" + subscriber.name());
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    /**
+     * The outbox is read from the node's cursor: what was not handled before the last stop is
+     * handed out first
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startOnStartup() {
+        startSubscribers();
+        if (relayThread != null) {
+            return;
+        }
+        Thread relay = new Thread(this::run, "outbox-relay");
+        relay.setDaemon(true);
+        relayThread = relay;
+        threads.add(relay);
+        relay.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<Thread> started;
+        synchronized (this) {
+            running = false;
+            started = new ArrayList<>(threads);
+        }
+        started.forEach(Thread::interrupt);
+    }
+
+    private void run() {
+        logger.info("Outbox relay started with {} subscribers", subscribers.size());
+        while (running) {
+            try {
+                if (relayOnce() == 0) {
+                    LockSupport.parkNanos(this, pollNanos);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                logger.error("Error relaying the outbox: {}", e.getMessage(), e);
+                LockSupport.parkNanos(this, pollNanos);
+            }
+        }
+    }
+
+    private void deliver(IDomainEventSubscriber subscriber, EventRing.Reader<ChangeEvent> reader) {
+        while (running) {
+            ChangeEvent event;
+            try {
+                event = reader.next(pollNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (event == null) {
+                continue;
+            }
+            try {
+                subscriber.onEvent(event);
+            } catch (Exception e) {
+                logger.error("Subscriber {} failed on change {} of {} {}: {}", subscriber.name(), event.id(),
+                        event.entity(), event.entityId(), e.getMessage(), e);
+            }
+            reader.release();
+        }
+    }
+
+    /**
+     * Starts after the node's cursor, or at the end of the outbox for a node without one
+     */
+    private void position() {
+        List<Long> cursor = jdbcTemplate.queryForList(CURSOR_SQL, Long.class, nodeId);
+        long start;
+        if (cursor.isEmpty()) {
+            Long last = jdbcTemplate.queryForObject(LAST_ID_SQL, Long.class);
+            start = last == null ? 0 : last;
+            logger.info("Outbox relay of node {} starts at the end of the outbox, after change {}", nodeId, start);
+        } else {
+            start = cursor.get(0);
+            logger.info("Outbox relay of node {} resumes after change {}", nodeId, start);
+        }
+        lastRelayedId = start;
+        settledId = start;
+        savedCursor = start;
+        positioned = true;
+    }
+
+    private void relay(OutboxEvent event) throws InterruptedException {
+        long number = ring.publish(event.toChangeEvent());
+        inFlight.add(new InFlight(number, event.getId()));
+        inFlightIds.add(event.getId());
+        relayedIds.add(event.getId());
+    }
+
+    /**
+     * Relays the changes between the settled id and the last relayed one that were not relayed
+     * yet, those that committed after a higher id was read
+     */
+    private int sweep() throws InterruptedException {
+        int found = 0;
+        long afterId = settledId;
+        while (true) {
+            List<OutboxEvent> page = outboxEventRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(afterId,
+                    lastRelayedId, Limit.of(batchSize));
+            for (OutboxEvent event : page) {
+                if (!relayedIds.contains(event.getId())) {
+                    relay(event);
+                    found++;
+                }
+                afterId = event.getId();
+            }
+            if (page.size() < batchSize) {
+                break;
+            }
+        }
+        if (found > 0) {
+            logger.info("Relayed {} outbox changes that committed out of order", found);
+        }
+        return found;
+    }
+
+    /**
+     * Forgets the changes every subscriber has handled
+     */
+    private void acknowledge() {
+        long done = ring.done();
+        while (!inFlight.isEmpty() && inFlight.peek().number() <= done) {
+            inFlightIds.remove(inFlight.poll().id());
+        }
+    }
+
+    /**
+     * Moves the settled id up to the last id relayed at the sweeps older than the settle time:
+     * the changes up to it have committed, or will not be waited for
+     */
+    private void settle() {
+        long now = System.nanoTime();
+        sweeps.add(new Sweep(now, lastRelayedId));
+        while (!sweeps.isEmpty() && now - sweeps.peek().time() >= settleNanos) {
+            settledId = Math.max(settledId, sweeps.poll().lastRelayedId());
+        }
+        relayedIds.headSet(settledId, true).clear();
+    }
+
+    /**
+     * Saves the id up to which every change is settled and handled, when it has moved
+     */
+    private void saveCursor() {
+        long cursor = inFlightIds.isEmpty() ? settledId : Math.min(settledId, inFlightIds.first() - 1);
+        if (cursor <= savedCursor) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(SAVE_CURSOR_SQL, nodeId, cursor, LocalDateTime.now());
+            savedCursor = cursor;
+        } catch (Exception e) {
+            // Saved at the next sweep; until then a restart hands out a few changes again
+            logger.warn("Could not save the outbox cursor of node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the rows older than the retention, a batch at a time
+     */
+    private void purge() {
+        LocalDateTime before = LocalDateTime.now().minusNanos(retentionMillis * 1_000_000);
+        try {
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(PURGE_SQL, before, batchSize);
+            } while (deleted == batchSize && running);
+        } catch (Exception e) {
+            logger.warn("Could not delete the outbox changes older than {}: {}", before, e.getMessage());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("No host name to identify this node in the outbox by; set outbox.node-id", e);
+        }
+    }
+
+    private record InFlight(long number, long id) {
+    }
+
+    private record Sweep(long time, long lastRelayedId) {
+    }
+}
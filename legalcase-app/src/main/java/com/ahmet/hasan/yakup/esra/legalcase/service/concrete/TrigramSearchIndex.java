@@ -0,0 +1,324 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.SearchableText;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.ClientRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.UserRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.SearchTextAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+
+/**
+ * In-memory trigram index, one per field.
+ *
+ * Every folded value is split into overlapping three character grams and each gram keeps
+ * the sorted ids of the entities containing it. A term of three or more characters is
+ * answered by intersecting the posting lists of its grams, starting from the shortest
+ * one, and checking each surviving id against the stored value (the grams of a term can
+ * all occur without the term itself). Shorter terms have no gram to look up and scan the
+ * stored values in id order instead, which still never touches the database.
+ *
+ * Ids come back ascending, so a page continues after the last id exactly like the keyset
+ * queries it replaces, and the caller only loads the matched rows by id.
+ *
+ * The fields are filled from the database in the background once the application is up;
+ * until a field is ready the services keep using their LIKE queries for it.
+ */
+@Service
+public class TrigramSearchIndex implements ITrigramSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrigramSearchIndex.class);
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final Map<Field, FieldIndex> indexes = new EnumMap<>(Field.class);
+    private final Map<Field, BiFunction<Long, Limit, List<SearchableText>>> sources = new EnumMap<>(Field.class);
+
+    @Autowired
+    public TrigramSearchIndex(CaseRepository caseRepository, ClientRepository clientRepository,
+                              UserRepository userRepository, HearingRepository hearingRepository) {
+        for (Field field : Field.values()) {
+            indexes.put(field, new FieldIndex());
+        }
+        sources.put(Field.CASE_TITLE, caseRepository::findTitleTextAfter);
+        sources.put(Field.CLIENT_NAME, clientRepository::findNameTextAfter);
+        sources.put(Field.USER_NAME, userRepository::findNameTextAfter);
+        sources.put(Field.HEARING_JUDGE, hearingRepository::findJudgeTextAfter);
+    }
+
+    @Override
+    public boolean isReady(Field field) {
+        return indexes.get(field).ready;
+    }
+
+    @Override
+    public void index(Field field, Long id, String... values) {
+        indexes.get(field).put(id, values, true);
+    }
+
+    @Override
+    public void remove(Field field, Long id) {
+        indexes.get(field).remove(id);
+    }
+
+    @Override
+    public List<Long> search(Field field, String term, Long afterId, int limit) {
+        return indexes.get(field).search(term == null ? "" : term, afterId == null ? 0L : afterId, limit);
+    }
+
+    /**
+     * Fills one field from the database. Entries written while this runs are newer than the
+     * page being read, so they are kept.
+     * @return number of entities added
+     */
+    public int rebuild(Field field) {
+        long started = System.currentTimeMillis();
+        FieldIndex index = indexes.get(field);
+        int added = 0;
+        long afterId = 0;
+        while (true) {
+            List<SearchableText> page = sources.get(field).apply(afterId, Limit.of(REBUILD_PAGE_SIZE));
+            for (SearchableText row : page) {
+                if (index.put(row.id(), row.values(), false)) {
+                    added++;
+                }
+                afterId = row.id();
+            }
+            if (page.size() < REBUILD_PAGE_SIZE) {
+                break;
+            }
+        }
+        index.ready = true;
+        logger.info("Trigram index for {} ready: {} entries added in {} ms", field, added,
+                System.currentTimeMillis() - started);
+        return added;
+    }
+
+    /**
+     * The index lives in memory, so it is filled again on every start, in the background
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread rebuild = new Thread(() -> {
+            for (Field field : Field.values()) {
+                try {
+                    rebuild(field);
+                } catch (Exception e) {
+                    logger.error("Error building trigram index for {}: {}", field, e.getMessage(), e);
+                }
+            }
+        }, "trigram-search-index");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+
+    /**
+     * Three folded characters packed into one key
+     */
+    private static long gram(String text, int at) {
+        return ((long) text.charAt(at) << 32) | ((long) text.charAt(at + 1) << 16) | text.charAt(at + 2);
+    }
+
+    private static Set<Long> grams(String[] values) {
+        Set<Long> grams = new HashSet<>();
+        for (String value : values) {
+            for (int i = 0; i + 3 <= value.length(); i++) {
+                grams.add(gram(value, i));
+            }
+        }
+        return grams;
+    }
+
+    private static boolean contains(String[] values, String term) {
+        for (String value : values) {
+            if (value.contains(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class FieldIndex {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, IdList> postings = new HashMap<>();
+        private final TreeMap<Long, String[]> values = new TreeMap<>();
+        private volatile boolean ready;
+
+        boolean put(Long id, String[] rawValues, boolean replace) {
+            String[] folded = Arrays.stream(rawValues)
+                    .filter(value -> value != null && !value.isEmpty())
+                    .map(SearchTextAnalyzer::foldText)
+                    .toArray(String[]::new);
+            Set<Long> added = grams(folded);
+
+            lock.writeLock().lock();
+            try {
+                String[] previous = values.get(id);
+                if (previous != null && !replace) {
+                    return false;
+                }
+                if (previous != null) {
+                    Set<Long> removed = grams(previous);
+                    removed.removeAll(added);
+                    unlink(id, removed);
+                    added.removeAll(grams(previous));
+                }
+                for (Long gram : added) {
+                    postings.computeIfAbsent(gram, key -> new IdList()).add(id);
+                }
+                values.put(id, folded);
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long id) {
+            lock.writeLock().lock();
+            try {
+                String[] previous = values.remove(id);
+                if (previous != null) {
+                    unlink(id, grams(previous));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void unlink(Long id, Set<Long> grams) {
+            for (Long gram : grams) {
+                IdList ids = postings.get(gram);
+                if (ids != null && ids.remove(id) && ids.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        List<Long> search(String term, long afterId, int limit) {
+            String folded = SearchTextAnalyzer.foldText(term);
+            List<Long> matches = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                if (folded.length() < 3) {
+                    for (Map.Entry<Long, String[]> entry : values.tailMap(afterId, false).entrySet()) {
+                        if (matches.size() >= limit) {
+                            break;
+                        }
+                        if (contains(entry.getValue(), folded)) {
+                            matches.add(entry.getKey());
+                        }
+                    }
+                    return matches;
+                }
+
+                List<IdList> lists = new ArrayList<>();
+                for (Long gram : grams(new String[]{folded})) {
+                    IdList ids = postings.get(gram);
+                    if (ids == null) {
+                        return matches;
+                    }
+                    lists.add(ids);
+                }
+                lists.sort(Comparator.comparingInt(ids -> ids.size));
+
+                IdList shortest = lists.get(0);
+                int[] cursors = new int[lists.size()];
+                for (int i = shortest.upperBound(afterId, 0); i < shortest.size && matches.size() < limit; i++) {
+                    long id = shortest.ids[i];
+                    boolean inAll = true;
+                    for (int t = 1; t < lists.size() && inAll; t++) {
+                        // Candidates only grow, so each longer list is searched from where it was left
+                        cursors[t] = lists.get(t).lowerBound(id, cursors[t]);
+                        inAll = cursors[t] < lists.get(t).size && lists.get(t).ids[cursors[t]] == id;
+                    }
+                    if (inAll && contains(values.get(id), folded)) {
+                        matches.add(id);
+                    }
+                }
+                return matches;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Sorted, distinct ids. New entities get the highest id so far, which makes adding
+     * them an append.
+     */
+    private static final class IdList {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int at = lowerBound(id, 0);
+            if (at < size && ids[at] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int at = lowerBound(id, 0);
+            if (at == size || ids[at] != id) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * @return index of the first id not less than the given one, searching from {@code from}
+         */
+        int lowerBound(long id, int from) {
+            if (size > 0 && ids[size - 1] < id) {
+                return size;
+            }
+            int low = from;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ids[mid] < id) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return index of the first id greater than the given one, searching from {@code from}
+         */
+        int upperBound(long id, int from) {
+            return id == Long.MAX_VALUE ? size : lowerBound(id + 1, from);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingDate;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IUpcomingHearingIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory view of the upcoming hearings, kept in a skip list ordered by date and id, which
+ * the pages are cut from and whose head is the next hearing to pass, and a map from id to
+ * date to find the entry of a hearing that changes.
+ *
+ * A page is a walk of the date list from the cursor, in O(log n) plus one step per hearing
+ * on the page. Time is rolled forward lazily: each page and each change first drops the
+ * hearings whose date has passed from the head of the date list, so no timer is needed
+ * and a hearing is never served after its date.
+ *
+ * Pages are read without locking; changes are serialized so the two lists always agree.
+ * The index is filled from the database in the background once the application is up;
+ * until it is ready the hearing service pages the database instead.
+ */
+@Service
+public class UpcomingHearingIndex implements IUpcomingHearingIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpcomingHearingIndex.class);
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final HearingRepository hearingRepository;
+
+    private final ConcurrentSkipListMap<Long, LocalDateTime> byId = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListSet<Entry> byDate = new ConcurrentSkipListSet<>(
+            Comparator.comparing(Entry::date).thenComparingLong(Entry::id));
+    private volatile boolean ready;
+
+    @Autowired
+    public UpcomingHearingIndex(HearingRepository hearingRepository) {
+        this.hearingRepository = hearingRepository;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void index(Long id, LocalDateTime hearingDate, HearingStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        if (upcoming(hearingDate, status, now)) {
+            put(id, hearingDate, true, now);
+        } else {
+            remove(id);
+        }
+    }
+
+    @Override
+    public synchronized void remove(Long id) {
+        LocalDateTime previous = byId.remove(id);
+        if (previous != null) {
+            byDate.remove(new Entry(previous, id));
+        }
+    }
+
+    @Override
+    public List<HearingDate> page(LocalDateTime afterDate, long afterId, int limit, LocalDateTime now) {
+        expire(now);
+        List<HearingDate> hearings = new ArrayList<>(Math.min(limit, 64));
+        for (Entry entry : byDate.tailSet(new Entry(afterDate, afterId), false)) {
+            if (hearings.size() >= limit) {
+                break;
+            }
+            // Passed between the expiry above and this step
+            if (entry.date().isAfter(now)) {
+                hearings.add(new HearingDate(entry.id(), entry.date()));
+            }
+        }
+        return hearings;
+    }
+
+    /**
+     * @return number of hearings indexed
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Fills the index from the database. Hearings written while this runs are newer than
+     * the page being read, so they are kept.
+     * @return number of hearings added
+     */
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        int added = 0;
+        long afterId = 0;
+        while (true) {
+            List<HearingDate> page = hearingRepository.findUpcomingDatesAfter(now, HearingStatus.CANCELLED, afterId,
+                    Limit.of(REBUILD_PAGE_SIZE));
+            for (HearingDate hearing : page) {
+                if (put(hearing.id(), hearing.date(), false, now)) {
+                    added++;
+                }
+                afterId = hearing.id();
+            }
+            if (page.size() < REBUILD_PAGE_SIZE) {
+                break;
+            }
+        }
+        ready = true;
+        logger.info("Upcoming hearings index ready: {} hearings added in {} ms", added,
+                System.currentTimeMillis() - started);
+        return added;
+    }
+
+    /**
+     * The index lives in memory, so it is filled again on every start, in the background
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread rebuild = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.error("Error building upcoming hearings index: {}", e.getMessage(), e);
+            }
+        }, "upcoming-hearing-index");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+
+    private synchronized boolean put(Long id, LocalDateTime hearingDate, boolean replace, LocalDateTime now) {
+        expire(now);
+        LocalDateTime previous = byId.get(id);
+        if (previous != null && !replace) {
+            return false;
+        }
+        if (previous != null) {
+            byDate.remove(new Entry(previous, id));
+        }
+        byId.put(id, hearingDate);
+        byDate.add(new Entry(hearingDate, id));
+        return true;
+    }
+
+    private void expire(LocalDateTime now) {
+        // Checked without the lock first: most calls find nothing has passed
+        Entry head = first();
+        if (head == null || head.date().isAfter(now)) {
+            return;
+        }
+        synchronized (this) {
+            Entry next;
+            while ((next = first()) != null && !next.date().isAfter(now)) {
+                byDate.remove(next);
+                byId.remove(next.id(), next.date());
+            }
+        }
+    }
+
+    private Entry first() {
+        // Not isEmpty() then first(): a concurrent change may empty the set in between
+        Iterator<Entry> entries = byDate.iterator();
+        return entries.hasNext() ? entries.next() : null;
+    }
+
+    private static boolean upcoming(LocalDateTime hearingDate, HearingStatus status, LocalDateTime now) {
+        return hearingDate != null && status != HearingStatus.CANCELLED && hearingDate.isAfter(now);
+    }
+
+    private record Entry(LocalDateTime date, long id) {
+    }
+}
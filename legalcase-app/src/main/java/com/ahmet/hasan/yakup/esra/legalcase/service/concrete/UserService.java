@@ -3,11 +3,17 @@ package com.ahmet.hasan.yakup.esra.legalcase.service.concrete;
 import com.ahmet.hasan.yakup.esra.legalcase.model.User;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.UserRole;
 import com.ahmet.hasan.yakup.esra.legalcase.repository.UserRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex.Field;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IUserService;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.CursorPage;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.TransactionHooks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -27,11 +33,14 @@ public class UserService implements IUserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ITrigramSearchIndex trigramIndex;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       ITrigramSearchIndex trigramIndex) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.trigramIndex = trigramIndex;
     }
 
     @Override
@@ -76,6 +85,7 @@ public class UserService implements IUserService {
             user.setEnabled(true);
 
             User savedUser = userRepository.save(user);
+            indexOnCommit(savedUser);
 
             // Clear password in returned user object for security
             savedUser.setPassword(null);
@@ -211,8 +221,10 @@ public class UserService implements IUserService {
             return ApiResponse.error("Search term cannot be empty", HttpStatus.BAD_REQUEST.value());
         }
 
-        List<User> users = userRepository.findByNameContainingIgnoreCaseOrSurnameContainingIgnoreCase(
-                searchTerm, searchTerm);
+        List<User> users = trigramIndex.isReady(Field.USER_NAME) ?
+                trigramIndex.load(Field.USER_NAME, searchTerm, 0L, Integer.MAX_VALUE,
+                        userRepository::findByIdInOrderByIdAsc) :
+                userRepository.findByNameContainingIgnoreCaseOrSurnameContainingIgnoreCase(searchTerm, searchTerm);
 
         // Clear passwords in returned user objects for security
         users.forEach(user -> user.setPassword(null));
@@ -221,7 +233,81 @@ public class UserService implements IUserService {
     }
 
     @Override
-    public ApiResponse<User> updateUser(User user) {
+    @Transactional(readOnly = true)
+    public ApiResponse<List<User>> getAllUsers(String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting users after ID: {} (page size {})", afterId, pageSize);
+
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(afterId, CursorPage.limit(pageSize));
+
+        // Clear passwords in returned user objects for security
+        users.forEach(user -> user.setPassword(null));
+
+        return CursorPage.of(users, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getUserPageVersion(String cursor, Integer size) {
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return null;
+        }
+        return ResourceVersion.ofPage(userRepository.findStampsAfter(afterId, CursorPage.limit(CursorPage.size(size))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<User>> getUsersByRole(UserRole role, String cursor, Integer size) {
+        if (role == null) {
+            return ApiResponse.error("Role cannot be null", HttpStatus.BAD_REQUEST.value());
+        }
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Getting users by role: {} after ID: {} (page size {})", role, afterId, pageSize);
+
+        List<User> users = userRepository.findByRoleAndIdGreaterThanOrderByIdAsc(role, afterId,
+                CursorPage.limit(pageSize));
+
+        // Clear passwords in returned user objects for security
+        users.forEach(user -> user.setPassword(null));
+
+        return CursorPage.of(users, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<User>> searchUsers(String searchTerm, String cursor, Integer size) {
+        if (searchTerm == null || searchTerm.isEmpty()) {
+            return ApiResponse.error("Search term cannot be empty", HttpStatus.BAD_REQUEST.value());
+        }
+        Long afterId = CursorPage.decode(cursor);
+        if (afterId == null) {
+            return CursorPage.invalidCursor(cursor);
+        }
+        int pageSize = CursorPage.size(size);
+        logger.info("Searching users with term: {} after ID: {} (page size {})", searchTerm, afterId, pageSize);
+
+        List<User> users = trigramIndex.isReady(Field.USER_NAME) ?
+                trigramIndex.load(Field.USER_NAME, searchTerm, afterId, pageSize + 1,
+                        userRepository::findByIdInOrderByIdAsc) :
+                userRepository.searchAfter(searchTerm, afterId, CursorPage.limit(pageSize));
+
+        // Clear passwords in returned user objects for security
+        users.forEach(user -> user.setPassword(null));
+
+        return CursorPage.of(users, pageSize);
+    }
+
+    @Override
+    public ApiResponse<User> updateUser(User user, Long expectedVersion) {
         logger.info("Updating user with ID: {}", user.getId());
 
         // Validate user ID
@@ -237,6 +323,9 @@ public class UserService implements IUserService {
         }
 
         User existingUser = existingUserOptional.get();
+        if (expectedVersion != null && expectedVersion != existingUser.getVersion()) {
+            return modifiedSince(user.getId());
+        }
 
         try {
             // Check if username is being changed and is already in use by another user
@@ -278,13 +367,19 @@ public class UserService implements IUserService {
 
             // Password and enabled status are handled by separate methods
 
-            User updatedUser = userRepository.save(existingUser);
-
-            // Clear password in returned user object for security
-            updatedUser.setPassword(null);
-
-            return ApiResponse.success(updatedUser);
+            // Flushed here so the update, "... where id = ? and version = ?", fails in this method
+            // when another one committed since the read
+            User updatedUser = userRepository.saveAndFlush(existingUser);
+            indexOnCommit(updatedUser);
+
+            // Return a copy without the password: clearing it on the managed user would
+            // write the null back when the transaction commits
+            return ApiResponse.success(withoutPassword(updatedUser));
+        } catch (OptimisticLockingFailureException e) {
+            TransactionHooks.setRollbackOnly();
+            return modifiedSince(user.getId());
         } catch (Exception e) {
+            TransactionHooks.setRollbackOnly();
             logger.error("Error updating user: {}", e.getMessage(), e);
             return ApiResponse.error("Failed to update user: " + e.getMessage(),
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
@@ -306,6 +401,7 @@ public class UserService implements IUserService {
 
         try {
             userRepository.deleteById(id);
+            TransactionHooks.afterCommit(() -> trigramIndex.remove(Field.USER_NAME, id));
             return ApiResponse.success(null);
         } catch (Exception e) {
             logger.error("Error deleting user: {}", e.getMessage(), e);
@@ -390,4 +486,30 @@ public class UserService implements IUserService {
                     HttpStatus.INTERNAL_SERVER_ERROR.value());
         }
     }
-}
\ No newline at end of file
+
+    private static User withoutPassword(User user) {
+        User copy = new User(user.getId(), user.getUsername(), user.getEmail(), user.getName(),
+                user.getSurname(), user.getRole());
+        copy.setKeycloakId(user.getKeycloakId());
+        copy.setEnabled(user.isEnabled());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        copy.setVersion(user.getVersion());
+        return copy;
+    }
+
+    private static ApiResponse<User> modifiedSince(Long id) {
+        return ApiResponse.error("User with ID: " + id + " has been modified since it was read.",
+                HttpStatus.PRECONDITION_FAILED.value());
+    }
+
+    private void indexOnCommit(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        Long id = user.getId();
+        String name = user.getName();
+        String surname = user.getSurname();
+        TransactionHooks.afterCommit(() -> trigramIndex.index(Field.USER_NAME, id, name, surname));
+    }
+}
@@ -0,0 +1,26 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.AuditEntry;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.AuditedEntity;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+
+import java.util.List;
+
+/**
+ * Journal of who changed what in the cases, clients, hearings, documents and users. The
+ * changes are captured as entities are flushed (see AuditEntityListener) and written behind
+ * the requests, so an entry can be read shortly after its change committed, not at once.
+ */
+public interface IAuditJournal {
+
+    /**
+     * Queues a committed change for writing; does not touch the database
+     */
+    void record(AuditEntry entry);
+
+    /**
+     * The changes of an entity, oldest first, keyset-paginated (see CursorPage); kept after
+     * the entity is deleted
+     */
+    ApiResponse<List<AuditEntry>> getEntries(AuditedEntity entityType, Long entityId, String cursor, Integer size);
+}
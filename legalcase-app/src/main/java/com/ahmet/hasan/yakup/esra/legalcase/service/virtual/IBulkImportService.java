@@ -0,0 +1,56 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Format;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Bulk import of records migrated from other systems, read from NDJSON or CSV.
+ *
+ * Fields by target (NDJSON keys or CSV header names):
+ * <ul>
+ *   <li>CLIENTS: name, surname, email</li>
+ *   <li>CASES: caseNumber, title, type, description, status, clientEmails (';' separated)</li>
+ *   <li>HEARINGS: caseNumber, hearingDate (ISO date-time), durationMinutes, judge, location, notes, status</li>
+ *   <li>DOCUMENTS: caseNumber, title, type</li>
+ * </ul>
+ * Cases refer to existing clients by email, hearings and documents to existing cases by
+ * case number, so clients are imported before cases, and cases before the rest.
+ *
+ * Rows are committed in chunks; a row that fails validation or cannot be stored is left
+ * out and reported with its line number, and the rest of the input is still imported.
+ */
+public interface IBulkImportService {
+
+    enum Target {
+        CLIENTS,
+        CASES,
+        HEARINGS,
+        DOCUMENTS
+    }
+
+    /**
+     * A row that was not imported
+     * @param line line number of the row in the input
+     */
+    record RowError(long line, String message) {
+    }
+
+    /**
+     * Outcome of an import
+     * @param rows rows read from the input
+     * @param imported rows stored
+     * @param failed rows left out
+     * @param errors why rows were left out, in input order; only the first ones are listed
+     *               when many rows fail
+     */
+    record ImportReport(Target target, long rows, long imported, long failed, List<RowError> errors) {
+    }
+
+    /**
+     * Import every record of the input; the stream is read to the end but not closed
+     */
+    ApiResponse<ImportReport> importRecords(Target target, Format format, InputStream input);
+}
@@ -0,0 +1,38 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+
+import java.util.Optional;
+
+/**
+ * Cold tier of the cases. Cases done with are moved, with their hearings and documents, out
+ * of the live tables into a compressed row each; they are read back whole when asked for by
+ * id or number, and moved back to the live tables on request.
+ */
+public interface ICaseArchive {
+
+    /**
+     * @return the archived case with its clients, hearings and documents, detached
+     */
+    Optional<Case> findById(Long id);
+
+    /**
+     * @return the archived case with its clients, hearings and documents, detached
+     */
+    Optional<Case> findByCaseNumber(String caseNumber);
+
+    boolean containsCaseNumber(String caseNumber);
+
+    /**
+     * Move an archived case back to the live tables, under its id and with its hearings and
+     * documents; it is archived again once it qualifies again
+     */
+    ApiResponse<Case> restore(Long id);
+
+    /**
+     * Move the cases that qualify to the archive
+     * @return number of cases archived
+     */
+    int archiveDue();
+}
@@ -2,16 +2,44 @@ package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseSummary;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 
 import java.util.List;
 
 public interface ICaseService {
     ApiResponse<Case> createCase(Case caseEntity);
     ApiResponse<Case> getCaseById(Long id);
+    ApiResponse<Case> getCaseDossier(Long id);
     ApiResponse<Case> getCaseByCaseNumber(String caseNumber);
     ApiResponse<List<Case>> getAllCases();
     ApiResponse<List<Case>> getCasesByStatus(CaseStatus status);
-    ApiResponse<Case> updateCase(Case caseEntity);
+    ApiResponse<List<CaseSummary>> getCaseSummaries();
+    ApiResponse<List<CaseSummary>> getCaseSummariesByStatus(CaseStatus status);
+
+    // Keyset-paginated variants (see CursorPage)
+    ApiResponse<List<Case>> getAllCases(String cursor, Integer size);
+    ApiResponse<List<Case>> getCasesByStatus(CaseStatus status, String cursor, Integer size);
+    ApiResponse<List<CaseSummary>> getCaseSummaries(String cursor, Integer size);
+    ApiResponse<List<CaseSummary>> getCaseSummariesByStatus(CaseStatus status, String cursor, Integer size);
+    ApiResponse<List<Case>> searchCasesByTitle(String term, String cursor, Integer size);
+
+    // Validators of a page, read before the page is loaded (see ResourceVersion); null for a malformed cursor
+    ResourceVersion getCasePageVersion(String cursor, Integer size);
+
+    // Conditional update: 412 unless the case is still at expectedVersion (see ResourceVersion);
+    // with a null expectedVersion it updates whatever version is current
+    ApiResponse<Case> updateCase(Case caseEntity, Long expectedVersion);
+
+    default ApiResponse<Case> updateCase(Case caseEntity) {
+        return updateCase(caseEntity, null);
+    }
+
     ApiResponse<Void> deleteCase(Long id);
+
+    /**
+     * Move an archived case back to the live tables (see ICaseArchive)
+     */
+    ApiResponse<Case> restoreCase(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.SearchTextAnalyzer;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Feed of the committed changes to cases, hearings and documents, pushed to subscribers so
+ * clients need not poll the list endpoints to find out what changed
+ */
+public interface IChangeFeed {
+
+    /**
+     * What a subscriber wants to hear about; a criterion left null matches everything, and
+     * one that is set skips the events that do not carry it
+     * @param entities kinds of entity, null or empty for all
+     * @param judge judge of the hearings, compared as the judge search compares names
+     */
+    record Filter(Set<Entity> entities, Long caseId, String judge, String status) {
+
+        public static final Filter ALL = new Filter(null, null, null, null);
+
+        public boolean matches(ChangeEvent event) {
+            return (entities == null || entities.isEmpty() || entities.contains(event.entity()))
+                    && (caseId == null || caseId.equals(event.caseId()))
+                    && (judge == null || sameJudge(judge, event.judge()))
+                    && (status == null || status.equalsIgnoreCase(event.status()));
+        }
+
+        private static boolean sameJudge(String judge, String other) {
+            return other != null && Objects.equals(SearchTextAnalyzer.terms(judge), SearchTextAnalyzer.terms(other));
+        }
+    }
+
+    /**
+     * Where the events of a subscriber are written, by one thread at a time and in order
+     */
+    interface Sink {
+
+        void send(ChangeEvent event) throws IOException;
+
+        /**
+         * Events were lost, because the subscriber fell too far behind or resumed after an
+         * event the feed no longer holds; the client reads the current state again
+         */
+        void resync(long lastEventId) throws IOException;
+
+        /**
+         * Nothing to send for a while; keeps idle connections open through proxies
+         */
+        void heartbeat() throws IOException;
+
+        /**
+         * The subscription has ended on the feed's side
+         */
+        void close();
+    }
+
+    /**
+     * Publish a change; called once the transaction making it has committed
+     */
+    void publish(Entity entity, Action action, Long entityId, Long caseId, String judge, String status);
+
+    /**
+     * Subscribe to the changes matching a filter
+     * @param lastEventId id of the last event the client saw, to resume after it; null to start from now
+     * @return ends the subscription; ending it twice is not an error
+     */
+    Runnable subscribe(Filter filter, Long lastEventId, Sink sink);
+}
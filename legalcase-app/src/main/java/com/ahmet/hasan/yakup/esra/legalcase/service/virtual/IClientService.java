@@ -2,6 +2,7 @@ package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.Client;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 
 import java.util.List;
 
@@ -11,6 +12,21 @@ public interface IClientService {
     ApiResponse<Client> getClientByEmail(String email);
     ApiResponse<List<Client>> getAllClients();
     ApiResponse<List<Client>> searchClients(String searchTerm);
-    ApiResponse<Client> updateClient(Client client);
+
+    // Keyset-paginated variants (see CursorPage)
+    ApiResponse<List<Client>> getAllClients(String cursor, Integer size);
+    ApiResponse<List<Client>> searchClients(String searchTerm, String cursor, Integer size);
+
+    // Validators of a page, read before the page is loaded (see ResourceVersion); null for a malformed cursor
+    ResourceVersion getClientPageVersion(String cursor, Integer size);
+
+    // Conditional update: 412 unless the client is still at expectedVersion (see ResourceVersion);
+    // with a null expectedVersion it updates whatever version is current
+    ApiResponse<Client> updateClient(Client client, Long expectedVersion);
+
+    default ApiResponse<Client> updateClient(Client client) {
+        return updateClient(client, null);
+    }
+
     ApiResponse<Void> deleteClient(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Storage for document bodies, kept outside the documents table.
+ * A Document row only holds the reference, size and hash returned by {@link #write(InputStream)}.
+ */
+public interface IDocumentContentStore {
+
+    /**
+     * Reference, size and SHA-256 (hex) of a stored body
+     */
+    record StoredContent(String ref, long size, String sha256) {
+    }
+
+    /**
+     * Store a new body; the stream is read to the end but not closed
+     */
+    StoredContent write(InputStream content) throws IOException;
+
+    /**
+     * Store a new body held in memory
+     */
+    default StoredContent write(byte[] content) throws IOException {
+        return write(new ByteArrayInputStream(content));
+    }
+
+    /**
+     * Read a whole body as a read-only buffer
+     */
+    ByteBuffer read(String ref) throws IOException;
+
+    /**
+     * Copy a byte range of a body to the target without loading it into memory
+     * @return number of bytes copied
+     */
+    long transferTo(String ref, long offset, long length, WritableByteChannel target) throws IOException;
+
+    /**
+     * Check whether a body exists
+     */
+    boolean exists(String ref);
+
+    /**
+     * Delete a body; deleting a missing body is not an error
+     */
+    void delete(String ref) throws IOException;
+}
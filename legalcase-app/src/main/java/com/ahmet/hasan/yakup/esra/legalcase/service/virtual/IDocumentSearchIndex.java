@@ -0,0 +1,50 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+import java.util.List;
+
+/**
+ * Full-text index over document titles and text bodies.
+ * Text is analyzed with SearchTextAnalyzer and results are ranked by relevance.
+ */
+public interface IDocumentSearchIndex {
+
+    /**
+     * A matching document and its relevance score
+     */
+    record Hit(Long documentId, double score) {
+    }
+
+    /**
+     * One page of hits, best first, and the number of matching documents
+     */
+    record Result(List<Hit> hits, int totalHits) {
+    }
+
+    /**
+     * Index a document, replacing whatever was indexed for it before
+     */
+    void index(Long documentId, CharSequence... fields);
+
+    /**
+     * Index a document unless it is already indexed
+     * @return true if the document was added
+     */
+    boolean indexIfAbsent(Long documentId, CharSequence... fields);
+
+    /**
+     * Remove a document; removing a document that is not indexed is not an error
+     */
+    void remove(Long documentId);
+
+    /**
+     * Rank the documents matching any term of the query
+     * @param offset number of best hits to skip
+     * @param limit maximum number of hits to return
+     */
+    Result search(String query, int offset, int limit);
+
+    /**
+     * @return number of indexed documents
+     */
+    int size();
+}
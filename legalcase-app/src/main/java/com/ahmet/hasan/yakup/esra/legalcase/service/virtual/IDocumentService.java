@@ -2,8 +2,13 @@ package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.Document;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.DocumentType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.DocumentSearchHit;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface IDocumentService {
@@ -17,6 +22,12 @@ public interface IDocumentService {
      */
     ApiResponse<Document> createDocumentWithContent(Long caseId, String title, DocumentType type, String content);
 
+    /**
+     * Create a document whose content is streamed into the content store
+     */
+    ApiResponse<Document> createDocumentWithContent(Long caseId, String title, DocumentType type,
+                                                    InputStream content, String contentType);
+
     /**
      * Get document by ID
      */
@@ -43,9 +54,83 @@ public interface IDocumentService {
     ApiResponse<List<Document>> searchDocumentsByTitle(String keyword);
 
     /**
-     * Update document
+     * Get one keyset page of all documents (see CursorPage)
+     */
+    ApiResponse<List<Document>> getAllDocuments(String cursor, Integer size);
+
+    /**
+     * Get one keyset page of documents by case ID
+     */
+    ApiResponse<List<Document>> getDocumentsByCaseId(Long caseId, String cursor, Integer size);
+
+    /**
+     * Get one keyset page of documents by type
+     */
+    ApiResponse<List<Document>> getDocumentsByType(DocumentType type, String cursor, Integer size);
+
+    /**
+     * Get one keyset page of documents whose title contains the keyword
+     */
+    ApiResponse<List<Document>> searchDocumentsByTitle(String keyword, String cursor, Integer size);
+
+    /**
+     * Get the validators of one keyset page of all documents without loading it (see ResourceVersion).
+     * Null if the cursor is malformed.
+     */
+    ResourceVersion getDocumentPageVersion(String cursor, Integer size);
+
+    /**
+     * Get the validators of one keyset page of a case's documents without loading it.
+     * Null if the cursor is malformed or the case does not exist.
+     */
+    ResourceVersion getDocumentPageVersionByCaseId(Long caseId, String cursor, Integer size);
+
+    /**
+     * Full-text search over document titles and text content, best match first.
+     * The cursor of a ranked page carries an offset (see CursorPage).
+     */
+    ApiResponse<List<DocumentSearchHit>> searchDocuments(String query, String cursor, Integer size);
+
+    /**
+     * Index every stored document into the full-text search index
+     * @return number of documents added
+     */
+    int rebuildSearchIndex();
+
+    /**
+     * Get document content from the content store
+     */
+    ApiResponse<String> getDocumentContent(Long id);
+
+    /**
+     * Replace document content
+     */
+    ApiResponse<Document> updateDocumentContent(Long id, String content);
+
+    /**
+     * Replace document content with a streamed body
+     */
+    ApiResponse<Document> updateDocumentContent(Long id, InputStream content, String contentType);
+
+    /**
+     * Copy a byte range of the document content to the output without buffering it
+     * @return number of bytes written
+     */
+    long streamDocumentContent(Document document, long offset, long length, OutputStream out) throws IOException;
+
+    /**
+     * Update document metadata
+     */
+    default ApiResponse<Document> updateDocument(Long id, Document document) {
+        return updateDocument(id, document, null);
+    }
+
+    /**
+     * Update document metadata if the document is still at the expected version (see ResourceVersion)
+     * @param expectedVersion version the update is based on; null updates whatever version is current
+     * @return the updated document, or 412 when the document has changed since
      */
-    ApiResponse<Document> updateDocument(Long id, Document document);
+    ApiResponse<Document> updateDocument(Long id, Document document, Long expectedVersion);
 
     /**
      * Delete document
@@ -0,0 +1,28 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent;
+
+/**
+ * Side effect of the committed changes recorded in the outbox. Every bean implementing this
+ * is handed every change by OutboxRelay, on a thread of its own and in the order the changes
+ * were recorded; a slow subscriber delays no request and no other subscriber. Every node hands
+ * every change to its own subscribers, whichever node made it.
+ *
+ * Delivery is at least once: the changes handed out but not yet handled by every subscriber
+ * when the application stops are handed out again on the next start, so handling one twice
+ * must do no harm.
+ */
+public interface IDomainEventSubscriber {
+
+    /**
+     * @return name of the subscriber, for its thread and the logs
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Handle a committed change. An exception is logged and the change counts as handled.
+     */
+    void onEvent(ChangeEvent event) throws Exception;
+}
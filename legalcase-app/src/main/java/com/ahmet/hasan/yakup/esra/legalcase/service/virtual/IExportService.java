@@ -0,0 +1,29 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Format;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Full exports of a table as NDJSON or CSV, written while the rows are read.
+ *
+ * The columns are the import fields (see IBulkImportService), except a case's clients, plus
+ * the id and timestamps; hearings and documents name their case by case number.
+ */
+public interface IExportService {
+
+    enum Dataset {
+        CLIENTS,
+        CASES,
+        HEARINGS,
+        DOCUMENTS
+    }
+
+    /**
+     * Writes every row of the dataset, in id order, to the output; the output is flushed
+     * periodically but not closed
+     * @return number of rows written
+     */
+    long export(Dataset dataset, Format format, OutputStream out) throws IOException;
+}
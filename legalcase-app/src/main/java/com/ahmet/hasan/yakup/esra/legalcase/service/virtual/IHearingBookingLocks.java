@@ -0,0 +1,15 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+/**
+ * Serializes the bookings of a judge or courtroom: the double booking check of one booking
+ * and its write are made while no other booking of the same judge or courtroom runs them,
+ * on this node or any other.
+ */
+public interface IHearingBookingLocks {
+
+    /**
+     * Lock the judge and the courtroom until the running read-write transaction ends. Blank
+     * names are not locked.
+     */
+    void lock(String judge, String location);
+}
@@ -0,0 +1,15 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+/**
+ * Yearly partitions of the hearings table (see V10__partition_hearings.sql). New years are
+ * split off the catch-all partition ahead of time, while it holds few rows or none, so a
+ * hearing booked far ahead never lands in a partition that must be rebuilt later.
+ */
+public interface IHearingPartitionMaintainer {
+
+    /**
+     * Add the partitions of the years up to the configured number ahead
+     * @return number of partitions added; 0 when the table is not partitioned
+     */
+    int rollOver();
+}
@@ -0,0 +1,12 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingReminder;
+
+/**
+ * Where hearing reminders are delivered. Called on the reminder scheduler's thread, one
+ * reminder at a time, so an implementation should hand slow work off rather than block it.
+ */
+public interface IHearingReminderNotifier {
+
+    void remind(HearingReminder reminder);
+}
@@ -0,0 +1,32 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot;
+
+/**
+ * Reminders of the scheduled hearings, sent to the IHearingReminderNotifier a configured
+ * time before each hearing (by default a week, a day and an hour). Pending reminders are
+ * kept in memory on a timing wheel, so no thread or query waits for any one of them.
+ */
+public interface IHearingReminderScheduler {
+
+    /**
+     * @return false until the reminders of the hearings already scheduled have been registered
+     */
+    boolean isReady();
+
+    /**
+     * Register the reminders of a scheduled hearing, replacing those registered for it
+     * before; reminders whose time has already passed are not sent
+     */
+    void schedule(HearingSlot slot);
+
+    /**
+     * Drop the pending reminders of a hearing; cancelling a hearing without any is not an error
+     */
+    void cancel(Long hearingId);
+
+    /**
+     * @return number of reminders waiting to be sent
+     */
+    int pending();
+}
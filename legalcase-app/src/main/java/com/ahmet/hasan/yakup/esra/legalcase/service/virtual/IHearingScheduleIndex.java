@@ -0,0 +1,59 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Double booking check: which hearings book a judge or a courtroom for part of a time slot,
+ * answered from in-memory interval trees instead of scanning the hearings of the period.
+ * Only SCHEDULED hearings book their slot. Names are compared by their keys (see
+ * SearchTextAnalyzer.nameKey), as the database fallback and the booking locks compare them,
+ * so case, Turkish letters and punctuation do not tell two apart.
+ */
+public interface IHearingScheduleIndex {
+
+    /**
+     * What a hearing books besides its time; each resource has its own trees
+     */
+    enum Resource {
+        JUDGE,
+        LOCATION
+    }
+
+    /**
+     * @return false until the index has been filled from the database; callers query the database meanwhile
+     */
+    boolean isReady();
+
+    /**
+     * Index the slot of a scheduled hearing, replacing what was indexed for it before
+     */
+    void index(HearingSlot slot);
+
+    /**
+     * Remove a hearing; removing a hearing that is not indexed is not an error
+     */
+    void remove(Long id);
+
+    /**
+     * Find the hearings booking the judge or courtroom for part of the slot
+     * @param start start of the slot, inclusive
+     * @param end end of the slot, exclusive: a hearing may start when another ends
+     * @return ids of the hearings in ascending order
+     */
+    List<Long> findOverlapping(Resource resource, String name, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Find the slots booking the judge or courtroom for part of a period, as findOverlapping
+     * @return the slots in order of their start
+     */
+    List<HearingSlot> findSlots(Resource resource, String name, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * @return every judge or courtroom a scheduled hearing has been indexed with since startup,
+     *         one name for each (the first seen), in alphabetical order
+     */
+    List<String> names(Resource resource);
+}
@@ -1,8 +1,10 @@
 package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
+import com.ahmet.hasan.yakup.esra.legalcase.model.HearingEvent;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,8 +18,39 @@ public interface IHearingService {
     ApiResponse<List<Hearing>> getHearingsByStatus(HearingStatus status);
     ApiResponse<List<Hearing>> getHearingsByDateRange(LocalDateTime start, LocalDateTime end);
     ApiResponse<List<Hearing>> getUpcomingHearings();
-    ApiResponse<Hearing> updateHearing(Long id, Hearing hearing);
+
+    // Keyset-paginated variants (see CursorPage)
+    ApiResponse<List<Hearing>> getAllHearings(String cursor, Integer size);
+    ApiResponse<List<Hearing>> getHearingsByCaseId(Long caseId, String cursor, Integer size);
+    ApiResponse<List<Hearing>> getHearingsByStatus(HearingStatus status, String cursor, Integer size);
+    ApiResponse<List<Hearing>> getHearingsByDateRange(LocalDateTime start, LocalDateTime end, String cursor, Integer size);
+    ApiResponse<List<Hearing>> getUpcomingHearings(String cursor, Integer size);
+    ApiResponse<List<Hearing>> searchHearingsByJudge(String judge, String cursor, Integer size);
+
+    // Validators of a page, read before the page is loaded (see ResourceVersion); null for a
+    // malformed cursor or a missing case
+    ResourceVersion getHearingPageVersion(String cursor, Integer size);
+    ResourceVersion getHearingPageVersionByCaseId(Long caseId, String cursor, Integer size);
+
+    // Conditional update: 412 unless the hearing is still at expectedVersion (see ResourceVersion);
+    // with a null expectedVersion it updates whatever version is current
+    ApiResponse<Hearing> updateHearing(Long id, Hearing hearing, Long expectedVersion);
+
+    default ApiResponse<Hearing> updateHearing(Long id, Hearing hearing) {
+        return updateHearing(id, hearing, null);
+    }
+
     ApiResponse<Hearing> updateHearingStatus(Long id, HearingStatus status);
     ApiResponse<Hearing> rescheduleHearing(Long id, LocalDateTime newDate);
+
+    // Reschedules, status changes and changes of judge or location, oldest first, keyset-paginated
+    // (see CursorPage); kept after the hearing is deleted
+    ApiResponse<List<HearingEvent>> getHearingHistory(Long id, String cursor, Integer size);
+
+    // Scheduled hearings booking the judge or the location for part of [start, end) (see
+    // IHearingScheduleIndex); the same check rejects a double booking with 409
+    ApiResponse<List<Hearing>> findConflicts(String judge, String location, LocalDateTime start,
+                                             LocalDateTime end, Long excludeId);
+
     ApiResponse<Void> deleteHearing(Long id);
 }
\ No newline at end of file
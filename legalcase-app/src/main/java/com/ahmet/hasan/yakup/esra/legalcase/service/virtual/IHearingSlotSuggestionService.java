@@ -0,0 +1,37 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.SlotSuggestion;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Free slots for a new hearing of a case, found in the calendars of the judge, the
+ * courtrooms and the case itself (see IHearingScheduleIndex) rather than by asking the
+ * database about each candidate slot.
+ *
+ * Slots lie within a court day on a weekday, on a grid of fixed cells (see DayGrid), and
+ * never in the past. The best slots are the earliest; at the same time, courtrooms are
+ * taken in alphabetical order. Slots offered in the same courtroom on the same day do not
+ * overlap each other.
+ */
+public interface IHearingSlotSuggestionService {
+
+    int DEFAULT_COUNT = 5;
+    int MAX_COUNT = 50;
+    int MAX_WINDOW_DAYS = 366;
+
+    /**
+     * @param caseId the case the hearing is for
+     * @param durationMinutes length of the hearing; null for the default (see Hearing)
+     * @param from first day of the window
+     * @param to last day of the window, inclusive
+     * @param judge the judge who must be free; null for any judge
+     * @param location the courtroom that must be free; null for any courtroom a hearing has booked
+     * @param count number of slots wanted; null for DEFAULT_COUNT
+     * @return up to count slots, best first
+     */
+    ApiResponse<List<SlotSuggestion>> suggestSlots(Long caseId, Integer durationMinutes, LocalDate from,
+                                                   LocalDate to, String judge, String location, Integer count);
+}
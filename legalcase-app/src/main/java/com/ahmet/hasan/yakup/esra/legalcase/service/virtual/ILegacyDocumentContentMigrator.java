@@ -0,0 +1,14 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+/**
+ * Moves the bodies still held in the legacy documents.content column, written before the
+ * content store existed, into the IDocumentContentStore, then drops the column.
+ */
+public interface ILegacyDocumentContentMigrator {
+
+    /**
+     * Move the bodies left in the column, and drop it once none is left
+     * @return number of bodies moved; 0 when the column is gone
+     */
+    int migrate();
+}
@@ -0,0 +1,20 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+
+/**
+ * Records the changes the services make, in the transaction making them, for the domain
+ * event subscribers (see IDomainEventSubscriber) to handle once it has committed
+ */
+public interface IOutbox {
+
+    /**
+     * Record a change; must be called in the transaction that makes it, so the change is
+     * handed on if and only if the transaction commits
+     * @param caseId case the entity belongs to, the case itself for a case
+     * @param judge judge of a hearing, null for the other entities
+     * @param status status after the change, null for a delete and for documents
+     */
+    void record(Entity entity, Action action, Long entityId, Long caseId, String judge, String status);
+}
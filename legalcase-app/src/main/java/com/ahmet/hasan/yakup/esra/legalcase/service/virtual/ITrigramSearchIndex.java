@@ -0,0 +1,79 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.BaseEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Substring ("containing") search over short text fields, answered from in-memory
+ * trigram posting lists instead of {@code LIKE '%term%'} scans.
+ * Matching ignores case the same way the document search does (see SearchTextAnalyzer).
+ */
+public interface ITrigramSearchIndex {
+
+    /**
+     * The indexed fields; each entity id has its own entry per field
+     */
+    enum Field {
+        CASE_TITLE,
+        CLIENT_NAME,
+        USER_NAME,
+        HEARING_JUDGE
+    }
+
+    /**
+     * @return false until the field has been filled from the database; callers query the database meanwhile
+     */
+    boolean isReady(Field field);
+
+    /**
+     * Index the values of an entity, replacing what was indexed for it before
+     */
+    void index(Field field, Long id, String... values);
+
+    /**
+     * Remove an entity; removing an entity that is not indexed is not an error
+     */
+    void remove(Field field, Long id);
+
+    /**
+     * Find the entities with a value containing the term
+     * @param afterId only ids greater than this are returned
+     * @param limit maximum number of ids to return
+     * @return matching ids in ascending order
+     */
+    List<Long> search(Field field, String term, Long afterId, int limit);
+
+    /**
+     * Find the entities with a value containing the term and load their rows, skipping ids
+     * whose row is not visible to the caller: deleted along with a parent, deleted by a
+     * transaction whose index update has not run yet, or not replicated yet to the replica a
+     * read-only transaction runs on. Skipped ids stay in the index, which only the write paths
+     * change; the search continues past them until limit rows are loaded or no match is left,
+     * so a page is only short when it is the last one.
+     * @param afterId only ids greater than this are returned
+     * @param limit maximum number of rows to return
+     * @param loader loads rows by id in ascending id order
+     * @return rows in ascending id order
+     */
+    default <T extends BaseEntity> List<T> load(Field field, String term, Long afterId, int limit,
+                                                Function<Collection<Long>, List<T>> loader) {
+        List<T> rows = new ArrayList<>();
+        Long from = afterId;
+        while (rows.size() < limit) {
+            int wanted = limit - rows.size();
+            List<Long> ids = search(field, term, from, wanted);
+            if (!ids.isEmpty()) {
+                rows.addAll(loader.apply(ids));
+            }
+            if (ids.size() < wanted) {
+                break;
+            }
+            from = ids.get(ids.size() - 1);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingDate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The upcoming hearings (not cancelled, dated after now) kept in memory, so the pages of
+ * /hearings/upcoming are cut without querying the hearings table. A hearing leaves the
+ * index by itself once its date has passed.
+ */
+public interface IUpcomingHearingIndex {
+
+    /**
+     * @return false until the index has been filled from the database; callers query the database meanwhile
+     */
+    boolean isReady();
+
+    /**
+     * Index a hearing as it is now, replacing what was indexed for it before; a cancelled
+     * or past hearing is taken out
+     */
+    void index(Long id, LocalDateTime hearingDate, HearingStatus status);
+
+    /**
+     * Remove a hearing; removing a hearing that is not indexed is not an error
+     */
+    void remove(Long id);
+
+    /**
+     * Find a page of the hearings upcoming at a given time, in order of date, then id
+     * @param afterDate date the page starts after, with afterId; now for the first page
+     * @param afterId id the page starts after among the hearings dated afterDate
+     * @param limit most hearings to return
+     * @return the hearings with the dates they are indexed with
+     */
+    List<HearingDate> page(LocalDateTime afterDate, long afterId, int limit, LocalDateTime now);
+}
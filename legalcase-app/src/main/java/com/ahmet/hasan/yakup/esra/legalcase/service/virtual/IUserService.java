@@ -3,6 +3,7 @@ package com.ahmet.hasan.yakup.esra.legalcase.service.virtual;
 import com.ahmet.hasan.yakup.esra.legalcase.model.User;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.UserRole;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 
 import java.util.List;
 
@@ -65,12 +66,56 @@ public interface IUserService {
      */
     ApiResponse<List<User>> searchUsers(String searchTerm);
 
+    /**
+     * Get one keyset page of all users (see CursorPage)
+     * @param cursor Cursor returned with the previous page, null for the first page
+     * @param size Page size, null for the default
+     * @return ApiResponse containing the page of users and the next cursor
+     */
+    ApiResponse<List<User>> getAllUsers(String cursor, Integer size);
+
+    /**
+     * Get one keyset page of users by role
+     * @param role User role to filter by
+     * @param cursor Cursor returned with the previous page, null for the first page
+     * @param size Page size, null for the default
+     * @return ApiResponse containing the page of users and the next cursor
+     */
+    ApiResponse<List<User>> getUsersByRole(UserRole role, String cursor, Integer size);
+
+    /**
+     * Get one keyset page of users whose name or surname contains the term
+     * @param searchTerm Search term to look for in name or surname
+     * @param cursor Cursor returned with the previous page, null for the first page
+     * @param size Page size, null for the default
+     * @return ApiResponse containing the page of users and the next cursor
+     */
+    ApiResponse<List<User>> searchUsers(String searchTerm, String cursor, Integer size);
+
+    /**
+     * Get the validators of one keyset page of all users without loading it (see ResourceVersion)
+     * @param cursor Cursor returned with the previous page, null for the first page
+     * @param size Page size, null for the default
+     * @return the page's ETag, or null if the cursor is malformed
+     */
+    ResourceVersion getUserPageVersion(String cursor, Integer size);
+
     /**
      * Update an existing user
      * @param user User entity with updated information
      * @return ApiResponse containing updated user or error
      */
-    ApiResponse<User> updateUser(User user);
+    default ApiResponse<User> updateUser(User user) {
+        return updateUser(user, null);
+    }
+
+    /**
+     * Update an existing user if it is still at the expected version (see ResourceVersion)
+     * @param user User entity with updated information
+     * @param expectedVersion version the update is based on; null updates whatever version is current
+     * @return ApiResponse containing updated user, or 412 when the user has changed since
+     */
+    ApiResponse<User> updateUser(User user, Long expectedVersion);
 
     /**
      * Delete a user
@@ -1,5 +1,7 @@
 package com.ahmet.hasan.yakup.esra.legalcase.utils;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.Collections;
 import java.util.List;
 
@@ -8,6 +10,7 @@ public class ApiResponse<T> {
     private T data;
     private List<String> errorMessages;
     private int errorCode;
+    private String nextCursor;
 
     // Factory method for successful response
     public static <T> ApiResponse<T> success(T data) {
@@ -17,6 +20,13 @@ public class ApiResponse<T> {
         return response;
     }
 
+    // Factory method for one page of a keyset-paginated list
+    public static <T> ApiResponse<T> success(T data, String nextCursor) {
+        ApiResponse<T> response = success(data);
+        response.nextCursor = nextCursor;
+        return response;
+    }
+
     // Factory method for error response
     public static <T> ApiResponse<T> error(List<String> errorMessages, int errorCode) {
         ApiResponse<T> response = new ApiResponse<>();
@@ -47,4 +57,10 @@ public class ApiResponse<T> {
     public int getErrorCode() {
         return errorCode;
     }
+
+    // Cursor of the following page; null on the last page and on non-paginated responses
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getNextCursor() {
+        return nextCursor;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,204 @@
+package com.ahmet.hasan.yakup.esra.legalcase.utils;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.BaseEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (cursor) pagination helpers.
+ *
+ * Pages are ordered by id and each one continues strictly after the last id of the
+ * previous page ({@code WHERE id > :afterId ORDER BY id LIMIT :size + 1}), so a page
+ * costs one primary-key range scan at any depth and never needs a count query. The extra
+ * probe row only tells whether another page exists and is never returned.
+ *
+ * Ranked results (full-text search) have no key to continue after, so their cursor
+ * carries the number of hits already returned instead. Pages ordered by a date (upcoming
+ * hearings) continue after the date and id of the last row, the rows of one date being
+ * ordered by id.
+ */
+public final class CursorPage {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    private static final String PREFIX = "id:";
+    private static final String OFFSET_PREFIX = "offset:";
+    private static final String DATE_PREFIX = "date:";
+
+    /**
+     * Where a page ordered by date and id continues
+     * @param date null for the first page
+     */
+    public record DatePosition(LocalDateTime date, long afterId) {
+    }
+
+    private CursorPage() {
+    }
+
+    /**
+     * @param size requested page size, may be null
+     * @return the size bounded to 1..MAX_SIZE, DEFAULT_SIZE when not given
+     */
+    public static int size(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * @param size page size returned by {@link #size(Integer)}
+     * @return limit that also fetches the probe row
+     */
+    public static Limit limit(int size) {
+        return Limit.of(size + 1);
+    }
+
+    /**
+     * @param cursor cursor received from a previous page, null or empty for the first page
+     * @return the id to continue after, or null if the cursor is malformed
+     */
+    public static Long decode(String cursor) {
+        return decode(cursor, PREFIX);
+    }
+
+    /**
+     * @param lastId id of the last row on the current page
+     * @return opaque cursor for the following page
+     */
+    public static String encode(Long lastId) {
+        return encode(PREFIX, lastId);
+    }
+
+    /**
+     * @param cursor cursor received from a previous page of ranked results, null or empty for the first page
+     * @return the number of results to skip, or null if the cursor is malformed
+     */
+    public static Integer decodeOffset(String cursor) {
+        Long offset = decode(cursor, OFFSET_PREFIX);
+        return offset != null && offset <= Integer.MAX_VALUE ? offset.intValue() : null;
+    }
+
+    /**
+     * @param offset number of ranked results returned so far
+     * @return opaque cursor for the following page
+     */
+    public static String encodeOffset(int offset) {
+        return encode(OFFSET_PREFIX, offset);
+    }
+
+    /**
+     * @param cursor cursor received from a previous page ordered by date, null or empty for the first page
+     * @return the date and id to continue after, or null if the cursor is malformed
+     */
+    public static DatePosition decodeDate(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return new DatePosition(null, 0L);
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(',');
+            if (!value.startsWith(DATE_PREFIX) || separator < DATE_PREFIX.length()) {
+                return null;
+            }
+            LocalDateTime date = LocalDateTime.parse(value.substring(DATE_PREFIX.length(), separator));
+            long afterId = Long.parseLong(value.substring(separator + 1));
+            return afterId >= 0 ? new DatePosition(date, afterId) : null;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param date date of the last row on the current page
+     * @param lastId id of the last row on the current page
+     * @return opaque cursor for the following page
+     */
+    public static String encodeDate(LocalDateTime date, Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((DATE_PREFIX + date + "," + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decode(String cursor, String prefix) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(prefix)) {
+                return null;
+            }
+            long position = Long.parseLong(value.substring(prefix.length()));
+            return position >= 0 ? position : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String encode(String prefix, long position) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((prefix + position).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds the response for one page of entities
+     *
+     * @param rows rows fetched with {@link #limit(int)}
+     * @param size page size
+     * @return successful response whose next cursor is set when more rows exist
+     */
+    public static <T extends BaseEntity> ApiResponse<List<T>> of(List<T> rows, int size) {
+        return of(rows, size, BaseEntity::getId);
+    }
+
+    /**
+     * Builds the response for one page of rows that are not entities (e.g. projections)
+     *
+     * @param rows rows fetched with {@link #limit(int)}
+     * @param size page size
+     * @param idOf extracts the keyset id of a row
+     * @return successful response whose next cursor is set when more rows exist
+     */
+    public static <T> ApiResponse<List<T>> of(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return ApiResponse.success(rows, null);
+        }
+        List<T> page = new ArrayList<>(rows.subList(0, size));
+        return ApiResponse.success(page, encode(idOf.apply(page.get(size - 1))));
+    }
+
+    /**
+     * Builds the response for one page of entities ordered by a date, then by id
+     *
+     * @param rows rows fetched with {@link #limit(int)}
+     * @param size page size
+     * @param dateOf extracts the date the rows are ordered by
+     * @return successful response whose next cursor is set when more rows exist
+     */
+    public static <T extends BaseEntity> ApiResponse<List<T>> ofDate(List<T> rows, int size,
+                                                                     Function<T, LocalDateTime> dateOf) {
+        if (rows.size() <= size) {
+            return ApiResponse.success(rows, null);
+        }
+        List<T> page = new ArrayList<>(rows.subList(0, size));
+        T last = page.get(size - 1);
+        return ApiResponse.success(page, encodeDate(dateOf.apply(last), last.getId()));
+    }
+
+    /**
+     * @param cursor the rejected cursor
+     * @return error response for a malformed cursor
+     */
+    public static <T> ApiResponse<T> invalidCursor(String cursor) {
+        return ApiResponse.error("Invalid cursor: " + cursor, HttpStatus.BAD_REQUEST.value());
+    }
+}
@@ -0,0 +1,151 @@
+package com.ahmet.hasan.yakup.esra.legalcase.utils;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The court days of a date window cut into cells of equal length, for searching free time
+ * with bit arithmetic. A calendar holds one long per day with a bit per cell, bit 0 being
+ * the first cell of the day, and a set bit is a free cell.
+ *
+ * Calendars are combined with AND, and the cells where a run of free cells long enough for
+ * a hearing starts are found with a handful of shifts (see runStarts), so a day is searched
+ * in a few instructions however many hearings it holds. Saturdays and Sundays are never free.
+ */
+public final class DayGrid {
+
+    /**
+     * Most cells a day can have, the bits of a long
+     */
+    public static final int MAX_CELLS_PER_DAY = Long.SIZE;
+
+    private static final long DAY_SECONDS = 24 * 60 * 60;
+
+    private final LocalDate firstDay;
+    private final int days;
+    private final LocalTime dayStart;
+    private final int cellMinutes;
+    private final int cellsPerDay;
+    // Start of the first cell of the window, in seconds on a UTC clock
+    private final long origin;
+
+    /**
+     * @param firstDay first day of the window
+     * @param lastDay last day of the window, inclusive
+     * @param dayStart when the first cell of a day starts
+     * @param dayEnd when the court day ends; a last cell that would run past it is left out
+     * @param cellMinutes length of a cell
+     */
+    public DayGrid(LocalDate firstDay, LocalDate lastDay, LocalTime dayStart, LocalTime dayEnd, int cellMinutes) {
+        if (cellMinutes < 1) {
+            throw new IllegalArgumentException("A cell must be at least a minute long");
+        }
+        if (lastDay.isBefore(firstDay)) {
+            throw new IllegalArgumentException("The window ends before it starts");
+        }
+        int cells = (int) (Duration.between(dayStart, dayEnd).toMinutes() / cellMinutes);
+        if (cells < 1 || cells > MAX_CELLS_PER_DAY) {
+            throw new IllegalArgumentException("A court day must have between 1 and " + MAX_CELLS_PER_DAY
+                    + " cells, not " + cells);
+        }
+        this.firstDay = firstDay;
+        this.days = (int) ChronoUnit.DAYS.between(firstDay, lastDay) + 1;
+        this.dayStart = dayStart;
+        this.cellMinutes = cellMinutes;
+        this.cellsPerDay = cells;
+        this.origin = seconds(firstDay.atTime(dayStart));
+    }
+
+    public int days() {
+        return days;
+    }
+
+    public int cellsPerDay() {
+        return cellsPerDay;
+    }
+
+    /**
+     * @return number of cells a stretch of time takes, rounded up
+     */
+    public int cells(int minutes) {
+        return (minutes + cellMinutes - 1) / cellMinutes;
+    }
+
+    /**
+     * @return a calendar with every cell of every court day free
+     */
+    public long[] newCalendar() {
+        long day = cellsPerDay == Long.SIZE ? -1L : (1L << cellsPerDay) - 1;
+        long[] calendar = new long[days];
+        for (int i = 0; i < days; i++) {
+            DayOfWeek dayOfWeek = firstDay.plusDays(i).getDayOfWeek();
+            if (dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY) {
+                calendar[i] = day;
+            }
+        }
+        return calendar;
+    }
+
+    /**
+     * Marks every cell overlapping [start, end) busy; the part outside the window is ignored
+     */
+    public void occupy(long[] calendar, LocalDateTime start, LocalDateTime end) {
+        // Plain arithmetic on seconds: this runs for every busy slot of a search
+        long cellSeconds = cellMinutes * 60L;
+        long startSecond = seconds(start) - origin;
+        long endSecond = seconds(end) - origin;
+        long fromDay = Math.max(0, Math.floorDiv(startSecond, DAY_SECONDS));
+        long toDay = Math.min(days - 1, Math.floorDiv(endSecond, DAY_SECONDS));
+        for (long day = fromDay; day <= toDay; day++) {
+            long dayOrigin = day * DAY_SECONDS;
+            long from = Math.max(0, Math.floorDiv(startSecond - dayOrigin, cellSeconds));
+            long to = Math.min(cellsPerDay, -Math.floorDiv(dayOrigin - endSecond, cellSeconds));
+            if (from < to) {
+                calendar[(int) day] &= ~mask((int) from, (int) (to - from));
+            }
+        }
+    }
+
+    /**
+     * @return when a cell starts
+     */
+    public LocalDateTime startOf(int day, int cell) {
+        return firstDay.plusDays(day).atTime(dayStart).plusMinutes((long) cell * cellMinutes);
+    }
+
+    /**
+     * Finds where a run of free cells starts in a day of a calendar. Runs double in length
+     * with each shift, so a run of n cells takes about log2(n) steps. A run never reaches
+     * into the next day, whose cells are not in the long.
+     * @param free one day of a calendar
+     * @param cells length of the run
+     * @return the cells starting a run of at least that many free cells
+     */
+    public static long runStarts(long free, int cells) {
+        long starts = free;
+        int run = 1;
+        while (run < cells && starts != 0) {
+            int shift = Math.min(run, cells - run);
+            starts &= starts >>> shift;
+            run += shift;
+        }
+        return starts;
+    }
+
+    /**
+     * @return bits first to first + count - 1 set
+     */
+    public static long mask(int first, int count) {
+        return (count >= Long.SIZE ? -1L : (1L << count) - 1) << first;
+    }
+
+    private static long seconds(LocalDateTime time) {
+        // Only differences are taken, so any fixed offset will do
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,193 @@
+package com.ahmet.hasan.yakup.esra.legalcase.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Bounded ring handing values from one producer to any number of readers, each of which
+ * reads every value in order, in the manner of the LMAX Disruptor.
+ *
+ * Nothing is locked. The producer writes a value into the next slot once the slowest reader
+ * is done with the value the slot held, and makes it visible by moving a volatile cursor;
+ * each reader moves its own volatile sequence past the values it is done with. A side that
+ * has to wait spins for a moment and then parks, and is unparked by the other side, so an
+ * idle ring costs no CPU and a busy one no system calls.
+ *
+ * Values are numbered from 0 in the order they were published.
+ */
+public final class EventRing<T> {
+
+    private static final int SPINS = 100;
+    // Upper bound of a single park, in case a wake-up is missed
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Object[] slots;
+    private final int mask;
+    // Number of the last value published
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private volatile Reader<?>[] readers = new Reader<?>[0];
+    private volatile Thread waitingProducer;
+
+    // Producer only
+    private long next;
+    private long slowestSeen = -1;
+
+    /**
+     * @param capacity number of slots, a power of two
+     */
+    public EventRing(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * @return number of the last value published, -1 before the first
+     */
+    public long cursor() {
+        return cursor.get();
+    }
+
+    /**
+     * Adds a reader that reads the values published from now on
+     */
+    public synchronized Reader<T> reader() {
+        Reader<T> reader = new Reader<>(this, cursor.get());
+        Reader<?>[] grown = Arrays.copyOf(readers, readers.length + 1);
+        grown[readers.length] = reader;
+        readers = grown;
+        return reader;
+    }
+
+    /**
+     * Removes a reader, so the producer no longer waits for it
+     */
+    public synchronized void remove(Reader<T> reader) {
+        readers = Arrays.stream(readers).filter(other -> other != reader).toArray(Reader<?>[]::new);
+    }
+
+    /**
+     * @return number of the last value every reader is done with; the cursor when there is no reader
+     */
+    public long done() {
+        long done = cursor.get();
+        for (Reader<?> reader : readers) {
+            done = Math.min(done, reader.done.get());
+        }
+        return done;
+    }
+
+    /**
+     * Publishes a value, waiting while the slowest reader still needs the slot it goes into.
+     * Called from one thread only.
+     * @return number of the value
+     */
+    public long publish(T value) throws InterruptedException {
+        long number = next;
+        long wrap = number - slots.length;
+        if (wrap > slowestSeen) {
+            int spins = 0;
+            long done;
+            while (wrap > (done = done())) {
+                spins = idle(spins, () -> waitingProducer = Thread.currentThread(), () -> wrap > done());
+                waitingProducer = null;
+            }
+            slowestSeen = done;
+        }
+        slots[(int) (number & mask)] = value;
+        cursor.set(number);
+        next = number + 1;
+        for (Reader<?> reader : readers) {
+            Thread waiting = reader.waiting;
+            if (waiting != null) {
+                LockSupport.unpark(waiting);
+            }
+        }
+        return number;
+    }
+
+    /**
+     * Spins, then parks once the condition still holds after announcing the wait
+     * @return spins so far
+     */
+    private static int idle(int spins, Runnable announce, BooleanSupplier stillWaiting)
+            throws InterruptedException {
+        if (spins < SPINS) {
+            Thread.onSpinWait();
+            return spins + 1;
+        }
+        announce.run();
+        if (stillWaiting.getAsBoolean()) {
+            LockSupport.parkNanos(MAX_PARK_NANOS);
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        return spins;
+    }
+
+    /**
+     * A reader's position; used by one thread at a time
+     */
+    public static final class Reader<T> {
+
+        private final EventRing<T> ring;
+        private final AtomicLong done;
+        private volatile Thread waiting;
+
+        private Reader(EventRing<T> ring, long done) {
+            this.ring = ring;
+            this.done = new AtomicLong(done);
+        }
+
+        /**
+         * Waits for the value after the last one this reader is done with
+         * @return the value, or null when none was published within the timeout
+         */
+        @SuppressWarnings("unchecked")
+        public T next(long timeout, TimeUnit unit) throws InterruptedException {
+            long number = done.get() + 1;
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            int spins = 0;
+            while (ring.cursor.get() < number) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return null;
+                }
+                spins = idle(spins, () -> waiting = Thread.currentThread(), () -> ring.cursor.get() < number);
+                waiting = null;
+            }
+            return (T) ring.slots[(int) (number & ring.mask)];
+        }
+
+        /**
+         * Marks the value returned by next as done, freeing its slot for the producer
+         */
+        public void release() {
+            long number = done.get() + 1;
+            if (number > ring.cursor.get()) {
+                throw new IllegalStateException("No value to release");
+            }
+            done.set(number);
+            Thread producer = ring.waitingProducer;
+            if (producer != null) {
+                LockSupport.unpark(producer);
+            }
+        }
+
+        /**
+         * @return number of the last value this reader is done with
+         */
+        public long done() {
+            return done.get();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.ahmet.hasan.yakup.esra.legalcase.utils;
+
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Format;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Writes export records one at a time as NDJSON (one JSON object per line) or CSV (a header
+ * line naming the columns, RFC 4180 quoting), the formats ImportRecordReader reads.
+ *
+ * Values are written as text: dates in ISO format, enums by name. Numbers stay numbers in
+ * NDJSON, and a null value is left out of the object (NDJSON) or written as an empty cell
+ * (CSV). Nothing is closed; flush() passes what was written on to the underlying writer.
+ */
+public abstract class ExportRecordWriter implements Flushable {
+
+    protected final Writer writer;
+    protected final List<String> columns;
+
+    protected ExportRecordWriter(Writer writer, List<String> columns) {
+        this.writer = writer;
+        this.columns = columns;
+    }
+
+    /**
+     * Creates a writer; a CSV writer writes its header line right away
+     */
+    public static ExportRecordWriter of(Format format, Writer writer, List<String> columns,
+                                        ObjectMapper objectMapper) throws IOException {
+        return format == Format.CSV ? new Csv(writer, columns) : new Ndjson(writer, columns, objectMapper);
+    }
+
+    /**
+     * Writes one record
+     * @param values one value per column, in column order
+     */
+    public abstract void write(Object[] values) throws IOException;
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    protected static String text(Object value) {
+        return value instanceof Enum<?> constant ? constant.name() : value.toString();
+    }
+
+    private static final class Ndjson extends ExportRecordWriter {
+
+        private final JsonGenerator generator;
+
+        private Ndjson(Writer writer, List<String> columns, ObjectMapper objectMapper) throws IOException {
+            super(writer, columns);
+            this.generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Records are separated by the newline written after each, not by Jackson's space
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.size(); i++) {
+                Object value = values[i];
+                if (value == null) {
+                    continue;
+                }
+                generator.writeFieldName(columns.get(i));
+                if (value instanceof Long || value instanceof Integer) {
+                    generator.writeNumber(((Number) value).longValue());
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(new BigDecimal(number.toString()));
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else {
+                    generator.writeString(text(value));
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // The generator has its own buffer in front of the writer
+            generator.flush();
+        }
+    }
+
+    private static final class Csv extends ExportRecordWriter {
+
+        private Csv(Writer writer, List<String> columns) throws IOException {
+            super(writer, columns);
+            writeRow(columns.toArray());
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            writeRow(values);
+        }
+
+        private void writeRow(Object[] values) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writeCell(text(values[i]));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeCell(String cell) throws IOException {
+            boolean quote = !cell.isEmpty() && (Character.isWhitespace(cell.charAt(0))
+                    || Character.isWhitespace(cell.charAt(cell.length() - 1)));
+            for (int i = 0; i < cell.length() && !quote; i++) {
+                char c = cell.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(cell);
+                return;
+            }
+            writer.write('"');
+            writer.write(cell.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.ahmet.hasan.yakup.esra.legalcase.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Reads import records one at a time from NDJSON (one JSON object per line) or CSV (a
+ * header line naming the fields, RFC 4180 quoting), so an input of any size is never
+ * held in memory.
+ *
+ * Every record is a flat map of field name to text. In NDJSON, numbers and booleans are
+ * taken as their text and an array of values is joined with ';', the list separator used
+ * in CSV cells. A line that cannot be read (malformed JSON, wrong number of CSV cells) is
+ * returned as a record with an error so the caller can report it and carry on.
+ */
+public abstract class ImportRecordReader implements AutoCloseable {
+
+    public static final String LIST_SEPARATOR = ";";
+
+    /**
+     * One input record
+     * @param line line number where the record starts (1-based, the CSV header is line 1)
+     * @param fields field values by name; empty values are left out
+     * @param error why the record could not be read, or null
+     */
+    public record Record(long line, Map<String, String> fields, String error) {
+
+        public String get(String field) {
+            return fields.get(field);
+        }
+    }
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    protected final BufferedReader reader;
+    protected long lineNumber;
+
+    protected ImportRecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    public static ImportRecordReader of(Format format, Reader reader, ObjectMapper objectMapper) {
+        return format == Format.CSV ? new Csv(reader) : new Ndjson(reader, objectMapper);
+    }
+
+    /**
+     * @return the next record, or null at the end of the input
+     */
+    public abstract Record next() throws IOException;
+
+    /**
+     * Splits a list value (see LIST_SEPARATOR) into its trimmed, non-empty items
+     */
+    public static List<String> splitList(String value) {
+        List<String> items = new ArrayList<>();
+        if (value == null) {
+            return items;
+        }
+        for (String item : value.split(LIST_SEPARATOR)) {
+            if (!item.isBlank()) {
+                items.add(item.trim());
+            }
+        }
+        return items;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static final class Ndjson extends ImportRecordReader {
+
+        private final ObjectMapper objectMapper;
+
+        private Ndjson(Reader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Record next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.isBlank());
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                return new Record(lineNumber, Map.of(), "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (node == null || !node.isObject()) {
+                return new Record(lineNumber, Map.of(), "Expected a JSON object");
+            }
+            Map<String, String> fields = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> entries = node.fields();
+            while (entries.hasNext()) {
+                Map.Entry<String, JsonNode> entry = entries.next();
+                String value = text(entry.getValue());
+                if (value != null && !value.isBlank()) {
+                    fields.put(entry.getKey(), value.trim());
+                }
+            }
+            return new Record(lineNumber, fields, null);
+        }
+
+        private static String text(JsonNode value) {
+            if (value.isNull()) {
+                return null;
+            }
+            if (value.isArray()) {
+                StringJoiner joined = new StringJoiner(LIST_SEPARATOR);
+                value.forEach(item -> {
+                    if (!item.isNull()) {
+                        joined.add(item.asText());
+                    }
+                });
+                return joined.toString();
+            }
+            return value.isValueNode() ? value.asText() : value.toString();
+        }
+    }
+
+    private static final class Csv extends ImportRecordReader {
+
+        private List<String> header;
+
+        private Csv(Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        public Record next() throws IOException {
+            if (header == null) {
+                List<String> names = readRow();
+                if (names == null) {
+                    return null;
+                }
+                // Spreadsheet exports often start with a byte order mark
+                header = names.stream().map(name -> name.replace("\uFEFF", "").trim()).toList();
+            }
+            List<String> cells;
+            long start;
+            do {
+                start = lineNumber + 1;
+                cells = readRow();
+                if (cells == null) {
+                    return null;
+                }
+            } while (cells.size() == 1 && cells.get(0).isBlank());
+
+            if (cells.size() != header.size()) {
+                return new Record(start, Map.of(),
+                        "Expected " + header.size() + " columns but found " + cells.size());
+            }
+            Map<String, String> fields = new LinkedHashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                String value = cells.get(i);
+                if (!value.isBlank()) {
+                    fields.put(header.get(i), value.trim());
+                }
+            }
+            return new Record(start, fields, null);
+        }
+
+        /**
+         * Reads one row; a quoted cell may span several lines
+         * @return the cells, or null at the end of the input
+         */
+        private List<String> readRow() throws IOException {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+            List<String> cells = new ArrayList<>();
+            StringBuilder cell = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    // The quoted cell goes on in the next line
+                    String nextLine = reader.readLine();
+                    if (nextLine == null) {
+                        break;
+                    }
+                    lineNumber++;
+                    cell.append('\n');
+                    line = nextLine;
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i < line.length() && line.charAt(i) == '"') {
+                            cell.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        cell.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                } else {
+                    cell.append(c);
+                }
+            }
+            cells.add(cell.toString());
+            return cells;
+        }
+    }
+}
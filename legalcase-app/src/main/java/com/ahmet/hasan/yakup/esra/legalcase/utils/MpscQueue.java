@@ -0,0 +1,115 @@
+package com.ahmet.hasan.yakup.esra.legalcase.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded queue of any number of producers and a single consumer, after Dmitry Vyukov's
+ * bounded array queue.
+ *
+ * Nothing is locked. Each slot carries a sequence that tells whose turn it is: a producer
+ * claims a position by moving the tail with a compare-and-set, writes its value and then the
+ * slot's sequence, which is what makes the value visible to the consumer; the consumer takes
+ * the value and hands the slot on to the producer one lap later. A producer that finds the
+ * queue full is told so instead of waiting, so the caller decides what a full queue means.
+ *
+ * Values of one producer are taken in the order they were offered.
+ */
+public final class MpscQueue<T> {
+
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Written by the consumer only; volatile for size()
+    private volatile long head;
+
+    /**
+     * @param capacity number of slots, a power of two
+     */
+    public MpscQueue(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Queue capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * @return number of values waiting; a snapshot, as producers and the consumer move on
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, slots.length));
+    }
+
+    /**
+     * Adds a value; safe from any thread
+     * @return false when the queue is full
+     */
+    public boolean offer(T value) {
+        if (value == null) {
+            throw new NullPointerException("Queue values must not be null");
+        }
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long turn = sequences.get(index) - position;
+            if (turn == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = value;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (turn < 0) {
+                // The consumer has not taken the value a lap ago yet
+                return false;
+            } else {
+                // Another producer claimed the position
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Takes the next value; consumer thread only
+     * @return the value, or null when none is ready
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        T value = (T) slots[index];
+        slots[index] = null;
+        sequences.set(index, position + slots.length);
+        head = position + 1;
+        return value;
+    }
+
+    /**
+     * Takes the values that are ready, up to a maximum; consumer thread only
+     * @return number of values taken
+     */
+    public int drain(Consumer<? super T> consumer, int max) {
+        int taken = 0;
+        T value;
+        while (taken < max && (value = poll()) != null) {
+            consumer.accept(value);
+            taken++;
+        }
+        return taken;
+    }
+}
@@ -0,0 +1,267 @@
+package com.ahmet.hasan.yakup.esra.legalcase.utils;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.BaseEntity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
+import org.hibernate.Hibernate;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Validators (ETag, Last-Modified) of a GET response, the conditional request check that
+ * answers 304 Not Modified when the client's copy is still current, and the If-Match check
+ * of a conditional update.
+ *
+ * The ETag of a single row is strong and starts with its version (see BaseEntity), followed
+ * by a digest of the rows embedded with it: the case of a hearing or document, the clients
+ * of a case. The ETag of a page is a weak digest of the id and updated_at of every row it
+ * shows, so it changes when a row changes, joins or leaves the page. Last-Modified
+ * is only sent for a single row with nothing but single rows embedded: removing a row from
+ * a list or collection moves no updated_at, so there it would let a stale copy through.
+ *
+ * If-None-Match is checked first (weak comparison, {@code *} matches anything) and
+ * If-Modified-Since only when there is none, as RFC 9110 requires. An update sends the
+ * single row ETag back in If-Match; only its version part is checked (see expectedVersion).
+ */
+public final class ResourceVersion {
+
+    /**
+     * Expected version of an If-Match no row can satisfy, a weak or malformed tag
+     */
+    public static final long NO_MATCH = -1;
+
+    private static final int DIGEST_BYTES = 12;
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final String etag;
+    private final Instant lastModified;
+
+    private ResourceVersion(String etag, Instant lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @param entity the row the body shows
+     * @return validators of the row
+     */
+    public static ResourceVersion of(BaseEntity entity) {
+        return new ResourceVersion("\"" + entity.getVersion() + "\"", toInstant(entity.getUpdatedAt()));
+    }
+
+    /**
+     * @param entity the row the body shows
+     * @param embedded a single row embedded with it; ignored while it is an unloaded proxy,
+     *                 which the body shows as its id only
+     * @return validators of both rows
+     */
+    public static ResourceVersion of(BaseEntity entity, BaseEntity embedded) {
+        if (embedded == null || !Hibernate.isInitialized(embedded)) {
+            return of(entity);
+        }
+        Digest digest = new Digest().add(embedded.getId(), embedded.getUpdatedAt());
+        return new ResourceVersion(strongTag(entity, digest), toInstant(latest(entity.getUpdatedAt(), embedded.getUpdatedAt())));
+    }
+
+    /**
+     * @param entity the row the body shows
+     * @param embedded a collection embedded with it; ignored while it is not loaded, since the
+     *                 body leaves it out then
+     * @return validators of the row and the collection (an ETag only, see the class comment)
+     */
+    public static ResourceVersion of(BaseEntity entity, Collection<? extends BaseEntity> embedded) {
+        if (embedded == null || !Hibernate.isInitialized(embedded)) {
+            return of(entity);
+        }
+        Digest digest = new Digest();
+        embedded.stream()
+                .sorted(Comparator.comparing(BaseEntity::getId, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(row -> digest.add(row.getId(), row.getUpdatedAt()));
+        return new ResourceVersion(strongTag(entity, digest), null);
+    }
+
+    /**
+     * @param stamps stamps of the page rows, including the probe row (see CursorPage), so the
+     *               ETag also changes when the next cursor does
+     * @return validators of the page (an ETag only, see the class comment)
+     */
+    public static ResourceVersion ofPage(List<RowStamp> stamps) {
+        Digest digest = new Digest();
+        stamps.forEach(stamp -> digest.add(stamp.id(), stamp.updatedAt()).add(stamp.caseUpdatedAt()));
+        return new ResourceVersion("W/" + digest.quoted(), null);
+    }
+
+    /**
+     * Reads the version a conditional update (PUT) was based on from its If-Match header. Only
+     * the first tag is used, and compared strongly: a weak tag never matches.
+     *
+     * @param request headers of the update request
+     * @return the expected version, {@link #NO_MATCH} when the condition cannot hold, or null
+     *         without If-Match or for {@code *}, where the update is unconditional
+     */
+    public static Long expectedVersion(HttpHeaders request) {
+        List<String> ifMatch;
+        try {
+            ifMatch = request.getIfMatch();
+        } catch (IllegalArgumentException e) {
+            return NO_MATCH;
+        }
+        if (ifMatch.isEmpty() || "*".equals(ifMatch.get(0))) {
+            return null;
+        }
+        String tag = ifMatch.get(0);
+        if (tag.startsWith("W/") || tag.length() < 2) {
+            return NO_MATCH;
+        }
+        String opaque = tag.substring(1, tag.length() - 1);
+        int digestStart = opaque.indexOf('.');
+        try {
+            return Long.parseLong(digestStart < 0 ? opaque : opaque.substring(0, digestStart));
+        } catch (NumberFormatException e) {
+            return NO_MATCH;
+        }
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @param request headers of the GET request
+     * @return true when the client's copy matches this version
+     */
+    public boolean isNotModified(HttpHeaders request) {
+        try {
+            List<String> ifNoneMatch = request.getIfNoneMatch();
+            if (!ifNoneMatch.isEmpty()) {
+                String opaque = opaque(etag);
+                return ifNoneMatch.stream().anyMatch(tag -> "*".equals(tag) || opaque(tag).equals(opaque));
+            }
+            long ifModifiedSince = request.getIfModifiedSince();
+            return lastModified != null && ifModifiedSince >= 0
+                    && lastModified.truncatedTo(ChronoUnit.SECONDS).toEpochMilli() <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            // A malformed condition is ignored, as if it had not been sent
+            return false;
+        }
+    }
+
+    /**
+     * @return the validators, with a Cache-Control that lets the client keep the body but
+     *         revalidate it on each use
+     */
+    public HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        if (lastModified != null) {
+            headers.setLastModified(lastModified);
+        }
+        headers.setCacheControl(CACHE_CONTROL);
+        return headers;
+    }
+
+    /**
+     * @return an empty 304 response carrying the validators
+     */
+    public <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers()).build();
+    }
+
+    /**
+     * @return a 200 response with the body, carrying the validators when a version is known
+     */
+    public static <T> ResponseEntity<T> ok(ResourceVersion version, T body) {
+        if (version == null) {
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.ok().headers(version.headers()).body(body);
+    }
+
+    /**
+     * Answers a request for a single row once it is loaded. Cases, clients and users are
+     * mostly served from the second-level cache, where a version query would cost more
+     * than the load it saves.
+     *
+     * @return 304 when the client's copy matches this version, otherwise 200 with the body
+     */
+    public <T> ResponseEntity<T> respond(HttpHeaders request, T body) {
+        return isNotModified(request) ? notModified() : ok(this, body);
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static String strongTag(BaseEntity entity, Digest embedded) {
+        return "\"" + entity.getVersion() + "." + embedded.quoted().substring(1);
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null || b == null) {
+            return null;
+        }
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static Instant toInstant(LocalDateTime time) {
+        // updated_at holds server local time (see BaseEntity)
+        return time == null ? null : time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static final class Digest {
+
+        private final MessageDigest sha256;
+        private final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 3);
+
+        private Digest() {
+            try {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        private Digest add(Long id, LocalDateTime updatedAt) {
+            buffer.clear();
+            buffer.putLong(id == null ? -1 : id);
+            return addTime(updatedAt);
+        }
+
+        private Digest add(LocalDateTime updatedAt) {
+            buffer.clear();
+            return addTime(updatedAt);
+        }
+
+        private Digest addTime(LocalDateTime time) {
+            // A missing time (legacy rows) hashes differently from every real one. The column
+            // keeps microseconds, so a row hashes the same whether it was read or just written.
+            buffer.putLong(time == null ? Long.MIN_VALUE : time.toLocalDate().toEpochDay());
+            buffer.putLong(time == null ? -1 : time.toLocalTime().truncatedTo(ChronoUnit.MICROS).toNanoOfDay());
+            sha256.update(buffer.array(), 0, buffer.position());
+            return this;
+        }
+
+        private String quoted() {
+            byte[] hash = sha256.digest();
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, DIGEST_BYTES)) + "\"";
+        }
+    }
+}
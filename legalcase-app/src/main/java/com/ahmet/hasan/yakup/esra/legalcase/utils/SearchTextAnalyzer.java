@@ -0,0 +1,125 @@
+package com.ahmet.hasan.yakup.esra.legalcase.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Turns text into the terms used by the document search index.
+ *
+ * Tokens are runs of letters and digits. Each token is case folded the Turkish way
+ * (I, İ and ı all fold to i) and the Turkish letters are folded to their ASCII base
+ * (ç, ğ, ö, ş, ü, â, î, û), so "İSTANBUL", "Istanbul" and "istanbul" are the same term
+ * and a query typed on a keyboard without Turkish letters ("sozlesme") still finds
+ * "Sözleşme". Combining marks are dropped, which makes decomposed input fold the same
+ * way. An apostrophe ends a token, so "Yargıtay'ın" yields "yargitay" and "in".
+ *
+ * The same analyzer must be used for documents and queries.
+ */
+public final class SearchTextAnalyzer {
+
+    // Longer runs are almost always encoded data, not words
+    public static final int MAX_TOKEN_LENGTH = 64;
+
+    // Length of the columns name keys are stored in
+    public static final int MAX_NAME_KEY_LENGTH = 255;
+
+    private SearchTextAnalyzer() {
+    }
+
+    /**
+     * Calls the consumer with every term of the text, in order
+     */
+    public static void forEachTerm(CharSequence text, Consumer<String> consumer) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder token = new StringBuilder();
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (token.length() < MAX_TOKEN_LENGTH) {
+                    token.append(fold(c));
+                } else {
+                    token.setLength(MAX_TOKEN_LENGTH + 1);
+                }
+            } else if (isCombiningMark(c)) {
+                // Part of the previous letter; the base letter is already folded
+            } else {
+                emit(token, consumer);
+            }
+        }
+        emit(token, consumer);
+    }
+
+    /**
+     * @return the terms of the text, in order
+     */
+    public static List<String> terms(CharSequence text) {
+        List<String> terms = new ArrayList<>();
+        forEachTerm(text, terms::add);
+        return terms;
+    }
+
+    /**
+     * The key judges and courtrooms are told apart by, wherever they are compared (the
+     * hearings' key columns, the schedule index, the booking locks): the terms of the name
+     * joined by single spaces, so "Hakim  ŞAHİN." and "hakim sahin" are the same one. Longer
+     * keys are cut to MAX_NAME_KEY_LENGTH, which only makes the names sharing a start equal.
+     * @return null for a name without any term
+     */
+    public static String nameKey(CharSequence name) {
+        List<String> terms = terms(name);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        String key = String.join(" ", terms);
+        return key.length() > MAX_NAME_KEY_LENGTH ? key.substring(0, MAX_NAME_KEY_LENGTH) : key;
+    }
+
+    /**
+     * Folds every character of the text the same way terms are folded, keeping spaces and
+     * punctuation, for substring matching
+     */
+    public static String foldText(CharSequence text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!isCombiningMark(c)) {
+                folded.append(fold(c));
+            }
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Folds a single character
+     */
+    public static char fold(char c) {
+        char lower = Character.toLowerCase(c);
+        return switch (lower) {
+            case 'ı', 'î' -> 'i';
+            case 'ç' -> 'c';
+            case 'ğ' -> 'g';
+            case 'ö' -> 'o';
+            case 'ş' -> 's';
+            case 'ü', 'û' -> 'u';
+            case 'â' -> 'a';
+            default -> lower;
+        };
+    }
+
+    private static boolean isCombiningMark(char c) {
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+
+    private static void emit(StringBuilder token, Consumer<String> consumer) {
+        if (token.length() > 0 && token.length() <= MAX_TOKEN_LENGTH) {
+            consumer.accept(token.toString());
+        }
+        token.setLength(0);
+    }
+}
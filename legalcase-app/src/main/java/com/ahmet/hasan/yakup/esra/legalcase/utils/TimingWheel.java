@@ -0,0 +1,188 @@
+package com.ahmet.hasan.yakup.esra.legalcase.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: timers on a clock of whole ticks, kept in buckets by their
+ * deadline instead of in a queue ordered by it.
+ *
+ * Each level has 64 buckets; a bucket of level 0 holds the timers of one tick, a bucket of
+ * level n those of 64^n ticks. A timer goes into the lowest level whose 64 buckets reach its
+ * deadline, and when the clock enters a bucket of a higher level its timers are moved down
+ * (cascaded) to the levels below, ending in level 0, which is the one that fires. Scheduling
+ * and cancelling are O(1), since a bucket is a linked list, and advancing the clock by a tick
+ * costs the timers it fires or moves, however many timers are pending.
+ *
+ * Six levels reach 64^6 ticks ahead, about 2000 years of seconds; a later deadline waits in
+ * the farthest bucket and is placed again when it is cascaded. Not thread-safe.
+ */
+public final class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 6;
+
+    private final Timer<T>[] buckets;
+    private long now;
+    private int size;
+
+    /**
+     * @param now tick the clock starts at
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long now) {
+        this.now = now;
+        this.buckets = (Timer<T>[]) new Timer<?>[LEVELS * SLOTS];
+        for (int i = 0; i < buckets.length; i++) {
+            Timer<T> head = new Timer<>(0, null);
+            head.prev = head;
+            head.next = head;
+            buckets[i] = head;
+        }
+    }
+
+    /**
+     * A scheduled value; kept to cancel it
+     */
+    public static final class Timer<T> {
+
+        private final long deadline;
+        private final T value;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        private Timer(long deadline, T value) {
+            this.deadline = deadline;
+            this.value = value;
+        }
+
+        public long deadline() {
+            return deadline;
+        }
+
+        public T value() {
+            return value;
+        }
+
+        /**
+         * @return false once the timer has fired or been cancelled
+         */
+        public boolean isPending() {
+            return next != null;
+        }
+    }
+
+    /**
+     * @return the tick the clock is at
+     */
+    public long now() {
+        return now;
+    }
+
+    /**
+     * @return number of pending timers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedule a value; a deadline that has passed fires on the next tick
+     */
+    public Timer<T> schedule(long deadline, T value) {
+        Timer<T> timer = new Timer<>(deadline, value);
+        if (deadline <= now) {
+            // The bucket of this tick has been fired already
+            link(bucket(0, now + 1), timer);
+        } else {
+            place(timer);
+        }
+        size++;
+        return timer;
+    }
+
+    /**
+     * Cancel a timer; cancelling one that has fired or was cancelled is not an error
+     * @return whether the timer was pending
+     */
+    public boolean cancel(Timer<T> timer) {
+        if (!timer.isPending()) {
+            return false;
+        }
+        unlink(timer);
+        size--;
+        return true;
+    }
+
+    /**
+     * Move the clock forward, firing every timer whose deadline is reached
+     * @param to tick to move to; a tick the clock has passed is ignored
+     * @return values of the fired timers, in order of their tick
+     */
+    public List<T> advance(long to) {
+        List<T> fired = new ArrayList<>();
+        while (now < to) {
+            if (size == 0) {
+                now = to;
+                break;
+            }
+            now++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                int shift = level * SLOT_BITS;
+                if ((now & ((1L << shift) - 1)) == 0) {
+                    cascade(bucket(level, now >>> shift));
+                }
+            }
+            Timer<T> head = bucket(0, now);
+            while (head.next != head) {
+                Timer<T> timer = head.next;
+                unlink(timer);
+                size--;
+                fired.add(timer.value);
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Links a timer due now or later; one due now lands in the bucket about to fire
+     */
+    private void place(Timer<T> timer) {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * SLOT_BITS;
+            if ((timer.deadline >>> shift) - (now >>> shift) < SLOTS) {
+                link(bucket(level, timer.deadline >>> shift), timer);
+                return;
+            }
+        }
+        int top = (LEVELS - 1) * SLOT_BITS;
+        link(bucket(LEVELS - 1, (now >>> top) + SLOTS - 1), timer);
+    }
+
+    private void cascade(Timer<T> head) {
+        while (head.next != head) {
+            Timer<T> timer = head.next;
+            unlink(timer);
+            place(timer);
+        }
+    }
+
+    private Timer<T> bucket(int level, long index) {
+        return buckets[level * SLOTS + (int) (index & (SLOTS - 1))];
+    }
+
+    private static <T> void link(Timer<T> head, Timer<T> timer) {
+        timer.prev = head.prev;
+        timer.next = head;
+        head.prev.next = timer;
+        head.prev = timer;
+    }
+
+    private static <T> void unlink(Timer<T> timer) {
+        timer.prev.next = timer.next;
+        timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+    }
+}
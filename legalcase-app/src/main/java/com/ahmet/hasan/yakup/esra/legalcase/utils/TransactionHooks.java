@@ -0,0 +1,55 @@
+package com.ahmet.hasan.yakup.esra.legalcase.utils;
+
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects outside the database (content files, in-memory search indexes)
+ * until the surrounding transaction has ended, so they never reflect a rolled back write,
+ * and rolls back the writes of a service method that reports a failure instead of throwing.
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * Runs the action once the surrounding transaction commits
+     */
+    public static void afterCommit(Runnable action) {
+        onCompletion(TransactionSynchronization.STATUS_COMMITTED, action);
+    }
+
+    /**
+     * Runs the action once the surrounding transaction ends with the given status;
+     * without a transaction a commit action runs right away and a rollback action never.
+     */
+    public static void onCompletion(int runOnStatus, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (runOnStatus == TransactionSynchronization.STATUS_COMMITTED) {
+                action.run();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == runOnStatus) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Marks the surrounding @Transactional method's transaction for rollback, for a write
+     * that failed but is answered with an error response rather than an exception;
+     * without a transaction there is nothing to roll back.
+     */
+    public static void setRollbackOnly() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package db.migration;
+
+import com.ahmet.hasan.yakup.esra.legalcase.utils.SearchTextAnalyzer;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+
+/**
+ * Fills hearings.judge_key and location_key (see V12__hearing_name_keys.sql) for the hearings
+ * written before the columns existed. The keys are made by SearchTextAnalyzer, which SQL
+ * cannot do, so this migration is in Java: it reads the hearings in pages by id and updates
+ * each page in one JDBC batch.
+ */
+public class V13__Fill_hearing_name_keys extends BaseJavaMigration {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final String PAGE_SQL = "select id, hearing_date, judge, location from hearings "
+            + "where id > ? order by id limit " + PAGE_SIZE;
+    // With the date, so only the hearing's partition is read
+    private static final String UPDATE_SQL = "update hearings set judge_key = ?, location_key = ? "
+            + "where id = ? and hearing_date = ?";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (PreparedStatement page = connection.prepareStatement(PAGE_SQL);
+             PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+            long afterId = 0;
+            int read;
+            do {
+                read = 0;
+                page.setLong(1, afterId);
+                try (ResultSet rows = page.executeQuery()) {
+                    while (rows.next()) {
+                        afterId = rows.getLong("id");
+                        Timestamp hearingDate = rows.getTimestamp("hearing_date");
+                        update.setString(1, SearchTextAnalyzer.nameKey(rows.getString("judge")));
+                        update.setString(2, SearchTextAnalyzer.nameKey(rows.getString("location")));
+                        update.setLong(3, afterId);
+                        update.setTimestamp(4, hearingDate);
+                        update.addBatch();
+                        read++;
+                    }
+                }
+                if (read > 0) {
+                    update.executeBatch();
+                }
+            } while (read == PAGE_SIZE);
+        }
+    }
+}
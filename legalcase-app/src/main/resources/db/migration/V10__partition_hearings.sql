@@ -0,0 +1,39 @@
+-- Hearings split by year of hearing_date, so the date range queries and purges only read the
+-- partitions of their years, and the partitions of past years are no longer written to. A
+-- lookup by id alone (the keyset pages, updates) probes each partition's primary key, which
+-- is why the partitions are years and not months.
+--
+-- MySQL does not partition a table with foreign keys: hearings go with their case through
+-- the cascade of Case.hearings, as the history in hearing_events does. Every unique key must
+-- hold the partition column, so the primary key becomes (id, hearing_date); ids stay unique
+-- as they come from id_sequences (see PooledIdGenerator).
+--
+-- Years before 2011 share p_history. p_future catches the dates past the last year and is
+-- split into new years ahead of time by HearingPartitionMaintainer.
+alter table hearings drop foreign key FKilagi1c60si506nynt17owngp;
+
+alter table hearings
+    drop primary key,
+    add primary key (id, hearing_date)
+    partition by range columns (hearing_date) (
+        partition p_history values less than ('2011-01-01'),
+        partition p2011 values less than ('2012-01-01'),
+        partition p2012 values less than ('2013-01-01'),
+        partition p2013 values less than ('2014-01-01'),
+        partition p2014 values less than ('2015-01-01'),
+        partition p2015 values less than ('2016-01-01'),
+        partition p2016 values less than ('2017-01-01'),
+        partition p2017 values less than ('2018-01-01'),
+        partition p2018 values less than ('2019-01-01'),
+        partition p2019 values less than ('2020-01-01'),
+        partition p2020 values less than ('2021-01-01'),
+        partition p2021 values less than ('2022-01-01'),
+        partition p2022 values less than ('2023-01-01'),
+        partition p2023 values less than ('2024-01-01'),
+        partition p2024 values less than ('2025-01-01'),
+        partition p2025 values less than ('2026-01-01'),
+        partition p2026 values less than ('2027-01-01'),
+        partition p2027 values less than ('2028-01-01'),
+        partition p2028 values less than ('2029-01-01'),
+        partition p_future values less than (maxvalue)
+    );
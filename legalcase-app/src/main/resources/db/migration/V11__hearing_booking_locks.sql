@@ -0,0 +1,10 @@
+-- One row per judge and per courtroom that has been booked, locked by the transaction booking a
+-- hearing for it until that transaction ends (see HearingBookingLocks), so two bookings of the
+-- same judge or courtroom are checked for double booking one after the other, on every node.
+-- Rows are only ever added; the names are the search terms of the judge or courtroom (see
+-- SearchTextAnalyzer), so names the double booking check treats as equal share a row.
+create table hearing_booking_locks (
+    resource varchar(16) not null,
+    name_key varchar(255) not null,
+    primary key (resource, name_key)
+) engine=InnoDB;
@@ -0,0 +1,12 @@
+-- The judge and location of a hearing as the double booking check compares them (see
+-- SearchTextAnalyzer.nameKey): the terms of the name, folded the Turkish way, joined by single
+-- spaces. Set by Hearing with the names; the fallback of the check queries them through these
+-- indexes, so it treats "Hakim  ŞAHİN." and "hakim sahin" alike, as the schedule index and the
+-- booking locks do. Filled for the existing hearings by V13, as SQL cannot fold the names.
+alter table hearings add column (
+    judge_key varchar(255),
+    location_key varchar(255)
+);
+
+create index idx_hearings_judge_key on hearings (judge_key, hearing_date);
+create index idx_hearings_location_key on hearings (location_key, hearing_date);
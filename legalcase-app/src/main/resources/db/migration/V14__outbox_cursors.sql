@@ -0,0 +1,12 @@
+-- Where each node has got to in the outbox (see OutboxRelay). Every node hands every change to
+-- its own subscribers, so the rows are no longer deleted once handled: a node keeps the id up
+-- to which it has handled every change in its row here, and starts after it on the next start.
+-- The rows of the outbox are deleted by age instead, hence the index on created_at.
+create table outbox_cursors (
+    node varchar(255) not null,
+    last_id bigint not null,
+    updated_at datetime(6) not null,
+    primary key (node)
+) engine=InnoDB;
+
+create index idx_outbox_events_created_at on outbox_events (created_at);
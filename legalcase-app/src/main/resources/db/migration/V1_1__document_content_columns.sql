@@ -0,0 +1,10 @@
+-- Where the body of a document is kept in the content store (see FileSystemDocumentContentStore), with
+-- its length, SHA-256 and media type. Bodies written before the store existed stay in
+-- documents.content until LegacyDocumentContentMigrator has moved them, and the migrator
+-- drops that column once it is empty.
+alter table documents add column (
+    content_ref varchar(32),
+    content_size bigint,
+    content_hash varchar(64),
+    content_type varchar(127)
+);
@@ -0,0 +1,101 @@
+-- Schema as generated by Hibernate while ddl-auto was update. Databases created that way
+-- are baselined at this version (spring.flyway.baseline-on-migrate) and skip this script,
+-- so the generated constraint names are kept to make both kinds of database identical.
+
+create table case_client (
+    case_id bigint not null,
+    client_id bigint not null
+) engine=InnoDB;
+
+create table cases (
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    description varchar(1000),
+    case_number varchar(255),
+    title varchar(255) not null,
+    status enum ('NEW','ACTIVE','PENDING','CLOSED','ARCHIVED') not null,
+    type enum ('CIVIL','CRIMINAL','FAMILY','CORPORATE','OTHER') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table clients (
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    email varchar(255),
+    name varchar(255) not null,
+    surname varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table documents (
+    case_id bigint,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    title varchar(255) not null,
+    content TEXT,
+    type enum ('CONTRACT','EVIDENCE','PETITION','COURT_ORDER','OTHER') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table hearings (
+    case_id bigint not null,
+    created_at datetime(6) not null,
+    hearing_date datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    notes varchar(1000),
+    judge varchar(255) not null,
+    location varchar(255),
+    status enum ('SCHEDULED','COMPLETED','POSTPONED','CANCELLED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    enabled bit not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    email varchar(255) not null,
+    keycloak_id varchar(255),
+    name varchar(255) not null,
+    password varchar(255) not null,
+    surname varchar(255) not null,
+    username varchar(255) not null,
+    role enum ('ADMIN','LAWYER','ASSISTANT','JUDGE','CLIENT') not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table cases
+    add constraint UK_d2x5t06l1d3krie16abr38r0y unique (case_number);
+
+alter table clients
+    add constraint UK_srv16ica2c1csub334bxjjb59 unique (email);
+
+alter table users
+    add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table users
+    add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table case_client
+    add constraint FK931epecrqfnrcftl3wwxo0x0y
+    foreign key (client_id)
+    references clients (id);
+
+alter table case_client
+    add constraint FK7085oobpqcon66cdxkho9t3qb
+    foreign key (case_id)
+    references cases (id);
+
+alter table documents
+    add constraint FKg5da0gvm8l4a5ryls4rq63mw5
+    foreign key (case_id)
+    references cases (id);
+
+alter table hearings
+    add constraint FKilagi1c60si506nynt17owngp
+    foreign key (case_id)
+    references cases (id);
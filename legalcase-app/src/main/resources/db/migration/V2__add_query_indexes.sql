@@ -0,0 +1,20 @@
+-- Indexes for the filters and joins the repositories run. Every secondary index also holds
+-- the primary key, so the keyset queries (... and id > ? order by id) are served in order
+-- without an extra column. An index on a foreign key column replaces the one MySQL created
+-- implicitly for the constraint.
+
+-- Upcoming hearings and date range filters, and the status filter
+create index idx_hearings_date_status on hearings (hearing_date, status);
+create index idx_hearings_case_id on hearings (case_id);
+
+create index idx_documents_case_id on documents (case_id);
+create index idx_documents_type on documents (type);
+
+create index idx_cases_status on cases (status);
+create index idx_cases_type on cases (type);
+
+-- Local user lookup by Keycloak id
+create index idx_users_keycloak_id on users (keycloak_id);
+
+-- Cases of a client; lookups by case use the case_id foreign key index
+create index idx_case_client_client_id on case_client (client_id);
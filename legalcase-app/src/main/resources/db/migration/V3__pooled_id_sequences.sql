@@ -0,0 +1,15 @@
+-- Id blocks for PooledIdGenerator: one row per entity table holding the last id reserved by a
+-- block. The application assigns ids itself from now on; the auto_increment attributes stay
+-- on the id columns but are no longer used.
+create table id_sequences (
+    next_val bigint,
+    sequence_name varchar(255) not null,
+    primary key (sequence_name)
+) engine=InnoDB;
+
+-- Continue after the ids already assigned by auto_increment
+insert into id_sequences (sequence_name, next_val) select 'cases', coalesce(max(id), 0) from cases;
+insert into id_sequences (sequence_name, next_val) select 'clients', coalesce(max(id), 0) from clients;
+insert into id_sequences (sequence_name, next_val) select 'documents', coalesce(max(id), 0) from documents;
+insert into id_sequences (sequence_name, next_val) select 'hearings', coalesce(max(id), 0) from hearings;
+insert into id_sequences (sequence_name, next_val) select 'users', coalesce(max(id), 0) from users;
@@ -0,0 +1,8 @@
+-- Row versions for optimistic locking (see BaseEntity). Hibernate makes every update
+-- conditional on the version the row was read at, so a write based on a stale read
+-- changes nothing instead of overwriting the newer one. Existing rows start at 0.
+alter table cases add column version bigint not null default 0;
+alter table clients add column version bigint not null default 0;
+alter table documents add column version bigint not null default 0;
+alter table hearings add column version bigint not null default 0;
+alter table users add column version bigint not null default 0;
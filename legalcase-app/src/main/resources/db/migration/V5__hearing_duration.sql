@@ -0,0 +1,3 @@
+-- Length of a hearing, so a booking is a time interval that the double booking check
+-- (see HearingScheduleIndex) can compare. Existing hearings get the default slot of an hour.
+alter table hearings add column duration_minutes int not null default 60;
@@ -0,0 +1,15 @@
+-- Changes to cases, hearings and documents, written in the transaction that makes them (see
+-- Outbox) and handed to the in-process subscribers by OutboxRelay once committed. A row is
+-- deleted when every subscriber has handled it. The id is assigned on insert, so the changes
+-- of an aggregate are numbered in the order they were made.
+create table outbox_events (
+    id bigint not null auto_increment,
+    aggregate_type varchar(16) not null,
+    aggregate_id bigint not null,
+    action varchar(16) not null,
+    case_id bigint,
+    judge varchar(255),
+    status varchar(32),
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
@@ -0,0 +1,15 @@
+-- History of the hearings: one short row per reschedule, status change or change of judge or
+-- location (see HearingEvent), instead of notes appended to hearings.notes on each reschedule.
+-- Rows are only inserted and outlive their hearing, so no foreign key. The reschedule notes
+-- already written into hearings.notes are left as they are.
+create table hearing_events (
+    id bigint not null auto_increment,
+    hearing_id bigint not null,
+    type varchar(16) not null,
+    old_value varchar(255),
+    new_value varchar(255),
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_hearing_events_hearing on hearing_events (hearing_id, id);
@@ -0,0 +1,18 @@
+-- Audit journal: one row per committed change to a case, client, hearing, document or user,
+-- with the fields that changed as a JSON array (see AuditEntry). Written in batches by
+-- AuditJournal, behind the requests, and read per entity.
+create table audit_entries (
+    id bigint not null,
+    entity_type varchar(16) not null,
+    entity_id bigint not null,
+    action varchar(16) not null,
+    actor varchar(255) not null,
+    changes json not null,
+    changed_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_audit_entries_entity on audit_entries (entity_type, entity_id, id);
+
+-- Ids come in blocks, as for the other pooled tables (see V3)
+insert into id_sequences (sequence_name, next_val) values ('audit_entries', 0);
@@ -0,0 +1,15 @@
+-- Cold tier of the cases: a row per archived case, holding the case with its hearings,
+-- documents and client ids as gzip-compressed JSON (see ArchivedCase), so the rows of closed
+-- work leave the live tables and their indexes. Case ids and numbers stay unique across both
+-- tiers; the lookups by either fall through to this table.
+create table archived_cases (
+    id bigint not null,
+    case_number varchar(255),
+    status varchar(16) not null,
+    archived_at datetime(6) not null,
+    payload longblob not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table archived_cases
+    add constraint uk_archived_cases_case_number unique (case_number);
@@ -0,0 +1,63 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.api.AuditController;
+import com.ahmet.hasan.yakup.esra.legalcase.model.AuditEntry;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.AuditedEntity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.FieldChange;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IAuditJournal;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for AuditController using Mockito
+ */
+@ExtendWith(MockitoExtension.class)
+public class AuditControllerTest {
+
+    @Mock
+    private IAuditJournal auditJournal;
+
+    @InjectMocks
+    private AuditController auditController;
+
+    @Test
+    public void testGetEntries_Success() {
+        // Arrange
+        AuditEntry entry = new AuditEntry(AuditedEntity.CLIENT, 1L, Action.UPDATED, "assistant",
+                List.of(new FieldChange("email", "old@example.com", "new@example.com")));
+        when(auditJournal.getEntries(AuditedEntity.CLIENT, 1L, null, 20)).thenReturn(ApiResponse.success(List.of(entry)));
+
+        // Act
+        ResponseEntity<ApiResponse<List<AuditEntry>>> response = auditController.getEntries(AuditedEntity.CLIENT, 1L, null, 20);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(entry), response.getBody().getData());
+    }
+
+    @Test
+    public void testGetEntries_InvalidCursor() {
+        // Arrange
+        when(auditJournal.getEntries(AuditedEntity.CASE, 1L, "bad", null))
+                .thenReturn(ApiResponse.error("Invalid cursor: bad", HttpStatus.BAD_REQUEST.value()));
+
+        // Act
+        ResponseEntity<ApiResponse<List<AuditEntry>>> response = auditController.getEntries(AuditedEntity.CASE, 1L, "bad", null);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertFalse(response.getBody().isSuccess());
+    }
+}
@@ -0,0 +1,189 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.AuditEntry;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
+import com.ahmet.hasan.yakup.esra.legalcase.model.User;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.AuditedEntity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.FieldChange;
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.AuditEntityListener;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IAuditJournal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuditEntityListenerTest {
+
+    @Mock
+    private IAuditJournal journal;
+
+    @Mock
+    private EventSource session;
+
+    @Mock
+    private ActionQueue actionQueue;
+
+    @Mock
+    private Type scalar;
+
+    @Mock
+    private Type collection;
+
+    private AuditEntityListener listener;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        listener = new AuditEntityListener(mock(EntityManagerFactory.class), journal);
+        when(session.getActionQueue()).thenReturn(actionQueue);
+        when(collection.isCollectionType()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private EntityPersister persister(Class<?> entityClass, String... names) {
+        EntityPersister persister = mock(EntityPersister.class);
+        Type[] types = new Type[names.length];
+        for (int i = 0; i < names.length; i++) {
+            types[i] = names[i].equals("clients") ? collection : scalar;
+        }
+        doReturn(entityClass).when(persister).getMappedClass();
+        when(persister.getPropertyNames()).thenReturn(names);
+        when(persister.getPropertyTypes()).thenReturn(types);
+        return persister;
+    }
+
+    /**
+     * Completes the session's transaction and returns what reached the journal
+     */
+    private List<AuditEntry> complete(boolean success) {
+        ArgumentCaptor<AfterTransactionCompletionProcess> processes =
+                ArgumentCaptor.forClass(AfterTransactionCompletionProcess.class);
+        verify(actionQueue, atLeast(0)).registerProcess(processes.capture());
+        processes.getAllValues().forEach(process -> process.doAfterTransactionCompletion(success, null));
+        ArgumentCaptor<AuditEntry> entries = ArgumentCaptor.forClass(AuditEntry.class);
+        verify(journal, atLeast(0)).record(entries.capture());
+        return entries.getAllValues();
+    }
+
+    @Test
+    void diff_ComparesOnlyTheDirtyFieldsAndSkipsBookkeeping() {
+        // Arrange
+        EntityPersister persister = persister(Case.class, "title", "status", "version", "updatedAt", "clients");
+        LocalDateTime before = LocalDateTime.now();
+        Object[] oldState = {"Title", CaseStatus.ACTIVE, 1L, before, List.of()};
+        Object[] state = {"Title", CaseStatus.CLOSED, 2L, before.plusSeconds(1), List.of()};
+
+        // Act
+        List<FieldChange> changes = AuditEntityListener.diff(persister, oldState, state, new int[]{0, 1, 2, 3, 4});
+
+        // Assert
+        assertEquals(List.of(new FieldChange("status", "ACTIVE", "CLOSED")), changes);
+    }
+
+    @Test
+    void diff_ReferencedEntityIsRecordedByIdAndPasswordIsHidden() {
+        // Arrange
+        EntityPersister persister = persister(User.class, "assignedUser", "password");
+        User lawyer = new User();
+        lawyer.setId(7L);
+
+        // Act
+        List<FieldChange> changes = AuditEntityListener.diff(persister, null, new Object[]{lawyer, "secret"}, null);
+
+        // Assert
+        assertEquals(List.of(new FieldChange("assignedUser", null, "7"), new FieldChange("password", null, "***")),
+                changes);
+    }
+
+    @Test
+    void onPostUpdate_RecordsTheChangeWithTheUserOnceCommitted() {
+        // Arrange
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("lawyer1", null, List.of()));
+        EntityPersister persister = persister(Case.class, "title", "status");
+        PostUpdateEvent event = new PostUpdateEvent(new Case(), 5L, new Object[]{"New", CaseStatus.ACTIVE},
+                new Object[]{"Old", CaseStatus.ACTIVE}, new int[]{0}, persister, session);
+
+        // Act
+        listener.onPostUpdate(event);
+
+        // Assert
+        verifyNoInteractions(journal);
+        List<AuditEntry> recorded = complete(true);
+        assertEquals(1, recorded.size());
+        AuditEntry entry = recorded.get(0);
+        assertEquals(AuditedEntity.CASE, entry.getEntityType());
+        assertEquals(5L, entry.getEntityId());
+        assertEquals(Action.UPDATED, entry.getAction());
+        assertEquals("lawyer1", entry.getActor());
+        assertEquals(List.of(new FieldChange("title", "Old", "New")), entry.getChanges());
+    }
+
+    @Test
+    void onPostUpdate_VersionBumpOnly_RecordsNothing() {
+        // Arrange
+        EntityPersister persister = persister(Case.class, "title", "version");
+        PostUpdateEvent event = new PostUpdateEvent(new Case(), 5L, new Object[]{"Title", 2L},
+                new Object[]{"Title", 1L}, new int[]{1}, persister, session);
+
+        // Act
+        listener.onPostUpdate(event);
+
+        // Assert
+        verifyNoInteractions(actionQueue);
+    }
+
+    @Test
+    void onPostDelete_RolledBack_RecordsNothing() {
+        // Arrange
+        EntityPersister persister = persister(Case.class, "title");
+        PostDeleteEvent event = new PostDeleteEvent(new Case(), 5L, new Object[]{"Title"}, persister, session);
+
+        // Act
+        listener.onPostDelete(event);
+
+        // Assert
+        assertTrue(complete(false).isEmpty());
+    }
+
+    @Test
+    void onPostDelete_WithoutAUser_RecordsTheSystemAsActor() {
+        // Arrange
+        EntityPersister persister = persister(Case.class, "title");
+        PostDeleteEvent event = new PostDeleteEvent(new Case(), 5L, new Object[]{"Title"}, persister, session);
+
+        // Act
+        listener.onPostDelete(event);
+
+        // Assert
+        List<AuditEntry> recorded = complete(true);
+        assertEquals(1, recorded.size());
+        assertEquals(Action.DELETED, recorded.get(0).getAction());
+        assertEquals("system", recorded.get(0).getActor());
+        assertEquals(List.of(new FieldChange("title", "Title", null)), recorded.get(0).getChanges());
+    }
+}
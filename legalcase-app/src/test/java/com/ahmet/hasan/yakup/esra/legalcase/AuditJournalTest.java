@@ -0,0 +1,174 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.AuditEntry;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.AuditedEntity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.FieldChange;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.AuditEntryRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.AuditJournal;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.CursorPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuditJournalTest {
+
+    @Mock
+    private AuditEntryRepository auditEntryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuditJournal journal;
+
+    // Sizes of the batches saved, as the batch list is reused; the writer thread adds to it
+    private final List<Integer> saved = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        journal = new AuditJournal(auditEntryRepository, transactionManager, 16, 3, "1s");
+        when(auditEntryRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<AuditEntry> batch = invocation.getArgument(0);
+            saved.add(batch.size());
+            return batch;
+        });
+    }
+
+    private static AuditEntry entry(long entityId) {
+        return new AuditEntry(AuditedEntity.CASE, entityId, Action.UPDATED, "lawyer",
+                List.of(new FieldChange("status", "ACTIVE", "CLOSED")));
+    }
+
+    @Test
+    void flush_WritesTheQueuedEntriesABatchPerTransaction() {
+        // Arrange
+        for (long i = 1; i <= 7; i++) {
+            journal.record(entry(i));
+        }
+        assertEquals(7, journal.pending());
+
+        // Act
+        int written = journal.flush();
+
+        // Assert
+        assertEquals(7, written);
+        assertEquals(List.of(3, 3, 1), saved);
+        verify(transactionManager, times(3)).commit(any());
+        assertEquals(0, journal.pending());
+        assertEquals(0, journal.flush());
+    }
+
+    @Test
+    void flush_WriteFails_KeepsTheBatchForTheNextFlush() {
+        // Arrange
+        journal.record(entry(1L));
+        journal.record(entry(2L));
+        List<AuditEntry> attempted = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<AuditEntry> batch = invocation.getArgument(0);
+            attempted.addAll(batch);
+            batch.forEach(entry -> entry.setId(100L + entry.getEntityId()));
+            throw new RuntimeException("Database error");
+        }).doAnswer(invocation -> {
+            List<AuditEntry> batch = invocation.getArgument(0);
+            saved.add(batch.size());
+            return batch;
+        }).when(auditEntryRepository).saveAll(anyList());
+
+        // Act / Assert
+        assertThrows(RuntimeException.class, () -> journal.flush());
+        verify(transactionManager).rollback(any());
+        assertTrue(attempted.stream().allMatch(entry -> entry.getId() == null));
+
+        assertEquals(2, journal.flush());
+        assertEquals(List.of(2), saved);
+    }
+
+    @Test
+    void startOnStartup_WriterFlushesAFullBatchWithoutWaitingForTheInterval() throws InterruptedException {
+        // Arrange
+        AuditJournal slow = new AuditJournal(auditEntryRepository, transactionManager, 16, 3, "1h");
+        slow.startOnStartup();
+        try {
+            // Act
+            for (long i = 1; i <= 3; i++) {
+                slow.record(entry(i));
+            }
+
+            // Assert: the call is seen before its answer has run
+            verify(auditEntryRepository, timeout(5000)).saveAll(anyList());
+            for (int i = 0; i < 500 && saved.isEmpty(); i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(List.of(3), saved);
+        } finally {
+            slow.shutdown();
+        }
+    }
+
+    @Test
+    void shutdown_WritesTheEntriesStillQueued() {
+        // Arrange
+        journal.record(entry(1L));
+
+        // Act
+        journal.shutdown();
+
+        // Assert
+        assertEquals(List.of(1), saved);
+    }
+
+    @Test
+    void getEntries_ReturnsAPageAfterTheCursor() {
+        // Arrange
+        AuditEntry first = entry(1L);
+        first.setId(11L);
+        AuditEntry second = entry(1L);
+        second.setId(12L);
+        when(auditEntryRepository.findByEntityTypeAndEntityIdAndIdGreaterThanOrderByIdAsc(
+                AuditedEntity.CASE, 1L, 10L, Limit.of(2))).thenReturn(List.of(first, second));
+
+        // Act
+        ApiResponse<List<AuditEntry>> response = journal.getEntries(AuditedEntity.CASE, 1L, CursorPage.encode(10L), 1);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(List.of(first), response.getData());
+        assertEquals(CursorPage.encode(11L), response.getNextCursor());
+    }
+
+    @Test
+    void getEntries_InvalidRequest_ReturnsBadRequest() {
+        // Act
+        ApiResponse<List<AuditEntry>> missing = journal.getEntries(AuditedEntity.CASE, null, null, null);
+        ApiResponse<List<AuditEntry>> invalidCursor = journal.getEntries(AuditedEntity.CASE, 1L, "not-a-cursor", null);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST.value(), missing.getErrorCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), invalidCursor.getErrorCode());
+        verifyNoInteractions(auditEntryRepository);
+    }
+
+    @Test
+    void constructor_InvalidConfiguration_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AuditJournal(auditEntryRepository, transactionManager, 100, 3, "1s"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AuditJournal(auditEntryRepository, transactionManager, 16, 0, "1s"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AuditJournal(auditEntryRepository, transactionManager, 16, 3, "0s"));
+    }
+}
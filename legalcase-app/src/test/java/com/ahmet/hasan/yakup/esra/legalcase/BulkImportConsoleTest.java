@@ -0,0 +1,169 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.console.BulkImportConsole;
+import com.ahmet.hasan.yakup.esra.legalcase.console.ConsoleUtils;
+import com.ahmet.hasan.yakup.esra.legalcase.model.User;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService.ImportReport;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService.RowError;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService.Target;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Format;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class BulkImportConsoleTest {
+
+    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+
+    @TempDir
+    Path tempDir;
+
+    private IBulkImportService importService;
+    private Logger mockLogger;
+
+    @BeforeEach
+    public void setUp() {
+        System.setOut(new PrintStream(outContent));
+        importService = mock(IBulkImportService.class);
+        mockLogger = mock(Logger.class);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    /**
+     * Helper method to create a console with simulated input
+     */
+    private BulkImportConsole createConsoleWithInput(String input) {
+        Scanner scanner = new Scanner(new ByteArrayInputStream(input.getBytes()));
+        ConsoleUtils consoleUtils = mock(ConsoleUtils.class);
+        when(consoleUtils.getScanner()).thenReturn(scanner);
+        when(consoleUtils.getLogger()).thenReturn(mockLogger);
+        doNothing().when(consoleUtils).waitForEnter();
+        return new BulkImportConsole(importService, consoleUtils);
+    }
+
+    @Test
+    public void testImportFile_Csv() throws IOException {
+        // Setup input file and mock response
+        Path file = Files.writeString(tempDir.resolve("clients.csv"), "name,surname\nAli,Yılmaz\n");
+        BulkImportConsole console = createConsoleWithInput(file + "\n");
+        when(importService.importRecords(eq(Target.CLIENTS), eq(Format.CSV), any(InputStream.class)))
+                .thenReturn(ApiResponse.success(new ImportReport(Target.CLIENTS, 2, 1, 1,
+                        List.of(new RowError(3, "surname is required")))));
+
+        // Execute method
+        console.importFile(Target.CLIENTS);
+
+        // Verify service call and output
+        verify(importService).importRecords(eq(Target.CLIENTS), eq(Format.CSV), any(InputStream.class));
+        String output = outContent.toString();
+        assertTrue(output.contains("Imported: 1"));
+        assertTrue(output.contains("Line 3: surname is required"));
+    }
+
+    @Test
+    public void testImportFile_UnknownExtensionAsksForFormat() throws IOException {
+        // Setup input file and mock response
+        Path file = Files.writeString(tempDir.resolve("cases.txt"), "{}\n");
+        BulkImportConsole console = createConsoleWithInput(file + "\n1\n");
+        when(importService.importRecords(eq(Target.CASES), eq(Format.NDJSON), any(InputStream.class)))
+                .thenReturn(ApiResponse.success(new ImportReport(Target.CASES, 1, 1, 0, List.of())));
+
+        // Execute method
+        console.importFile(Target.CASES);
+
+        // Verify service call
+        verify(importService).importRecords(eq(Target.CASES), eq(Format.NDJSON), any(InputStream.class));
+        assertTrue(outContent.toString().contains("Format (1. NDJSON, 2. CSV)"));
+    }
+
+    @Test
+    public void testImportFile_ManyErrorsAreCounted() throws IOException {
+        // Setup input file and mock response with more errors than are printed
+        Path file = Files.writeString(tempDir.resolve("hearings.ndjson"), "{}\n");
+        BulkImportConsole console = createConsoleWithInput(file + "\n");
+        List<RowError> errors = new ArrayList<>();
+        for (int line = 1; line <= 25; line++) {
+            errors.add(new RowError(line, "judge is required"));
+        }
+        when(importService.importRecords(eq(Target.HEARINGS), eq(Format.NDJSON), any(InputStream.class)))
+                .thenReturn(ApiResponse.success(new ImportReport(Target.HEARINGS, 25, 0, 25, errors)));
+
+        // Execute method
+        console.importFile(Target.HEARINGS);
+
+        // Check output
+        String output = outContent.toString();
+        assertTrue(output.contains("Line 20: judge is required"));
+        assertFalse(output.contains("Line 21: judge is required"));
+        assertTrue(output.contains("... and 5 more"));
+    }
+
+    @Test
+    public void testImportFile_Error() throws IOException {
+        // Setup input file and mock error response
+        Path file = Files.writeString(tempDir.resolve("documents.jsonl"), "{}\n");
+        BulkImportConsole console = createConsoleWithInput(file + "\n");
+        when(importService.importRecords(eq(Target.DOCUMENTS), eq(Format.NDJSON), any(InputStream.class)))
+                .thenReturn(ApiResponse.error("Import stopped after 0 rows", 400));
+
+        // Execute method
+        console.importFile(Target.DOCUMENTS);
+
+        // Check output
+        assertTrue(outContent.toString().contains("Import failed: Import stopped after 0 rows"));
+    }
+
+    @Test
+    public void testImportFile_FileNotFound() {
+        // Setup input
+        BulkImportConsole console = createConsoleWithInput(tempDir.resolve("missing.csv") + "\n");
+
+        // Execute method
+        console.importFile(Target.CLIENTS);
+
+        // Verify no service call
+        verifyNoInteractions(importService);
+        assertTrue(outContent.toString().contains("File not found"));
+    }
+
+    @Test
+    public void testShowMenu() throws IOException {
+        // Setup input: import clients, then return
+        Path file = Files.writeString(tempDir.resolve("clients.csv"), "name,surname\n");
+        BulkImportConsole console = createConsoleWithInput("1\n" + file + "\n5\n");
+        when(importService.importRecords(eq(Target.CLIENTS), eq(Format.CSV), any(InputStream.class)))
+                .thenReturn(ApiResponse.success(new ImportReport(Target.CLIENTS, 0, 0, 0, List.of())));
+
+        // Execute method
+        console.showMenu(new User());
+
+        // Verify service call and menu output
+        verify(importService).importRecords(eq(Target.CLIENTS), eq(Format.CSV), any(InputStream.class));
+        assertTrue(outContent.toString().contains("Bulk Import"));
+    }
+}
@@ -0,0 +1,333 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.BaseEntity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Client;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Document;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.KeyedId;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.ClientRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.DocumentRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.BulkImportService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService.ImportReport;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService.RowError;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService.Target;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingReminderScheduler;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IOutbox;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex.Field;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IUpcomingHearingIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Format;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class BulkImportServiceTest {
+
+    @Mock
+    private CaseRepository caseRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private HearingRepository hearingRepository;
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private ITrigramSearchIndex trigramIndex;
+
+    @Mock
+    private IDocumentSearchIndex documentSearchIndex;
+
+    @Mock
+    private IHearingScheduleIndex scheduleIndex;
+
+    @Mock
+    private IUpcomingHearingIndex upcomingIndex;
+
+    @Mock
+    private IHearingReminderScheduler reminderScheduler;
+
+    @Mock
+    private IOutbox outbox;
+
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong ids = new AtomicLong(100);
+
+    private BulkImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        transactionManager = spy(new NoOpTransactionManager());
+        importService = newService(500);
+
+        // Saving gives the entity an id, as the database would
+        when(clientRepository.save(any(Client.class))).thenAnswer(invocation -> withId(invocation.getArgument(0)));
+        when(caseRepository.save(any(Case.class))).thenAnswer(invocation -> withId(invocation.getArgument(0)));
+        when(hearingRepository.save(any(Hearing.class))).thenAnswer(invocation -> withId(invocation.getArgument(0)));
+        when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> withId(invocation.getArgument(0)));
+        when(caseRepository.getReferenceById(anyLong())).thenAnswer(invocation -> new Case(invocation.getArgument(0), null, null, null));
+        when(clientRepository.getReferenceById(anyLong())).thenAnswer(invocation -> {
+            Client client = new Client();
+            client.setId(invocation.getArgument(0));
+            return client;
+        });
+        when(caseRepository.findIdsByCaseNumberIn(anyCollection())).thenReturn(List.of());
+        when(clientRepository.findIdsByEmailIn(anyCollection())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    /**
+     * Runs transaction synchronization like a real manager, so after-commit work only runs on commit
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    private BulkImportService newService(int chunkSize) {
+        return new BulkImportService(caseRepository, clientRepository, hearingRepository, documentRepository,
+                trigramIndex, documentSearchIndex, scheduleIndex, upcomingIndex, reminderScheduler, outbox,
+                transactionManager, new ObjectMapper(), chunkSize, 2);
+    }
+
+    private <T extends BaseEntity> T withId(T entity) {
+        entity.setId(ids.incrementAndGet());
+        return entity;
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importClients_Csv_StoresValidRowsAndReportsTheRest() {
+        // Arrange
+        when(clientRepository.findIdsByEmailIn(anyCollection()))
+                .thenReturn(List.of(new KeyedId("taken@x.com", 7L)));
+
+        // Act
+        ApiResponse<ImportReport> response = importService.importRecords(Target.CLIENTS, Format.CSV, input(
+                "name,surname,email\n"
+                        + "Ali,Yılmaz,ali@x.com\n"
+                        + "Ayşe,,ayse@x.com\n"
+                        + "Mehmet,Kaya,ALI@x.com\n"
+                        + "Zeynep,Demir,Taken@x.com\n"
+                        + "Can,Öztürk,\n"));
+
+        // Assert
+        assertTrue(response.isSuccess());
+        ImportReport report = response.getData();
+        assertEquals(5, report.rows());
+        assertEquals(2, report.imported());
+        assertEquals(3, report.failed());
+        assertEquals(List.of(
+                new RowError(3, "surname is required"),
+                new RowError(4, "Email address 'ALI@x.com' is already in use"),
+                new RowError(5, "Email address 'Taken@x.com' is already in use")), report.errors());
+        verify(clientRepository, times(2)).save(any(Client.class));
+        verify(trigramIndex).index(eq(Field.CLIENT_NAME), anyLong(), eq("Ali"), eq("Yılmaz"));
+        verify(trigramIndex).index(eq(Field.CLIENT_NAME), anyLong(), eq("Can"), eq("Öztürk"));
+        // One commit for the one chunk
+        verify(transactionManager, times(1)).commit(any());
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void importCases_Ndjson_LinksExistingClients() {
+        // Arrange
+        when(clientRepository.findIdsByEmailIn(anyCollection()))
+                .thenReturn(List.of(new KeyedId("a@x.com", 1L), new KeyedId("b@x.com", 2L)));
+
+        // Act
+        ApiResponse<ImportReport> response = importService.importRecords(Target.CASES, Format.NDJSON, input(
+                "{\"caseNumber\":\"K-1\",\"title\":\"Kira\",\"type\":\"civil\",\"clientEmails\":[\"A@x.com\",\"b@x.com\"]}\n"
+                        + "{\"caseNumber\":\"K-2\",\"title\":\"Tapu\",\"type\":\"CIVIL\",\"status\":\"CLOSED\",\"clientEmails\":\"nobody@x.com\"}\n"
+                        + "{\"caseNumber\":\"K-3\",\"title\":\"Miras\",\"type\":\"MARITIME\"}\n"
+                        + "{\"caseNumber\":\"K-4\",\"title\":\"Arsa\",\"type\":\"CIVIL\",\"status\":\"CLOSED\"}\n"));
+
+        // Assert
+        ImportReport report = response.getData();
+        assertEquals(2, report.imported());
+        assertEquals(List.of(
+                new RowError(2, "Client not found with email: nobody@x.com"),
+                new RowError(3, "Invalid type: MARITIME")), report.errors());
+
+        ArgumentCaptor<Case> saved = ArgumentCaptor.forClass(Case.class);
+        verify(caseRepository, times(2)).save(saved.capture());
+        Case first = saved.getAllValues().get(0);
+        assertEquals(CaseType.CIVIL, first.getType());
+        assertEquals(CaseStatus.NEW, first.getStatus());
+        assertEquals(List.of(1L, 2L), first.getClients().stream().map(Client::getId).toList());
+        assertEquals(CaseStatus.CLOSED, saved.getAllValues().get(1).getStatus());
+        // Clients are referenced by id, never loaded
+        verify(clientRepository, never()).findById(anyLong());
+        verify(outbox).record(Entity.CASE, Action.CREATED, first.getId(), first.getId(), null, "NEW");
+        verify(outbox, times(2)).record(eq(Entity.CASE), eq(Action.CREATED), anyLong(), anyLong(), isNull(), any());
+    }
+
+    @Test
+    void importHearings_ResolvesEachCaseNumberOnceAcrossChunks() {
+        // Arrange
+        importService.shutdown();
+        importService = newService(2);
+        List<Collection<String>> lookups = new ArrayList<>();
+        when(caseRepository.findIdsByCaseNumberIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> caseNumbers = invocation.getArgument(0);
+            lookups.add(List.copyOf(caseNumbers));
+            return caseNumbers.contains("K-1") ? List.of(new KeyedId("K-1", 5L)) : List.of();
+        });
+
+        // Act
+        ApiResponse<ImportReport> response = importService.importRecords(Target.HEARINGS, Format.CSV, input(
+                "caseNumber,hearingDate,judge\n"
+                        + "K-1,2030-01-02 10:00,Hakim A\n"
+                        + "k-1,2030-01-03T10:00,Hakim B\n"
+                        + "K-1,2030-01-04T10:00,Hakim C\n"
+                        + "K-9,2030-01-05T10:00,Hakim D\n"
+                        + "K-1,yarın,Hakim E\n"));
+
+        // Assert
+        ImportReport report = response.getData();
+        assertEquals(5, report.rows());
+        assertEquals(3, report.imported());
+        assertEquals(List.of(
+                new RowError(5, "Case not found with case number: K-9"),
+                new RowError(6, "Invalid hearingDate (expected yyyy-MM-ddTHH:mm): yarın")), report.errors());
+        // K-1 was looked up by the first chunk only, K-9 by the second
+        assertEquals(List.of(List.of("K-1"), List.of("K-9")), lookups);
+
+        ArgumentCaptor<Hearing> saved = ArgumentCaptor.forClass(Hearing.class);
+        verify(hearingRepository, times(3)).save(saved.capture());
+        saved.getAllValues().forEach(hearing -> {
+            assertEquals(5L, hearing.getCse().getId());
+            assertEquals(HearingStatus.SCHEDULED, hearing.getStatus());
+        });
+        assertEquals(10, saved.getAllValues().get(0).getHearingDate().getHour());
+        Hearing first = saved.getAllValues().get(0);
+        verify(outbox).record(Entity.HEARING, Action.CREATED, first.getId(), 5L, "Hakim A", "SCHEDULED");
+        verify(outbox, times(3)).record(eq(Entity.HEARING), eq(Action.CREATED), anyLong(), eq(5L), any(), eq("SCHEDULED"));
+        // Two chunks with valid rows, one commit each
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void importDocuments_ChunkFails_StoresRowsOneByOne() {
+        // Arrange
+        when(caseRepository.findIdsByCaseNumberIn(anyCollection())).thenReturn(List.of(new KeyedId("K-1", 5L)));
+        when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> {
+            Document document = invocation.getArgument(0);
+            if (document.getTitle().equals("Bozuk")) {
+                throw new IllegalStateException("Chunk failed", new RuntimeException("Data too long"));
+            }
+            return withId(document);
+        });
+
+        // Act
+        ApiResponse<ImportReport> response = importService.importRecords(Target.DOCUMENTS, Format.NDJSON, input(
+                "{\"caseNumber\":\"K-1\",\"title\":\"Dilekçe\",\"type\":\"PETITION\"}\n"
+                        + "{\"caseNumber\":\"K-1\",\"title\":\"Bozuk\",\"type\":\"EVIDENCE\"}\n"
+                        + "{\"title\":\"Genel\",\"type\":\"CONTRACT\"}\n"));
+
+        // Assert
+        ImportReport report = response.getData();
+        assertEquals(2, report.imported());
+        assertEquals(List.of(new RowError(2, "Could not store row: Data too long")), report.errors());
+        // The chunk and the failed row rolled back; the two good rows committed on their own
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(documentSearchIndex).index(anyLong(), eq("Dilekçe"));
+        verify(documentSearchIndex).index(anyLong(), eq("Genel"));
+        verify(documentSearchIndex, never()).index(anyLong(), eq("Bozuk"));
+        // Recorded in each attempt's transaction; only the committed ones reach the outbox table
+        verify(outbox).record(eq(Entity.DOCUMENT), eq(Action.CREATED), anyLong(), isNull(), isNull(), isNull());
+    }
+
+    @Test
+    void importRecords_UnreadableInput_ReturnsBadRequest() {
+        // Arrange
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        // Act
+        ApiResponse<ImportReport> response = importService.importRecords(Target.CLIENTS, Format.CSV, failing);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
+        assertTrue(response.getErrorMessages().get(0).contains("Connection reset"));
+    }
+
+    @Test
+    void importRecords_NoTarget_ReturnsBadRequest() {
+        // Act
+        ApiResponse<ImportReport> response = importService.importRecords(null, Format.CSV, input(""));
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
+        verifyNoInteractions(transactionManager);
+    }
+}
@@ -0,0 +1,279 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.ArchivedCase;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Client;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Document;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.DocumentType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.ArchivedCaseRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.ClientRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.CaseArchive;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IOutbox;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex.Field;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IUpcomingHearingIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CaseArchiveTest {
+
+    @Mock
+    private CaseRepository caseRepository;
+
+    @Mock
+    private ArchivedCaseRepository archivedCaseRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ITrigramSearchIndex trigramIndex;
+
+    @Mock
+    private IHearingScheduleIndex scheduleIndex;
+
+    @Mock
+    private IUpcomingHearingIndex upcomingIndex;
+
+    @Mock
+    private IOutbox outbox;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private org.hibernate.Cache cache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SingleConnectionDataSource dataSource;
+
+    private JdbcTemplate database;
+
+    private CaseArchive archive;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:case_archive;MODE=MySQL;DATABASE_TO_LOWER=TRUE", true);
+        // The migrations that shape the live tables a case is restored into; the partitions of V10 are MySQL's own
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V1__baseline_schema.sql"),
+                new ClassPathResource("db/migration/V1_1__document_content_columns.sql"),
+                new ClassPathResource("db/migration/V4__row_versions.sql"),
+                new ClassPathResource("db/migration/V5__hearing_duration.sql"),
+                new ClassPathResource("db/migration/V12__hearing_name_keys.sql")).execute(dataSource);
+        database = new JdbcTemplate(dataSource);
+        database.update("insert into clients (id, name, surname, email, created_at) values (5, 'Ali', 'Veli', 'ali@example.com', now())");
+        archive = new CaseArchive(caseRepository, archivedCaseRepository, clientRepository, trigramIndex, scheduleIndex,
+                upcomingIndex, outbox, entityManager, database, new ObjectMapper().findAndRegisterModules(),
+                transactionManager, "ARCHIVED, CLOSED", "30d", "1h", 2);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        jakarta.persistence.Cache jpaCache = mock(jakarta.persistence.Cache.class);
+        when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        when(entityManagerFactory.getCache()).thenReturn(jpaCache);
+        when(jpaCache.unwrap(org.hibernate.Cache.class)).thenReturn(cache);
+        client = new Client(5L, "Ali", "Veli", "ali@example.com");
+        when(clientRepository.findAllById(List.of(5L))).thenReturn(List.of(client));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    // An archived case last touched a year ago, with a past hearing, a document and a client
+    private Case archivedCase(LocalDateTime hearingDate) {
+        Case caseEntity = new Case(1L, "C-001", "Test Case", CaseType.CIVIL);
+        caseEntity.setStatus(CaseStatus.ARCHIVED);
+        caseEntity.setDescription("Settled");
+        caseEntity.setUpdatedAt(LocalDateTime.now().minusYears(1));
+        caseEntity.setVersion(4);
+        caseEntity.getClients().add(client);
+        Hearing hearing = new Hearing(10L, caseEntity, hearingDate, "Hakim A");
+        hearing.setLocation("Salon 1");
+        caseEntity.getHearings().add(hearing);
+        Document document = new Document(20L, "Contract", DocumentType.CONTRACT, caseEntity);
+        document.setContentRef("0123456789abcdef0123456789abcdef");
+        document.setContentSize(42L);
+        caseEntity.getDocuments().add(document);
+        return caseEntity;
+    }
+
+    private void candidates(Long... ids) {
+        when(caseRepository.findArchivableIds(any(), any(), eq(HearingStatus.SCHEDULED), any(), eq(0L), eq(Limit.of(2))))
+                .thenReturn(List.of(ids));
+    }
+
+    @Test
+    void archiveDue_MovesTheCaseOutOfTheLiveTablesAndReadsItBackWhole() {
+        // Arrange
+        Case caseEntity = archivedCase(LocalDateTime.now().minusYears(2));
+        candidates(1L);
+        when(caseRepository.findDetailById(1L)).thenReturn(Optional.of(caseEntity));
+
+        // Act
+        int archived = archive.archiveDue();
+
+        // Assert
+        assertEquals(1, archived);
+        ArgumentCaptor<ArchivedCase> row = ArgumentCaptor.forClass(ArchivedCase.class);
+        verify(entityManager).persist(row.capture());
+        assertEquals(1L, row.getValue().getId());
+        assertEquals("C-001", row.getValue().getCaseNumber());
+        assertEquals(CaseStatus.ARCHIVED, row.getValue().getStatus());
+        verify(caseRepository).delete(caseEntity);
+        verify(outbox).record(Entity.CASE, Action.DELETED, 1L, 1L, null, null);
+        verify(trigramIndex).remove(Field.CASE_TITLE, 1L);
+        verify(trigramIndex).remove(Field.HEARING_JUDGE, 10L);
+        verify(scheduleIndex).remove(10L);
+        verify(upcomingIndex).remove(10L);
+        verify(cache).evictCollectionData(Client.class.getName() + ".cases", 5L);
+
+        // Act: read back
+        when(archivedCaseRepository.findById(1L)).thenReturn(Optional.of(row.getValue()));
+        Case read = archive.findById(1L).orElseThrow();
+
+        // Assert
+        assertEquals("Test Case", read.getTitle());
+        assertEquals("Settled", read.getDescription());
+        assertEquals(caseEntity.getUpdatedAt(), read.getUpdatedAt());
+        assertEquals(4, read.getVersion());
+        assertEquals(List.of(client), read.getClients());
+        Hearing hearing = read.getHearings().get(0);
+        assertEquals(10L, hearing.getId());
+        assertEquals("Salon 1", hearing.getLocation());
+        assertSame(read, hearing.getCse());
+        Document document = read.getDocuments().get(0);
+        assertEquals("0123456789abcdef0123456789abcdef", document.getContentRef());
+        assertEquals(42L, document.getContentSize());
+    }
+
+    @Test
+    void archiveDue_CaseWithAHearingToComeOrChangedSinceItWasPicked_IsLeftLive() {
+        // Arrange
+        Case upcoming = archivedCase(LocalDateTime.now().plusDays(3));
+        Case reopened = archivedCase(LocalDateTime.now().minusYears(2));
+        reopened.setId(2L);
+        reopened.setStatus(CaseStatus.ACTIVE);
+        candidates(1L, 2L);
+        when(caseRepository.findDetailById(1L)).thenReturn(Optional.of(upcoming));
+        when(caseRepository.findDetailById(2L)).thenReturn(Optional.of(reopened));
+        when(caseRepository.findArchivableIds(any(), any(), any(), any(), eq(2L), any())).thenReturn(List.of());
+
+        // Act
+        int archived = archive.archiveDue();
+
+        // Assert
+        assertEquals(0, archived);
+        verify(entityManager, never()).persist(any());
+        verify(caseRepository, never()).delete(any());
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void restore_PutsTheCaseBackUnderItsId() {
+        // Arrange
+        candidates(1L);
+        when(caseRepository.findDetailById(1L)).thenReturn(Optional.of(archivedCase(LocalDateTime.now().minusYears(2))));
+        archive.archiveDue();
+        ArgumentCaptor<ArchivedCase> row = ArgumentCaptor.forClass(ArchivedCase.class);
+        verify(entityManager).persist(row.capture());
+        when(archivedCaseRepository.findById(1L)).thenReturn(Optional.of(row.getValue()));
+        when(caseRepository.findByCaseNumber("C-001")).thenReturn(Optional.empty());
+
+        // Act
+        ApiResponse<Case> response = archive.restore(1L);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(1L, response.getData().getId());
+        Map<String, Object> restored = database.queryForMap("select case_number, status, version from cases where id = 1");
+        assertEquals(Map.of("case_number", "C-001", "status", "ARCHIVED", "version", 4L), restored);
+        assertEquals(List.of(5L), database.queryForList("select client_id from case_client where case_id = 1", Long.class));
+        Map<String, Object> hearing = database.queryForMap("select id, judge_key, location_key from hearings where case_id = 1");
+        assertEquals(Map.of("id", 10L, "judge_key", "hakim a", "location_key", "salon 1"), hearing);
+        Map<String, Object> document = database.queryForMap("select id, content_ref, content_size from documents where case_id = 1");
+        assertEquals(Map.of("id", 20L, "content_ref", "0123456789abcdef0123456789abcdef", "content_size", 42L), document);
+        verify(archivedCaseRepository).delete(row.getValue());
+        verify(outbox).record(Entity.CASE, Action.CREATED, 1L, 1L, null, "ARCHIVED");
+        verify(trigramIndex).index(Field.CASE_TITLE, 1L, "Test Case");
+        verify(trigramIndex).index(Field.HEARING_JUDGE, 10L, "Hakim A");
+        ArgumentCaptor<HearingSlot> slot = ArgumentCaptor.forClass(HearingSlot.class);
+        verify(scheduleIndex).index(slot.capture());
+        assertEquals(10L, slot.getValue().id());
+        assertEquals("Salon 1", slot.getValue().location());
+        verify(upcomingIndex).index(eq(10L), any(), eq(HearingStatus.SCHEDULED));
+    }
+
+    @Test
+    void restore_CaseNumberTakenOrNotArchived_ReturnsError() {
+        // Arrange
+        candidates(1L);
+        when(caseRepository.findDetailById(1L)).thenReturn(Optional.of(archivedCase(LocalDateTime.now().minusYears(2))));
+        archive.archiveDue();
+        ArgumentCaptor<ArchivedCase> row = ArgumentCaptor.forClass(ArchivedCase.class);
+        verify(entityManager).persist(row.capture());
+        when(archivedCaseRepository.findById(1L)).thenReturn(Optional.of(row.getValue()));
+        when(caseRepository.findByCaseNumber("C-001")).thenReturn(Optional.of(new Case(7L, "C-001", "Imported", CaseType.CIVIL)));
+
+        // Act
+        ApiResponse<Case> taken = archive.restore(1L);
+        ApiResponse<Case> missing = archive.restore(2L);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT.value(), taken.getErrorCode());
+        assertEquals(HttpStatus.NOT_FOUND.value(), missing.getErrorCode());
+        assertEquals(0, database.queryForObject("select count(*) from cases", Integer.class));
+        verify(archivedCaseRepository, never()).delete(any());
+    }
+
+    @Test
+    void constructor_InvalidConfiguration_Throws() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        assertThrows(IllegalArgumentException.class, () -> new CaseArchive(caseRepository, archivedCaseRepository,
+                clientRepository, trigramIndex, scheduleIndex, upcomingIndex, outbox, entityManager, database,
+                objectMapper, transactionManager, "ACTIVE", "30d", "1h", 100));
+        assertThrows(IllegalArgumentException.class, () -> new CaseArchive(caseRepository, archivedCaseRepository,
+                clientRepository, trigramIndex, scheduleIndex, upcomingIndex, outbox, entityManager, database,
+                objectMapper, transactionManager, "ARCHIVED", "30d", "0s", 100));
+        assertThrows(IllegalArgumentException.class, () -> new CaseArchive(caseRepository, archivedCaseRepository,
+                clientRepository, trigramIndex, scheduleIndex, upcomingIndex, outbox, entityManager, database,
+                objectMapper, transactionManager, "ARCHIVED", "30d", "1h", 0));
+    }
+}
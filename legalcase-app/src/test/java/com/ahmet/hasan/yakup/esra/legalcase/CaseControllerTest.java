@@ -5,9 +5,13 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,14 +21,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import com.ahmet.hasan.yakup.esra.legalcase.api.CaseController;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseSummary;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ICaseService;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 
 /**
  * Test for CaseController using Mockito
@@ -103,7 +112,7 @@ public class CaseControllerTest {
         when(caseService.getCaseById(anyLong())).thenReturn(successResponse);
 
         // Act
-        ResponseEntity<ApiResponse<Case>> response = caseController.getCaseById(1L);
+        ResponseEntity<ApiResponse<Case>> response = caseController.getCaseById(1L, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -121,7 +130,7 @@ public class CaseControllerTest {
                 ApiResponse.error("Case not found", HttpStatus.NOT_FOUND.value()));
 
         // Act
-        ResponseEntity<ApiResponse<Case>> response = caseController.getCaseById(1L);
+        ResponseEntity<ApiResponse<Case>> response = caseController.getCaseById(1L, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -135,10 +144,10 @@ public class CaseControllerTest {
     @Test
     public void testGetAllCases() {
         // Arrange
-        when(caseService.getAllCases()).thenReturn(listSuccessResponse);
+        when(caseService.getAllCases(null, null)).thenReturn(listSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<Case>>> response = caseController.getAllCases();
+        ResponseEntity<ApiResponse<List<Case>>> response = caseController.getAllCases(null, null, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -147,16 +156,86 @@ public class CaseControllerTest {
         assertEquals(1, response.getBody().getData().size());
 
         // Verify service method was called
-        verify(caseService).getAllCases();
+        verify(caseService).getAllCases(null, null);
+    }
+
+    @Test
+    public void testGetCaseById_NotModified() {
+        // Arrange
+        when(caseService.getCaseById(anyLong())).thenReturn(successResponse);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(ResourceVersion.of(testCase, testCase.getClients()).getEtag());
+
+        // Act
+        ResponseEntity<ApiResponse<Case>> response = caseController.getCaseById(1L, headers);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(headers.getIfNoneMatch().get(0), response.getHeaders().getETag());
+    }
+
+    @Test
+    public void testGetAllCases_NotModified() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.ofPage(List.of(new RowStamp(1L, LocalDateTime.now())));
+        when(caseService.getCasePageVersion(null, null)).thenReturn(version);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(version.getEtag());
+
+        // Act
+        ResponseEntity<ApiResponse<List<Case>>> response = caseController.getAllCases(null, null, headers);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+
+        // The page itself is never loaded
+        verify(caseService, never()).getAllCases(null, null);
+    }
+
+    @Test
+    public void testGetAllCases_CarriesETag() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.ofPage(List.of(new RowStamp(1L, LocalDateTime.now())));
+        when(caseService.getCasePageVersion(null, null)).thenReturn(version);
+        when(caseService.getAllCases(null, null)).thenReturn(listSuccessResponse);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("W/\"stale\"");
+
+        // Act
+        ResponseEntity<ApiResponse<List<Case>>> response = caseController.getAllCases(null, null, headers);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(version.getEtag(), response.getHeaders().getETag());
+        assertEquals(-1, response.getHeaders().getLastModified());
+    }
+
+    @Test
+    public void testGetCaseSummaries() {
+        // Arrange
+        List<CaseSummary> summaries = new ArrayList<>();
+        summaries.add(new CaseSummary(1L, "C-001", "Test Case", CaseType.CIVIL, CaseStatus.PENDING,
+                LocalDateTime.now(), 1, 0, 0));
+        when(caseService.getCaseSummaries(null, null)).thenReturn(ApiResponse.success(summaries));
+
+        // Act
+        ResponseEntity<ApiResponse<List<CaseSummary>>> response = caseController.getCaseSummaries(null, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(summaries, response.getBody().getData());
+        verify(caseService).getCaseSummaries(null, null);
     }
 
     @Test
     public void testGetCasesByStatus() {
         // Arrange
-        when(caseService.getCasesByStatus(any(CaseStatus.class))).thenReturn(listSuccessResponse);
+        when(caseService.getCasesByStatus(any(CaseStatus.class), isNull(), isNull())).thenReturn(listSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<Case>>> response = caseController.getCasesByStatus(CaseStatus.PENDING);
+        ResponseEntity<ApiResponse<List<Case>>> response = caseController.getCasesByStatus(CaseStatus.PENDING, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -164,16 +243,44 @@ public class CaseControllerTest {
         assertEquals(testCaseList, response.getBody().getData());
 
         // Verify service method was called
-        verify(caseService).getCasesByStatus(CaseStatus.PENDING);
+        verify(caseService).getCasesByStatus(CaseStatus.PENDING, null, null);
+    }
+
+    @Test
+    public void testSearchCasesByTitle() {
+        // Arrange
+        when(caseService.searchCasesByTitle("test", null, 10)).thenReturn(listSuccessResponse);
+
+        // Act
+        ResponseEntity<ApiResponse<List<Case>>> response = caseController.searchCasesByTitle("test", null, 10);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(testCaseList, response.getBody().getData());
+        verify(caseService).searchCasesByTitle("test", null, 10);
+    }
+
+    @Test
+    public void testSearchCasesByTitle_EmptyTerm() {
+        // Arrange
+        when(caseService.searchCasesByTitle("", null, null))
+                .thenReturn(ApiResponse.error("Search term cannot be empty", HttpStatus.BAD_REQUEST.value()));
+
+        // Act
+        ResponseEntity<ApiResponse<List<Case>>> response = caseController.searchCasesByTitle("", null, null);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertFalse(response.getBody().isSuccess());
     }
 
     @Test
     public void testUpdateCase_Success() {
         // Arrange
-        when(caseService.updateCase(any(Case.class))).thenReturn(successResponse);
+        when(caseService.updateCase(any(Case.class), isNull())).thenReturn(successResponse);
 
         // Act
-        ResponseEntity<ApiResponse<Case>> response = caseController.updateCase(1L, testCase);
+        ResponseEntity<ApiResponse<Case>> response = caseController.updateCase(1L, testCase, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -181,7 +288,40 @@ public class CaseControllerTest {
         assertEquals(testCase, response.getBody().getData());
 
         // Verify service method was called
-        verify(caseService).updateCase(testCase);
+        verify(caseService).updateCase(testCase, null);
+    }
+
+    @Test
+    public void testUpdateCase_IfMatch_PassesVersionAndReturnsNewETag() {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch("\"3\"");
+        testCase.setVersion(4);
+        when(caseService.updateCase(testCase, 3L)).thenReturn(successResponse);
+
+        // Act
+        ResponseEntity<ApiResponse<Case>> response = caseController.updateCase(1L, testCase, headers);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3L, ResourceVersion.expectedVersion(headers));
+        assertTrue(response.getHeaders().getETag().startsWith("\"4."));
+    }
+
+    @Test
+    public void testUpdateCase_StaleIfMatch_PreconditionFailed() {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch("\"3\"");
+        when(caseService.updateCase(testCase, 3L)).thenReturn(
+                ApiResponse.error("Case with ID: 1 has been modified since it was read.", HttpStatus.PRECONDITION_FAILED.value()));
+
+        // Act
+        ResponseEntity<ApiResponse<Case>> response = caseController.updateCase(1L, testCase, headers);
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertNull(response.getHeaders().getETag());
     }
 
     @Test
@@ -190,7 +330,7 @@ public class CaseControllerTest {
         testCase.setId(1L);
 
         // Act
-        ResponseEntity<ApiResponse<Case>> response = caseController.updateCase(2L, testCase);
+        ResponseEntity<ApiResponse<Case>> response = caseController.updateCase(2L, testCase, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -201,11 +341,11 @@ public class CaseControllerTest {
     @Test
     public void testUpdateCase_NotFound() {
         // Arrange
-        when(caseService.updateCase(any(Case.class))).thenReturn(
+        when(caseService.updateCase(any(Case.class), isNull())).thenReturn(
                 ApiResponse.error("Case not found", HttpStatus.NOT_FOUND.value()));
 
         // Act
-        ResponseEntity<ApiResponse<Case>> response = caseController.updateCase(1L, testCase);
+        ResponseEntity<ApiResponse<Case>> response = caseController.updateCase(1L, testCase, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -213,7 +353,7 @@ public class CaseControllerTest {
         assertEquals("Case not found", response.getBody().getErrorMessages().get(0));
 
         // Verify service method was called
-        verify(caseService).updateCase(testCase);
+        verify(caseService).updateCase(testCase, null);
     }
 
     @Test
@@ -249,4 +389,32 @@ public class CaseControllerTest {
         // Verify service method was called
         verify(caseService).deleteCase(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRestoreCase_Success() {
+        // Arrange
+        Case restored = new Case(1L, "C-001", "Test Case", CaseType.CIVIL);
+        when(caseService.restoreCase(1L)).thenReturn(ApiResponse.success(restored));
+
+        // Act
+        ResponseEntity<ApiResponse<Case>> response = caseController.restoreCase(1L);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(restored, response.getBody().getData());
+    }
+
+    @Test
+    public void testRestoreCase_NotArchived() {
+        // Arrange
+        when(caseService.restoreCase(1L)).thenReturn(
+                ApiResponse.error("Archived case not found with ID: 1", HttpStatus.NOT_FOUND.value()));
+
+        // Act
+        ResponseEntity<ApiResponse<Case>> response = caseController.restoreCase(1L);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertFalse(response.getBody().isSuccess());
+    }
+}
@@ -223,13 +223,13 @@ public class CaseManagementConsoleTest {
 
         // Setup mock response
         Case testCase = createTestCases().get(0);
-        when(caseService.getCaseById(1L)).thenReturn(ApiResponse.success(testCase));
+        when(caseService.getCaseDossier(1L)).thenReturn(ApiResponse.success(testCase));
 
         // Execute method
         caseManagementConsole.searchCaseById();
 
         // Verify service call
-        verify(caseService).getCaseById(1L);
+        verify(caseService).getCaseDossier(1L);
 
         // Check output contains expected content
         String output = outContent.toString();
@@ -246,13 +246,13 @@ public class CaseManagementConsoleTest {
         // Setup mock response
         List<String> errors = new ArrayList<>();
         errors.add("Case not found");
-        when(caseService.getCaseById(999L)).thenReturn(ApiResponse.error(errors, 404));
+        when(caseService.getCaseDossier(999L)).thenReturn(ApiResponse.error(errors, 404));
 
         // Execute method
         caseManagementConsole.searchCaseById();
 
         // Verify service call
-        verify(caseService).getCaseById(999L);
+        verify(caseService).getCaseDossier(999L);
 
         // Check output contains expected content
         String output = outContent.toString();
@@ -268,7 +268,7 @@ public class CaseManagementConsoleTest {
         caseManagementConsole.searchCaseById();
 
         // Verify service call (should not be called with invalid input)
-        verify(caseService, never()).getCaseById(anyLong());
+        verify(caseService, never()).getCaseDossier(anyLong());
 
         // Check output contains expected content
         String output = outContent.toString();
@@ -281,13 +281,13 @@ public class CaseManagementConsoleTest {
         caseManagementConsole = createConsoleWithInput("1\n");
 
         // Setup mock to throw exception
-        when(caseService.getCaseById(1L)).thenThrow(new RuntimeException("Connection failed"));
+        when(caseService.getCaseDossier(1L)).thenThrow(new RuntimeException("Connection failed"));
 
         // Execute method
         caseManagementConsole.searchCaseById();
 
         // Verify service call
-        verify(caseService).getCaseById(1L);
+        verify(caseService).getCaseDossier(1L);
         verify(mockLogger).error(eq("Error searching case by ID: "), any(RuntimeException.class));
 
         // Check output contains expected content
@@ -960,7 +960,7 @@ public class CaseManagementConsoleTest {
         testCase.setDocuments(new ArrayList<>());
 
         // Setup mock to return our test case
-        when(caseService.getCaseById(1L)).thenReturn(ApiResponse.success(testCase));
+        when(caseService.getCaseDossier(1L)).thenReturn(ApiResponse.success(testCase));
 
         // Create a console with input
         caseManagementConsole = createConsoleWithInput("1\n");
@@ -987,7 +987,7 @@ public class CaseManagementConsoleTest {
     @Test
     public void testDisplayCaseDetailsWithNullCase() {
         // Setup mock to return our test case
-        when(caseService.getCaseById(1L)).thenReturn(ApiResponse.success(null));
+        when(caseService.getCaseDossier(1L)).thenReturn(ApiResponse.success(null));
 
         // Create a console with input
         caseManagementConsole = createConsoleWithInput("1\n");
@@ -1,18 +1,37 @@
 package com.ahmet.hasan.yakup.esra.legalcase;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Document;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.DocumentType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseSummary;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
 import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.CursorPage;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.CaseService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ICaseArchive;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentContentStore;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IOutbox;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IUpcomingHearingIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +44,27 @@ class CaseServiceTest {
     @Mock
     private CaseRepository caseRepository;
 
+    @Mock
+    private ITrigramSearchIndex trigramIndex;
+
+    @Mock
+    private IOutbox outbox;
+
+    @Mock
+    private ICaseArchive caseArchive;
+
+    @Mock
+    private IDocumentContentStore contentStore;
+
+    @Mock
+    private IDocumentSearchIndex searchIndex;
+
+    @Mock
+    private IHearingScheduleIndex scheduleIndex;
+
+    @Mock
+    private IUpcomingHearingIndex upcomingIndex;
+
     @Mock
     private Logger logger;
 
@@ -33,7 +73,8 @@ class CaseServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        caseService = new CaseService(caseRepository);
+        caseService = new CaseService(caseRepository, trigramIndex, outbox, caseArchive, contentStore, searchIndex,
+                scheduleIndex, upcomingIndex);
     }
 
     // Helper method to create a test case
@@ -67,6 +108,7 @@ class CaseServiceTest {
         assertEquals(testCase, response.getData());
         verify(caseRepository).findByCaseNumber(testCase.getCaseNumber());
         verify(caseRepository).save(testCase);
+        verify(outbox).record(Entity.CASE, Action.CREATED, 1L, 1L, null, "NEW");
     }
 
     @Test
@@ -117,6 +159,22 @@ class CaseServiceTest {
         verify(caseRepository, never()).save(any(Case.class));
     }
 
+    @Test
+    void createCase_CaseNumberOfAnArchivedCase_ReturnsError() {
+        // Arrange
+        Case testCase = createTestCase();
+        when(caseRepository.findByCaseNumber(testCase.getCaseNumber())).thenReturn(Optional.empty());
+        when(caseArchive.containsCaseNumber(testCase.getCaseNumber())).thenReturn(true);
+
+        // Act
+        ApiResponse<Case> response = caseService.createCase(testCase);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.CONFLICT.value(), response.getErrorCode());
+        verify(caseRepository, never()).save(any());
+    }
+
     @Test
     void createCase_EmptyTitle_ReturnsError() {
         // Arrange
@@ -215,6 +273,22 @@ class CaseServiceTest {
         verify(caseRepository).findById(999L);
     }
 
+    @Test
+    void getCaseById_ArchivedCase_ReadsThroughToTheArchive() {
+        // Arrange
+        Case archived = createTestCase();
+        archived.setStatus(CaseStatus.ARCHIVED);
+        when(caseRepository.findById(1L)).thenReturn(Optional.empty());
+        when(caseArchive.findById(1L)).thenReturn(Optional.of(archived));
+
+        // Act
+        ApiResponse<Case> response = caseService.getCaseById(1L);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(archived, response.getData());
+    }
+
     @Test
     void getCaseById_NullId_ReturnsError() {
         // Act
@@ -251,6 +325,54 @@ class CaseServiceTest {
         verify(caseRepository, never()).findById(any());
     }
 
+    @Test
+    void getCaseDossier_ValidId_LoadsEachCollectionSeparately() {
+        // Arrange
+        Case testCase = createTestCase();
+        when(caseRepository.findDetailById(1L)).thenReturn(Optional.of(testCase));
+
+        // Act
+        ApiResponse<Case> response = caseService.getCaseDossier(1L);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(testCase, response.getData());
+        verify(caseRepository).findDetailById(1L);
+        verify(caseRepository).findWithHearingsById(1L);
+        verify(caseRepository).findWithDocumentsById(1L);
+    }
+
+    @Test
+    void getCaseDossier_NonExistentId_ReturnsError() {
+        // Arrange
+        when(caseRepository.findDetailById(999L)).thenReturn(Optional.empty());
+
+        // Act
+        ApiResponse<Case> response = caseService.getCaseDossier(999L);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getErrorCode());
+        verify(caseRepository, never()).findWithHearingsById(any());
+        verify(caseRepository, never()).findWithDocumentsById(any());
+    }
+
+    @Test
+    void getCaseDossier_ArchivedCase_ReadsThroughToTheArchive() {
+        // Arrange
+        Case archived = createTestCase();
+        when(caseRepository.findDetailById(1L)).thenReturn(Optional.empty());
+        when(caseArchive.findById(1L)).thenReturn(Optional.of(archived));
+
+        // Act
+        ApiResponse<Case> response = caseService.getCaseDossier(1L);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(archived, response.getData());
+        verify(caseRepository, never()).findWithHearingsById(any());
+    }
+
     @Test
     void getCaseByCaseNumber_ValidNumber_ReturnsCase() {
         // Arrange
@@ -281,6 +403,21 @@ class CaseServiceTest {
         verify(caseRepository).findByCaseNumber("NON-EXISTENT");
     }
 
+    @Test
+    void getCaseByCaseNumber_ArchivedCase_ReadsThroughToTheArchive() {
+        // Arrange
+        Case archived = createTestCase();
+        when(caseRepository.findByCaseNumber("C-001")).thenReturn(Optional.empty());
+        when(caseArchive.findByCaseNumber("C-001")).thenReturn(Optional.of(archived));
+
+        // Act
+        ApiResponse<Case> response = caseService.getCaseByCaseNumber("C-001");
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(archived, response.getData());
+    }
+
     @Test
     void getCaseByCaseNumber_EmptyNumber_ReturnsError() {
         // Act
@@ -380,14 +517,198 @@ class CaseServiceTest {
         verify(caseRepository).findByStatus(CaseStatus.ARCHIVED);
     }
 
+    @Test
+    void getCaseSummaries_ReturnsProjectedRows() {
+        // Arrange
+        List<CaseSummary> summaries = new ArrayList<>();
+        summaries.add(new CaseSummary(1L, "C-001", "Test Case 1", CaseType.CIVIL, CaseStatus.NEW,
+                LocalDateTime.now(), 2, 1, 3));
+        when(caseRepository.findAllSummaries()).thenReturn(summaries);
+
+        // Act
+        ApiResponse<List<CaseSummary>> response = caseService.getCaseSummaries();
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(summaries, response.getData());
+        verify(caseRepository).findAllSummaries();
+        verify(caseRepository, never()).findAll();
+    }
+
+    @Test
+    void getCaseSummariesByStatus_NullStatus_ReturnsError() {
+        // Act
+        ApiResponse<List<CaseSummary>> response = caseService.getCaseSummariesByStatus(null);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
+        verify(caseRepository, never()).findSummariesByStatus(any());
+    }
+
+    @Test
+    void getAllCases_WithPageSize_TrimsProbeRowAndReturnsNextCursor() {
+        // Arrange
+        List<Case> cases = createTestCasesList();
+        when(caseRepository.findByIdGreaterThanOrderByIdAsc(0L, CursorPage.limit(2))).thenReturn(cases);
+
+        // Act
+        ApiResponse<List<Case>> response = caseService.getAllCases(null, 2);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(2, response.getData().size());
+        assertEquals(CursorPage.encode(2L), response.getNextCursor());
+        assertEquals(2L, CursorPage.decode(response.getNextCursor()));
+    }
+
+    @Test
+    void getAllCases_LastPage_ReturnsNoNextCursor() {
+        // Arrange
+        List<Case> cases = createTestCasesList().subList(2, 3);
+        when(caseRepository.findByIdGreaterThanOrderByIdAsc(2L, CursorPage.limit(2))).thenReturn(cases);
+
+        // Act
+        ApiResponse<List<Case>> response = caseService.getAllCases(CursorPage.encode(2L), 2);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(1, response.getData().size());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void getAllCases_InvalidCursor_ReturnsError() {
+        // Act
+        ApiResponse<List<Case>> response = caseService.getAllCases("not-a-cursor", null);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
+        verify(caseRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    @Test
+    void getCasePageVersion_ReadsStampsOfThePageAndItsProbeRow() {
+        // Arrange
+        List<RowStamp> stamps = List.of(new RowStamp(3L, LocalDateTime.now()), new RowStamp(4L, LocalDateTime.now()));
+        when(caseRepository.findStampsAfter(2L, CursorPage.limit(1))).thenReturn(stamps);
+
+        // Act
+        ResourceVersion version = caseService.getCasePageVersion(CursorPage.encode(2L), 1);
+
+        // Assert
+        assertEquals(ResourceVersion.ofPage(stamps).getEtag(), version.getEtag());
+        verify(caseRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    @Test
+    void getCasePageVersion_InvalidCursor_ReturnsNull() {
+        // Act & Assert
+        assertNull(caseService.getCasePageVersion("not-a-cursor", null));
+        verify(caseRepository, never()).findStampsAfter(any(), any());
+    }
+
+    @Test
+    void searchCasesByTitle_IndexReady_LoadsMatchedIds() {
+        // Arrange
+        List<Case> cases = createTestCasesList();
+        when(trigramIndex.isReady(ITrigramSearchIndex.Field.CASE_TITLE)).thenReturn(true);
+        when(trigramIndex.search(ITrigramSearchIndex.Field.CASE_TITLE, "case", 0L, 3))
+                .thenReturn(List.of(1L, 2L, 3L));
+        when(trigramIndex.load(any(), any(), any(), anyInt(), any())).thenCallRealMethod();
+        when(caseRepository.findByIdInOrderByIdAsc(List.of(1L, 2L, 3L))).thenReturn(cases);
+
+        // Act
+        ApiResponse<List<Case>> response = caseService.searchCasesByTitle("case", null, 2);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(2, response.getData().size());
+        assertEquals(CursorPage.encode(2L), response.getNextCursor());
+        verify(caseRepository, never()).findByTitleContainingIgnoreCaseAndIdGreaterThanOrderByIdAsc(any(), any(), any());
+    }
+
+    @Test
+    void searchCasesByTitle_MissingRow_IsSkippedAndThePageRefilled() {
+        // Arrange: case 2 is indexed but not visible to the read
+        List<Case> cases = createTestCasesList();
+        when(trigramIndex.isReady(ITrigramSearchIndex.Field.CASE_TITLE)).thenReturn(true);
+        when(trigramIndex.search(ITrigramSearchIndex.Field.CASE_TITLE, "case", 0L, 3))
+                .thenReturn(List.of(1L, 2L, 3L));
+        when(trigramIndex.search(ITrigramSearchIndex.Field.CASE_TITLE, "case", 3L, 1))
+                .thenReturn(List.of(4L));
+        when(trigramIndex.load(any(), any(), any(), anyInt(), any())).thenCallRealMethod();
+        Case third = new Case(3L, "C-003", "Test Case 3", CaseType.CIVIL);
+        Case fourth = new Case(4L, "C-004", "Test Case 4", CaseType.CIVIL);
+        when(caseRepository.findByIdInOrderByIdAsc(List.of(1L, 2L, 3L))).thenReturn(List.of(cases.get(0), third));
+        when(caseRepository.findByIdInOrderByIdAsc(List.of(4L))).thenReturn(List.of(fourth));
+
+        // Act
+        ApiResponse<List<Case>> response = caseService.searchCasesByTitle("case", null, 2);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(List.of(cases.get(0), third), response.getData());
+        assertEquals(CursorPage.encode(3L), response.getNextCursor());
+        verify(trigramIndex, never()).remove(any(), any());
+    }
+
+    @Test
+    void searchCasesByTitle_MissingRowOnLastPage_EndsPagination() {
+        // Arrange
+        when(trigramIndex.isReady(ITrigramSearchIndex.Field.CASE_TITLE)).thenReturn(true);
+        when(trigramIndex.search(ITrigramSearchIndex.Field.CASE_TITLE, "case", 0L, 3))
+                .thenReturn(List.of(1L, 2L));
+        when(trigramIndex.load(any(), any(), any(), anyInt(), any())).thenCallRealMethod();
+        when(caseRepository.findByIdInOrderByIdAsc(List.of(1L, 2L))).thenReturn(createTestCasesList().subList(0, 1));
+
+        // Act
+        ApiResponse<List<Case>> response = caseService.searchCasesByTitle("case", null, 2);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(1, response.getData().size());
+        assertNull(response.getNextCursor());
+        verify(trigramIndex, never()).remove(any(), any());
+    }
+
+    @Test
+    void searchCasesByTitle_IndexNotReady_FallsBackToDatabase() {
+        // Arrange
+        List<Case> cases = createTestCasesList();
+        when(caseRepository.findByTitleContainingIgnoreCaseAndIdGreaterThanOrderByIdAsc("case", 0L, CursorPage.limit(20)))
+                .thenReturn(cases);
+
+        // Act
+        ApiResponse<List<Case>> response = caseService.searchCasesByTitle("case", null, 20);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(cases, response.getData());
+        verify(trigramIndex, never()).search(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void searchCasesByTitle_EmptyTerm_ReturnsError() {
+        // Act
+        ApiResponse<List<Case>> response = caseService.searchCasesByTitle("", null, null);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
+        assertEquals("Search term cannot be empty", response.getErrorMessages().get(0));
+    }
+
     @Test
     void updateCase_ValidCase_ReturnsUpdatedCase() {
         // Arrange
         Case testCase = createTestCase();
         testCase.setTitle("Updated Title");
-        when(caseRepository.existsById(1L)).thenReturn(true);
-        when(caseRepository.findByCaseNumber("C-001")).thenReturn(Optional.of(testCase));
-        when(caseRepository.save(any(Case.class))).thenReturn(testCase);
+        Case storedCase = createTestCase();
+        storedCase.setVersion(3);
+        when(caseRepository.findById(1L)).thenReturn(Optional.of(storedCase));
+        when(caseRepository.saveAndFlush(any(Case.class))).thenReturn(testCase);
 
         // Act
         ApiResponse<Case> response = caseService.updateCase(testCase);
@@ -395,9 +716,60 @@ class CaseServiceTest {
         // Assert
         assertTrue(response.isSuccess());
         assertEquals("Updated Title", response.getData().getTitle());
-        verify(caseRepository).existsById(1L);
-        verify(caseRepository).findByCaseNumber("C-001");
-        verify(caseRepository).save(testCase);
+        // The update is conditional on the stored version; an unchanged case number is not checked again
+        assertEquals(3, testCase.getVersion());
+        verify(caseRepository, never()).findByCaseNumber(anyString());
+        verify(caseRepository).saveAndFlush(testCase);
+    }
+
+    @Test
+    void updateCase_ExpectedVersionMatches_ReturnsUpdatedCase() {
+        // Arrange
+        Case testCase = createTestCase();
+        Case storedCase = createTestCase();
+        storedCase.setVersion(3);
+        when(caseRepository.findById(1L)).thenReturn(Optional.of(storedCase));
+        when(caseRepository.saveAndFlush(any(Case.class))).thenReturn(testCase);
+
+        // Act
+        ApiResponse<Case> response = caseService.updateCase(testCase, 3L);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        verify(caseRepository).saveAndFlush(testCase);
+    }
+
+    @Test
+    void updateCase_StaleExpectedVersion_ReturnsPreconditionFailed() {
+        // Arrange
+        Case testCase = createTestCase();
+        Case storedCase = createTestCase();
+        storedCase.setVersion(4);
+        when(caseRepository.findById(1L)).thenReturn(Optional.of(storedCase));
+
+        // Act
+        ApiResponse<Case> response = caseService.updateCase(testCase, 3L);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.PRECONDITION_FAILED.value(), response.getErrorCode());
+        verify(caseRepository, never()).saveAndFlush(any(Case.class));
+    }
+
+    @Test
+    void updateCase_ConcurrentUpdate_ReturnsPreconditionFailed() {
+        // Arrange: another update commits between the read and the conditional write
+        Case testCase = createTestCase();
+        when(caseRepository.findById(1L)).thenReturn(Optional.of(createTestCase()));
+        when(caseRepository.saveAndFlush(any(Case.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Case.class, 1L));
+
+        // Act
+        ApiResponse<Case> response = caseService.updateCase(testCase, 0L);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.PRECONDITION_FAILED.value(), response.getErrorCode());
     }
 
     @Test
@@ -500,7 +872,7 @@ class CaseServiceTest {
     void updateCase_NonExistentCase_ReturnsError() {
         // Arrange
         Case testCase = createTestCase();
-        when(caseRepository.existsById(1L)).thenReturn(false);
+        when(caseRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act
         ApiResponse<Case> response = caseService.updateCase(testCase);
@@ -516,8 +888,9 @@ class CaseServiceTest {
     void updateCase_CaseNumberAlreadyInUse_ReturnsError() {
         // Arrange
         Case testCase = createTestCase();
+        Case storedCase = new Case(1L, "C-000", "Test Case", CaseType.CIVIL);
         Case existingCase = new Case(2L, "C-001", "Existing Case", CaseType.CIVIL);
-        when(caseRepository.existsById(1L)).thenReturn(true);
+        when(caseRepository.findById(1L)).thenReturn(Optional.of(storedCase));
         when(caseRepository.findByCaseNumber("C-001")).thenReturn(Optional.of(existingCase));
 
         // Act
@@ -527,16 +900,15 @@ class CaseServiceTest {
         assertFalse(response.isSuccess());
         assertEquals(HttpStatus.CONFLICT.value(), response.getErrorCode());
         assertTrue(response.getErrorMessages().get(0).contains("already in use by another case"));
-        verify(caseRepository, never()).save(any(Case.class));
+        verify(caseRepository, never()).saveAndFlush(any(Case.class));
     }
 
     @Test
     void updateCase_ExceptionThrown_ReturnsError() {
         // Arrange
         Case testCase = createTestCase();
-        when(caseRepository.existsById(1L)).thenReturn(true);
-        when(caseRepository.findByCaseNumber("C-001")).thenReturn(Optional.of(testCase));
-        when(caseRepository.save(any(Case.class))).thenThrow(new RuntimeException("Database error"));
+        when(caseRepository.findById(1L)).thenReturn(Optional.of(createTestCase()));
+        when(caseRepository.saveAndFlush(any(Case.class))).thenThrow(new RuntimeException("Database error"));
 
         // Act
         ApiResponse<Case> response = caseService.updateCase(testCase);
@@ -545,28 +917,60 @@ class CaseServiceTest {
         assertFalse(response.isSuccess());
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getErrorCode());
         assertTrue(response.getErrorMessages().get(0).contains("An unexpected error occurred"));
-        verify(caseRepository).save(testCase);
+        verify(caseRepository).saveAndFlush(testCase);
     }
 
     @Test
     void deleteCase_ExistingCase_ReturnsSuccess() {
         // Arrange
-        when(caseRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(caseRepository).deleteById(1L);
+        Case testCase = createTestCase();
+        when(caseRepository.findWithDocumentsById(1L)).thenReturn(Optional.of(testCase));
+        doNothing().when(caseRepository).delete(testCase);
 
         // Act
         ApiResponse<Void> response = caseService.deleteCase(1L);
 
         // Assert
         assertTrue(response.isSuccess());
-        verify(caseRepository).existsById(1L);
-        verify(caseRepository).deleteById(1L);
+        verify(caseRepository).findWithDocumentsById(1L);
+        verify(caseRepository).delete(testCase);
+        verify(outbox).record(Entity.CASE, Action.DELETED, 1L, 1L, null, null);
+        verify(trigramIndex).remove(ITrigramSearchIndex.Field.CASE_TITLE, 1L);
+    }
+
+    @Test
+    void deleteCase_CaseWithDocumentsAndHearings_DeletesTheirContentAndIndexEntries() throws Exception {
+        // Arrange
+        Case testCase = createTestCase();
+        Document stored = new Document(10L, "Contract", DocumentType.CONTRACT);
+        stored.setContentRef("ab/abcdef");
+        testCase.addDocument(stored);
+        testCase.addDocument(new Document(11L, "No content", DocumentType.EVIDENCE));
+        Hearing hearing = new Hearing();
+        hearing.setId(20L);
+        testCase.addHearing(hearing);
+        when(caseRepository.findWithDocumentsById(1L)).thenReturn(Optional.of(testCase));
+        doThrow(new IOException("disk gone")).when(contentStore).delete("ab/abcdef");
+
+        // Act
+        ApiResponse<Void> response = caseService.deleteCase(1L);
+
+        // Assert: the body goes after the commit, and a failure to delete it is only logged
+        assertTrue(response.isSuccess());
+        verify(caseRepository).delete(testCase);
+        verify(contentStore).delete("ab/abcdef");
+        verifyNoMoreInteractions(contentStore);
+        verify(searchIndex).remove(10L);
+        verify(searchIndex).remove(11L);
+        verify(trigramIndex).remove(ITrigramSearchIndex.Field.HEARING_JUDGE, 20L);
+        verify(scheduleIndex).remove(20L);
+        verify(upcomingIndex).remove(20L);
     }
 
     @Test
     void deleteCase_NonExistentCase_ReturnsError() {
         // Arrange
-        when(caseRepository.existsById(999L)).thenReturn(false);
+        when(caseRepository.findWithDocumentsById(999L)).thenReturn(Optional.empty());
 
         // Act
         ApiResponse<Void> response = caseService.deleteCase(999L);
@@ -575,14 +979,16 @@ class CaseServiceTest {
         assertFalse(response.isSuccess());
         assertEquals(HttpStatus.NOT_FOUND.value(), response.getErrorCode());
         assertTrue(response.getErrorMessages().get(0).contains("Case not found"));
-        verify(caseRepository, never()).deleteById(any());
+        verify(caseRepository, never()).delete(any());
+        verifyNoInteractions(contentStore);
     }
 
     @Test
     void deleteCase_ExceptionThrown_ReturnsError() {
         // Arrange
-        when(caseRepository.existsById(1L)).thenReturn(true);
-        doThrow(new RuntimeException("Database error")).when(caseRepository).deleteById(1L);
+        Case testCase = createTestCase();
+        when(caseRepository.findWithDocumentsById(1L)).thenReturn(Optional.of(testCase));
+        doThrow(new RuntimeException("Database error")).when(caseRepository).delete(testCase);
 
         // Act
         ApiResponse<Void> response = caseService.deleteCase(1L);
@@ -591,6 +997,31 @@ class CaseServiceTest {
         assertFalse(response.isSuccess());
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getErrorCode());
         assertTrue(response.getErrorMessages().get(0).contains("An unexpected error occurred"));
-        verify(caseRepository).deleteById(1L);
+        verify(caseRepository).delete(testCase);
+        verifyNoInteractions(contentStore);
+    }
+
+    @Test
+    void restoreCase_ValidId_DelegatesToTheArchive() {
+        // Arrange
+        Case restored = createTestCase();
+        when(caseArchive.restore(1L)).thenReturn(ApiResponse.success(restored));
+
+        // Act
+        ApiResponse<Case> response = caseService.restoreCase(1L);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(restored, response.getData());
+    }
+
+    @Test
+    void restoreCase_InvalidId_ReturnsError() {
+        // Act
+        ApiResponse<Case> response = caseService.restoreCase(0L);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
+        verifyNoInteractions(caseArchive);
     }
-}
\ No newline at end of file
+}
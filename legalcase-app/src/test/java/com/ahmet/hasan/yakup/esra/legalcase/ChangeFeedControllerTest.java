@@ -0,0 +1,128 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ahmet.hasan.yakup.esra.legalcase.api.ChangeFeedController;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IChangeFeed;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IChangeFeed.Filter;
+
+/**
+ * Test for ChangeFeedController using Mockito
+ */
+@ExtendWith(MockitoExtension.class)
+public class ChangeFeedControllerTest {
+
+    @Mock
+    private IChangeFeed changeFeed;
+
+    private ChangeFeedController changeFeedController;
+
+    @BeforeEach
+    public void setUp() {
+        changeFeedController = new ChangeFeedController(changeFeed, "30m");
+    }
+
+    @Test
+    public void testSubscribe_WithFilterAndLastEventIdHeader() {
+        // Arrange
+        when(changeFeed.subscribe(any(), any(), any())).thenReturn(() -> { });
+
+        // Act
+        ResponseEntity<SseEmitter> response = changeFeedController.subscribe(List.of("hearing", " Case"), 5L, " Judge Smith ",
+                "", 7L, "42");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.TEXT_EVENT_STREAM, response.getHeaders().getContentType());
+        SseEmitter emitter = response.getBody();
+        assertEquals(30 * 60 * 1000L, emitter.getTimeout());
+        verify(changeFeed).subscribe(eq(new Filter(Set.of(Entity.HEARING, Entity.CASE), 5L, "Judge Smith", null)),
+                eq(42L), any());
+    }
+
+    @Test
+    public void testSubscribe_LastEventIdParameter() {
+        // Arrange
+        when(changeFeed.subscribe(any(), any(), any())).thenReturn(() -> { });
+
+        // Act
+        changeFeedController.subscribe(null, null, null, null, 7L, null);
+
+        // Assert
+        verify(changeFeed).subscribe(eq(new Filter(Set.of(), null, null, null)), eq(7L), any());
+    }
+
+    @Test
+    public void testSubscribe_UnknownEntity() {
+        // Act
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> changeFeedController.subscribe(List.of("client"), null, null, null, null, null));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        verifyNoInteractions(changeFeed);
+    }
+
+    @Test
+    public void testSubscribe_InvalidLastEventIdHeader() {
+        // Act
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> changeFeedController.subscribe(null, null, null, null, null, "abc"));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        verifyNoInteractions(changeFeed);
+    }
+
+    @Test
+    public void testSubscribe_ThroughMvc_StreamsTheEvents() throws Exception {
+        // Arrange: the feed has lost the client's place, and tells it so
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(changeFeedController).build();
+        when(changeFeed.subscribe(any(), eq(3L), any())).thenAnswer(invocation -> {
+            IChangeFeed.Sink sink = invocation.getArgument(2);
+            sink.resync(9L);
+            sink.close();
+            return (Runnable) () -> { };
+        });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/changes").header("Last-Event-ID", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string("id:9\nevent:resync\ndata:{\"lastEventId\":9}\n\n"));
+    }
+}
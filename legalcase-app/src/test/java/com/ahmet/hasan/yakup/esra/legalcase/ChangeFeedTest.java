@@ -0,0 +1,235 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.ChangeFeed;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IChangeFeed;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IChangeFeed.Filter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeFeedTest {
+
+    private ChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new ChangeFeed(100, 16, 2, "1h");
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    /**
+     * Records what the feed writes, as change:id, resync:id, heartbeat and close
+     */
+    private static class RecordingSink implements IChangeFeed.Sink {
+
+        final BlockingQueue<String> written = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(ChangeEvent event) throws IOException {
+            written.add("change:" + event.id());
+        }
+
+        @Override
+        public void resync(long lastEventId) throws IOException {
+            written.add("resync:" + lastEventId);
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            written.add("heartbeat");
+        }
+
+        @Override
+        public void close() {
+            written.add("close");
+        }
+
+        List<String> take(int count) throws InterruptedException {
+            List<String> taken = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                String next = written.poll(5, TimeUnit.SECONDS);
+                assertNotNull(next, "Expected " + count + " writes, got " + taken);
+                taken.add(next);
+            }
+            return taken;
+        }
+    }
+
+    /**
+     * Publishes a hearing change and returns its id, read back through a subscriber that sees everything
+     */
+    private long publishHearing(RecordingSink all, Long caseId, String judge, String status) throws InterruptedException {
+        feed.publish(Entity.HEARING, Action.UPDATED, 10L, caseId, judge, status);
+        return Long.parseLong(all.take(1).get(0).substring("change:".length()));
+    }
+
+    @Test
+    void subscribe_ReceivesTheMatchingChangesInOrder() throws InterruptedException {
+        // Arrange
+        RecordingSink all = new RecordingSink();
+        RecordingSink byCase = new RecordingSink();
+        RecordingSink byJudge = new RecordingSink();
+        RecordingSink byStatusAndEntity = new RecordingSink();
+        feed.subscribe(Filter.ALL, null, all);
+        feed.subscribe(new Filter(null, 1L, null, null), null, byCase);
+        feed.subscribe(new Filter(null, null, "JUDGE  smith", null), null, byJudge);
+        feed.subscribe(new Filter(Set.of(Entity.HEARING), null, null, "cancelled"), null, byStatusAndEntity);
+
+        // Act
+        long first = publishHearing(all, 1L, "Judge Smith", "SCHEDULED");
+        long second = publishHearing(all, 2L, "Judge Smith", "CANCELLED");
+        long third = publishHearing(all, 1L, "Judge Brown", "CANCELLED");
+        feed.publish(Entity.CASE, Action.UPDATED, 1L, 1L, null, "CANCELLED");
+        long fourth = Long.parseLong(all.take(1).get(0).substring("change:".length()));
+
+        // Assert
+        assertTrue(first < second && second < third && third < fourth);
+        assertEquals(List.of("change:" + first, "change:" + third, "change:" + fourth), byCase.take(3));
+        assertEquals(List.of("change:" + first, "change:" + second), byJudge.take(2));
+        assertEquals(List.of("change:" + second, "change:" + third), byStatusAndEntity.take(2));
+        assertEquals(4, feed.subscribers());
+    }
+
+    @Test
+    void subscribe_LastEventId_ReplaysTheChangesAfterIt() throws InterruptedException {
+        // Arrange
+        RecordingSink all = new RecordingSink();
+        feed.subscribe(Filter.ALL, null, all);
+        long first = publishHearing(all, 1L, "Judge Smith", "SCHEDULED");
+        long second = publishHearing(all, 2L, "Judge Smith", "SCHEDULED");
+        long third = publishHearing(all, 1L, "Judge Smith", "SCHEDULED");
+
+        // Act
+        RecordingSink resumed = new RecordingSink();
+        feed.subscribe(new Filter(null, 1L, null, null), first, resumed);
+        long fourth = publishHearing(all, 1L, "Judge Smith", "SCHEDULED");
+
+        // Assert
+        assertEquals(List.of("change:" + third, "change:" + fourth), resumed.take(2));
+        assertTrue(resumed.written.isEmpty());
+        assertTrue(second > first);
+    }
+
+    @Test
+    void subscribe_LastEventIdNoLongerHeldOrUnknown_SendsResync() throws InterruptedException {
+        // Arrange
+        feed.shutdown();
+        feed = new ChangeFeed(2, 16, 2, "1h");
+        RecordingSink all = new RecordingSink();
+        feed.subscribe(Filter.ALL, null, all);
+        long first = publishHearing(all, 1L, "Judge Smith", "SCHEDULED");
+        publishHearing(all, 1L, "Judge Smith", "SCHEDULED");
+        publishHearing(all, 1L, "Judge Smith", "SCHEDULED");
+        long last = publishHearing(all, 1L, "Judge Smith", "SCHEDULED");
+
+        // Act: the change after the first is gone from the two held
+        RecordingSink tooOld = new RecordingSink();
+        feed.subscribe(Filter.ALL, first, tooOld);
+        RecordingSink fromTheFuture = new RecordingSink();
+        feed.subscribe(Filter.ALL, last + 1000, fromTheFuture);
+        RecordingSink upToDate = new RecordingSink();
+        feed.subscribe(Filter.ALL, last, upToDate);
+        long next = publishHearing(all, 1L, "Judge Smith", "SCHEDULED");
+
+        // Assert
+        assertEquals(List.of("resync:" + last, "change:" + next), tooOld.take(2));
+        assertEquals(List.of("resync:" + last, "change:" + next), fromTheFuture.take(2));
+        assertEquals(List.of("change:" + next), upToDate.take(1));
+    }
+
+    @Test
+    void publish_SlowSubscriberOverflows_ResyncsWithoutHoldingUpOthers() throws InterruptedException {
+        // Arrange: a subscriber stuck writing its first change, with room for two more
+        feed.shutdown();
+        feed = new ChangeFeed(100, 2, 2, "1h");
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink() {
+            @Override
+            public void send(ChangeEvent event) throws IOException {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(event);
+            }
+        };
+        RecordingSink all = new RecordingSink();
+        feed.subscribe(Filter.ALL, null, all);
+        feed.subscribe(Filter.ALL, null, slow);
+        long first = publishHearing(all, 1L, "Judge Smith", "SCHEDULED");
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // Act
+        publishHearing(all, 1L, "Judge Smith", "SCHEDULED");
+        long third = publishHearing(all, 1L, "Judge Smith", "SCHEDULED");
+        long fourth = publishHearing(all, 1L, "Judge Smith", "SCHEDULED");
+        release.countDown();
+
+        // Assert
+        assertEquals(List.of("change:" + first, "resync:" + third, "change:" + fourth), slow.take(3));
+    }
+
+    @Test
+    void publish_SinkFails_EndsTheSubscription() throws InterruptedException {
+        // Arrange
+        RecordingSink broken = new RecordingSink() {
+            @Override
+            public void send(ChangeEvent event) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        feed.subscribe(Filter.ALL, null, broken);
+
+        // Act
+        feed.publish(Entity.CASE, Action.CREATED, 1L, 1L, null, "NEW");
+
+        // Assert
+        assertEquals(List.of("close"), broken.take(1));
+        assertEquals(0, feed.subscribers());
+    }
+
+    @Test
+    void heartbeat_IsSentToIdleSubscribersAndUnsubscribeStopsTheChanges() throws InterruptedException {
+        // Arrange
+        RecordingSink sink = new RecordingSink();
+        Runnable unsubscribe = feed.subscribe(Filter.ALL, null, sink);
+
+        // Act
+        feed.heartbeat();
+
+        // Assert
+        assertEquals(List.of("heartbeat"), sink.take(1));
+        unsubscribe.run();
+        unsubscribe.run();
+        feed.publish(Entity.CASE, Action.CREATED, 1L, 1L, null, "NEW");
+        assertEquals(0, feed.subscribers());
+        assertNull(sink.written.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void constructor_InvalidConfiguration_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new ChangeFeed(0, 16, 2, "1h"));
+        assertThrows(IllegalArgumentException.class, () -> new ChangeFeed(100, 16, 2, "0s"));
+    }
+}
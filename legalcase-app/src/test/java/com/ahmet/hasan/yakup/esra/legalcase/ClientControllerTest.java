@@ -5,10 +5,14 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,13 +22,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import com.ahmet.hasan.yakup.esra.legalcase.api.ClientController;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Client;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IClientService;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 
 /**
  * Test for ClientController using Mockito
@@ -103,7 +110,7 @@ public class ClientControllerTest {
         when(clientService.getClientById(anyLong())).thenReturn(successResponse);
 
         // Act
-        ResponseEntity<ApiResponse<Client>> response = clientController.getClientById(1L);
+        ResponseEntity<ApiResponse<Client>> response = clientController.getClientById(1L, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -121,7 +128,7 @@ public class ClientControllerTest {
                 ApiResponse.error("Client not found", HttpStatus.NOT_FOUND.value()));
 
         // Act
-        ResponseEntity<ApiResponse<Client>> response = clientController.getClientById(1L);
+        ResponseEntity<ApiResponse<Client>> response = clientController.getClientById(1L, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -172,10 +179,10 @@ public class ClientControllerTest {
     @Test
     public void testGetAllClients() {
         // Arrange
-        when(clientService.getAllClients()).thenReturn(listSuccessResponse);
+        when(clientService.getAllClients(null, null)).thenReturn(listSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<Client>>> response = clientController.getAllClients();
+        ResponseEntity<ApiResponse<List<Client>>> response = clientController.getAllClients(null, null, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -184,16 +191,69 @@ public class ClientControllerTest {
         assertEquals(1, response.getBody().getData().size());
 
         // Verify service method was called
-        verify(clientService).getAllClients();
+        verify(clientService).getAllClients(null, null);
+    }
+
+    @Test
+    public void testGetClientById_NotModified() {
+        // Arrange
+        when(clientService.getClientById(anyLong())).thenReturn(successResponse);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(ResourceVersion.of(testClient, testClient.getCases()).getEtag());
+
+        // Act
+        ResponseEntity<ApiResponse<Client>> response = clientController.getClientById(1L, headers);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(headers.getIfNoneMatch().get(0), response.getHeaders().getETag());
+    }
+
+    @Test
+    public void testGetAllClients_NotModified() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.ofPage(List.of(new RowStamp(1L, LocalDateTime.now())));
+        when(clientService.getClientPageVersion(null, null)).thenReturn(version);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(version.getEtag());
+
+        // Act
+        ResponseEntity<ApiResponse<List<Client>>> response = clientController.getAllClients(null, null, headers);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+
+        // The page itself is never loaded
+        verify(clientService, never()).getAllClients(null, null);
+    }
+
+    @Test
+    public void testGetAllClients_CarriesETag() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.ofPage(List.of(new RowStamp(1L, LocalDateTime.now())));
+        when(clientService.getClientPageVersion(null, null)).thenReturn(version);
+        when(clientService.getAllClients(null, null)).thenReturn(listSuccessResponse);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("W/\"stale\"");
+
+        // Act
+        ResponseEntity<ApiResponse<List<Client>>> response = clientController.getAllClients(null, null, headers);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(version.getEtag(), response.getHeaders().getETag());
+        assertEquals(-1, response.getHeaders().getLastModified());
     }
 
     @Test
     public void testSearchClients() {
         // Arrange
-        when(clientService.searchClients(anyString())).thenReturn(listSuccessResponse);
+        when(clientService.searchClients(anyString(), isNull(), isNull())).thenReturn(listSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<Client>>> response = clientController.searchClients("John");
+        ResponseEntity<ApiResponse<List<Client>>> response = clientController.searchClients("John", null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -201,16 +261,16 @@ public class ClientControllerTest {
         assertEquals(testClientList, response.getBody().getData());
 
         // Verify service method was called
-        verify(clientService).searchClients("John");
+        verify(clientService).searchClients("John", null, null);
     }
 
     @Test
     public void testUpdateClient_Success() {
         // Arrange
-        when(clientService.updateClient(any(Client.class))).thenReturn(successResponse);
+        when(clientService.updateClient(any(Client.class), isNull())).thenReturn(successResponse);
 
         // Act
-        ResponseEntity<ApiResponse<Client>> response = clientController.updateClient(1L, testClient);
+        ResponseEntity<ApiResponse<Client>> response = clientController.updateClient(1L, testClient, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -218,7 +278,7 @@ public class ClientControllerTest {
         assertEquals(testClient, response.getBody().getData());
 
         // Verify service method was called
-        verify(clientService).updateClient(testClient);
+        verify(clientService).updateClient(testClient, null);
     }
 
     @Test
@@ -227,7 +287,7 @@ public class ClientControllerTest {
         testClient.setId(1L);
 
         // Act
-        ResponseEntity<ApiResponse<Client>> response = clientController.updateClient(2L, testClient);
+        ResponseEntity<ApiResponse<Client>> response = clientController.updateClient(2L, testClient, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -238,11 +298,11 @@ public class ClientControllerTest {
     @Test
     public void testUpdateClient_NotFound() {
         // Arrange
-        when(clientService.updateClient(any(Client.class))).thenReturn(
+        when(clientService.updateClient(any(Client.class), isNull())).thenReturn(
                 ApiResponse.error("Client not found", HttpStatus.NOT_FOUND.value()));
 
         // Act
-        ResponseEntity<ApiResponse<Client>> response = clientController.updateClient(1L, testClient);
+        ResponseEntity<ApiResponse<Client>> response = clientController.updateClient(1L, testClient, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -250,7 +310,7 @@ public class ClientControllerTest {
         assertEquals("Client not found", response.getBody().getErrorMessages().get(0));
 
         // Verify service method was called
-        verify(clientService).updateClient(testClient);
+        verify(clientService).updateClient(testClient, null);
     }
 
     @Test
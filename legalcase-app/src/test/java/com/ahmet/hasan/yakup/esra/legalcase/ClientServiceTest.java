@@ -4,12 +4,14 @@ import com.ahmet.hasan.yakup.esra.legalcase.model.Client;
 import com.ahmet.hasan.yakup.esra.legalcase.repository.ClientRepository;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
 import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.ClientService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +25,9 @@ class ClientServiceTest {
     @Mock
     private ClientRepository clientRepository;
 
+    @Mock
+    private ITrigramSearchIndex trigramIndex;
+
     @Mock
     private Logger logger;
 
@@ -31,7 +36,7 @@ class ClientServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        clientService = new ClientService(clientRepository);
+        clientService = new ClientService(clientRepository, trigramIndex);
     }
 
     // Helper method to create a test client
@@ -208,6 +213,25 @@ class ClientServiceTest {
         verify(clientRepository).findByNameContainingIgnoreCaseOrSurnameContainingIgnoreCase("John", "John");
     }
 
+    @Test
+    void searchClients_IndexReady_DoesNotScanTable() {
+        // Arrange
+        List<Client> matchedClients = List.of(new Client(2L, "Johnny", "Smith", "johnny.smith@example.com"));
+        when(trigramIndex.isReady(ITrigramSearchIndex.Field.CLIENT_NAME)).thenReturn(true);
+        when(trigramIndex.search(ITrigramSearchIndex.Field.CLIENT_NAME, "John", 0L, Integer.MAX_VALUE))
+                .thenReturn(List.of(2L));
+        when(trigramIndex.load(any(), any(), any(), anyInt(), any())).thenCallRealMethod();
+        when(clientRepository.findByIdInOrderByIdAsc(List.of(2L))).thenReturn(matchedClients);
+
+        // Act
+        ApiResponse<List<Client>> response = clientService.searchClients("John");
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(matchedClients, response.getData());
+        verify(clientRepository, never()).findByNameContainingIgnoreCaseOrSurnameContainingIgnoreCase(any(), any());
+    }
+
     @Test
     void searchClients_NoMatches_ReturnsEmptyList() {
         // Arrange
@@ -228,9 +252,10 @@ class ClientServiceTest {
         // Arrange
         Client testClient = createTestClient();
         testClient.setName("Updated Name");
-        when(clientRepository.existsById(1L)).thenReturn(true);
-        when(clientRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(testClient));
-        when(clientRepository.save(any(Client.class))).thenReturn(testClient);
+        Client storedClient = createTestClient();
+        storedClient.setVersion(2);
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(storedClient));
+        when(clientRepository.saveAndFlush(any(Client.class))).thenReturn(testClient);
 
         // Act
         ApiResponse<Client> response = clientService.updateClient(testClient);
@@ -238,16 +263,50 @@ class ClientServiceTest {
         // Assert
         assertTrue(response.isSuccess());
         assertEquals("Updated Name", response.getData().getName());
-        verify(clientRepository).existsById(1L);
-        verify(clientRepository).findByEmail("john.doe@example.com");
-        verify(clientRepository).save(testClient);
+        // The update is conditional on the stored version; an unchanged email is not checked again
+        assertEquals(2, testClient.getVersion());
+        verify(clientRepository, never()).findByEmail(anyString());
+        verify(clientRepository).saveAndFlush(testClient);
+    }
+
+    @Test
+    void updateClient_StaleExpectedVersion_ReturnsPreconditionFailed() {
+        // Arrange
+        Client testClient = createTestClient();
+        Client storedClient = createTestClient();
+        storedClient.setVersion(2);
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(storedClient));
+
+        // Act
+        ApiResponse<Client> response = clientService.updateClient(testClient, 1L);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.PRECONDITION_FAILED.value(), response.getErrorCode());
+        verify(clientRepository, never()).saveAndFlush(any(Client.class));
+    }
+
+    @Test
+    void updateClient_ConcurrentUpdate_ReturnsPreconditionFailed() {
+        // Arrange
+        Client testClient = createTestClient();
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(createTestClient()));
+        when(clientRepository.saveAndFlush(any(Client.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Client.class, 1L));
+
+        // Act
+        ApiResponse<Client> response = clientService.updateClient(testClient, 0L);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.PRECONDITION_FAILED.value(), response.getErrorCode());
     }
 
     @Test
     void updateClient_NonExistentId_ReturnsError() {
         // Arrange
         Client testClient = createTestClient();
-        when(clientRepository.existsById(1L)).thenReturn(false);
+        when(clientRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act
         ApiResponse<Client> response = clientService.updateClient(testClient);
@@ -263,8 +322,9 @@ class ClientServiceTest {
     void updateClient_EmailAlreadyInUse_ReturnsError() {
         // Arrange
         Client testClient = createTestClient();
+        Client storedClient = new Client(1L, "John", "Doe", "john@example.com");
         Client otherClient = new Client(2L, "Jane", "Smith", "john.doe@example.com");
-        when(clientRepository.existsById(1L)).thenReturn(true);
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(storedClient));
         when(clientRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(otherClient));
 
         // Act
@@ -274,16 +334,15 @@ class ClientServiceTest {
         assertFalse(response.isSuccess());
         assertEquals(HttpStatus.CONFLICT.value(), response.getErrorCode());
         assertTrue(response.getErrorMessages().get(0).contains("already in use by another client"));
-        verify(clientRepository, never()).save(any(Client.class));
+        verify(clientRepository, never()).saveAndFlush(any(Client.class));
     }
 
     @Test
     void updateClient_RepositoryException_ReturnsError() {
         // Arrange
         Client testClient = createTestClient();
-        when(clientRepository.existsById(1L)).thenReturn(true);
-        when(clientRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(testClient));
-        when(clientRepository.save(any(Client.class))).thenThrow(new RuntimeException("Database error"));
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(createTestClient()));
+        when(clientRepository.saveAndFlush(any(Client.class))).thenThrow(new RuntimeException("Database error"));
 
         // Act
         ApiResponse<Client> response = clientService.updateClient(testClient);
@@ -292,7 +351,7 @@ class ClientServiceTest {
         assertFalse(response.isSuccess());
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getErrorCode());
         assertTrue(response.getErrorMessages().get(0).contains("An unexpected error occurred"));
-        verify(clientRepository).save(testClient);
+        verify(clientRepository).saveAndFlush(testClient);
     }
 
     @Test
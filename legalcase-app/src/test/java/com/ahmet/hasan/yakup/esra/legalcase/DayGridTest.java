@@ -0,0 +1,103 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.utils.DayGrid;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayGridTest {
+
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    private static DayGrid week() {
+        return new DayGrid(MONDAY, MONDAY.plusDays(6), LocalTime.of(9, 0), LocalTime.of(17, 0), 15);
+    }
+
+    @Test
+    void newCalendar_WeekdaysFreeWeekendsBusy() {
+        // Act
+        DayGrid grid = week();
+        long[] calendar = grid.newCalendar();
+
+        // Assert
+        assertEquals(7, grid.days());
+        assertEquals(32, grid.cellsPerDay());
+        assertEquals(0xFFFF_FFFFL, calendar[0]);
+        assertEquals(0xFFFF_FFFFL, calendar[4]);
+        assertEquals(0L, calendar[5]);
+        assertEquals(0L, calendar[6]);
+        assertEquals(MONDAY.atTime(10, 30), grid.startOf(0, 6));
+    }
+
+    @Test
+    void occupy_ClearsEveryCellTheSlotTouches() {
+        // Arrange
+        DayGrid grid = week();
+        long[] calendar = grid.newCalendar();
+
+        // Act: 10:10 - 10:50 touches the cells of 10:00, 10:15, 10:30 and 10:45
+        grid.occupy(calendar, MONDAY.atTime(10, 10), MONDAY.atTime(10, 50));
+        // A slot across midnight, and one before the court day
+        grid.occupy(calendar, MONDAY.plusDays(1).atTime(16, 30), MONDAY.plusDays(2).atTime(9, 15));
+        grid.occupy(calendar, MONDAY.atTime(7, 0), MONDAY.atTime(8, 0));
+
+        // Assert
+        assertEquals(0xFFFF_FFFFL & ~DayGrid.mask(4, 4), calendar[0]);
+        assertEquals(0xFFFF_FFFFL & ~DayGrid.mask(30, 2), calendar[1]);
+        assertEquals(0xFFFF_FFFFL & ~DayGrid.mask(0, 1), calendar[2]);
+    }
+
+    @Test
+    void occupy_OutsideTheWindowIsIgnored() {
+        // Arrange
+        DayGrid grid = week();
+        long[] calendar = grid.newCalendar();
+
+        // Act
+        grid.occupy(calendar, LocalDateTime.of(2020, 1, 1, 9, 0), MONDAY.atTime(9, 30));
+        grid.occupy(calendar, MONDAY.plusDays(4).atTime(16, 45), MONDAY.plusDays(30).atTime(12, 0));
+
+        // Assert
+        assertEquals(0xFFFF_FFFFL & ~DayGrid.mask(0, 2), calendar[0]);
+        assertEquals(0xFFFF_FFFFL & ~DayGrid.mask(31, 1), calendar[4]);
+    }
+
+    @Test
+    void runStarts_MatchesANaiveScan() {
+        // Arrange
+        Random random = new Random(7);
+
+        for (int i = 0; i < 2000; i++) {
+            long free = random.nextLong() | random.nextLong();
+            int cells = 1 + random.nextInt(64);
+
+            // Act
+            long starts = DayGrid.runStarts(free, cells);
+
+            // Assert
+            for (int cell = 0; cell < 64; cell++) {
+                boolean run = cell + cells <= 64;
+                for (int j = cell; run && j < cell + cells; j++) {
+                    run = (free & (1L << j)) != 0;
+                }
+                assertEquals(run, (starts & (1L << cell)) != 0, "cell " + cell + " run " + cells);
+            }
+        }
+    }
+
+    @Test
+    void constructor_DayTheGridCannotHold_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DayGrid(MONDAY, MONDAY, LocalTime.of(0, 0), LocalTime.of(23, 0), 15));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DayGrid(MONDAY, MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 10), 15));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DayGrid(MONDAY, MONDAY.minusDays(1), LocalTime.of(9, 0), LocalTime.of(17, 0), 15));
+    }
+}
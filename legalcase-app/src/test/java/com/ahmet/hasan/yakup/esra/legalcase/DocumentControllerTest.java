@@ -1,14 +1,31 @@
 package com.ahmet.hasan.yakup.esra.legalcase;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.when;
-
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,15 +35,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.ahmet.hasan.yakup.esra.legalcase.api.DocumentController;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Document;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.DocumentType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.DocumentSearchHit;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentService;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 
 /**
  * Test for DocumentController using Mockito
@@ -44,6 +72,8 @@ public class DocumentControllerTest {
     private Document testDocument;
     private Case testCase;
     private List<Document> testDocumentList;
+    private static final String CONTENT_HASH = "9d9595c5d94fb65b824f56e9999527dba9542481580d69feb89056aabaa0aa87";
+
     private ApiResponse<Document> successResponse;
     private ApiResponse<Document> errorResponse;
     private ApiResponse<List<Document>> listSuccessResponse;
@@ -62,7 +92,10 @@ public class DocumentControllerTest {
         testDocument.setTitle("Test Document");
         testDocument.setType(DocumentType.EVIDENCE);
         testDocument.setCse(testCase);
-        testDocument.setContent("This is test content");
+        testDocument.setContentRef("0123456789abcdef0123456789abcdef");
+        testDocument.setContentSize(20L);
+        testDocument.setContentHash(CONTENT_HASH);
+        testDocument.setContentType("text/plain");
 
         // Setup test list
         testDocumentList = new ArrayList<>();
@@ -134,7 +167,7 @@ public class DocumentControllerTest {
         when(documentService.getDocumentById(anyLong())).thenReturn(successResponse);
 
         // Act
-        ResponseEntity<ApiResponse<Document>> response = documentController.getDocumentById(1L);
+        ResponseEntity<ApiResponse<Document>> response = documentController.getDocumentById(1L, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -152,7 +185,7 @@ public class DocumentControllerTest {
                 ApiResponse.error("Document not found", HttpStatus.NOT_FOUND.value()));
 
         // Act
-        ResponseEntity<ApiResponse<Document>> response = documentController.getDocumentById(1L);
+        ResponseEntity<ApiResponse<Document>> response = documentController.getDocumentById(1L, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -166,10 +199,10 @@ public class DocumentControllerTest {
     @Test
     public void testGetAllDocuments() {
         // Arrange
-        when(documentService.getAllDocuments()).thenReturn(listSuccessResponse);
+        when(documentService.getAllDocuments(null, null)).thenReturn(listSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<Document>>> response = documentController.getAllDocuments();
+        ResponseEntity<ApiResponse<List<Document>>> response = documentController.getAllDocuments(null, null, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -178,16 +211,69 @@ public class DocumentControllerTest {
         assertEquals(1, response.getBody().getData().size());
 
         // Verify service method was called
-        verify(documentService).getAllDocuments();
+        verify(documentService).getAllDocuments(null, null);
+    }
+
+    @Test
+    public void testGetDocumentById_NotModified() {
+        // Arrange
+        when(documentService.getDocumentById(anyLong())).thenReturn(successResponse);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(ResourceVersion.of(testDocument, testDocument.getCse()).getEtag());
+
+        // Act
+        ResponseEntity<ApiResponse<Document>> response = documentController.getDocumentById(1L, headers);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(headers.getIfNoneMatch().get(0), response.getHeaders().getETag());
+    }
+
+    @Test
+    public void testGetAllDocuments_NotModified() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.ofPage(List.of(new RowStamp(1L, LocalDateTime.now())));
+        when(documentService.getDocumentPageVersion(null, null)).thenReturn(version);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(version.getEtag());
+
+        // Act
+        ResponseEntity<ApiResponse<List<Document>>> response = documentController.getAllDocuments(null, null, headers);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+
+        // The page itself is never loaded
+        verify(documentService, never()).getAllDocuments(null, null);
+    }
+
+    @Test
+    public void testGetAllDocuments_CarriesETag() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.ofPage(List.of(new RowStamp(1L, LocalDateTime.now())));
+        when(documentService.getDocumentPageVersion(null, null)).thenReturn(version);
+        when(documentService.getAllDocuments(null, null)).thenReturn(listSuccessResponse);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("W/\"stale\"");
+
+        // Act
+        ResponseEntity<ApiResponse<List<Document>>> response = documentController.getAllDocuments(null, null, headers);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(version.getEtag(), response.getHeaders().getETag());
+        assertEquals(-1, response.getHeaders().getLastModified());
     }
 
     @Test
     public void testGetDocumentsByCaseId_Success() {
         // Arrange
-        when(documentService.getDocumentsByCaseId(anyLong())).thenReturn(listSuccessResponse);
+        when(documentService.getDocumentsByCaseId(anyLong(), isNull(), isNull())).thenReturn(listSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<Document>>> response = documentController.getDocumentsByCaseId(1L);
+        ResponseEntity<ApiResponse<List<Document>>> response = documentController.getDocumentsByCaseId(1L, null, null, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -195,16 +281,35 @@ public class DocumentControllerTest {
         assertEquals(testDocumentList, response.getBody().getData());
 
         // Verify service method was called
-        verify(documentService).getDocumentsByCaseId(1L);
+        verify(documentService).getDocumentsByCaseId(1L, null, null);
+    }
+
+    @Test
+    public void testGetDocumentsByCaseId_NotModified() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.ofPage(List.of(new RowStamp(1L, LocalDateTime.now())));
+        when(documentService.getDocumentPageVersionByCaseId(1L, null, null)).thenReturn(version);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(version.getEtag());
+
+        // Act
+        ResponseEntity<ApiResponse<List<Document>>> response = documentController.getDocumentsByCaseId(1L, null, null, headers);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+
+        // The page itself is never loaded
+        verify(documentService, never()).getDocumentsByCaseId(1L, null, null);
     }
 
     @Test
     public void testGetDocumentsByType() {
         // Arrange
-        when(documentService.getDocumentsByType(any(DocumentType.class))).thenReturn(listSuccessResponse);
+        when(documentService.getDocumentsByType(any(DocumentType.class), isNull(), isNull())).thenReturn(listSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<Document>>> response = documentController.getDocumentsByType(DocumentType.EVIDENCE);
+        ResponseEntity<ApiResponse<List<Document>>> response = documentController.getDocumentsByType(DocumentType.EVIDENCE, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -212,33 +317,48 @@ public class DocumentControllerTest {
         assertEquals(testDocumentList, response.getBody().getData());
 
         // Verify service method was called
-        verify(documentService).getDocumentsByType(DocumentType.EVIDENCE);
+        verify(documentService).getDocumentsByType(DocumentType.EVIDENCE, null, null);
     }
 
     @Test
     public void testSearchDocuments() {
         // Arrange
-        when(documentService.searchDocumentsByTitle(anyString())).thenReturn(listSuccessResponse);
+        List<DocumentSearchHit> hits = List.of(DocumentSearchHit.of(testDocument, 1.5));
+        when(documentService.searchDocuments(anyString(), isNull(), isNull())).thenReturn(ApiResponse.success(hits));
 
         // Act
-        ResponseEntity<ApiResponse<List<Document>>> response = documentController.searchDocuments("Test");
+        ResponseEntity<ApiResponse<List<DocumentSearchHit>>> response = documentController.searchDocuments("Test", null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isSuccess());
-        assertEquals(testDocumentList, response.getBody().getData());
+        assertEquals(hits, response.getBody().getData());
 
         // Verify service method was called
-        verify(documentService).searchDocumentsByTitle("Test");
+        verify(documentService).searchDocuments("Test", null, null);
+    }
+
+    @Test
+    public void testSearchDocuments_BlankQuery() {
+        // Arrange
+        when(documentService.searchDocuments(anyString(), isNull(), isNull()))
+                .thenReturn(ApiResponse.error("Search query cannot be empty", HttpStatus.BAD_REQUEST.value()));
+
+        // Act
+        ResponseEntity<ApiResponse<List<DocumentSearchHit>>> response = documentController.searchDocuments(" ", null, null);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertFalse(response.getBody().isSuccess());
     }
 
     @Test
     public void testUpdateDocument_Success() {
         // Arrange
-        when(documentService.updateDocument(anyLong(), any(Document.class))).thenReturn(successResponse);
+        when(documentService.updateDocument(anyLong(), any(Document.class), isNull())).thenReturn(successResponse);
 
         // Act
-        ResponseEntity<ApiResponse<Document>> response = documentController.updateDocument(1L, testDocument);
+        ResponseEntity<ApiResponse<Document>> response = documentController.updateDocument(1L, testDocument, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -246,7 +366,7 @@ public class DocumentControllerTest {
         assertEquals(testDocument, response.getBody().getData());
 
         // Verify service method was called
-        verify(documentService).updateDocument(1L, testDocument);
+        verify(documentService).updateDocument(1L, testDocument, null);
     }
 
     @Test
@@ -257,7 +377,7 @@ public class DocumentControllerTest {
         documentWithDifferentId.setId(2L);
 
         // Act
-        ResponseEntity<ApiResponse<Document>> response = documentController.updateDocument(1L, documentWithDifferentId);
+        ResponseEntity<ApiResponse<Document>> response = documentController.updateDocument(1L, documentWithDifferentId, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -302,7 +422,7 @@ public class DocumentControllerTest {
     @Test
     public void testGetDocumentContent_Success() {
         // Arrange
-        when(documentService.getDocumentById(anyLong())).thenReturn(successResponse);
+        when(documentService.getDocumentContent(anyLong())).thenReturn(ApiResponse.success("This is test content"));
 
         // Act
         ResponseEntity<ApiResponse<String>> response = documentController.getDocumentContent(1L);
@@ -313,13 +433,13 @@ public class DocumentControllerTest {
         assertEquals("This is test content", response.getBody().getData());
 
         // Verify service method was called
-        verify(documentService).getDocumentById(1L);
+        verify(documentService).getDocumentContent(1L);
     }
 
     @Test
     public void testGetDocumentContent_DocumentNotFound() {
         // Arrange
-        when(documentService.getDocumentById(anyLong())).thenReturn(
+        when(documentService.getDocumentContent(anyLong())).thenReturn(
                 ApiResponse.error("Document not found", HttpStatus.NOT_FOUND.value()));
 
         // Act
@@ -331,22 +451,14 @@ public class DocumentControllerTest {
         assertEquals("Document not found", response.getBody().getErrorMessages().get(0));
 
         // Verify service method was called
-        verify(documentService).getDocumentById(1L);
+        verify(documentService).getDocumentContent(1L);
     }
 
     @Test
     public void testGetDocumentContent_NoContent() {
         // Arrange
-        Document documentWithNoContent = new Document();
-        documentWithNoContent.setId(1L);
-        documentWithNoContent.setTitle("Test Document");
-        documentWithNoContent.setType(DocumentType.EVIDENCE);
-        documentWithNoContent.setCse(testCase);
-        documentWithNoContent.setContent(null);
-
-        ApiResponse<Document> responseWithNoContent = ApiResponse.success(documentWithNoContent);
-
-        when(documentService.getDocumentById(anyLong())).thenReturn(responseWithNoContent);
+        when(documentService.getDocumentContent(anyLong())).thenReturn(
+                ApiResponse.error("Document has no content", HttpStatus.NOT_FOUND.value()));
 
         // Act
         ResponseEntity<ApiResponse<String>> response = documentController.getDocumentContent(1L);
@@ -357,6 +469,185 @@ public class DocumentControllerTest {
         assertEquals("Document has no content", response.getBody().getErrorMessages().get(0));
 
         // Verify service method was called
-        verify(documentService).getDocumentById(1L);
+        verify(documentService).getDocumentContent(1L);
+    }
+
+    @Test
+    public void testUpdateDocumentContent_Success() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("text/plain");
+        request.setContent("New content".getBytes(StandardCharsets.UTF_8));
+        when(documentService.updateDocumentContent(eq(1L), any(InputStream.class), eq("text/plain")))
+                .thenReturn(successResponse);
+
+        // Act
+        ResponseEntity<ApiResponse<Document>> response = documentController.updateDocumentContent(1L, request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().isSuccess());
+        assertEquals(testDocument, response.getBody().getData());
+
+        // Verify service method was called
+        verify(documentService).updateDocumentContent(eq(1L), any(InputStream.class), eq("text/plain"));
+    }
+
+    @Test
+    public void testUploadDocument_Success() {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "evidence.pdf", "application/pdf", new byte[]{1, 2, 3});
+        when(documentService.createDocumentWithContent(eq(1L), eq("Evidence"), eq(DocumentType.EVIDENCE),
+                any(InputStream.class), eq("application/pdf"))).thenReturn(successResponse);
+
+        // Act
+        ResponseEntity<ApiResponse<Document>> response = documentController.uploadDocument(
+                1L, "Evidence", DocumentType.EVIDENCE, file);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertTrue(response.getBody().isSuccess());
+        assertEquals(testDocument, response.getBody().getData());
+    }
+
+    @Test
+    public void testDownloadDocumentContent_WholeBody() throws IOException {
+        // Arrange
+        when(documentService.getDocumentById(1L)).thenReturn(successResponse);
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = documentController.downloadDocumentContent(1L, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(20L, response.getHeaders().getContentLength());
+        assertEquals("bytes", response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+        assertEquals("\"" + CONTENT_HASH + "\"", response.getHeaders().getETag());
+        assertEquals(MediaType.TEXT_PLAIN, response.getHeaders().getContentType());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(documentService).streamDocumentContent(testDocument, 0L, 20L, out);
+    }
+
+    @Test
+    public void testDownloadDocumentContent_SingleRange() throws IOException {
+        // Arrange
+        when(documentService.getDocumentById(1L)).thenReturn(successResponse);
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = documentController.downloadDocumentContent(1L, "bytes=5-9", null);
+
+        // Assert
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals(5L, response.getHeaders().getContentLength());
+        assertEquals("bytes 5-9/20", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(documentService).streamDocumentContent(testDocument, 5L, 5L, out);
+    }
+
+    @Test
+    public void testDownloadDocumentContent_SuffixRange() {
+        // Arrange
+        when(documentService.getDocumentById(1L)).thenReturn(successResponse);
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = documentController.downloadDocumentContent(1L, "bytes=-4", null);
+
+        // Assert
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 16-19/20", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    public void testDownloadDocumentContent_UnsatisfiableRange() {
+        // Arrange
+        when(documentService.getDocumentById(1L)).thenReturn(successResponse);
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = documentController.downloadDocumentContent(1L, "bytes=50-", null);
+
+        // Assert
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */20", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    public void testDownloadDocumentContent_StaleIfRange_SendsWholeBody() {
+        // Arrange
+        when(documentService.getDocumentById(1L)).thenReturn(successResponse);
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = documentController.downloadDocumentContent(1L, "bytes=5-9", "\"stale\"");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(20L, response.getHeaders().getContentLength());
+    }
+
+    @Test
+    public void testDownloadDocumentContent_NoContent() {
+        // Arrange
+        Document emptyDocument = new Document(2L, "Empty", DocumentType.OTHER, testCase);
+        when(documentService.getDocumentById(2L)).thenReturn(ApiResponse.success(emptyDocument));
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = documentController.downloadDocumentContent(2L, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    public void testDownloadDocumentContent_SizeUnknown() {
+        // Arrange
+        testDocument.setContentSize(null);
+        when(documentService.getDocumentById(1L)).thenReturn(successResponse);
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = documentController.downloadDocumentContent(1L, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    public void testDownloadDocumentContent_DocumentNotFound() {
+        // Arrange
+        when(documentService.getDocumentById(9L)).thenReturn(
+                ApiResponse.error("Document not found with ID: 9", HttpStatus.NOT_FOUND.value()));
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = documentController.downloadDocumentContent(9L, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    public void testDownloadDocumentContent_ThroughMvc_StreamsTheRange() throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(documentController).build();
+        when(documentService.getDocumentById(1L)).thenReturn(successResponse);
+        when(documentService.streamDocumentContent(eq(testDocument), eq(5L), eq(5L), any())).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(3).write("range".getBytes(StandardCharsets.UTF_8));
+            return 5L;
+        });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/documents/1/download").header(HttpHeaders.RANGE, "bytes=5-9"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"))
+                .andExpect(content().contentType(MediaType.TEXT_PLAIN))
+                .andExpect(content().string("range"));
     }
-}
\ No newline at end of file
+}
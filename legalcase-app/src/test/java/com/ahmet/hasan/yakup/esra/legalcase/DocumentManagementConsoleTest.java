@@ -114,10 +114,12 @@ public class DocumentManagementConsoleTest {
         case1.setStatus(CaseStatus.ACTIVE);
 
         Document doc1 = new Document(1L, "Contract with Client A", DocumentType.CONTRACT, case1);
-        doc1.setContent("This is a test contract content...");
+        doc1.setContentRef("0123456789abcdef0123456789abcdef");
+        doc1.setContentSize(34L);
 
         Document doc2 = new Document(2L, "Evidence B", DocumentType.EVIDENCE, case1);
-        doc2.setContent("This is a test evidence content...");
+        doc2.setContentRef("fedcba9876543210fedcba9876543210");
+        doc2.setContentSize(2048L);
 
         documents.add(doc1);
         documents.add(doc2);
@@ -262,7 +264,7 @@ public class DocumentManagementConsoleTest {
         when(caseService.getCaseById(1L)).thenReturn(ApiResponse.success(testCase));
 
         Document createdDoc = new Document(3L, "Test Document", DocumentType.CONTRACT, testCase);
-        createdDoc.setContent("This is test content\n");
+        createdDoc.setContentRef("0123456789abcdef0123456789abcdef");
         when(documentService.createDocumentWithContent(eq(1L), eq("Test Document"), eq(DocumentType.CONTRACT), any()))
                 .thenReturn(ApiResponse.success(createdDoc));
 
@@ -309,8 +311,8 @@ public class DocumentManagementConsoleTest {
         when(documentService.getDocumentById(1L)).thenReturn(ApiResponse.success(existingDoc));
 
         Document updatedDoc = new Document(1L, "Updated Title", DocumentType.CONTRACT, existingDoc.getCse());
-        updatedDoc.setContent("Updated content\n");
         when(documentService.updateDocument(eq(1L), any(Document.class))).thenReturn(ApiResponse.success(updatedDoc));
+        when(documentService.updateDocumentContent(1L, "Updated content\n")).thenReturn(ApiResponse.success(updatedDoc));
 
         // Execute method
         documentManagementConsole.updateDocumentDetails();
@@ -318,6 +320,7 @@ public class DocumentManagementConsoleTest {
         // Verify service calls
         verify(documentService).getDocumentById(1L);
         verify(documentService).updateDocument(eq(1L), any(Document.class));
+        verify(documentService).updateDocumentContent(1L, "Updated content\n");
 
         // Check output contains expected content
         String output = outContent.toString();
@@ -332,16 +335,19 @@ public class DocumentManagementConsoleTest {
         // Setup mock response
         Document testDocument = createTestDocuments().get(0);
         when(documentService.getDocumentById(1L)).thenReturn(ApiResponse.success(testDocument));
+        when(documentService.getDocumentContent(1L)).thenReturn(ApiResponse.success("This is a test contract content..."));
 
         // Execute method
         documentManagementConsole.viewDocumentContent();
 
         // Verify service call
         verify(documentService).getDocumentById(1L);
+        verify(documentService).getDocumentContent(1L);
 
         // Check output contains expected content
         String output = outContent.toString();
         assertTrue(output.contains("=== Document Content ==="));
+        assertTrue(output.contains("This is a test contract content..."));
     }
 
     @Test
@@ -493,11 +499,11 @@ public class DocumentManagementConsoleTest {
         // Create an existing document with CONTRACT type
         Case testCase = new Case(1L, "C-001", "Test Case", CaseType.CIVIL);
         Document existingDocument = new Document(1L, "Original Title", DocumentType.CONTRACT, testCase);
-        existingDocument.setContent("Original content");
+        existingDocument.setContentRef("0123456789abcdef0123456789abcdef");
 
         // Create the updated document that should be returned by the service
         Document updatedDocument = new Document(1L, "Original Title", DocumentType.EVIDENCE, testCase);
-        updatedDocument.setContent("Original content");
+        updatedDocument.setContentRef("0123456789abcdef0123456789abcdef");
 
         // Setup mock responses
         when(documentService.getDocumentById(1L)).thenReturn(ApiResponse.success(existingDocument));
@@ -513,8 +519,8 @@ public class DocumentManagementConsoleTest {
         verify(documentService).getDocumentById(1L);
         verify(documentService).updateDocument(eq(1L), argThat(doc ->
                 doc.getType() == DocumentType.EVIDENCE &&
-                        doc.getTitle().equals("Original Title") &&
-                        doc.getContent().equals("Original content")));
+                        doc.getTitle().equals("Original Title")));
+        verify(documentService, never()).updateDocumentContent(anyLong(), anyString());
 
         // Verify waitForEnter was called
         verify(consoleUtils).waitForEnter();
@@ -4,17 +4,37 @@ import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Document;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseType;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.DocumentType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
 import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
 import com.ahmet.hasan.yakup.esra.legalcase.repository.DocumentRepository;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
 import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.DocumentService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IOutbox;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentContentStore;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.DocumentSearchHit;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.CursorPage;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
+import org.springframework.data.domain.Limit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
 import org.springframework.http.HttpStatus;
-
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -30,6 +50,18 @@ class DocumentServiceTest {
     @Mock
     private CaseRepository caseRepository;
 
+    @Mock
+    private IDocumentContentStore contentStore;
+
+    @Mock
+    private IDocumentSearchIndex searchIndex;
+
+    @Mock
+    private IOutbox outbox;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @Mock
     private Logger logger;
 
@@ -38,9 +70,14 @@ class DocumentServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        documentService = new DocumentService(documentRepository, caseRepository);
+        documentService = new DocumentService(documentRepository, caseRepository, contentStore, searchIndex,
+                outbox, transactionManager);
     }
 
+    private static final IDocumentContentStore.StoredContent STORED =
+            new IDocumentContentStore.StoredContent("0123456789abcdef0123456789abcdef", 12L,
+                    "9d9595c5d94fb65b824f56e9999527dba9542481580d69feb89056aabaa0aa87");
+
     // Helper method to create a test document
     private Document createTestDocument() {
         Case testCase = new Case(1L, "C-001", "Test Case", CaseType.CIVIL);
@@ -91,14 +128,12 @@ class DocumentServiceTest {
     }
 
     @Test
-    void createDocumentWithContent_ValidParameters_ReturnsSuccess() {
+    void createDocumentWithContent_ValidParameters_ReturnsSuccess() throws IOException {
         // Arrange
         Case testCase = new Case(1L, "C-001", "Test Case", CaseType.CIVIL);
         when(caseRepository.findById(1L)).thenReturn(Optional.of(testCase));
-
-        Document savedDocument = new Document(1L, "New Document", DocumentType.CONTRACT, testCase);
-        savedDocument.setContent("Test content");
-        when(documentRepository.save(any(Document.class))).thenReturn(savedDocument);
+        when(contentStore.write(any(InputStream.class))).thenReturn(STORED);
+        when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         ApiResponse<Document> response = documentService.createDocumentWithContent(
@@ -106,10 +141,16 @@ class DocumentServiceTest {
 
         // Assert
         assertTrue(response.isSuccess());
-        assertEquals(savedDocument, response.getData());
-        assertEquals("Test content", response.getData().getContent());
+        assertEquals(STORED.ref(), response.getData().getContentRef());
+        assertEquals(12L, response.getData().getContentSize());
+        assertEquals(STORED.sha256(), response.getData().getContentHash());
         verify(caseRepository).findById(1L);
+        verify(contentStore).write(any(InputStream.class));
+        assertEquals("text/plain;charset=UTF-8", response.getData().getContentType());
         verify(documentRepository).save(any(Document.class));
+        // The row and its outbox entry commit together
+        verify(outbox).record(Entity.DOCUMENT, Action.CREATED, null, 1L, null, null);
+        verify(transactionManager).commit(any());
     }
 
     @Test
@@ -130,10 +171,11 @@ class DocumentServiceTest {
     }
 
     @Test
-    void createDocumentWithContent_RepositoryException_ReturnsError() {
+    void createDocumentWithContent_RepositoryException_ReturnsError() throws IOException {
         // Arrange
         Case testCase = new Case(1L, "C-001", "Test Case", CaseType.CIVIL);
         when(caseRepository.findById(1L)).thenReturn(Optional.of(testCase));
+        when(contentStore.write(any(InputStream.class))).thenReturn(STORED);
         when(documentRepository.save(any(Document.class))).thenThrow(new RuntimeException("Database error"));
 
         // Act
@@ -146,6 +188,10 @@ class DocumentServiceTest {
         assertTrue(response.getErrorMessages().get(0).contains("Failed to save document"));
         verify(caseRepository).findById(1L);
         verify(documentRepository).save(any(Document.class));
+        // The stored body must not outlive the failed insert
+        verify(contentStore).delete(STORED.ref());
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(outbox);
     }
 
     @Test
@@ -242,6 +288,31 @@ class DocumentServiceTest {
         verify(documentRepository, never()).findByCseId(999L);
     }
 
+    @Test
+    void getDocumentPageVersionByCaseId_CaseNotFound_ReturnsNull() {
+        // Arrange
+        when(documentRepository.findStampsByCaseIdAfter(999L, 0L, CursorPage.limit(CursorPage.DEFAULT_SIZE)))
+                .thenReturn(List.of());
+        when(caseRepository.existsById(999L)).thenReturn(false);
+
+        // Act & Assert
+        assertNull(documentService.getDocumentPageVersionByCaseId(999L, null, null));
+    }
+
+    @Test
+    void getDocumentPageVersion_ReadsStampsBeforeLoading() {
+        // Arrange
+        List<RowStamp> stamps = List.of(new RowStamp(5L, null, null));
+        when(documentRepository.findStampsAfter(0L, CursorPage.limit(CursorPage.DEFAULT_SIZE))).thenReturn(stamps);
+
+        // Act
+        ResourceVersion version = documentService.getDocumentPageVersion(null, null);
+
+        // Assert
+        assertEquals(ResourceVersion.ofPage(stamps).getEtag(), version.getEtag());
+        verify(documentRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
     @Test
     void getDocumentsByType_ValidType_ReturnsDocuments() {
         // Arrange
@@ -313,10 +384,9 @@ class DocumentServiceTest {
         // Arrange
         Document existingDocument = createTestDocument();
         Document updatedDocument = new Document(1L, "Updated Title", DocumentType.EVIDENCE);
-        updatedDocument.setContent("Updated content");
 
         when(documentRepository.findById(1L)).thenReturn(Optional.of(existingDocument));
-        when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> {
+        when(documentRepository.saveAndFlush(any(Document.class))).thenAnswer(invocation -> {
             Document savedDoc = invocation.getArgument(0);
             return savedDoc; // Return the saved document
         });
@@ -328,9 +398,141 @@ class DocumentServiceTest {
         assertTrue(response.isSuccess());
         assertEquals("Updated Title", response.getData().getTitle());
         assertEquals(DocumentType.EVIDENCE, response.getData().getType());
-        assertEquals("Updated content", response.getData().getContent());
         verify(documentRepository).findById(1L);
-        verify(documentRepository).save(any(Document.class));
+        verify(documentRepository).saveAndFlush(any(Document.class));
+    }
+
+    @Test
+    void getDocumentContent_ValidId_ReadsFromStore() throws IOException {
+        // Arrange
+        Document testDocument = createTestDocument();
+        testDocument.setContentRef(STORED.ref());
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(testDocument));
+        when(contentStore.read(STORED.ref()))
+                .thenReturn(ByteBuffer.wrap("Test content".getBytes(StandardCharsets.UTF_8)));
+
+        // Act
+        ApiResponse<String> response = documentService.getDocumentContent(1L);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals("Test content", response.getData());
+        verify(contentStore).read(STORED.ref());
+    }
+
+    @Test
+    void getDocumentContent_NoContent_ReturnsError() {
+        // Arrange
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(createTestDocument()));
+
+        // Act
+        ApiResponse<String> response = documentService.getDocumentContent(1L);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getErrorCode());
+        assertEquals("Document has no content", response.getErrorMessages().get(0));
+        verifyNoInteractions(contentStore);
+    }
+
+    @Test
+    void getDocumentContent_MissingFromStore_ReturnsError() throws IOException {
+        // Arrange
+        Document testDocument = createTestDocument();
+        testDocument.setContentRef(STORED.ref());
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(testDocument));
+        when(contentStore.read(STORED.ref())).thenThrow(new NoSuchFileException(STORED.ref()));
+
+        // Act
+        ApiResponse<String> response = documentService.getDocumentContent(1L);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getErrorCode());
+    }
+
+    @Test
+    void updateDocumentContent_ReplacesStoredContent() throws IOException {
+        // Arrange
+        String previousRef = "fedcba9876543210fedcba9876543210";
+        Document existingDocument = createTestDocument();
+        existingDocument.setContentRef(previousRef);
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(existingDocument));
+        when(contentStore.write(any(InputStream.class))).thenReturn(STORED);
+        when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ApiResponse<Document> response = documentService.updateDocumentContent(1L, "Test content");
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(STORED.ref(), response.getData().getContentRef());
+        verify(contentStore).delete(previousRef);
+        verify(contentStore, never()).delete(STORED.ref());
+    }
+
+    @Test
+    void getDocumentContent_TooLargeToInline_ReturnsError() {
+        // Arrange
+        Document testDocument = createTestDocument();
+        testDocument.setContentRef(STORED.ref());
+        testDocument.setContentSize(DocumentService.INLINE_CONTENT_LIMIT + 1);
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(testDocument));
+
+        // Act
+        ApiResponse<String> response = documentService.getDocumentContent(1L);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), response.getErrorCode());
+        verifyNoInteractions(contentStore);
+    }
+
+    @Test
+    void updateDocumentContent_Stream_KeepsContentType() throws IOException {
+        // Arrange
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(createTestDocument()));
+        when(contentStore.write(any(InputStream.class))).thenReturn(STORED);
+        when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        InputStream upload = new ByteArrayInputStream(new byte[]{1, 2, 3});
+
+        // Act
+        ApiResponse<Document> response = documentService.updateDocumentContent(1L, upload, "application/pdf");
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals("application/pdf", response.getData().getContentType());
+        verify(contentStore).write(upload);
+    }
+
+    @Test
+    void streamDocumentContent_TransfersRequestedRange() throws IOException {
+        // Arrange
+        Document testDocument = createTestDocument();
+        testDocument.setContentRef(STORED.ref());
+        when(contentStore.transferTo(eq(STORED.ref()), eq(4L), eq(8L), any(WritableByteChannel.class)))
+                .thenReturn(8L);
+
+        // Act
+        long written = documentService.streamDocumentContent(testDocument, 4L, 8L, new ByteArrayOutputStream());
+
+        // Assert
+        assertEquals(8L, written);
+        verify(contentStore).transferTo(eq(STORED.ref()), eq(4L), eq(8L), any(WritableByteChannel.class));
+    }
+
+    @Test
+    void updateDocumentContent_DocumentNotFound_ReturnsError() {
+        // Arrange
+        when(documentRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act
+        ApiResponse<Document> response = documentService.updateDocumentContent(999L, "Test content");
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getErrorCode());
+        verifyNoInteractions(contentStore);
     }
 
     @Test
@@ -347,7 +549,7 @@ class DocumentServiceTest {
         assertEquals(HttpStatus.NOT_FOUND.value(), response.getErrorCode());
         assertTrue(response.getErrorMessages().get(0).contains("Document not found"));
         verify(documentRepository).findById(999L);
-        verify(documentRepository, never()).save(any(Document.class));
+        verify(documentRepository, never()).saveAndFlush(any(Document.class));
     }
 
     @Test
@@ -357,7 +559,7 @@ class DocumentServiceTest {
         Document updatedDocument = new Document(1L, "Updated Title", DocumentType.EVIDENCE);
 
         when(documentRepository.findById(1L)).thenReturn(Optional.of(existingDocument));
-        when(documentRepository.save(any(Document.class))).thenThrow(new RuntimeException("Database error"));
+        when(documentRepository.saveAndFlush(any(Document.class))).thenThrow(new RuntimeException("Database error"));
 
         // Act
         ApiResponse<Document> response = documentService.updateDocument(1L, updatedDocument);
@@ -367,7 +569,41 @@ class DocumentServiceTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getErrorCode());
         assertTrue(response.getErrorMessages().get(0).contains("Failed to update document"));
         verify(documentRepository).findById(1L);
-        verify(documentRepository).save(any(Document.class));
+        verify(documentRepository).saveAndFlush(any(Document.class));
+    }
+
+    @Test
+    void updateDocument_StaleExpectedVersion_ReturnsPreconditionFailed() {
+        // Arrange
+        Document existingDocument = createTestDocument();
+        existingDocument.setVersion(5);
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(existingDocument));
+
+        // Act
+        ApiResponse<Document> response = documentService.updateDocument(1L,
+                new Document(1L, "Updated Title", DocumentType.EVIDENCE), 4L);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.PRECONDITION_FAILED.value(), response.getErrorCode());
+        assertEquals("Test Document", existingDocument.getTitle());
+        verify(documentRepository, never()).saveAndFlush(any(Document.class));
+    }
+
+    @Test
+    void updateDocument_ConcurrentUpdate_ReturnsPreconditionFailed() {
+        // Arrange
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(createTestDocument()));
+        when(documentRepository.saveAndFlush(any(Document.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Document.class, 1L));
+
+        // Act
+        ApiResponse<Document> response = documentService.updateDocument(1L,
+                new Document(1L, "Updated Title", DocumentType.EVIDENCE));
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.PRECONDITION_FAILED.value(), response.getErrorCode());
     }
 
     @Test
@@ -380,7 +616,7 @@ class DocumentServiceTest {
         updatedDocument.setCse(null); // No case provided in the update
 
         when(documentRepository.findById(1L)).thenReturn(Optional.of(existingDocument));
-        when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(documentRepository.saveAndFlush(any(Document.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         ApiResponse<Document> response = documentService.updateDocument(1L, updatedDocument);
@@ -391,13 +627,14 @@ class DocumentServiceTest {
         assertEquals(DocumentType.EVIDENCE, response.getData().getType());
         assertEquals(testCase, response.getData().getCse()); // Case should be preserved
         verify(documentRepository).findById(1L);
-        verify(documentRepository).save(any(Document.class));
+        verify(documentRepository).saveAndFlush(any(Document.class));
     }
 
     @Test
-    void deleteDocument_ValidId_ReturnsSuccess() {
+    void deleteDocument_ValidId_ReturnsSuccess() throws IOException {
         // Arrange
         Document testDocument = createTestDocument();
+        testDocument.setContentRef(STORED.ref());
         when(documentRepository.findById(1L)).thenReturn(Optional.of(testDocument));
         doNothing().when(documentRepository).deleteById(1L);
 
@@ -408,6 +645,9 @@ class DocumentServiceTest {
         assertTrue(response.isSuccess());
         verify(documentRepository).findById(1L);
         verify(documentRepository).deleteById(1L);
+        verify(contentStore).delete(STORED.ref());
+        verify(searchIndex).remove(1L);
+        verify(outbox).record(Entity.DOCUMENT, Action.DELETED, 1L, 1L, null, null);
     }
 
     @Test
@@ -443,4 +683,144 @@ class DocumentServiceTest {
         verify(documentRepository).findById(1L);
         verify(documentRepository).deleteById(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void createDocumentWithContent_IndexesTitleAndContent() throws IOException {
+        // Arrange
+        Case testCase = new Case(1L, "C-001", "Test Case", CaseType.CIVIL);
+        when(caseRepository.findById(1L)).thenReturn(Optional.of(testCase));
+        when(contentStore.write(any(InputStream.class))).thenReturn(STORED);
+        when(contentStore.read(STORED.ref()))
+                .thenReturn(ByteBuffer.wrap("Test content".getBytes(StandardCharsets.UTF_8)));
+        when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> {
+            Document saved = invocation.getArgument(0);
+            saved.setId(5L);
+            return saved;
+        });
+
+        // Act
+        ApiResponse<Document> response = documentService.createDocumentWithContent(
+                1L, "New Document", DocumentType.CONTRACT, "Test content");
+
+        // Assert
+        assertTrue(response.isSuccess());
+        verify(searchIndex).index(eq(5L), eq("New Document"),
+                argThat(content -> content != null && content.toString().equals("Test content")));
+    }
+
+    @Test
+    void updateDocumentContent_BinaryContent_IndexesTitleOnly() throws IOException {
+        // Arrange
+        Document testDocument = createTestDocument();
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(testDocument));
+        when(contentStore.write(any(InputStream.class))).thenReturn(STORED);
+        when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ApiResponse<Document> response = documentService.updateDocumentContent(
+                1L, new ByteArrayInputStream(new byte[]{1, 2, 3}), "application/pdf");
+
+        // Assert
+        assertTrue(response.isSuccess());
+        verify(contentStore, never()).read(anyString());
+        verify(searchIndex).index(eq(1L), eq("Test Document"), isNull());
+    }
+
+    @Test
+    void searchDocuments_ReturnsHitsInRankOrder() {
+        // Arrange
+        List<Document> documents = createTestDocumentsList();
+        when(searchIndex.search("kira", 0, 2)).thenReturn(new IDocumentSearchIndex.Result(List.of(
+                new IDocumentSearchIndex.Hit(3L, 4.5),
+                new IDocumentSearchIndex.Hit(1L, 2.0)), 3));
+        when(documentRepository.findByIdIn(List.of(3L, 1L))).thenReturn(List.of(documents.get(0), documents.get(2)));
+
+        // Act
+        ApiResponse<List<DocumentSearchHit>> response = documentService.searchDocuments("kira", null, 2);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(2, response.getData().size());
+        assertEquals(3L, response.getData().get(0).id());
+        assertEquals(4.5, response.getData().get(0).score());
+        assertEquals("C-001", response.getData().get(0).caseNumber());
+        assertEquals(1L, response.getData().get(1).id());
+        assertEquals(2, CursorPage.decodeOffset(response.getNextCursor()));
+    }
+
+    @Test
+    void searchDocuments_NextPage_ContinuesFromCursorOffset() {
+        // Arrange
+        when(searchIndex.search("kira", 2, 2)).thenReturn(new IDocumentSearchIndex.Result(List.of(
+                new IDocumentSearchIndex.Hit(2L, 1.0)), 3));
+        when(documentRepository.findByIdIn(List.of(2L))).thenReturn(List.of(createTestDocumentsList().get(1)));
+
+        // Act
+        ApiResponse<List<DocumentSearchHit>> response = documentService.searchDocuments(
+                "kira", CursorPage.encodeOffset(2), 2);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(1, response.getData().size());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void searchDocuments_DeletedDocument_IsSkippedButLeftInTheIndex() {
+        // Arrange
+        when(searchIndex.search("kira", 0, CursorPage.DEFAULT_SIZE)).thenReturn(new IDocumentSearchIndex.Result(
+                List.of(new IDocumentSearchIndex.Hit(9L, 1.0)), 1));
+        when(documentRepository.findByIdIn(List.of(9L))).thenReturn(List.of());
+
+        // Act
+        ApiResponse<List<DocumentSearchHit>> response = documentService.searchDocuments("kira", null, null);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertTrue(response.getData().isEmpty());
+        verify(searchIndex, never()).remove(anyLong());
+    }
+
+    @Test
+    void searchDocuments_BlankQuery_ReturnsError() {
+        // Act
+        ApiResponse<List<DocumentSearchHit>> response = documentService.searchDocuments("  ", null, null);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void searchDocuments_KeysetCursor_ReturnsError() {
+        // Act
+        ApiResponse<List<DocumentSearchHit>> response = documentService.searchDocuments(
+                "kira", CursorPage.encode(10L), null);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void rebuildSearchIndex_IndexesEveryDocument() throws IOException {
+        // Arrange
+        List<Document> documents = createTestDocumentsList();
+        documents.get(0).setContentRef(STORED.ref());
+        when(contentStore.read(STORED.ref()))
+                .thenReturn(ByteBuffer.wrap("Test content".getBytes(StandardCharsets.UTF_8)));
+        when(documentRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(documents);
+        when(searchIndex.indexIfAbsent(anyLong(), any(CharSequence[].class))).thenReturn(true);
+
+        // Act
+        int added = documentService.rebuildSearchIndex();
+
+        // Assert
+        assertEquals(3, added);
+        verify(searchIndex).indexIfAbsent(eq(1L), eq("Document 1"),
+                argThat(content -> content != null && content.toString().equals("Test content")));
+        verify(searchIndex).indexIfAbsent(eq(2L), eq("Document 2"), isNull());
+    }
+}
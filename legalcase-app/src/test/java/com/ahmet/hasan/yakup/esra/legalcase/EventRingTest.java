@@ -0,0 +1,138 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.utils.EventRing;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventRingTest {
+
+    @Test
+    void next_ReadsEveryValueInOrderAndWaitsForTheNext() throws InterruptedException {
+        // Arrange
+        EventRing<String> ring = new EventRing<>(4);
+        EventRing.Reader<String> reader = ring.reader();
+
+        // Act
+        ring.publish("a");
+        ring.publish("b");
+
+        // Assert
+        assertEquals("a", reader.next(1, TimeUnit.SECONDS));
+        assertEquals("a", reader.next(1, TimeUnit.SECONDS));
+        reader.release();
+        assertEquals("b", reader.next(1, TimeUnit.SECONDS));
+        reader.release();
+        assertNull(reader.next(10, TimeUnit.MILLISECONDS));
+        assertThrows(IllegalStateException.class, reader::release);
+        assertEquals(1, ring.done());
+    }
+
+    @Test
+    void done_IsTheSlowestReadersPosition() throws InterruptedException {
+        // Arrange
+        EventRing<Integer> ring = new EventRing<>(8);
+        assertEquals(-1, ring.done());
+        EventRing.Reader<Integer> fast = ring.reader();
+        EventRing.Reader<Integer> slow = ring.reader();
+        for (int i = 0; i < 3; i++) {
+            ring.publish(i);
+        }
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            fast.next(1, TimeUnit.SECONDS);
+            fast.release();
+        }
+
+        // Assert
+        assertEquals(2, fast.done());
+        assertEquals(-1, ring.done());
+        ring.remove(slow);
+        assertEquals(2, ring.done());
+    }
+
+    @Test
+    void publish_RingFull_WaitsForTheSlowestReader() throws Exception {
+        // Arrange
+        EventRing<Integer> ring = new EventRing<>(2);
+        EventRing.Reader<Integer> reader = ring.reader();
+        ring.publish(0);
+        ring.publish(1);
+        AtomicReference<Long> published = new AtomicReference<>();
+        Thread producer = new Thread(() -> {
+            try {
+                published.set(ring.publish(2));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Act
+        producer.start();
+        producer.join(50);
+
+        // Assert: the slot of 0 is still needed, until the reader releases it
+        assertTrue(producer.isAlive());
+        assertNull(published.get());
+        assertEquals(0, reader.next(1, TimeUnit.SECONDS));
+        reader.release();
+        producer.join(5000);
+        assertEquals(2L, published.get());
+    }
+
+    @Test
+    void publish_ReadersOnOtherThreads_SeeEveryValueInOrder() throws Exception {
+        // Arrange
+        int values = 200_000;
+        EventRing<Integer> ring = new EventRing<>(64);
+        List<Thread> threads = new ArrayList<>();
+        List<AtomicReference<String>> failures = new ArrayList<>();
+        for (int r = 0; r < 3; r++) {
+            EventRing.Reader<Integer> reader = ring.reader();
+            AtomicReference<String> failure = new AtomicReference<>();
+            failures.add(failure);
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int expected = 0; expected < values; expected++) {
+                        Integer value = reader.next(5, TimeUnit.SECONDS);
+                        if (value == null || value != expected) {
+                            failure.set("Expected " + expected + " but read " + value);
+                            return;
+                        }
+                        reader.release();
+                    }
+                } catch (InterruptedException e) {
+                    failure.set("Interrupted");
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        // Act
+        for (int i = 0; i < values; i++) {
+            ring.publish(i);
+        }
+        for (Thread thread : threads) {
+            thread.join(30_000);
+        }
+
+        // Assert
+        for (AtomicReference<String> failure : failures) {
+            assertNull(failure.get());
+        }
+        assertEquals(values - 1, ring.done());
+    }
+
+    @Test
+    void constructor_CapacityNotAPowerOfTwo_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new EventRing<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new EventRing<>(12));
+    }
+}
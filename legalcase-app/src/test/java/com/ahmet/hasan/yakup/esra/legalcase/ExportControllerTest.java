@@ -0,0 +1,171 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.ahmet.hasan.yakup.esra.legalcase.api.ExportController;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IExportService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IExportService.Dataset;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Format;
+
+/**
+ * Test for ExportController using Mockito
+ */
+@ExtendWith(MockitoExtension.class)
+public class ExportControllerTest {
+
+    private static final String BODY = "{\"id\":1,\"caseNumber\":\"K-1\"}\n";
+
+    @Mock
+    private IExportService exportService;
+
+    @InjectMocks
+    private ExportController exportController;
+
+    private void stubExport(Dataset dataset, Format format) throws IOException {
+        when(exportService.export(eq(dataset), eq(format), any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write(BODY.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            return 1L;
+        });
+    }
+
+    private static byte[] render(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testExport_Ndjson() throws IOException {
+        // Arrange
+        stubExport(Dataset.CASES, Format.NDJSON);
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = exportController.export("cases", "ndjson", null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("application/x-ndjson;charset=UTF-8", response.getHeaders().getContentType().toString());
+        assertEquals("attachment; filename=\"cases.ndjson\"",
+                response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(BODY, new String(render(response), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testExport_GzipWhenAccepted() throws IOException {
+        // Arrange
+        stubExport(Dataset.HEARINGS, Format.CSV);
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = exportController.export("hearings", "csv", "br, gzip;q=0.8");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("text/csv;charset=UTF-8", response.getHeaders().getContentType().toString());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeaders().getFirst(HttpHeaders.VARY));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(render(response)))) {
+            assertEquals(BODY, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testExport_GzipRefused() {
+        // Act
+        ResponseEntity<StreamingResponseBody> response = exportController.export("clients", "ndjson", "gzip;q=0, identity");
+
+        // Assert
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    public void testExport_UnknownDataset() {
+        // Act
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> exportController.export("users", "ndjson", null));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    public void testExport_UnknownFormat() {
+        // Act
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> exportController.export("documents", "xml", null));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    public void testExport_ThroughMvc_StreamsTheGzippedBody() throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(exportController).build();
+        stubExport(Dataset.CASES, Format.NDJSON);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/exports/cases").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals(BODY, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testExport_ThroughMvc_UnknownDataset() throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(exportController).build();
+
+        // Act / Assert
+        mockMvc.perform(get("/exports/users"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(exportService);
+    }
+}
@@ -0,0 +1,68 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ExportRecordWriter;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Format;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportRecordWriterTest {
+
+    private static final List<String> COLUMNS = List.of("id", "title", "status", "amount", "at");
+
+    @Test
+    void ndjson_WritesTypedValuesAndSkipsNulls() throws IOException {
+        // Arrange
+        StringWriter out = new StringWriter();
+        ExportRecordWriter writer = ExportRecordWriter.of(Format.NDJSON, out, COLUMNS, new ObjectMapper());
+
+        // Act
+        writer.write(new Object[]{1L, "Kira\tSözleşmesi", CaseStatus.ACTIVE, new BigDecimal("12.50"),
+                LocalDateTime.of(2025, 3, 1, 9, 30, 15)});
+        writer.write(new Object[]{2L, null, null, null, null});
+        writer.flush();
+
+        // Assert
+        assertEquals("{\"id\":1,\"title\":\"Kira\\tSözleşmesi\",\"status\":\"ACTIVE\",\"amount\":12.50,"
+                + "\"at\":\"2025-03-01T09:30:15\"}\n{\"id\":2}\n", out.toString());
+    }
+
+    @Test
+    void ndjson_NothingReachesTheWriterBeforeFlush() throws IOException {
+        // Arrange
+        StringWriter out = new StringWriter();
+        ExportRecordWriter writer = ExportRecordWriter.of(Format.NDJSON, out, COLUMNS, new ObjectMapper());
+
+        // Act
+        writer.write(new Object[]{1L, "a", null, null, null});
+
+        // Assert
+        assertEquals("", out.toString());
+        writer.flush();
+        assertEquals("{\"id\":1,\"title\":\"a\"}\n", out.toString());
+    }
+
+    @Test
+    void csv_QuotesOnlyWhereNeeded() throws IOException {
+        // Arrange
+        StringWriter out = new StringWriter();
+        ExportRecordWriter writer = ExportRecordWriter.of(Format.CSV, out, COLUMNS, new ObjectMapper());
+
+        // Act
+        writer.write(new Object[]{1L, "a, \"b\"", CaseStatus.NEW, null, " padded"});
+        writer.write(new Object[]{2L, "iki\r\nsatır", null, 3, ""});
+
+        // Assert
+        assertEquals("id,title,status,amount,at\r\n"
+                + "1,\"a, \"\"b\"\"\",NEW,,\" padded\"\r\n"
+                + "2,\"iki\r\nsatır\",,3,\r\n", out.toString());
+    }
+}
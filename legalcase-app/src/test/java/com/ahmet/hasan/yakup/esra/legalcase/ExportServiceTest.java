@@ -0,0 +1,180 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.DocumentType;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.CaseExportRow;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ClientExportRow;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.DocumentExportRow;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingExportRow;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.ClientRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.DocumentRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.ExportService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IExportService.Dataset;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Format;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Record;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExportServiceTest {
+
+    @Mock
+    private CaseRepository caseRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private HearingRepository hearingRepository;
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    private ExportService exportService;
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 3, 1, 9, 30);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        exportService = new ExportService(caseRepository, clientRepository, hearingRepository,
+                documentRepository, new ObjectMapper());
+    }
+
+    private static List<Record> readBack(Format format, ByteArrayOutputStream out) throws IOException {
+        List<Record> records = new ArrayList<>();
+        try (ImportRecordReader reader = ImportRecordReader.of(format,
+                new StringReader(out.toString(StandardCharsets.UTF_8)), new ObjectMapper())) {
+            Record record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    @Test
+    void exportCases_Csv_WritesHeaderAndQuotedCells() throws IOException {
+        // Arrange
+        when(caseRepository.streamExportRows()).thenReturn(Stream.of(
+                new CaseExportRow(1L, "K-1", "Kira, \"tahliye\"", CaseType.CIVIL, CaseStatus.NEW,
+                        "ilk satır\nikinci satır", CREATED, null),
+                new CaseExportRow(2L, "K-2", "Tapu", CaseType.FAMILY, CaseStatus.CLOSED, null, CREATED, CREATED)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportService.export(Dataset.CASES, Format.CSV, out);
+
+        // Assert
+        assertEquals(2, rows);
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,caseNumber,title,type,status,description,createdAt,updatedAt\r\n"));
+        assertTrue(csv.contains("1,K-1,\"Kira, \"\"tahliye\"\"\",CIVIL,NEW,\"ilk satır\nikinci satır\",2025-03-01T09:30,\r\n"));
+
+        // What the export writes, the import reads
+        List<Record> records = readBack(Format.CSV, out);
+        assertEquals(2, records.size());
+        assertEquals("Kira, \"tahliye\"", records.get(0).get("title"));
+        assertEquals("ilk satır\nikinci satır", records.get(0).get("description"));
+        assertNull(records.get(1).get("description"));
+        assertEquals("CLOSED", records.get(1).get("status"));
+    }
+
+    @Test
+    void exportHearings_Ndjson_WritesOneObjectPerLine() throws IOException {
+        // Arrange
+        when(hearingRepository.streamExportRows()).thenReturn(Stream.of(
+                new HearingExportRow(7L, "K-1", LocalDateTime.of(2030, 1, 2, 10, 0), 90, "Hakim \"A\"", null,
+                        null, HearingStatus.SCHEDULED, CREATED, null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportService.export(Dataset.HEARINGS, Format.NDJSON, out);
+
+        // Assert
+        assertEquals(1, rows);
+        assertEquals("{\"id\":7,\"caseNumber\":\"K-1\",\"hearingDate\":\"2030-01-02T10:00\",\"durationMinutes\":90,\"judge\":\"Hakim \\\"A\\\"\","
+                + "\"status\":\"SCHEDULED\",\"createdAt\":\"2025-03-01T09:30\"}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportClients_FlushesPeriodicallyAndClosesTheStream() throws IOException {
+        // Arrange
+        int total = 2500;
+        AtomicBoolean closed = new AtomicBoolean();
+        when(clientRepository.streamExportRows()).thenReturn(LongStream.rangeClosed(1, total)
+                .mapToObj(id -> new ClientExportRow(id, "Ad" + id, "Soyad", "c" + id + "@x.com", CREATED, null))
+                .onClose(() -> closed.set(true)));
+        List<Integer> flushedSizes = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushedSizes.add(size());
+            }
+        };
+
+        // Act
+        long rows = exportService.export(Dataset.CLIENTS, Format.NDJSON, out);
+
+        // Assert
+        assertEquals(total, rows);
+        assertTrue(closed.get());
+        // Flushed after each 1000 rows and at the end, with the rows written so far
+        assertEquals(3, flushedSizes.size());
+        assertTrue(flushedSizes.get(0) > 0 && flushedSizes.get(0) < flushedSizes.get(1));
+        assertEquals(out.size(), flushedSizes.get(2));
+        assertEquals(total, readBack(Format.NDJSON, out).size());
+    }
+
+    @Test
+    void exportDocuments_StreamFails_ClosesTheStream() {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        when(documentRepository.streamExportRows()).thenReturn(Stream.<DocumentExportRow>generate(() -> {
+            throw new IllegalStateException("Connection lost");
+        }).onClose(() -> closed.set(true)));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> exportService.export(Dataset.DOCUMENTS, Format.CSV, new ByteArrayOutputStream()));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportDocuments_WithoutCase_LeavesCaseNumberEmpty() throws IOException {
+        // Arrange
+        when(documentRepository.streamExportRows()).thenReturn(Stream.of(
+                new DocumentExportRow(3L, null, "Genel", DocumentType.CONTRACT, "application/pdf", 1024L,
+                        "abc", CREATED, null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.export(Dataset.DOCUMENTS, Format.CSV, out);
+
+        // Assert
+        assertEquals("id,caseNumber,title,type,contentType,contentSize,contentHash,createdAt,updatedAt\r\n"
+                + "3,,Genel,CONTRACT,application/pdf,1024,abc,2025-03-01T09:30,\r\n", out.toString(StandardCharsets.UTF_8));
+        verifyNoInteractions(caseRepository, clientRepository, hearingRepository);
+    }
+}
@@ -0,0 +1,136 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.FileSystemDocumentContentStore;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentContentStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSystemDocumentContentStoreTest {
+
+    @TempDir
+    Path root;
+
+    private FileSystemDocumentContentStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new FileSystemDocumentContentStore(root.toString());
+    }
+
+    @Test
+    void write_ThenRead_ReturnsSameContent() throws IOException {
+        // Act
+        IDocumentContentStore.StoredContent stored = store.write("hello world".getBytes(StandardCharsets.UTF_8));
+        ByteBuffer content = store.read(stored.ref());
+
+        // Assert
+        assertEquals(11L, stored.size());
+        assertEquals("b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9", stored.sha256());
+        assertTrue(content.isReadOnly());
+        assertEquals("hello world", StandardCharsets.UTF_8.decode(content).toString());
+    }
+
+    @Test
+    void write_LargerThanBuffer_KeepsEveryByte() throws Exception {
+        // Arrange
+        byte[] data = new byte[200_000];
+        new Random(42).nextBytes(data);
+
+        // Act
+        IDocumentContentStore.StoredContent stored = store.write(new ByteArrayInputStream(data));
+        ByteBuffer content = store.read(stored.ref());
+
+        // Assert
+        byte[] read = new byte[content.remaining()];
+        content.get(read);
+        assertArrayEquals(data, read);
+        assertEquals(data.length, stored.size());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data)), stored.sha256());
+    }
+
+    @Test
+    void write_EmptyContent_IsReadable() throws IOException {
+        // Act
+        IDocumentContentStore.StoredContent stored = store.write(new byte[0]);
+
+        // Assert
+        assertEquals(0L, stored.size());
+        assertEquals(0, store.read(stored.ref()).remaining());
+    }
+
+    @Test
+    void write_LeavesNoTemporaryFiles() throws IOException {
+        // Act
+        store.write("content".getBytes(StandardCharsets.UTF_8));
+
+        // Assert
+        try (Stream<Path> files = Files.list(root)) {
+            assertTrue(files.noneMatch(path -> path.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void transferTo_CopiesOnlyRequestedRange() throws IOException {
+        // Arrange
+        IDocumentContentStore.StoredContent stored = store.write("0123456789".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long copied = store.transferTo(stored.ref(), 3, 4, Channels.newChannel(out));
+
+        // Assert
+        assertEquals(4L, copied);
+        assertEquals("3456", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void transferTo_RangePastEnd_StopsAtEndOfContent() throws IOException {
+        // Arrange
+        IDocumentContentStore.StoredContent stored = store.write("0123456789".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long copied = store.transferTo(stored.ref(), 8, 100, Channels.newChannel(out));
+
+        // Assert
+        assertEquals(2L, copied);
+        assertEquals("89", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void delete_RemovesContent() throws IOException {
+        // Arrange
+        IDocumentContentStore.StoredContent stored = store.write("content".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        store.delete(stored.ref());
+
+        // Assert
+        assertFalse(store.exists(stored.ref()));
+        assertThrows(NoSuchFileException.class, () -> store.read(stored.ref()));
+        assertDoesNotThrow(() -> store.delete(stored.ref()));
+    }
+
+    @Test
+    void read_InvalidReference_IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> store.read("../../etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> store.read(null));
+    }
+}
@@ -0,0 +1,56 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.HearingBookingLocks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.mockito.Mockito.*;
+
+class HearingBookingLocksTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private HearingBookingLocks locks;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        locks = new HearingBookingLocks(jdbcTemplate);
+    }
+
+    @Test
+    void lock_JudgeAndLocation_LocksTheJudgeFirstUnderTheirSearchTerms() {
+        // Act
+        locks.lock("Hakim  ŞAHİN", "Salon-1");
+
+        // Assert
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(startsWith("insert into hearing_booking_locks"), eq("JUDGE"), eq("hakim sahin"));
+        inOrder.verify(jdbcTemplate).update(startsWith("insert into hearing_booking_locks"), eq("LOCATION"), eq("salon 1"));
+    }
+
+    @Test
+    void lock_BlankLocation_LocksOnlyTheJudge() {
+        // Act
+        locks.lock("Hakim A", " ");
+
+        // Assert
+        verify(jdbcTemplate).update(anyString(), eq("JUDGE"), eq("hakim a"));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void lock_LongName_IsCutToTheColumnLength() {
+        // Act
+        locks.lock(("x".repeat(60) + " ").repeat(5), null);
+
+        // Assert
+        verify(jdbcTemplate).update(anyString(), eq("JUDGE"), argThat((String key) -> key.length() == 255));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+}
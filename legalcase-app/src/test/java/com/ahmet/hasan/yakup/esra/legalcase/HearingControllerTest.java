@@ -5,11 +5,15 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,15 +24,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import com.ahmet.hasan.yakup.esra.legalcase.api.HearingController;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
+import com.ahmet.hasan.yakup.esra.legalcase.model.HearingEvent;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingEventType;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.SlotSuggestion;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingSlotSuggestionService;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 
 /**
  * Test for HearingController using Mockito
@@ -40,6 +51,9 @@ public class HearingControllerTest {
     @Mock
     private IHearingService hearingService;
 
+    @Mock
+    private IHearingSlotSuggestionService slotSuggestionService;
+
     @InjectMocks
     private HearingController hearingController;
 
@@ -142,7 +156,7 @@ public class HearingControllerTest {
         when(hearingService.getHearingById(anyLong())).thenReturn(successResponse);
 
         // Act
-        ResponseEntity<ApiResponse<Hearing>> response = hearingController.getHearingById(1L);
+        ResponseEntity<ApiResponse<Hearing>> response = hearingController.getHearingById(1L, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -160,7 +174,7 @@ public class HearingControllerTest {
                 ApiResponse.error("Hearing not found", HttpStatus.NOT_FOUND.value()));
 
         // Act
-        ResponseEntity<ApiResponse<Hearing>> response = hearingController.getHearingById(1L);
+        ResponseEntity<ApiResponse<Hearing>> response = hearingController.getHearingById(1L, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -174,10 +188,10 @@ public class HearingControllerTest {
     @Test
     public void testGetAllHearings() {
         // Arrange
-        when(hearingService.getAllHearings()).thenReturn(listSuccessResponse);
+        when(hearingService.getAllHearings(null, null)).thenReturn(listSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<Hearing>>> response = hearingController.getAllHearings();
+        ResponseEntity<ApiResponse<List<Hearing>>> response = hearingController.getAllHearings(null, null, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -186,16 +200,83 @@ public class HearingControllerTest {
         assertEquals(1, response.getBody().getData().size());
 
         // Verify service method was called
-        verify(hearingService).getAllHearings();
+        verify(hearingService).getAllHearings(null, null);
+    }
+
+    @Test
+    public void testGetHearingById_NotModified() {
+        // Arrange
+        when(hearingService.getHearingById(anyLong())).thenReturn(successResponse);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(ResourceVersion.of(testHearing, testHearing.getCse()).getEtag());
+
+        // Act
+        ResponseEntity<ApiResponse<Hearing>> response = hearingController.getHearingById(1L, headers);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(headers.getIfNoneMatch().get(0), response.getHeaders().getETag());
+    }
+
+    @Test
+    public void testGetAllHearings_NotModified() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.ofPage(List.of(new RowStamp(1L, LocalDateTime.now())));
+        when(hearingService.getHearingPageVersion(null, null)).thenReturn(version);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(version.getEtag());
+
+        // Act
+        ResponseEntity<ApiResponse<List<Hearing>>> response = hearingController.getAllHearings(null, null, headers);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+
+        // The page itself is never loaded
+        verify(hearingService, never()).getAllHearings(null, null);
+    }
+
+    @Test
+    public void testGetAllHearings_CarriesETag() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.ofPage(List.of(new RowStamp(1L, LocalDateTime.now())));
+        when(hearingService.getHearingPageVersion(null, null)).thenReturn(version);
+        when(hearingService.getAllHearings(null, null)).thenReturn(listSuccessResponse);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("W/\"stale\"");
+
+        // Act
+        ResponseEntity<ApiResponse<List<Hearing>>> response = hearingController.getAllHearings(null, null, headers);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(version.getEtag(), response.getHeaders().getETag());
+        assertEquals(-1, response.getHeaders().getLastModified());
+    }
+
+    @Test
+    public void testSearchHearingsByJudge() {
+        // Arrange
+        when(hearingService.searchHearingsByJudge("smith", null, null)).thenReturn(listSuccessResponse);
+
+        // Act
+        ResponseEntity<ApiResponse<List<Hearing>>> response = hearingController.searchHearingsByJudge("smith", null, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().isSuccess());
+        verify(hearingService).searchHearingsByJudge("smith", null, null);
     }
 
     @Test
     public void testGetHearingsByCaseId_Success() {
         // Arrange
-        when(hearingService.getHearingsByCaseId(anyLong())).thenReturn(listSuccessResponse);
+        when(hearingService.getHearingsByCaseId(anyLong(), isNull(), isNull())).thenReturn(listSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<Hearing>>> response = hearingController.getHearingsByCaseId(1L);
+        ResponseEntity<ApiResponse<List<Hearing>>> response = hearingController.getHearingsByCaseId(1L, null, null, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -203,16 +284,35 @@ public class HearingControllerTest {
         assertEquals(testHearingList, response.getBody().getData());
 
         // Verify service method was called
-        verify(hearingService).getHearingsByCaseId(1L);
+        verify(hearingService).getHearingsByCaseId(1L, null, null);
+    }
+
+    @Test
+    public void testGetHearingsByCaseId_NotModified() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.ofPage(List.of(new RowStamp(1L, LocalDateTime.now())));
+        when(hearingService.getHearingPageVersionByCaseId(1L, null, null)).thenReturn(version);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(version.getEtag());
+
+        // Act
+        ResponseEntity<ApiResponse<List<Hearing>>> response = hearingController.getHearingsByCaseId(1L, null, null, headers);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+
+        // The page itself is never loaded
+        verify(hearingService, never()).getHearingsByCaseId(1L, null, null);
     }
 
     @Test
     public void testGetHearingsByStatus() {
         // Arrange
-        when(hearingService.getHearingsByStatus(any(HearingStatus.class))).thenReturn(listSuccessResponse);
+        when(hearingService.getHearingsByStatus(any(HearingStatus.class), isNull(), isNull())).thenReturn(listSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<Hearing>>> response = hearingController.getHearingsByStatus(HearingStatus.SCHEDULED);
+        ResponseEntity<ApiResponse<List<Hearing>>> response = hearingController.getHearingsByStatus(HearingStatus.SCHEDULED, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -220,7 +320,7 @@ public class HearingControllerTest {
         assertEquals(testHearingList, response.getBody().getData());
 
         // Verify service method was called
-        verify(hearingService).getHearingsByStatus(HearingStatus.SCHEDULED);
+        verify(hearingService).getHearingsByStatus(HearingStatus.SCHEDULED, null, null);
     }
 
     @Test
@@ -229,11 +329,11 @@ public class HearingControllerTest {
         LocalDateTime start = testDate.minusDays(1);
         LocalDateTime end = testDate.plusDays(1);
 
-        when(hearingService.getHearingsByDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+        when(hearingService.getHearingsByDateRange(any(LocalDateTime.class), any(LocalDateTime.class), isNull(), isNull()))
                 .thenReturn(listSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<Hearing>>> response = hearingController.getHearingsByDateRange(start, end);
+        ResponseEntity<ApiResponse<List<Hearing>>> response = hearingController.getHearingsByDateRange(start, end, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -241,16 +341,16 @@ public class HearingControllerTest {
         assertEquals(testHearingList, response.getBody().getData());
 
         // Verify service method was called
-        verify(hearingService).getHearingsByDateRange(start, end);
+        verify(hearingService).getHearingsByDateRange(start, end, null, null);
     }
 
     @Test
     public void testGetUpcomingHearings() {
         // Arrange
-        when(hearingService.getUpcomingHearings()).thenReturn(listSuccessResponse);
+        when(hearingService.getUpcomingHearings(null, null)).thenReturn(listSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<Hearing>>> response = hearingController.getUpcomingHearings();
+        ResponseEntity<ApiResponse<List<Hearing>>> response = hearingController.getUpcomingHearings(null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -258,16 +358,81 @@ public class HearingControllerTest {
         assertEquals(testHearingList, response.getBody().getData());
 
         // Verify service method was called
-        verify(hearingService).getUpcomingHearings();
+        verify(hearingService).getUpcomingHearings(null, null);
+    }
+
+    @Test
+    public void testSuggestSlots() {
+        // Arrange
+        LocalDate from = testDate.toLocalDate();
+        List<SlotSuggestion> slots = List.of(new SlotSuggestion(futureDate, futureDate.plusHours(1), "Judge Smith", "Courtroom A"));
+        when(slotSuggestionService.suggestSlots(1L, 60, from, from.plusDays(90), "Judge Smith", null, null))
+                .thenReturn(ApiResponse.success(slots));
+
+        // Act
+        ResponseEntity<ApiResponse<List<SlotSuggestion>>> response =
+                hearingController.suggestSlots(1L, 60, from, from.plusDays(90), "Judge Smith", null, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(slots, response.getBody().getData());
+    }
+
+    @Test
+    public void testSuggestSlots_CaseNotFound() {
+        // Arrange
+        LocalDate from = testDate.toLocalDate();
+        when(slotSuggestionService.suggestSlots(9L, null, from, from, null, null, null))
+                .thenReturn(ApiResponse.error("Case not found with ID: 9", HttpStatus.NOT_FOUND.value()));
+
+        // Act
+        ResponseEntity<ApiResponse<List<SlotSuggestion>>> response =
+                hearingController.suggestSlots(9L, null, from, from, null, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertFalse(response.getBody().isSuccess());
+    }
+
+    @Test
+    public void testFindConflicts() {
+        // Arrange
+        LocalDateTime start = testDate;
+        LocalDateTime end = testDate.plusHours(1);
+        when(hearingService.findConflicts("Judge Smith", null, start, end, 1L)).thenReturn(listSuccessResponse);
+
+        // Act
+        ResponseEntity<ApiResponse<List<Hearing>>> response =
+                hearingController.findConflicts(start, end, "Judge Smith", null, 1L);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(testHearingList, response.getBody().getData());
+        verify(hearingService).findConflicts("Judge Smith", null, start, end, 1L);
+    }
+
+    @Test
+    public void testFindConflicts_BadRequest() {
+        // Arrange
+        when(hearingService.findConflicts(null, null, testDate, testDate, null))
+                .thenReturn(ApiResponse.error("Judge or location is required", HttpStatus.BAD_REQUEST.value()));
+
+        // Act
+        ResponseEntity<ApiResponse<List<Hearing>>> response =
+                hearingController.findConflicts(testDate, testDate, null, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertFalse(response.getBody().isSuccess());
     }
 
     @Test
     public void testUpdateHearing_Success() {
         // Arrange
-        when(hearingService.updateHearing(anyLong(), any(Hearing.class))).thenReturn(successResponse);
+        when(hearingService.updateHearing(anyLong(), any(Hearing.class), isNull())).thenReturn(successResponse);
 
         // Act
-        ResponseEntity<ApiResponse<Hearing>> response = hearingController.updateHearing(1L, testHearing);
+        ResponseEntity<ApiResponse<Hearing>> response = hearingController.updateHearing(1L, testHearing, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -275,7 +440,22 @@ public class HearingControllerTest {
         assertEquals(testHearing, response.getBody().getData());
 
         // Verify service method was called
-        verify(hearingService).updateHearing(1L, testHearing);
+        verify(hearingService).updateHearing(1L, testHearing, null);
+    }
+
+    @Test
+    public void testUpdateHearing_WeakIfMatch_NeverMatches() {
+        // Arrange: If-Match compares strongly, so a weak tag can only fail
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch("W/\"3\"");
+        when(hearingService.updateHearing(1L, testHearing, ResourceVersion.NO_MATCH)).thenReturn(
+                ApiResponse.error("Hearing with ID: 1 has been modified since it was read.", HttpStatus.PRECONDITION_FAILED.value()));
+
+        // Act
+        ResponseEntity<ApiResponse<Hearing>> response = hearingController.updateHearing(1L, testHearing, headers);
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
     }
 
     @Test
@@ -286,7 +466,7 @@ public class HearingControllerTest {
         hearingWithDifferentId.setId(2L);
 
         // Act
-        ResponseEntity<ApiResponse<Hearing>> response = hearingController.updateHearing(1L, hearingWithDifferentId);
+        ResponseEntity<ApiResponse<Hearing>> response = hearingController.updateHearing(1L, hearingWithDifferentId, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -328,6 +508,34 @@ public class HearingControllerTest {
         verify(hearingService).rescheduleHearing(1L, futureDate);
     }
 
+    @Test
+    public void testGetHearingHistory_Success() {
+        // Arrange
+        HearingEvent event = new HearingEvent(1L, HearingEventType.RESCHEDULED, futureDate, futureDate.plusDays(7));
+        when(hearingService.getHearingHistory(1L, null, 20)).thenReturn(ApiResponse.success(List.of(event)));
+
+        // Act
+        ResponseEntity<ApiResponse<List<HearingEvent>>> response = hearingController.getHearingHistory(1L, null, 20);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(event), response.getBody().getData());
+    }
+
+    @Test
+    public void testGetHearingHistory_NotFound() {
+        // Arrange
+        when(hearingService.getHearingHistory(999L, null, null))
+                .thenReturn(ApiResponse.error("Hearing not found with ID: 999", HttpStatus.NOT_FOUND.value()));
+
+        // Act
+        ResponseEntity<ApiResponse<List<HearingEvent>>> response = hearingController.getHearingHistory(999L, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertFalse(response.getBody().isSuccess());
+    }
+
     @Test
     public void testDeleteHearing_Success() {
         // Arrange
@@ -0,0 +1,86 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import db.migration.V13__Fill_hearing_name_keys;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HearingNameKeysMigrationTest {
+
+    private SingleConnectionDataSource dataSource;
+
+    private JdbcTemplate database;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:hearing_name_keys;MODE=MySQL;DATABASE_TO_LOWER=TRUE", true);
+        // The migrations that shape hearings up to the key columns; the partitions of V10 are MySQL's own
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V1__baseline_schema.sql"),
+                new ClassPathResource("db/migration/V5__hearing_duration.sql"),
+                new ClassPathResource("db/migration/V12__hearing_name_keys.sql")).execute(dataSource);
+        database = new JdbcTemplate(dataSource);
+        database.update("insert into cases (id, title, status, type, created_at) values (1, 'Kira', 'NEW', 'CIVIL', now())");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    private void migrate() throws Exception {
+        Context context = mock(Context.class);
+        when(context.getConnection()).thenReturn(dataSource.getConnection());
+        new V13__Fill_hearing_name_keys().migrate(context);
+    }
+
+    @Test
+    void migrate_FillsTheKeysTheDoubleBookingCheckCompares() throws Exception {
+        // Arrange
+        database.update("insert into hearings (id, case_id, hearing_date, judge, location, status, created_at) values "
+                + "(1, 1, '2030-01-02 10:00:00', 'Hakim  ŞAHİN.', 'Salon-1', 'SCHEDULED', now()), "
+                + "(2, 1, '2030-01-03 10:00:00', 'hakim sahin', null, 'SCHEDULED', now()), "
+                + "(3, 1, '2030-01-04 10:00:00', '...', ' ', 'CANCELLED', now())");
+
+        // Act
+        migrate();
+
+        // Assert
+        List<Map<String, Object>> keys = database.queryForList("select judge_key, location_key from hearings order by id");
+        assertEquals(Map.of("judge_key", "hakim sahin", "location_key", "salon 1"), keys.get(0));
+        assertEquals("hakim sahin", keys.get(1).get("judge_key"));
+        assertNull(keys.get(1).get("location_key"));
+        assertNull(keys.get(2).get("judge_key"));
+        assertNull(keys.get(2).get("location_key"));
+    }
+
+    @Test
+    void migrate_MoreHearingsThanAPage_FillsThemAll() throws Exception {
+        // Arrange
+        List<Object[]> hearings = new ArrayList<>();
+        for (long id = 1; id <= 2500; id++) {
+            hearings.add(new Object[]{id, "Hakim " + id});
+        }
+        database.batchUpdate("insert into hearings (id, case_id, hearing_date, judge, status, created_at) "
+                + "values (?, 1, '2030-01-01 10:00:00', ?, 'SCHEDULED', now())", hearings);
+
+        // Act
+        migrate();
+
+        // Assert
+        assertEquals(0, database.queryForObject("select count(*) from hearings where judge_key is null", Integer.class));
+        assertEquals("hakim 2500", database.queryForObject("select judge_key from hearings where id = 2500", String.class));
+    }
+}
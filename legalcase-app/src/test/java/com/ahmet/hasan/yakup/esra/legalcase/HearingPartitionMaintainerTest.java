@@ -0,0 +1,100 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.HearingPartitionMaintainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HearingPartitionMaintainerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private HearingPartitionMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        maintainer = new HearingPartitionMaintainer(jdbcTemplate, 2, "1d");
+    }
+
+    private void partitions(String... namesAndBounds) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < namesAndBounds.length; i += 2) {
+            rows.add(Map.of("name", namesAndBounds[i], "bound", namesAndBounds[i + 1]));
+        }
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(rows);
+    }
+
+    @Test
+    void rollOver_YearsAheadPresent_AddsNothing() {
+        // Arrange
+        partitions("p_history", "'2011-01-01'", "p2027", "'2028-01-01'", "p2028", "'2029-01-01 00:00:00'",
+                "p_future", "MAXVALUE");
+
+        // Act
+        int added = maintainer.rollOver(LocalDate.of(2026, 12, 31));
+
+        // Assert
+        assertEquals(0, added);
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void rollOver_NewYear_SplitsTheMissingYearsOffTheCatchAll() {
+        // Arrange
+        partitions("p2027", "'2028-01-01'", "p2028", "'2029-01-01'", "p_future", "MAXVALUE");
+
+        // Act
+        int added = maintainer.rollOver(LocalDate.of(2028, 1, 1));
+
+        // Assert
+        assertEquals(2, added);
+        verify(jdbcTemplate).execute("alter table hearings reorganize partition p_future into ("
+                + "partition p2029 values less than ('2030-01-01'), "
+                + "partition p2030 values less than ('2031-01-01'), "
+                + "partition p_future values less than (maxvalue))");
+    }
+
+    @Test
+    void rollOver_NoCatchAll_AddsTheYearsAtTheEnd() {
+        // Arrange: the last bound is not a new year's day
+        partitions("p2026", "'2026-07-01'");
+
+        // Act
+        int added = maintainer.rollOver(LocalDate.of(2026, 10, 17));
+
+        // Assert
+        assertEquals(3, added);
+        verify(jdbcTemplate).execute("alter table hearings add partition ("
+                + "partition p2026 values less than ('2027-01-01'), "
+                + "partition p2027 values less than ('2028-01-01'), "
+                + "partition p2028 values less than ('2029-01-01'))");
+    }
+
+    @Test
+    void rollOver_TableNotPartitioned_AddsNothing() {
+        // Arrange
+        partitions();
+
+        // Act / Assert
+        assertEquals(0, maintainer.rollOver(LocalDate.of(2026, 10, 17)));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void constructor_InvalidConfiguration_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new HearingPartitionMaintainer(jdbcTemplate, 0, "1d"));
+        assertThrows(IllegalArgumentException.class, () -> new HearingPartitionMaintainer(jdbcTemplate, 2, "0s"));
+    }
+}
@@ -0,0 +1,196 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingReminder;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.FileHearingReminderNotifier;
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.HearingReminderScheduler;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingReminderNotifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HearingReminderSchedulerTest {
+
+    @Mock
+    private HearingRepository hearingRepository;
+
+    @Mock
+    private IHearingReminderNotifier notifier;
+
+    @TempDir
+    Path tempDir;
+
+    private HearingReminderScheduler scheduler;
+
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        scheduler = new HearingReminderScheduler(hearingRepository, notifier, "1h, 7d,1d", "1s");
+        start = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    private static HearingSlot slot(long id, LocalDateTime start) {
+        return new HearingSlot(id, "Hakim A", "Salon 1", start, 60);
+    }
+
+    private void stillScheduled(HearingSlot... slots) {
+        when(hearingRepository.findSlotsByIdIn(anyCollection(), eq(HearingStatus.SCHEDULED), any(), any())).thenReturn(List.of(slots));
+    }
+
+    @Test
+    void fireDue_SendsEachReminderWhenItFallsDueAndNotBefore() {
+        // Arrange
+        HearingSlot slot = slot(1L, start);
+        stillScheduled(slot);
+        scheduler.schedule(slot);
+        assertEquals(3, scheduler.pending());
+
+        // Act / Assert
+        assertEquals(0, scheduler.fireDue(start.minusDays(7).minusSeconds(1)));
+        assertEquals(1, scheduler.fireDue(start.minusDays(7)));
+        verify(notifier).remind(new HearingReminder(1L, "Hakim A", "Salon 1", start, Duration.ofDays(7)));
+
+        assertEquals(2, scheduler.fireDue(start.minusMinutes(30)));
+        verify(notifier).remind(new HearingReminder(1L, "Hakim A", "Salon 1", start, Duration.ofDays(1)));
+        verify(notifier).remind(new HearingReminder(1L, "Hakim A", "Salon 1", start, Duration.ofHours(1)));
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    void schedule_RemindersWhoseTimeHasPassedAreNotSent() {
+        // Act
+        scheduler.schedule(slot(1L, LocalDateTime.now().plusHours(2)));
+
+        // Assert
+        assertEquals(1, scheduler.pending());
+    }
+
+    @Test
+    void schedule_RescheduleReplacesTheReminders() {
+        // Arrange
+        HearingSlot moved = slot(1L, start.plusDays(10));
+        stillScheduled(moved);
+        scheduler.schedule(slot(1L, start));
+
+        // Act
+        scheduler.schedule(moved);
+
+        // Assert
+        assertEquals(3, scheduler.pending());
+        assertEquals(0, scheduler.fireDue(start));
+        assertEquals(1, scheduler.fireDue(moved.start().minusDays(7)));
+        verify(notifier).remind(new HearingReminder(1L, "Hakim A", "Salon 1", moved.start(), Duration.ofDays(7)));
+        verifyNoMoreInteractions(notifier);
+    }
+
+    @Test
+    void cancel_DropsThePendingReminders() {
+        // Arrange
+        scheduler.schedule(slot(1L, start));
+
+        // Act
+        scheduler.cancel(1L);
+        scheduler.cancel(1L);
+
+        // Assert
+        assertEquals(0, scheduler.pending());
+        assertEquals(0, scheduler.fireDue(start));
+        verifyNoInteractions(notifier);
+    }
+
+    @Test
+    void fireDue_HearingNoLongerScheduledOrMoved_DropsTheReminder() {
+        // Arrange: the first was cancelled, the second moved, behind the scheduler's back
+        scheduler.schedule(slot(1L, start));
+        scheduler.schedule(slot(2L, start));
+        scheduler.schedule(slot(3L, start));
+        stillScheduled(slot(2L, start.plusHours(3)), slot(3L, start));
+
+        // Act
+        int sent = scheduler.fireDue(start.minusDays(7));
+
+        // Assert
+        assertEquals(1, sent);
+        verify(notifier).remind(new HearingReminder(3L, "Hakim A", "Salon 1", start, Duration.ofDays(7)));
+        // One query, reading only the dates of the due reminders
+        verify(hearingRepository, times(1)).findSlotsByIdIn(anyCollection(), any(), eq(start), eq(start));
+    }
+
+    @Test
+    void fireDue_DatabaseUnavailable_SendsTheRemindersAsRegistered() {
+        // Arrange
+        scheduler.schedule(slot(1L, start));
+        when(hearingRepository.findSlotsByIdIn(anyCollection(), any(), any(), any())).thenThrow(new RuntimeException("Database error"));
+
+        // Act / Assert
+        assertEquals(1, scheduler.fireDue(start.minusDays(7)));
+    }
+
+    @Test
+    void rebuild_RegistersHearingsToComeAndKeepsNewerChanges() {
+        // Arrange
+        HearingSlot cancelled = slot(1L, start);
+        HearingSlot rescheduled = slot(2L, start.plusDays(1));
+        when(hearingRepository.findSlotsStartingAfter(eq(HearingStatus.SCHEDULED), any(), eq(0L), eq(Limit.of(1000))))
+                .thenReturn(List.of(cancelled, slot(2L, start), slot(3L, start)));
+        // Changed by requests while the registration was running
+        scheduler.cancel(1L);
+        scheduler.schedule(rescheduled);
+        assertFalse(scheduler.isReady());
+
+        // Act
+        int added = scheduler.rebuild();
+
+        // Assert
+        assertEquals(1, added);
+        assertTrue(scheduler.isReady());
+        assertEquals(6, scheduler.pending());
+        stillScheduled(rescheduled, slot(3L, start));
+        assertEquals(1, scheduler.fireDue(start.minusDays(7)));
+        verify(notifier).remind(new HearingReminder(3L, "Hakim A", "Salon 1", start, Duration.ofDays(7)));
+    }
+
+    @Test
+    void fireDue_FileNotifier_AppendsALinePerReminder() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("reminders").resolve("hearing-reminders.log");
+        HearingReminderScheduler fileScheduler = new HearingReminderScheduler(hearingRepository,
+                new FileHearingReminderNotifier(file.toString()), "7d,1d", "1s");
+        HearingSlot slot = new HearingSlot(1L, "Hakim\tA", null, start, 60);
+        stillScheduled(slot);
+        fileScheduler.schedule(slot);
+
+        // Act
+        fileScheduler.fireDue(start.minusHours(12));
+
+        // Assert
+        assertEquals(List.of("1\t" + start + "\tPT168H\tHakim A\t", "1\t" + start + "\tPT24H\tHakim A\t"),
+                Files.readAllLines(file));
+    }
+
+    @Test
+    void constructor_InvalidConfiguration_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new HearingReminderScheduler(hearingRepository, notifier, "1d,-1h", "1s"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new HearingReminderScheduler(hearingRepository, notifier, "1d", "0s"));
+    }
+}
@@ -0,0 +1,173 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.HearingScheduleIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex.Resource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HearingScheduleIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+    @Mock
+    private HearingRepository hearingRepository;
+
+    private HearingScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        index = new HearingScheduleIndex(hearingRepository);
+    }
+
+    private static HearingSlot slot(long id, String judge, String location, int startMinute, int minutes) {
+        return new HearingSlot(id, judge, location, DAY.plusMinutes(startMinute), minutes);
+    }
+
+    @Test
+    void findOverlapping_SlotsAreHalfOpen() {
+        // Arrange
+        index.index(slot(1L, "Ayşe Yılmaz", "Salon 1", 0, 60));
+        index.index(slot(2L, "Ayşe Yılmaz", "Salon 2", 60, 30));
+
+        // Assert
+        assertEquals(List.of(1L), index.findOverlapping(Resource.JUDGE, "Ayşe Yılmaz", DAY, DAY.plusMinutes(60)));
+        assertEquals(List.of(1L, 2L), index.findOverlapping(Resource.JUDGE, "Ayşe Yılmaz",
+                DAY.plusMinutes(59), DAY.plusMinutes(61)));
+        assertTrue(index.findOverlapping(Resource.JUDGE, "Ayşe Yılmaz", DAY.plusMinutes(90), DAY.plusMinutes(120)).isEmpty());
+        assertEquals(List.of(2L), index.findOverlapping(Resource.LOCATION, "Salon 2", DAY, DAY.plusHours(3)));
+        // An empty or inverted slot overlaps nothing
+        assertTrue(index.findOverlapping(Resource.JUDGE, "Ayşe Yılmaz", DAY.plusMinutes(30), DAY.plusMinutes(30)).isEmpty());
+    }
+
+    @Test
+    void findOverlapping_NamesAreComparedByTheirTerms() {
+        // Arrange
+        index.index(slot(1L, "AYŞE  YILMAZ", "1. Asliye Hukuk, Salon 3", 0, 60));
+
+        // Assert
+        assertEquals(List.of(1L), index.findOverlapping(Resource.JUDGE, "ayse yilmaz", DAY, DAY.plusMinutes(1)));
+        assertEquals(List.of(1L), index.findOverlapping(Resource.LOCATION, "1 asliye hukuk salon 3", DAY, DAY.plusMinutes(1)));
+        assertTrue(index.findOverlapping(Resource.JUDGE, "Ayşe", DAY, DAY.plusMinutes(1)).isEmpty());
+        assertTrue(index.findOverlapping(Resource.JUDGE, null, DAY, DAY.plusMinutes(1)).isEmpty());
+    }
+
+    @Test
+    void index_ReplacesWhatWasIndexedBeforeAndRemoveTakesItOut() {
+        // Arrange
+        index.index(slot(1L, "Hakim A", "Salon 1", 0, 60));
+        index.index(slot(1L, "Hakim B", "Salon 1", 120, 60));
+
+        // Assert
+        assertTrue(index.findOverlapping(Resource.JUDGE, "Hakim A", DAY, DAY.plusHours(4)).isEmpty());
+        assertTrue(index.findOverlapping(Resource.LOCATION, "Salon 1", DAY, DAY.plusMinutes(60)).isEmpty());
+        assertEquals(List.of(1L), index.findOverlapping(Resource.JUDGE, "Hakim B", DAY, DAY.plusHours(4)));
+
+        index.remove(1L);
+        index.remove(1L);
+        assertTrue(index.findOverlapping(Resource.JUDGE, "Hakim B", DAY, DAY.plusHours(4)).isEmpty());
+        assertTrue(index.findOverlapping(Resource.LOCATION, "Salon 1", DAY, DAY.plusHours(4)).isEmpty());
+    }
+
+    @Test
+    void findSlots_ReturnsTheSlotsInOrderOfStart() {
+        // Arrange
+        HearingSlot late = slot(1L, "Hakim A", "Salon 1", 180, 60);
+        HearingSlot early = slot(2L, "Hakim B", "salon  1", 0, 60);
+        index.index(late);
+        index.index(early);
+        index.index(slot(3L, "Hakim A", "Salon 2", 600, 60));
+
+        // Assert
+        assertEquals(List.of(early, late), index.findSlots(Resource.LOCATION, "SALON 1", DAY, DAY.plusHours(5)));
+        assertEquals(List.of(late), index.findSlots(Resource.JUDGE, "Hakim A", DAY, DAY.plusHours(5)));
+    }
+
+    @Test
+    void names_OneNamePerCourtroomKeptAfterItsHearingsAreGone() {
+        // Arrange
+        index.index(slot(1L, "Hakim A", "Salon 2", 0, 60));
+        index.index(slot(2L, "Hakim A", " SALON 2 ", 120, 60));
+        index.index(slot(3L, "Hakim B", "Salon 1", 0, 60));
+        index.remove(3L);
+
+        // Assert
+        assertEquals(List.of("Salon 1", "Salon 2"), index.names(Resource.LOCATION));
+        assertEquals(List.of("Hakim A", "Hakim B"), index.names(Resource.JUDGE));
+    }
+
+    @Test
+    void findOverlapping_MatchesABruteForceScanThroughInsertsAndRemovals() {
+        // Arrange
+        Random random = new Random(42);
+        Map<Long, HearingSlot> slots = new HashMap<>();
+        for (int step = 0; step < 5000; step++) {
+            long id = 1 + random.nextInt(800);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                slots.remove(id);
+            } else {
+                HearingSlot slot = slot(id, "Hakim " + random.nextInt(3), "Salon " + random.nextInt(3),
+                        random.nextInt(10_000), 1 + random.nextInt(240));
+                index.index(slot);
+                slots.put(id, slot);
+            }
+        }
+
+        // Assert
+        for (int query = 0; query < 500; query++) {
+            String judge = "Hakim " + random.nextInt(3);
+            LocalDateTime start = DAY.plusMinutes(random.nextInt(10_500) - 250);
+            LocalDateTime end = start.plusMinutes(1 + random.nextInt(300));
+            List<Long> expected = new ArrayList<>();
+            slots.values().stream()
+                    .filter(slot -> slot.judge().equals(judge) && slot.start().isBefore(end) && slot.end().isAfter(start))
+                    .forEach(slot -> expected.add(slot.id()));
+            expected.sort(null);
+            assertEquals(expected, index.findOverlapping(Resource.JUDGE, judge, start, end));
+        }
+    }
+
+    @Test
+    void rebuild_PagesThroughScheduledSlotsAndKeepsNewerEntries() {
+        // Arrange
+        List<HearingSlot> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            firstPage.add(slot(id, "Hakim " + id, "Salon 1", (int) id * 60, 30));
+        }
+        when(hearingRepository.findSlotsAfter(HearingStatus.SCHEDULED, 0L, Limit.of(1000))).thenReturn(firstPage);
+        when(hearingRepository.findSlotsAfter(HearingStatus.SCHEDULED, 1000L, Limit.of(1000)))
+                .thenReturn(List.of(slot(1001L, "Eski Hakim", "Salon 1", 0, 30)));
+        // Rescheduled by a request while the rebuild was running
+        index.index(slot(1001L, "Yeni Hakim", "Salon 1", 0, 30));
+        assertFalse(index.isReady());
+
+        // Act
+        int added = index.rebuild();
+
+        // Assert
+        assertEquals(1000, added);
+        assertTrue(index.isReady());
+        assertEquals(List.of(1001L), index.findOverlapping(Resource.JUDGE, "Yeni Hakim", DAY, DAY.plusMinutes(30)));
+        assertTrue(index.findOverlapping(Resource.JUDGE, "Eski Hakim", DAY, DAY.plusMinutes(30)).isEmpty());
+        assertEquals(List.of(1L, 2L), index.findOverlapping(Resource.LOCATION, "Salon 1",
+                DAY.plusMinutes(60), DAY.plusMinutes(121)));
+        verify(hearingRepository, times(2)).findSlotsAfter(eq(HearingStatus.SCHEDULED), anyLong(), any());
+    }
+}
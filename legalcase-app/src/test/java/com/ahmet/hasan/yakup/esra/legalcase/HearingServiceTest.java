@@ -2,14 +2,32 @@ package com.ahmet.hasan.yakup.esra.legalcase;
 
 import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
 import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
+import com.ahmet.hasan.yakup.esra.legalcase.model.HearingEvent;
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingEventType;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.CaseType;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingDate;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
 import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingEventRepository;
 import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.CursorPage;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.HearingService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IOutbox;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingBookingLocks;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingReminderScheduler;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IUpcomingHearingIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
@@ -17,6 +35,7 @@ import org.springframework.http.HttpStatus;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,9 +47,30 @@ class HearingServiceTest {
     @Mock
     private HearingRepository hearingRepository;
 
+    @Mock
+    private ITrigramSearchIndex trigramIndex;
+
+    @Mock
+    private IHearingScheduleIndex scheduleIndex;
+
+    @Mock
+    private IUpcomingHearingIndex upcomingIndex;
+
+    @Mock
+    private IHearingReminderScheduler reminderScheduler;
+
+    @Mock
+    private IOutbox outbox;
+
+    @Mock
+    private IHearingBookingLocks bookingLocks;
+
     @Mock
     private CaseRepository caseRepository;
 
+    @Mock
+    private HearingEventRepository hearingEventRepository;
+
     @Mock
     private Logger logger;
 
@@ -41,7 +81,8 @@ class HearingServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        hearingService = new HearingService(hearingRepository, caseRepository);
+        hearingService = new HearingService(hearingRepository, caseRepository, hearingEventRepository, trigramIndex, scheduleIndex,
+                upcomingIndex, reminderScheduler, outbox, bookingLocks);
         now = LocalDateTime.now();
     }
 
@@ -60,6 +101,16 @@ class HearingServiceTest {
         return hearing;
     }
 
+    // Helper method to collect the history rows saved
+    @SuppressWarnings("unchecked")
+    private List<HearingEvent> recordedHistory() {
+        ArgumentCaptor<Iterable<HearingEvent>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(hearingEventRepository, atLeastOnce()).saveAll(saved.capture());
+        List<HearingEvent> events = new ArrayList<>();
+        saved.getAllValues().forEach(batch -> batch.forEach(events::add));
+        return events;
+    }
+
     // Helper method to create a list of test hearings
     private List<Hearing> createTestHearingsList() {
         List<Hearing> hearings = new ArrayList<>();
@@ -99,6 +150,7 @@ class HearingServiceTest {
         assertEquals(testHearing, response.getData());
         verify(caseRepository).findById(1L);
         verify(hearingRepository).save(testHearing);
+        verify(outbox).record(Entity.HEARING, Action.CREATED, 1L, 1L, "Judge Smith", "SCHEDULED");
     }
 
     @Test
@@ -177,6 +229,7 @@ class HearingServiceTest {
         assertEquals(HearingStatus.SCHEDULED, response.getData().getStatus());
         verify(caseRepository).findById(1L);
         verify(hearingRepository).save(any(Hearing.class));
+        verify(reminderScheduler).schedule(HearingSlot.of(savedHearing));
     }
 
     @Test
@@ -309,6 +362,46 @@ class HearingServiceTest {
         verify(hearingRepository, never()).findByCseId(anyLong());
     }
 
+    @Test
+    void getHearingPageVersionByCaseId_EmptyPageOfExistingCase_ReturnsVersion() {
+        // Arrange
+        when(hearingRepository.findStampsByCaseIdAfter(1L, 0L, CursorPage.limit(CursorPage.DEFAULT_SIZE)))
+                .thenReturn(List.of());
+        when(caseRepository.existsById(1L)).thenReturn(true);
+
+        // Act
+        ResourceVersion version = hearingService.getHearingPageVersionByCaseId(1L, null, null);
+
+        // Assert
+        assertEquals(ResourceVersion.ofPage(List.of()).getEtag(), version.getEtag());
+    }
+
+    @Test
+    void getHearingPageVersionByCaseId_CaseNotFound_ReturnsNull() {
+        // Arrange
+        when(hearingRepository.findStampsByCaseIdAfter(999L, 0L, CursorPage.limit(CursorPage.DEFAULT_SIZE)))
+                .thenReturn(List.of());
+        when(caseRepository.existsById(999L)).thenReturn(false);
+
+        // Act & Assert: a deleted case must answer 404, not match its cached empty page
+        assertNull(hearingService.getHearingPageVersionByCaseId(999L, null, null));
+    }
+
+    @Test
+    void getHearingPageVersionByCaseId_NonEmptyPage_SkipsCaseLookup() {
+        // Arrange
+        List<RowStamp> stamps = List.of(new RowStamp(5L, LocalDateTime.now(), LocalDateTime.now()));
+        when(hearingRepository.findStampsByCaseIdAfter(1L, 0L, CursorPage.limit(CursorPage.DEFAULT_SIZE)))
+                .thenReturn(stamps);
+
+        // Act
+        ResourceVersion version = hearingService.getHearingPageVersionByCaseId(1L, null, null);
+
+        // Assert
+        assertEquals(ResourceVersion.ofPage(stamps).getEtag(), version.getEtag());
+        verify(caseRepository, never()).existsById(anyLong());
+    }
+
     @Test
     void getHearingsByStatus_ValidStatus_ReturnsHearings() {
         // Arrange
@@ -409,6 +502,114 @@ class HearingServiceTest {
         verify(hearingRepository).findByHearingDateAfterAndStatusNot(any(LocalDateTime.class), eq(HearingStatus.CANCELLED));
     }
 
+    // Helper method to index hearings in the upcoming hearings index with their own dates
+    private static List<HearingDate> indexed(Hearing... hearings) {
+        return Arrays.stream(hearings).map(hearing -> new HearingDate(hearing.getId(), hearing.getHearingDate())).toList();
+    }
+
+    @Test
+    void getUpcomingHearingsPaged_IndexReady_LoadsIndexedHearingsInOrderOfDate() {
+        // Arrange
+        List<Hearing> hearings = createTestHearingsList();
+        when(upcomingIndex.isReady()).thenReturn(true);
+        when(upcomingIndex.page(any(), eq(Long.MAX_VALUE), eq(3), any()))
+                .thenReturn(indexed(hearings.get(0), hearings.get(1), hearings.get(2)));
+        when(hearingRepository.findByIdInOrderByIdAsc(List.of(1L, 2L, 3L))).thenReturn(hearings);
+
+        // Act
+        ApiResponse<List<Hearing>> response = hearingService.getUpcomingHearings(null, 2);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(hearings.subList(0, 2), response.getData());
+        assertEquals(CursorPage.encodeDate(hearings.get(1).getHearingDate(), 2L), response.getNextCursor());
+        verify(hearingRepository, never()).findUpcomingAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    void getUpcomingHearingsPaged_Cursor_ContinuesAfterItsDateAndId() {
+        // Arrange
+        List<Hearing> hearings = createTestHearingsList();
+        LocalDateTime date = hearings.get(1).getHearingDate();
+        when(upcomingIndex.isReady()).thenReturn(true);
+        when(upcomingIndex.page(eq(date), eq(2L), eq(3), any())).thenReturn(indexed(hearings.get(2)));
+        when(hearingRepository.findByIdInOrderByIdAsc(List.of(3L))).thenReturn(List.of(hearings.get(2)));
+
+        // Act
+        ApiResponse<List<Hearing>> response = hearingService.getUpcomingHearings(CursorPage.encodeDate(date, 2L), 2);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(List.of(hearings.get(2)), response.getData());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void getUpcomingHearingsPaged_StaleEntries_AreSkippedAndThePageRefilled() {
+        // Arrange: hearing 2 was cancelled and hearing 3 deleted by transactions whose index
+        // updates have not run yet
+        List<Hearing> hearings = createTestHearingsList();
+        hearings.get(1).setStatus(HearingStatus.CANCELLED);
+        Hearing fourth = new Hearing(4L, createTestCase(), now.plusDays(28), "Judge Smith");
+        Hearing fifth = new Hearing(5L, createTestCase(), now.plusDays(35), "Judge Smith");
+        when(upcomingIndex.isReady()).thenReturn(true);
+        when(upcomingIndex.page(any(), eq(Long.MAX_VALUE), eq(3), any()))
+                .thenReturn(indexed(hearings.get(0), hearings.get(1), hearings.get(2)));
+        when(upcomingIndex.page(eq(hearings.get(2).getHearingDate()), eq(3L), eq(2), any()))
+                .thenReturn(indexed(fourth, fifth));
+        when(hearingRepository.findByIdInOrderByIdAsc(List.of(1L, 2L, 3L))).thenReturn(hearings.subList(0, 2));
+        when(hearingRepository.findByIdInOrderByIdAsc(List.of(4L, 5L))).thenReturn(List.of(fourth, fifth));
+
+        // Act
+        ApiResponse<List<Hearing>> response = hearingService.getUpcomingHearings(null, 2);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(List.of(hearings.get(0), fourth), response.getData());
+        assertEquals(CursorPage.encodeDate(fourth.getHearingDate(), 4L), response.getNextCursor());
+        verify(upcomingIndex, never()).remove(any());
+    }
+
+    @Test
+    void getUpcomingHearingsPaged_IndexNotReady_QueriesTheDatabase() {
+        // Arrange
+        List<Hearing> hearings = createTestHearingsList();
+        when(hearingRepository.findUpcomingAfter(any(LocalDateTime.class), eq(Long.MAX_VALUE),
+                eq(HearingStatus.CANCELLED), eq(CursorPage.limit(CursorPage.DEFAULT_SIZE)))).thenReturn(hearings);
+
+        // Act
+        ApiResponse<List<Hearing>> response = hearingService.getUpcomingHearings(null, null);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(hearings, response.getData());
+        verify(upcomingIndex, never()).page(any(), anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void getUpcomingHearingsPaged_CursorFromThePast_ContinuesAtNow() {
+        // Arrange
+        LocalDateTime past = now.minusDays(1);
+
+        // Act
+        ApiResponse<List<Hearing>> response = hearingService.getUpcomingHearings(CursorPage.encodeDate(past, 9L), null);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        verify(hearingRepository).findUpcomingAfter(argThat(date -> date.isAfter(past)), eq(Long.MAX_VALUE),
+                eq(HearingStatus.CANCELLED), any());
+    }
+
+    @Test
+    void getUpcomingHearingsPaged_IdCursor_IsRejected() {
+        // Act
+        ApiResponse<List<Hearing>> response = hearingService.getUpcomingHearings(CursorPage.encode(5L), null);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
+    }
+
     @Test
     void updateHearing_HearingNotFound_ReturnsError() {
         // Arrange
@@ -423,7 +624,29 @@ class HearingServiceTest {
         assertEquals(HttpStatus.NOT_FOUND.value(), response.getErrorCode());
         assertTrue(response.getErrorMessages().get(0).contains("Hearing not found"));
         verify(hearingRepository).findById(999L);
-        verify(hearingRepository, never()).save(any(Hearing.class));
+        verify(hearingRepository, never()).saveAndFlush(any(Hearing.class));
+    }
+
+    @Test
+    void updateHearing_ExpectedVersion_UpdatesOnlyTheVersionRead() {
+        // Arrange
+        Hearing existingHearing = createTestHearing();
+        existingHearing.setVersion(2);
+        Hearing updatedHearing = createTestHearing();
+        updatedHearing.setJudge("Judge Brown");
+        updatedHearing.setCse(null);
+        when(hearingRepository.findById(1L)).thenReturn(Optional.of(existingHearing));
+        when(hearingRepository.saveAndFlush(any(Hearing.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ApiResponse<Hearing> stale = hearingService.updateHearing(1L, updatedHearing, 1L);
+        ApiResponse<Hearing> current = hearingService.updateHearing(1L, updatedHearing, 2L);
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED.value(), stale.getErrorCode());
+        assertTrue(current.isSuccess());
+        assertEquals("Judge Brown", current.getData().getJudge());
+        verify(hearingRepository).saveAndFlush(existingHearing);
     }
 
     @Test
@@ -446,7 +669,7 @@ class HearingServiceTest {
         assertTrue(response.getErrorMessages().get(0).contains("Case not found"));
         verify(hearingRepository).findById(1L);
         verify(caseRepository).findById(999L);
-        verify(hearingRepository, never()).save(any(Hearing.class));
+        verify(hearingRepository, never()).saveAndFlush(any(Hearing.class));
     }
 
     @Test
@@ -467,6 +690,7 @@ class HearingServiceTest {
         assertEquals(HearingStatus.COMPLETED, response.getData().getStatus());
         verify(hearingRepository).findById(1L);
         verify(hearingRepository).save(any(Hearing.class));
+        verify(reminderScheduler).cancel(1L);
     }
 
     @Test
@@ -505,7 +729,12 @@ class HearingServiceTest {
         assertTrue(response.isSuccess());
         assertEquals(newDate, response.getData().getHearingDate());
         assertEquals(HearingStatus.SCHEDULED, response.getData().getStatus());
-        assertTrue(response.getData().getNotes().contains("Hearing rescheduled from " + oldDate));
+        List<HearingEvent> events = recordedHistory();
+        assertEquals(1, events.size());
+        assertEquals(HearingEventType.RESCHEDULED, events.get(0).getType());
+        assertEquals(1L, events.get(0).getHearingId());
+        assertEquals(oldDate.toString(), events.get(0).getOldValue());
+        assertEquals(newDate.toString(), events.get(0).getNewValue());
         verify(hearingRepository).findById(1L);
         verify(hearingRepository).save(any(Hearing.class));
     }
@@ -541,25 +770,105 @@ class HearingServiceTest {
     }
 
     @Test
-    void rescheduleHearing_ExistingNotesAppended_ReturnsSuccess() {
+    void rescheduleHearing_PostponedAgainAndAgain_LeavesTheNotesAlone() {
         // Arrange
         Hearing existingHearing = createTestHearing();
         String existingNotes = existingHearing.getNotes();
-        LocalDateTime oldDate = existingHearing.getHearingDate();
-        LocalDateTime newDate = now.plusDays(14);
+        existingHearing.setStatus(HearingStatus.POSTPONED);
 
         when(hearingRepository.findById(1L)).thenReturn(Optional.of(existingHearing));
         when(hearingRepository.save(any(Hearing.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        ApiResponse<Hearing> response = hearingService.rescheduleHearing(1L, newDate);
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(hearingService.rescheduleHearing(1L, now.plusDays(7 + i)).isSuccess());
+        }
+
+        // Assert: a reschedule row each time, and a status row for the first one
+        assertEquals(existingNotes, existingHearing.getNotes());
+        List<HearingEvent> events = recordedHistory();
+        assertEquals(List.of(HearingEventType.RESCHEDULED, HearingEventType.STATUS_CHANGED,
+                        HearingEventType.RESCHEDULED, HearingEventType.RESCHEDULED),
+                events.stream().map(HearingEvent::getType).toList());
+        assertEquals("POSTPONED", events.get(1).getOldValue());
+        assertEquals("SCHEDULED", events.get(1).getNewValue());
+    }
+
+    @Test
+    void updateHearing_JudgeAndLocationChanged_RecordsEachChange() {
+        // Arrange
+        Hearing existingHearing = createTestHearing();
+        Hearing changes = new Hearing();
+        changes.setJudge("Judge Brown");
+        changes.setLocation("Courtroom B");
+        changes.setNotes("Moved to a larger room");
+        when(hearingRepository.findById(1L)).thenReturn(Optional.of(existingHearing));
+        when(hearingRepository.saveAndFlush(any(Hearing.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ApiResponse<Hearing> response = hearingService.updateHearing(1L, changes);
 
         // Assert
         assertTrue(response.isSuccess());
-        assertTrue(response.getData().getNotes().contains(existingNotes));
-        assertTrue(response.getData().getNotes().contains("Hearing rescheduled from " + oldDate));
-        verify(hearingRepository).findById(1L);
-        verify(hearingRepository).save(any(Hearing.class));
+        List<HearingEvent> events = recordedHistory();
+        assertEquals(2, events.size());
+        assertEquals(HearingEventType.JUDGE_CHANGED, events.get(0).getType());
+        assertEquals("Judge Smith", events.get(0).getOldValue());
+        assertEquals("Judge Brown", events.get(0).getNewValue());
+        assertEquals(HearingEventType.LOCATION_CHANGED, events.get(1).getType());
+        assertEquals("Courtroom B", events.get(1).getNewValue());
+    }
+
+    @Test
+    void updateHearingStatus_SameStatus_RecordsNoHistory() {
+        // Arrange
+        when(hearingRepository.findById(1L)).thenReturn(Optional.of(createTestHearing()));
+        when(hearingRepository.save(any(Hearing.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ApiResponse<Hearing> response = hearingService.updateHearingStatus(1L, HearingStatus.SCHEDULED);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        verifyNoInteractions(hearingEventRepository);
+    }
+
+    @Test
+    void getHearingHistory_PagesInOrderOfId() {
+        // Arrange
+        List<HearingEvent> rows = new ArrayList<>();
+        for (long id = 11; id <= 13; id++) {
+            HearingEvent event = new HearingEvent(1L, HearingEventType.RESCHEDULED, now, now.plusDays(id));
+            event.setId(id);
+            rows.add(event);
+        }
+        when(hearingEventRepository.findByHearingIdAndIdGreaterThanOrderByIdAsc(1L, 10L, CursorPage.limit(2)))
+                .thenReturn(rows);
+
+        // Act
+        ApiResponse<List<HearingEvent>> response = hearingService.getHearingHistory(1L, CursorPage.encode(10L), 2);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(rows.subList(0, 2), response.getData());
+        assertEquals(CursorPage.encode(12L), response.getNextCursor());
+        verify(hearingRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getHearingHistory_UnknownHearing_ReturnsNotFound() {
+        // Arrange
+        when(hearingEventRepository.findByHearingIdAndIdGreaterThanOrderByIdAsc(eq(999L), eq(0L), any()))
+                .thenReturn(List.of());
+        when(hearingRepository.existsById(999L)).thenReturn(false);
+
+        // Act
+        ApiResponse<List<HearingEvent>> response = hearingService.getHearingHistory(999L, null, null);
+        ApiResponse<List<HearingEvent>> invalid = hearingService.getHearingHistory(1L, "not-a-cursor", null);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getErrorCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), invalid.getErrorCode());
     }
 
     @Test
@@ -582,10 +891,167 @@ class HearingServiceTest {
         verify(hearingRepository).save(any(Hearing.class));
     }
 
+    @Test
+    void createHearing_JudgeAlreadyBooked_ReturnsConflict() {
+        // Arrange
+        Hearing testHearing = createTestHearing();
+        testHearing.setId(null);
+        testHearing.setDurationMinutes(90);
+        LocalDateTime start = testHearing.getHearingDate();
+        Hearing booked = new Hearing(5L, createTestCase(), start.plusMinutes(30), "Judge Smith");
+        booked.setStatus(HearingStatus.SCHEDULED);
+        when(caseRepository.findById(1L)).thenReturn(Optional.of(createTestCase()));
+        when(scheduleIndex.isReady()).thenReturn(true);
+        when(scheduleIndex.findOverlapping(IHearingScheduleIndex.Resource.JUDGE, "Judge Smith", start, start.plusMinutes(90)))
+                .thenReturn(List.of(5L));
+        when(hearingRepository.findByIdInOrderByIdAsc(any())).thenReturn(List.of(booked));
+
+        // Act
+        ApiResponse<Hearing> response = hearingService.createHearing(testHearing);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.CONFLICT.value(), response.getErrorCode());
+        assertTrue(response.getErrorMessages().get(0).contains("5"));
+        verify(bookingLocks).lock("Judge Smith", testHearing.getLocation());
+        verify(hearingRepository, never()).save(any(Hearing.class));
+    }
+
+    @Test
+    void createHearing_BookingCommittedBeforeTheIndexLearntOfIt_ReturnsConflict() {
+        // Arrange: the index is ready but the booking that held the locks has only just committed
+        Hearing testHearing = createTestHearing();
+        testHearing.setId(null);
+        LocalDateTime start = testHearing.getHearingDate();
+        LocalDateTime end = start.plusMinutes(Hearing.DEFAULT_DURATION_MINUTES);
+        Hearing booked = new Hearing(5L, createTestCase(), start, "Judge Smith");
+        booked.setStatus(HearingStatus.SCHEDULED);
+        when(caseRepository.findById(1L)).thenReturn(Optional.of(createTestCase()));
+        when(scheduleIndex.isReady()).thenReturn(true);
+        when(hearingRepository.findSlotsOverlapping(HearingStatus.SCHEDULED,
+                start.minusMinutes(Hearing.MAX_DURATION_MINUTES), end, "judge smith", "courtroom a"))
+                .thenReturn(List.of(HearingSlot.of(booked)));
+        when(hearingRepository.findByIdInOrderByIdAsc(any())).thenReturn(List.of(booked));
+
+        // Act
+        ApiResponse<Hearing> response = hearingService.createHearing(testHearing);
+
+        // Assert: the rows are read only once the judge and courtroom are locked
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.CONFLICT.value(), response.getErrorCode());
+        InOrder inOrder = inOrder(bookingLocks, hearingRepository);
+        inOrder.verify(bookingLocks).lock("Judge Smith", testHearing.getLocation());
+        inOrder.verify(hearingRepository).findSlotsOverlapping(any(), any(), any(), any(), any());
+        verify(hearingRepository, never()).save(any(Hearing.class));
+    }
+
+    @Test
+    void createHearing_IndexNotReady_ComparesNamesByTheirKeys() {
+        // Arrange: written differently from the booked hearing, but the same judge
+        Hearing testHearing = createTestHearing();
+        testHearing.setId(null);
+        testHearing.setJudge("  JUDGE smith.");
+        testHearing.setLocation("Courtroom-B");
+        LocalDateTime start = testHearing.getHearingDate();
+        LocalDateTime end = start.plusMinutes(Hearing.DEFAULT_DURATION_MINUTES);
+        Hearing booked = new Hearing(5L, createTestCase(), start, "Judge Smith");
+        when(caseRepository.findById(1L)).thenReturn(Optional.of(createTestCase()));
+        when(hearingRepository.findSlotsOverlapping(HearingStatus.SCHEDULED,
+                start.minusMinutes(Hearing.MAX_DURATION_MINUTES), end, "judge smith", "courtroom b"))
+                .thenReturn(List.of(HearingSlot.of(booked)));
+        when(hearingRepository.findByIdInOrderByIdAsc(any())).thenReturn(List.of(booked));
+
+        // Act
+        ApiResponse<Hearing> response = hearingService.createHearing(testHearing);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT.value(), response.getErrorCode());
+        assertEquals("judge smith", testHearing.getJudgeKey());
+        verify(hearingRepository, never()).save(any(Hearing.class));
+    }
+
+    @Test
+    void createHearing_InvalidDuration_ReturnsError() {
+        // Arrange
+        Hearing testHearing = createTestHearing();
+        testHearing.setDurationMinutes(0);
+        when(caseRepository.findById(1L)).thenReturn(Optional.of(createTestCase()));
+
+        // Act
+        ApiResponse<Hearing> response = hearingService.createHearing(testHearing);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
+        verify(hearingRepository, never()).save(any(Hearing.class));
+    }
+
+    @Test
+    void rescheduleHearing_IndexNotReady_ChecksTheDatabase() {
+        // Arrange
+        Hearing existingHearing = createTestHearing();
+        LocalDateTime newDate = now.plusDays(10);
+        when(hearingRepository.findById(1L)).thenReturn(Optional.of(existingHearing));
+        // The hearing's own slot, and one that ends when the new slot starts
+        when(hearingRepository.findSlotsOverlapping(HearingStatus.SCHEDULED,
+                newDate.minusMinutes(Hearing.MAX_DURATION_MINUTES), newDate.plusMinutes(Hearing.DEFAULT_DURATION_MINUTES),
+                "judge smith", "courtroom a"))
+                .thenReturn(List.of(new HearingSlot(1L, "Judge Smith", "Courtroom A", newDate, 60),
+                        new HearingSlot(7L, "Judge Smith", "Courtroom B", newDate.minusMinutes(45), 45)));
+        when(hearingRepository.save(any(Hearing.class))).thenReturn(existingHearing);
+
+        // Act
+        ApiResponse<Hearing> response = hearingService.rescheduleHearing(1L, newDate);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        verify(scheduleIndex, never()).findOverlapping(any(), any(), any(), any());
+        verify(hearingRepository, never()).findByIdInOrderByIdAsc(any());
+        verify(hearingRepository).save(existingHearing);
+    }
+
+    @Test
+    void findConflicts_KeepsOnlyScheduledRowsAndLeavesTheIndexAlone() {
+        // Arrange
+        LocalDateTime start = now.plusDays(7);
+        LocalDateTime end = start.plusHours(2);
+        Hearing booked = new Hearing(5L, createTestCase(), start.plusMinutes(30), "Judge Smith");
+        booked.setStatus(HearingStatus.SCHEDULED);
+        Hearing cancelled = new Hearing(6L, createTestCase(), start, "Judge Smith");
+        cancelled.setStatus(HearingStatus.CANCELLED);
+        when(scheduleIndex.isReady()).thenReturn(true);
+        when(scheduleIndex.findOverlapping(IHearingScheduleIndex.Resource.JUDGE, "Judge Smith", start, end))
+                .thenReturn(List.of(5L, 6L));
+        when(scheduleIndex.findOverlapping(IHearingScheduleIndex.Resource.LOCATION, "Courtroom A", start, end))
+                .thenReturn(List.of(5L, 7L));
+        when(hearingRepository.findByIdInOrderByIdAsc(any())).thenReturn(List.of(booked, cancelled));
+
+        // Act
+        ApiResponse<List<Hearing>> response = hearingService.findConflicts("Judge Smith", "Courtroom A", start, end, null);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(List.of(booked), response.getData());
+        verify(scheduleIndex, never()).remove(any());
+        verify(hearingRepository, never()).findSlotsOverlapping(any(), any(), any(), any(), any());
+        verifyNoInteractions(bookingLocks);
+    }
+
+    @Test
+    void findConflicts_NoJudgeOrLocation_ReturnsError() {
+        // Act
+        ApiResponse<List<Hearing>> response = hearingService.findConflicts(" ", null, now, now.plusHours(1), null);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
+        verifyNoInteractions(scheduleIndex);
+    }
+
     @Test
     void deleteHearing_ExistingHearing_ReturnsSuccess() {
         // Arrange
-        when(hearingRepository.existsById(1L)).thenReturn(true);
+        when(hearingRepository.findById(1L)).thenReturn(Optional.of(createTestHearing()));
         doNothing().when(hearingRepository).deleteById(1L);
 
         // Act
@@ -593,14 +1059,16 @@ class HearingServiceTest {
 
         // Assert
         assertTrue(response.isSuccess());
-        verify(hearingRepository).existsById(1L);
+        verify(hearingRepository).findById(1L);
         verify(hearingRepository).deleteById(1L);
+        verify(reminderScheduler).cancel(1L);
+        verify(outbox).record(Entity.HEARING, Action.DELETED, 1L, 1L, "Judge Smith", null);
     }
 
     @Test
     void deleteHearing_HearingNotFound_ReturnsError() {
         // Arrange
-        when(hearingRepository.existsById(999L)).thenReturn(false);
+        when(hearingRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act
         ApiResponse<Void> response = hearingService.deleteHearing(999L);
@@ -609,14 +1077,14 @@ class HearingServiceTest {
         assertFalse(response.isSuccess());
         assertEquals(HttpStatus.NOT_FOUND.value(), response.getErrorCode());
         assertTrue(response.getErrorMessages().get(0).contains("Hearing not found"));
-        verify(hearingRepository).existsById(999L);
+        verify(hearingRepository).findById(999L);
         verify(hearingRepository, never()).deleteById(anyLong());
     }
 
     @Test
     void deleteHearing_RepositoryException_ReturnsError() {
         // Arrange
-        when(hearingRepository.existsById(1L)).thenReturn(true);
+        when(hearingRepository.findById(1L)).thenReturn(Optional.of(createTestHearing()));
         doThrow(new RuntimeException("Database error")).when(hearingRepository).deleteById(1L);
 
         // Act
@@ -626,7 +1094,38 @@ class HearingServiceTest {
         assertFalse(response.isSuccess());
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getErrorCode());
         assertTrue(response.getErrorMessages().get(0).contains("Failed to delete hearing"));
-        verify(hearingRepository).existsById(1L);
+        verify(hearingRepository).findById(1L);
         verify(hearingRepository).deleteById(1L);
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void searchHearingsByJudge_IndexReady_LoadsMatchedIds() {
+        // Arrange
+        List<Hearing> hearings = createTestHearingsList().subList(0, 1);
+        when(trigramIndex.isReady(ITrigramSearchIndex.Field.HEARING_JUDGE)).thenReturn(true);
+        when(trigramIndex.search(ITrigramSearchIndex.Field.HEARING_JUDGE, "smith", 0L, CursorPage.DEFAULT_SIZE + 1)).thenReturn(List.of(1L));
+        when(trigramIndex.load(any(), any(), any(), anyInt(), any())).thenCallRealMethod();
+        when(hearingRepository.findByIdInOrderByIdAsc(List.of(1L))).thenReturn(hearings);
+
+        // Act
+        ApiResponse<List<Hearing>> response = hearingService.searchHearingsByJudge("smith", null, null);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(hearings, response.getData());
+        assertNull(response.getNextCursor());
+        verify(hearingRepository, never()).findByJudgeContainingIgnoreCaseAndIdGreaterThanOrderByIdAsc(any(), any(), any());
+    }
+
+    @Test
+    void searchHearingsByJudge_EmptyJudge_ReturnsError() {
+        // Act
+        ApiResponse<List<Hearing>> response = hearingService.searchHearingsByJudge(null, null, null);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
+        assertEquals("Judge name cannot be empty", response.getErrorMessages().get(0));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,150 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingSlot;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.SlotSuggestion;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.HearingSlotSuggestionService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IHearingScheduleIndex.Resource;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HearingSlotSuggestionServiceTest {
+
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2030, 3, 4);
+
+    @Mock
+    private CaseRepository caseRepository;
+
+    @Mock
+    private HearingRepository hearingRepository;
+
+    @Mock
+    private IHearingScheduleIndex scheduleIndex;
+
+    private HearingSlotSuggestionService suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        suggestionService = new HearingSlotSuggestionService(caseRepository, hearingRepository, scheduleIndex,
+                "09:00", "17:00", 15);
+        when(caseRepository.existsById(1L)).thenReturn(true);
+    }
+
+    private static HearingSlot slot(long id, String judge, String location, LocalDateTime start, int minutes) {
+        return new HearingSlot(id, judge, location, start, minutes);
+    }
+
+    private static SlotSuggestion suggestion(LocalDateTime start, int minutes, String judge, String location) {
+        return new SlotSuggestion(start, start.plusMinutes(minutes), judge, location);
+    }
+
+    @Test
+    void suggestSlots_EarliestFirstWhereJudgeCaseAndCourtroomAreFree() {
+        // Arrange
+        HearingSlot judgeBusy = slot(1L, "Hakim A", "Salon 2", MONDAY.atTime(9, 0), 60);
+        when(scheduleIndex.isReady()).thenReturn(true);
+        when(scheduleIndex.names(Resource.LOCATION)).thenReturn(List.of("Salon 1", "Salon 2"));
+        when(scheduleIndex.findSlots(eq(Resource.JUDGE), eq("Hakim A"), any(), any())).thenReturn(List.of(judgeBusy));
+        when(scheduleIndex.findSlots(eq(Resource.LOCATION), eq("Salon 1"), any(), any()))
+                .thenReturn(List.of(slot(2L, "Hakim B", "Salon 1", MONDAY.atTime(10, 0), 120)));
+        when(scheduleIndex.findSlots(eq(Resource.LOCATION), eq("Salon 2"), any(), any())).thenReturn(List.of(judgeBusy));
+        when(hearingRepository.findSlotsByCaseIdOverlapping(eq(1L), eq(HearingStatus.SCHEDULED), any(), any()))
+                .thenReturn(List.of(slot(3L, "Hakim C", "Salon 3", MONDAY.atTime(13, 0), 60)));
+
+        // Act
+        ApiResponse<List<SlotSuggestion>> response = suggestionService.suggestSlots(1L, 60, MONDAY,
+                MONDAY.plusDays(4), "Hakim A", null, 5);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(List.of(
+                suggestion(MONDAY.atTime(10, 0), 60, "Hakim A", "Salon 2"),
+                suggestion(MONDAY.atTime(11, 0), 60, "Hakim A", "Salon 2"),
+                suggestion(MONDAY.atTime(12, 0), 60, "Hakim A", "Salon 1"),
+                suggestion(MONDAY.atTime(12, 0), 60, "Hakim A", "Salon 2"),
+                suggestion(MONDAY.atTime(14, 0), 60, "Hakim A", "Salon 1")), response.getData());
+        verify(hearingRepository, never()).findSlotsBetween(any(), any(), any());
+    }
+
+    @Test
+    void suggestSlots_IndexNotReady_ReadsTheWindowWithOneQuery() {
+        // Arrange: a whole court day, in a courtroom busy on Monday morning
+        when(scheduleIndex.isReady()).thenReturn(false);
+        when(hearingRepository.findSlotsBetween(eq(HearingStatus.SCHEDULED), any(), any())).thenReturn(List.of(
+                slot(1L, "Hakim A", "Salon 1", MONDAY.atTime(9, 0), 60),
+                slot(2L, "Hakim B", "Salon 2", MONDAY.plusDays(1).atTime(9, 0), 60),
+                slot(3L, "hakim b", "Salon 3", MONDAY.plusDays(2).atTime(16, 0), 60)));
+
+        // Act
+        ApiResponse<List<SlotSuggestion>> response = suggestionService.suggestSlots(1L, 480, MONDAY,
+                MONDAY.plusDays(6), "Hakim B", "SALON 1", 3);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(List.of(
+                suggestion(MONDAY.plusDays(3).atTime(9, 0), 480, "Hakim B", "SALON 1"),
+                suggestion(MONDAY.plusDays(4).atTime(9, 0), 480, "Hakim B", "SALON 1")), response.getData());
+        verify(hearingRepository, times(1)).findSlotsBetween(any(), any(), any());
+        verify(scheduleIndex, never()).findSlots(any(), any(), any(), any());
+    }
+
+    @Test
+    void suggestSlots_NoCourtroomKnown_SuggestsSlotsWithoutOne() {
+        // Arrange
+        when(scheduleIndex.isReady()).thenReturn(true);
+        when(scheduleIndex.names(Resource.LOCATION)).thenReturn(List.of());
+
+        // Act
+        ApiResponse<List<SlotSuggestion>> response = suggestionService.suggestSlots(1L, null, MONDAY, MONDAY, null,
+                null, 2);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals(List.of(
+                suggestion(MONDAY.atTime(9, 0), 60, null, null),
+                suggestion(MONDAY.atTime(10, 0), 60, null, null)), response.getData());
+    }
+
+    @Test
+    void suggestSlots_PastWindow_ReturnsNothing() {
+        // Act
+        ApiResponse<List<SlotSuggestion>> response = suggestionService.suggestSlots(1L, 60,
+                LocalDate.of(2020, 3, 2), LocalDate.of(2020, 3, 6), null, null, null);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertTrue(response.getData().isEmpty());
+    }
+
+    @Test
+    void suggestSlots_InvalidRequest_ReturnsError() {
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST.value(), suggestionService.suggestSlots(1L, 60, MONDAY,
+                MONDAY.minusDays(1), null, null, null).getErrorCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), suggestionService.suggestSlots(1L, 60, MONDAY,
+                MONDAY.plusYears(2), null, null, null).getErrorCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), suggestionService.suggestSlots(1L, 60, MONDAY,
+                MONDAY, null, null, 0).getErrorCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), suggestionService.suggestSlots(1L, 9 * 60, MONDAY,
+                MONDAY, null, null, null).getErrorCode());
+        assertEquals(HttpStatus.NOT_FOUND.value(), suggestionService.suggestSlots(2L, 60, MONDAY,
+                MONDAY, null, null, null).getErrorCode());
+        verifyNoInteractions(hearingRepository, scheduleIndex);
+    }
+}
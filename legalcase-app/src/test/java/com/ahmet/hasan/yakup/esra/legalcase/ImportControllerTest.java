@@ -0,0 +1,178 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.ahmet.hasan.yakup.esra.legalcase.api.ImportController;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService.ImportReport;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IBulkImportService.Target;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Format;
+
+/**
+ * Test for ImportController using Mockito
+ */
+@ExtendWith(MockitoExtension.class)
+public class ImportControllerTest {
+
+    @Mock
+    private IBulkImportService importService;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @InjectMocks
+    private ImportController importController;
+
+    private static ServletInputStream body(String content) {
+        InputStream bytes = new ByteArrayInputStream(content.getBytes());
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return false;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+            }
+
+            @Override
+            public int read() throws IOException {
+                return bytes.read();
+            }
+        };
+    }
+
+    @Test
+    public void testImportRecords_CsvContentType_Success() throws IOException {
+        // Arrange
+        ServletInputStream input = body("name,surname\nAli,Yılmaz\n");
+        when(request.getContentType()).thenReturn("text/csv; charset=UTF-8");
+        when(request.getInputStream()).thenReturn(input);
+        ImportReport report = new ImportReport(Target.CLIENTS, 1, 1, 0, List.of());
+        when(importService.importRecords(Target.CLIENTS, Format.CSV, input)).thenReturn(ApiResponse.success(report));
+
+        // Act
+        ResponseEntity<ApiResponse<ImportReport>> response = importController.importRecords("clients", null, request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().isSuccess());
+        assertEquals(report, response.getBody().getData());
+    }
+
+    @Test
+    public void testImportRecords_NdjsonContentType_Success() throws IOException {
+        // Arrange
+        ServletInputStream input = body("{}");
+        when(request.getContentType()).thenReturn("application/x-ndjson");
+        when(request.getInputStream()).thenReturn(input);
+        when(importService.importRecords(Target.HEARINGS, Format.NDJSON, input))
+                .thenReturn(ApiResponse.success(new ImportReport(Target.HEARINGS, 1, 0, 1, List.of())));
+
+        // Act
+        ResponseEntity<ApiResponse<ImportReport>> response = importController.importRecords("hearings", null, request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(importService).importRecords(eq(Target.HEARINGS), eq(Format.NDJSON), any());
+    }
+
+    @Test
+    public void testImportRecords_FormatParameterOverridesContentType() throws IOException {
+        // Arrange
+        ServletInputStream input = body("");
+        when(request.getInputStream()).thenReturn(input);
+        when(importService.importRecords(Target.CASES, Format.CSV, input))
+                .thenReturn(ApiResponse.success(new ImportReport(Target.CASES, 0, 0, 0, List.of())));
+
+        // Act
+        ResponseEntity<ApiResponse<ImportReport>> response = importController.importRecords("cases", "csv", request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    public void testImportRecords_UnknownTarget() {
+        // Act
+        ResponseEntity<ApiResponse<ImportReport>> response = importController.importRecords("users", null, request);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertFalse(response.getBody().isSuccess());
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    public void testImportRecords_UnsupportedContentType() {
+        // Arrange
+        when(request.getContentType()).thenReturn("application/pdf");
+
+        // Act
+        ResponseEntity<ApiResponse<ImportReport>> response = importController.importRecords("clients", null, request);
+
+        // Assert
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, response.getStatusCode());
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    public void testImportRecords_ServiceError() throws IOException {
+        // Arrange
+        ServletInputStream input = body("x");
+        when(request.getContentType()).thenReturn("text/csv");
+        when(request.getInputStream()).thenReturn(input);
+        when(importService.importRecords(Target.DOCUMENTS, Format.CSV, input))
+                .thenReturn(ApiResponse.error("Import stopped after 0 rows", HttpStatus.BAD_REQUEST.value()));
+
+        // Act
+        ResponseEntity<ApiResponse<ImportReport>> response = importController.importRecords("documents", null, request);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertFalse(response.getBody().isSuccess());
+    }
+
+    @Test
+    public void testImportRecords_UnreadableBody() throws IOException {
+        // Arrange
+        when(request.getContentType()).thenReturn("text/csv");
+        when(request.getInputStream()).thenThrow(new IOException("Stream closed"));
+
+        // Act
+        ResponseEntity<ApiResponse<ImportReport>> response = importController.importRecords("clients", null, request);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(importService);
+    }
+}
@@ -0,0 +1,108 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Format;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ImportRecordReader.Record;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportRecordReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Record> readAll(Format format, String input) throws IOException {
+        List<Record> records = new ArrayList<>();
+        try (ImportRecordReader reader = ImportRecordReader.of(format, new StringReader(input), objectMapper)) {
+            Record record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    @Test
+    void ndjson_ReadsObjectsAndJoinsArrays() throws IOException {
+        // Act
+        List<Record> records = readAll(Format.NDJSON,
+                "{\"caseNumber\":\"K-1\",\"title\":\" Kira \",\"clientEmails\":[\"a@x.com\",\"b@x.com\"]}\n"
+                        + "\n"
+                        + "{\"caseNumber\":7,\"description\":null,\"title\":\"\"}\n");
+
+        // Assert
+        assertEquals(2, records.size());
+        assertEquals(1, records.get(0).line());
+        assertEquals(Map.of("caseNumber", "K-1", "title", "Kira", "clientEmails", "a@x.com;b@x.com"),
+                records.get(0).fields());
+        assertNull(records.get(0).error());
+        // Blank lines are skipped but still counted; null and empty values are left out
+        assertEquals(3, records.get(1).line());
+        assertEquals(Map.of("caseNumber", "7"), records.get(1).fields());
+    }
+
+    @Test
+    void ndjson_BadLine_IsAnErrorRecordAndReadingGoesOn() throws IOException {
+        // Act
+        List<Record> records = readAll(Format.NDJSON, "{\"name\":\"Ali\"\n[1,2]\n{\"name\":\"Ayşe\"}");
+
+        // Assert
+        assertEquals(3, records.size());
+        assertTrue(records.get(0).error().startsWith("Malformed JSON"));
+        assertEquals("Expected a JSON object", records.get(1).error());
+        assertEquals("Ayşe", records.get(2).get("name"));
+        assertEquals(3, records.get(2).line());
+    }
+
+    @Test
+    void csv_ReadsQuotedCellsAcrossLines() throws IOException {
+        // Act
+        List<Record> records = readAll(Format.CSV,
+                "\uFEFFcaseNumber,title,description\r\n"
+                        + "K-1,\"Kira, Tahliye\",\"ilk satır\n\"\"ikinci\"\" satır\"\r\n"
+                        + "\r\n"
+                        + "K-2,Tapu,\r\n");
+
+        // Assert
+        assertEquals(2, records.size());
+        assertEquals(2, records.get(0).line());
+        assertEquals("K-1", records.get(0).get("caseNumber"));
+        assertEquals("Kira, Tahliye", records.get(0).get("title"));
+        assertEquals("ilk satır\n\"ikinci\" satır", records.get(0).get("description"));
+        // The quoted cell took two lines and the blank one was skipped
+        assertEquals(5, records.get(1).line());
+        assertEquals(Map.of("caseNumber", "K-2", "title", "Tapu"), records.get(1).fields());
+    }
+
+    @Test
+    void csv_WrongNumberOfCells_IsAnErrorRecord() throws IOException {
+        // Act
+        List<Record> records = readAll(Format.CSV, "name,surname\nAli\nAyşe,Kaya\n");
+
+        // Assert
+        assertEquals(2, records.size());
+        assertEquals("Expected 2 columns but found 1", records.get(0).error());
+        assertEquals(2, records.get(0).line());
+        assertNull(records.get(1).error());
+        assertEquals("Kaya", records.get(1).get("surname"));
+    }
+
+    @Test
+    void csv_HeaderOnly_HasNoRecords() throws IOException {
+        assertTrue(readAll(Format.CSV, "name,surname\n").isEmpty());
+        assertTrue(readAll(Format.CSV, "").isEmpty());
+    }
+
+    @Test
+    void splitList_TrimsAndDropsEmptyItems() {
+        assertEquals(List.of("a@x.com", "b@x.com"), ImportRecordReader.splitList(" a@x.com ;; b@x.com;"));
+        assertTrue(ImportRecordReader.splitList(null).isEmpty());
+    }
+}
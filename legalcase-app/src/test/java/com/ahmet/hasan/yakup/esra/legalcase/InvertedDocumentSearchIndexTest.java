@@ -0,0 +1,189 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.InvertedDocumentSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.SearchTextAnalyzer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedDocumentSearchIndexTest {
+
+    private InvertedDocumentSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedDocumentSearchIndex();
+    }
+
+    private static List<Long> ids(IDocumentSearchIndex.Result result) {
+        return result.hits().stream().map(IDocumentSearchIndex.Hit::documentId).toList();
+    }
+
+    @Test
+    void analyzer_FoldsTurkishCaseAndLetters() {
+        assertEquals(List.of("istanbul", "istanbul", "istanbul", "istanbul"),
+                SearchTextAnalyzer.terms("İSTANBUL Istanbul ıstanbul istanbul"));
+        assertEquals(List.of("sozlesme", "cigdem", "agir"), SearchTextAnalyzer.terms("SÖZLEŞME Çiğdem AĞIR"));
+        assertEquals(List.of("yargitay", "in", "2023", "karari"),
+                SearchTextAnalyzer.terms("Yargıtay'ın 2023 kararı"));
+    }
+
+    @Test
+    void analyzer_DecomposedInput_FoldsLikeComposed() {
+        // "Ş" written as S + combining cedilla, "İ" as I + combining dot above
+        assertEquals(List.of("sikayet"), SearchTextAnalyzer.terms("S\u0327I\u0307KAYET"));
+        assertEquals(SearchTextAnalyzer.terms("\u015E\u0130KAYET"), SearchTextAnalyzer.terms("S\u0327I\u0307KAYET"));
+    }
+
+    @Test
+    void analyzer_SkipsOverlongTokens() {
+        String longToken = "a".repeat(SearchTextAnalyzer.MAX_TOKEN_LENGTH + 1);
+        assertEquals(List.of("dava"), SearchTextAnalyzer.terms(longToken + " dava"));
+    }
+
+    @Test
+    void search_MatchesAcrossTurkishCaseFolding() {
+        // Arrange
+        index.index(1L, "Kira Sözleşmesi", "İstanbul'daki dükkan için kira sözleşmesi");
+        index.index(2L, "Dilekçe", "Ankara asliye hukuk mahkemesine dilekçe");
+
+        // Act
+        IDocumentSearchIndex.Result result = index.search("ISTANBUL sozlesmesi", 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L), ids(result));
+        assertEquals(1, result.totalHits());
+    }
+
+    @Test
+    void search_RanksMoreRelevantDocumentFirst() {
+        // Arrange
+        index.index(1L, "Tanık beyanı", "tanık olay günü evdeydi");
+        index.index(2L, "Bilirkişi raporu", "tapu kaydı tapu tapu incelendi");
+        index.index(3L, "Tapu", "tapu");
+        index.index(4L, "Vekaletname", "genel vekaletname");
+
+        // Act
+        IDocumentSearchIndex.Result result = index.search("tapu", 0, 10);
+
+        // Assert
+        assertEquals(List.of(3L, 2L), ids(result));
+        assertTrue(result.hits().get(0).score() > result.hits().get(1).score());
+    }
+
+    @Test
+    void search_MoreMatchingTermsScoreHigher() {
+        // Arrange
+        index.index(1L, "temyiz dilekçesi");
+        index.index(2L, "temyiz");
+        index.index(3L, "dilekçe örneği");
+
+        // Act
+        IDocumentSearchIndex.Result result = index.search("temyiz dilekçesi", 0, 10);
+
+        // Assert
+        assertEquals(1L, ids(result).get(0));
+        assertEquals(2, result.totalHits());
+    }
+
+    @Test
+    void search_PagesWithOffsetAndLimit() {
+        // Arrange
+        for (long id = 1; id <= 5; id++) {
+            index.index(id, "dava dosyası " + id);
+        }
+
+        // Act
+        IDocumentSearchIndex.Result first = index.search("dava", 0, 2);
+        IDocumentSearchIndex.Result second = index.search("dava", 2, 2);
+        IDocumentSearchIndex.Result last = index.search("dava", 4, 2);
+
+        // Assert
+        // Equal scores rank in id order, so pages do not overlap
+        assertEquals(List.of(1L, 2L), ids(first));
+        assertEquals(List.of(3L, 4L), ids(second));
+        assertEquals(List.of(5L), ids(last));
+        assertEquals(5, first.totalHits());
+    }
+
+    @Test
+    void index_ReplacesPreviousVersion() {
+        // Arrange
+        index.index(1L, "ihtarname");
+
+        // Act
+        index.index(1L, "ödeme emri");
+
+        // Assert
+        assertTrue(index.search("ihtarname", 0, 10).hits().isEmpty());
+        assertEquals(List.of(1L), ids(index.search("odeme", 0, 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void indexIfAbsent_KeepsExistingEntry() {
+        // Arrange
+        index.index(1L, "yeni başlık");
+
+        // Act
+        boolean added = index.indexIfAbsent(1L, "eski başlık");
+
+        // Assert
+        assertFalse(added);
+        assertTrue(index.search("eski", 0, 10).hits().isEmpty());
+        assertTrue(index.indexIfAbsent(2L, "eski başlık"));
+    }
+
+    @Test
+    void remove_DropsDocumentFromResults() {
+        // Arrange
+        index.index(1L, "icra takibi");
+        index.index(2L, "icra dosyası");
+
+        // Act
+        index.remove(1L);
+        index.remove(99L);
+
+        // Assert
+        assertEquals(List.of(2L), ids(index.search("icra", 0, 10)));
+        assertEquals(1, index.search("icra", 0, 10).totalHits());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void compaction_KeepsLiveDocumentsSearchable() {
+        // Arrange
+        for (long id = 1; id <= 3000; id++) {
+            index.index(id, "karar " + (id % 2 == 0 ? "istinaf" : "temyiz"));
+        }
+
+        // Act: enough removals and replacements to trigger compaction
+        for (long id = 1; id <= 2000; id++) {
+            index.remove(id);
+        }
+        index.index(2500L, "karar duruşma");
+
+        // Assert
+        assertEquals(1000, index.size());
+        assertEquals(1000, index.search("karar", 0, 10).totalHits());
+        assertEquals(499, index.search("istinaf", 0, 10).totalHits());
+        assertEquals(List.of(2500L), ids(index.search("durusma", 0, 10)));
+        assertEquals(2001L, ids(index.search("temyiz", 0, 1)).get(0));
+    }
+
+    @Test
+    void search_UnknownOrEmptyQuery_ReturnsNothing() {
+        // Arrange
+        index.index(1L, "dava");
+
+        // Assert
+        assertEquals(0, index.search("tebligat", 0, 10).totalHits());
+        assertEquals(0, index.search("  ... ", 0, 10).totalHits());
+        assertTrue(index.search("dava", 5, 10).hits().isEmpty());
+        assertEquals(1, index.search("dava", 5, 10).totalHits());
+    }
+}
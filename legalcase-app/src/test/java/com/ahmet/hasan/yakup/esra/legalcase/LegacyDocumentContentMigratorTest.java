@@ -0,0 +1,171 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.LegacyDocumentContentMigrator;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentContentStore;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentContentStore.StoredContent;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDocumentSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+class LegacyDocumentContentMigratorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private IDocumentContentStore contentStore;
+
+    @Mock
+    private IDocumentSearchIndex searchIndex;
+
+    private LegacyDocumentContentMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        migrator = new LegacyDocumentContentMigrator(jdbcTemplate, contentStore, searchIndex);
+    }
+
+    private void column(int count) {
+        when(jdbcTemplate.queryForObject(startsWith("select count(*)"), eq(Integer.class))).thenReturn(count);
+    }
+
+    /**
+     * documents as ddl-auto created it before the migrations, in an in-memory database that
+     * answers database() with the schema the tables are in, as MySQL does; closed by destroy()
+     */
+    private static SingleConnectionDataSource baselineDatabase() {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:legacy_documents;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                        + "INIT=CREATE SCHEMA IF NOT EXISTS legacy_documents\\;SET SCHEMA legacy_documents", true);
+        // V1 is what a baselined database has; the others are the migrations that change documents
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V1__baseline_schema.sql"),
+                new ClassPathResource("db/migration/V1_1__document_content_columns.sql"),
+                new ClassPathResource("db/migration/V4__row_versions.sql")).execute(dataSource);
+        return dataSource;
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void migrate_NoColumn_DoesNothing() {
+        // Arrange
+        column(0);
+
+        // Act
+        int moved = migrator.migrate();
+
+        // Assert
+        assertEquals(0, moved);
+        verify(jdbcTemplate, never()).queryForList(anyString(), any(Object[].class));
+        verify(jdbcTemplate, never()).execute(anyString());
+        verifyNoInteractions(contentStore, searchIndex);
+    }
+
+    @Test
+    void migrate_BodiesInTheColumn_MovesAndIndexesThemThenDropsTheColumn() throws Exception {
+        // Arrange
+        column(1);
+        when(jdbcTemplate.queryForList(anyString(), eq(0L))).thenReturn(List.of(
+                Map.of("id", 1L, "title", "Contract", "content", "signed by both parties"),
+                Map.of("id", 2L, "title", "Petition", "content", "filed today")));
+        when(contentStore.write(utf8("signed by both parties"))).thenReturn(new StoredContent("r1", 22L, "h1"));
+        when(contentStore.write(utf8("filed today"))).thenReturn(new StoredContent("r2", 11L, "h2"));
+        when(jdbcTemplate.update(anyString(), any(), any(), any(), any(), any())).thenReturn(1);
+
+        // Act
+        int moved = migrator.migrate();
+
+        // Assert
+        assertEquals(2, moved);
+        verify(jdbcTemplate).update(anyString(), eq("r1"), eq(22L), eq("h1"), eq("text/plain;charset=UTF-8"), eq(1L));
+        verify(jdbcTemplate).update(anyString(), eq("r2"), eq(11L), eq("h2"), eq("text/plain;charset=UTF-8"), eq(2L));
+        verify(searchIndex).index(1L, "Contract", "signed by both parties");
+        verify(searchIndex).index(2L, "Petition", "filed today");
+        verify(jdbcTemplate).execute("alter table documents drop column content");
+        verify(contentStore, never()).delete(anyString());
+    }
+
+    @Test
+    void migrate_BaselineSchema_MovesTheBodiesAndDropsTheColumn() throws Exception {
+        // Arrange
+        SingleConnectionDataSource dataSource = baselineDatabase();
+        try {
+            JdbcTemplate database = new JdbcTemplate(dataSource);
+            database.update("insert into documents (id, title, type, content, created_at) values "
+                    + "(1, 'Contract', 'CONTRACT', 'signed by both parties', now()), "
+                    + "(2, 'Petition', 'PETITION', null, now())");
+            when(contentStore.write(utf8("signed by both parties"))).thenReturn(new StoredContent("r1", 22L, "h1"));
+            migrator = new LegacyDocumentContentMigrator(database, contentStore, searchIndex);
+
+            // Act
+            int moved = migrator.migrate();
+
+            // Assert
+            assertEquals(1, moved);
+            assertEquals(Map.of("content_ref", "r1", "content_size", 22L, "content_hash", "h1",
+                            "content_type", "text/plain;charset=UTF-8", "version", 1L),
+                    database.queryForMap("select content_ref, content_size, content_hash, content_type, version "
+                            + "from documents where id = 1"));
+            assertNull(database.queryForObject("select content_ref from documents where id = 2", String.class));
+            verify(searchIndex).index(1L, "Contract", "signed by both parties");
+            // Gone, so the next start does nothing
+            assertEquals(0, migrator.migrate());
+            verify(contentStore, times(1)).write(any(byte[].class));
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    @Test
+    void migrate_RowGotABodyMeanwhile_DeletesTheCopy() throws Exception {
+        // Arrange
+        column(1);
+        when(jdbcTemplate.queryForList(anyString(), eq(0L))).thenReturn(List.of(
+                Map.of("id", 1L, "title", "Contract", "content", "old body")));
+        when(contentStore.write(utf8("old body"))).thenReturn(new StoredContent("r1", 8L, "h1"));
+        when(jdbcTemplate.update(anyString(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        // Act
+        int moved = migrator.migrate();
+
+        // Assert
+        assertEquals(0, moved);
+        verify(contentStore).delete("r1");
+        verify(searchIndex, never()).index(anyLong(), anyString(), anyString());
+        verify(jdbcTemplate).execute("alter table documents drop column content");
+    }
+
+    @Test
+    void migrate_StoreFails_KeepsTheColumn() throws Exception {
+        // Arrange
+        column(1);
+        when(jdbcTemplate.queryForList(anyString(), eq(0L))).thenReturn(List.of(
+                Map.of("id", 1L, "title", "Contract", "content", "body")));
+        when(contentStore.write(any(byte[].class))).thenThrow(new IOException("disk full"));
+
+        // Act / Assert
+        assertThrows(UncheckedIOException.class, () -> migrator.migrate());
+        verify(jdbcTemplate, never()).update(anyString(), any(), any(), any(), any(), any());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
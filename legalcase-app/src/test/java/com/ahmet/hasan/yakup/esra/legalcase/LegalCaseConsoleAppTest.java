@@ -34,12 +34,14 @@ public class LegalCaseConsoleAppTest {
     private IClientService clientService;
     private IHearingService hearingService;
     private IDocumentService documentService;
+    private IBulkImportService importService;
 
     private AuthenticationConsole authConsole;
     private CaseManagementConsole caseConsole;
     private ClientManagementConsole clientConsole;
     private HearingManagementConsole hearingConsole;
     private DocumentManagementConsole documentConsole;
+    private BulkImportConsole importConsole;
 
     private LegalCaseConsoleApp consoleApp;
     private Scanner scanner;
@@ -55,6 +57,7 @@ public class LegalCaseConsoleAppTest {
         clientService = Mockito.mock(IClientService.class);
         hearingService = Mockito.mock(IHearingService.class);
         documentService = Mockito.mock(IDocumentService.class);
+        importService = Mockito.mock(IBulkImportService.class);
 
         // Mock all consoles
         authConsole = Mockito.mock(AuthenticationConsole.class);
@@ -62,6 +65,7 @@ public class LegalCaseConsoleAppTest {
         clientConsole = Mockito.mock(ClientManagementConsole.class);
         hearingConsole = Mockito.mock(HearingManagementConsole.class);
         documentConsole = Mockito.mock(DocumentManagementConsole.class);
+        importConsole = Mockito.mock(BulkImportConsole.class);
     }
 
     @AfterEach
@@ -79,7 +83,7 @@ public class LegalCaseConsoleAppTest {
         // Create a real ConsoleApp but with mocked components
         LegalCaseConsoleApp app = new LegalCaseConsoleApp(
                 authService, userService, caseService,
-                clientService, hearingService, documentService);
+                clientService, hearingService, documentService, importService);
 
         // Replace the console components with our mocks using reflection
         replaceField(app, "authConsole", authConsole);
@@ -87,6 +91,7 @@ public class LegalCaseConsoleAppTest {
         replaceField(app, "clientConsole", clientConsole);
         replaceField(app, "hearingConsole", hearingConsole);
         replaceField(app, "documentConsole", documentConsole);
+        replaceField(app, "importConsole", importConsole);
 
         // Replace the scanner with our test scanner
         replaceField(app, "scanner", scanner);
@@ -146,8 +151,8 @@ public class LegalCaseConsoleAppTest {
                     .thenReturn(1); // Select login
 
             // For main menu (options 1-7)
-            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(7)))
-                    .thenReturn(7); // Select exit
+            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(8)))
+                    .thenReturn(8); // Select exit
 
             // Setup login result
             User testUser = createTestUser();
@@ -203,9 +208,9 @@ public class LegalCaseConsoleAppTest {
 
         // Setup static ConsoleUtils.getUserChoice mock
         try (MockedStatic<ConsoleUtils> mockedStatic = Mockito.mockStatic(ConsoleUtils.class)) {
-            // Simulate selections: 1 (View Profile) then 7 (Exit)
-            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(7)))
-                    .thenReturn(1, 7);
+            // Simulate selections: 1 (View Profile) then 8 (Exit)
+            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(8)))
+                    .thenReturn(1, 8);
 
             // Run the app
             consoleApp.run();
@@ -228,9 +233,9 @@ public class LegalCaseConsoleAppTest {
 
         // Setup static ConsoleUtils.getUserChoice mock
         try (MockedStatic<ConsoleUtils> mockedStatic = Mockito.mockStatic(ConsoleUtils.class)) {
-            // Simulate selections: 2 (Case Management) then 7 (Exit)
-            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(7)))
-                    .thenReturn(2, 7);
+            // Simulate selections: 2 (Case Management) then 8 (Exit)
+            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(8)))
+                    .thenReturn(2, 8);
 
             // Run the app
             consoleApp.run();
@@ -249,9 +254,9 @@ public class LegalCaseConsoleAppTest {
 
         // Setup static ConsoleUtils.getUserChoice mock
         try (MockedStatic<ConsoleUtils> mockedStatic = Mockito.mockStatic(ConsoleUtils.class)) {
-            // Simulate selections: 3 (Client Management) then 7 (Exit)
-            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(7)))
-                    .thenReturn(3, 7);
+            // Simulate selections: 3 (Client Management) then 8 (Exit)
+            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(8)))
+                    .thenReturn(3, 8);
 
             // Run the app
             consoleApp.run();
@@ -270,9 +275,9 @@ public class LegalCaseConsoleAppTest {
 
         // Setup static ConsoleUtils.getUserChoice mock
         try (MockedStatic<ConsoleUtils> mockedStatic = Mockito.mockStatic(ConsoleUtils.class)) {
-            // Simulate selections: 4 (Hearing Management) then 7 (Exit)
-            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(7)))
-                    .thenReturn(4, 7);
+            // Simulate selections: 4 (Hearing Management) then 8 (Exit)
+            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(8)))
+                    .thenReturn(4, 8);
 
             // Run the app
             consoleApp.run();
@@ -291,9 +296,9 @@ public class LegalCaseConsoleAppTest {
 
         // Setup static ConsoleUtils.getUserChoice mock
         try (MockedStatic<ConsoleUtils> mockedStatic = Mockito.mockStatic(ConsoleUtils.class)) {
-            // Simulate selections: 5 (Document Management) then 7 (Exit)
-            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(7)))
-                    .thenReturn(5, 7);
+            // Simulate selections: 5 (Document Management) then 8 (Exit)
+            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(8)))
+                    .thenReturn(5, 8);
 
             // Run the app
             consoleApp.run();
@@ -303,6 +308,27 @@ public class LegalCaseConsoleAppTest {
         }
     }
 
+    @Test
+    public void testBulkImport() throws Exception {
+        // Create app with logged-in user
+        consoleApp = createAppWithInput("");
+        User testUser = createTestUser();
+        setCurrentUser(consoleApp, testUser);
+
+        // Setup static ConsoleUtils.getUserChoice mock
+        try (MockedStatic<ConsoleUtils> mockedStatic = Mockito.mockStatic(ConsoleUtils.class)) {
+            // Simulate selections: 6 (Bulk Import) then 8 (Exit)
+            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(8)))
+                    .thenReturn(6, 8);
+
+            // Run the app
+            consoleApp.run();
+
+            // Verify import console was called
+            verify(importConsole, times(1)).showMenu(testUser);
+        }
+    }
+
     @Test
     public void testLogout() throws Exception {
         // Create app with logged-in user
@@ -313,9 +339,9 @@ public class LegalCaseConsoleAppTest {
 
         // Setup static ConsoleUtils.getUserChoice mock
         try (MockedStatic<ConsoleUtils> mockedStatic = Mockito.mockStatic(ConsoleUtils.class)) {
-            // Simulate selections: 6 (Logout) then 3 (Exit)
-            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(7)))
-                    .thenReturn(6);
+            // Simulate selections: 7 (Logout) then 3 (Exit)
+            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(8)))
+                    .thenReturn(7);
             mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(3)))
                     .thenReturn(3);
 
@@ -366,9 +392,9 @@ public class LegalCaseConsoleAppTest {
 
         // Setup static ConsoleUtils.getUserChoice mock
         try (MockedStatic<ConsoleUtils> mockedStatic = Mockito.mockStatic(ConsoleUtils.class)) {
-            // First return -1 (invalid), then 7 (Exit)
-            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(7)))
-                    .thenReturn(-1, 7);
+            // First return -1 (invalid), then 8 (Exit)
+            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(8)))
+                    .thenReturn(-1, 8);
 
             // Run the app
             consoleApp.run();
@@ -393,13 +419,14 @@ public class LegalCaseConsoleAppTest {
             // 4. Client Management
             // 5. Hearing Management
             // 6. Document Management
-            // 7. Logout
-            // 8. Exit
+            // 7. Bulk Import
+            // 8. Logout
+            // 9. Exit
             mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(3)))
                     .thenReturn(1, 3); // First login, then exit (after logout)
 
-            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(7)))
-                    .thenReturn(1, 2, 3, 4, 5, 6, 7); // All main menu options in sequence
+            mockedStatic.when(() -> ConsoleUtils.getUserChoice(any(Scanner.class), eq(8)))
+                    .thenReturn(1, 2, 3, 4, 5, 6, 7, 8); // All main menu options in sequence
 
             // Setup login result
             User testUser = createTestUser();
@@ -417,6 +444,7 @@ public class LegalCaseConsoleAppTest {
             verify(clientConsole, times(1)).showMenu(testUser);
             verify(hearingConsole, times(1)).showMenu(testUser);
             verify(documentConsole, times(1)).showMenu(testUser);
+            verify(importConsole, times(1)).showMenu(testUser);
             verify(authConsole, times(1)).logout("test-token");
 
             // Check output
@@ -0,0 +1,124 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.utils.MpscQueue;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscQueueTest {
+
+    @Test
+    void poll_TakesTheValuesInTheOrderOffered() {
+        // Arrange
+        MpscQueue<Integer> queue = new MpscQueue<>(4);
+
+        // Act / Assert
+        assertNull(queue.poll());
+        for (int lap = 0; lap < 3; lap++) {
+            assertTrue(queue.offer(lap));
+            assertTrue(queue.offer(lap + 10));
+            assertEquals(2, queue.size());
+            assertEquals(lap, queue.poll());
+            assertEquals(lap + 10, queue.poll());
+            assertNull(queue.poll());
+        }
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void offer_FullQueue_ReturnsFalseUntilAValueIsTaken() {
+        // Arrange
+        MpscQueue<String> queue = new MpscQueue<>(2);
+        queue.offer("a");
+        queue.offer("b");
+
+        // Act / Assert
+        assertFalse(queue.offer("c"));
+        assertEquals(2, queue.size());
+        assertEquals("a", queue.poll());
+        assertTrue(queue.offer("c"));
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, queue.drain(drained::add, 10));
+        assertEquals(List.of("b", "c"), drained);
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+
+    @Test
+    void drain_TakesNoMoreThanTheMaximum() {
+        // Arrange
+        MpscQueue<Integer> queue = new MpscQueue<>(8);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+
+        // Act
+        int taken = queue.drain(drained::add, 3);
+
+        // Assert
+        assertEquals(3, taken);
+        assertEquals(List.of(0, 1, 2), drained);
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    void offer_ConcurrentProducers_EveryValueTakenOnceInEachProducersOrder() throws InterruptedException {
+        // Arrange
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscQueue<long[]> queue = new MpscQueue<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long i = 0; i < perProducer; i++) {
+                    long[] value = {producer, i};
+                    while (!queue.offer(value)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        // Act
+        long[] next = new long[producers];
+        int taken = 0;
+        start.countDown();
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (taken < producers * perProducer && System.currentTimeMillis() < deadline) {
+            long[] value = queue.poll();
+            if (value == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            // Assert
+            assertEquals(next[(int) value[0]]++, value[1]);
+            taken++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(producers * perProducer, taken);
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void constructor_CapacityNotAPowerOfTwo_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new MpscQueue<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new MpscQueue<>(6));
+    }
+}
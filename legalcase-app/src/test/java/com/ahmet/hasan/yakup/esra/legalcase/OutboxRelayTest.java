@@ -0,0 +1,273 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.OutboxEvent;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Action;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.ChangeEvent.Entity;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.OutboxEventRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.Outbox;
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.OutboxRelay;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IDomainEventSubscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<OutboxRelay> relays = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(outboxEventRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(List.of());
+        when(outboxEventRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(anyLong(), anyLong(), any()))
+                .thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        relays.forEach(OutboxRelay::shutdown);
+    }
+
+    /**
+     * Records the ids of the changes it handles
+     */
+    private static class RecordingSubscriber implements IDomainEventSubscriber {
+
+        final BlockingQueue<Long> handled = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onEvent(ChangeEvent event) throws Exception {
+            handled.add(event.id());
+        }
+
+        List<Long> take(int count) throws InterruptedException {
+            List<Long> taken = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Long next = handled.poll(5, TimeUnit.SECONDS);
+                assertNotNull(next, "Expected " + count + " changes, got " + taken);
+                taken.add(next);
+            }
+            return taken;
+        }
+    }
+
+    private OutboxRelay relay(String sweepInterval, IDomainEventSubscriber... subscribers) {
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, jdbcTemplate, List.of(subscribers), 2, 8, "10ms",
+                sweepInterval, "0s", "1d", "node-1");
+        relay.startSubscribers();
+        relays.add(relay);
+        return relay;
+    }
+
+    private static OutboxEvent change(long id, Long caseId) {
+        OutboxEvent event = new OutboxEvent(Entity.HEARING, 10L + id, Action.UPDATED, caseId, "Judge Smith", "SCHEDULED");
+        event.setId(id);
+        return event;
+    }
+
+    private void outboxHolds(long afterId, OutboxEvent... events) {
+        when(outboxEventRepository.findByIdGreaterThanOrderByIdAsc(eq(afterId), eq(Limit.of(2))))
+                .thenReturn(List.of(events));
+    }
+
+    // The cursors saved for the node, in order
+    private List<Object> savedCursors() {
+        ArgumentCaptor<Object> cursor = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, atLeast(0)).update(startsWith("insert into outbox_cursors"), eq("node-1"),
+                cursor.capture(), any());
+        return cursor.getAllValues();
+    }
+
+    private void waitForCursor(OutboxRelay relay, long cursor) throws InterruptedException {
+        // The reader is released just after the subscriber returns
+        for (int i = 0; i < 100 && !savedCursors().contains(cursor); i++) {
+            Thread.sleep(10);
+            relay.relayOnce();
+        }
+    }
+
+    @Test
+    void relayOnce_HandsTheChangesToEverySubscriberInOrder() throws InterruptedException {
+        // Arrange
+        RecordingSubscriber first = new RecordingSubscriber();
+        RecordingSubscriber second = new RecordingSubscriber();
+        OutboxRelay relay = relay("1h", first, second);
+        outboxHolds(0L, change(1, 1L), change(2, 2L));
+        outboxHolds(2L, change(3, 1L));
+
+        // Act
+        assertEquals(2, relay.relayOnce());
+        assertEquals(1, relay.relayOnce());
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), first.take(3));
+        assertEquals(List.of(1L, 2L, 3L), second.take(3));
+    }
+
+    @Test
+    void relayOnce_MovesTheCursorOnlyPastChangesEverySubscriberHandled() throws Exception {
+        // Arrange: the slow subscriber is stuck on the first change
+        CountDownLatch handling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSubscriber fast = new RecordingSubscriber();
+        RecordingSubscriber slow = new RecordingSubscriber() {
+            @Override
+            public void onEvent(ChangeEvent event) throws Exception {
+                handling.countDown();
+                release.await();
+                super.onEvent(event);
+            }
+        };
+        OutboxRelay relay = relay("0s", fast, slow);
+        outboxHolds(0L, change(1, 1L), change(2, 1L));
+
+        // Act
+        relay.relayOnce();
+        assertEquals(List.of(1L, 2L), fast.take(2));
+        assertTrue(handling.await(5, TimeUnit.SECONDS));
+        relay.relayOnce();
+
+        // Assert
+        assertTrue(savedCursors().isEmpty());
+        release.countDown();
+        assertEquals(List.of(1L, 2L), slow.take(2));
+        waitForCursor(relay, 2L);
+        assertEquals(2L, savedCursors().get(savedCursors().size() - 1));
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void relayOnce_Sweep_RelaysAChangeThatCommittedAfterAHigherId() throws InterruptedException {
+        // Arrange: 2 was not committed yet when 1 and 3 were read
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        OutboxRelay relay = relay("0s", subscriber);
+        outboxHolds(0L, change(1, 1L), change(3, 3L));
+        when(outboxEventRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(eq(0L), eq(3L), eq(Limit.of(2))))
+                .thenReturn(List.of(change(1, 1L), change(2, 2L)));
+        when(outboxEventRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(eq(2L), eq(3L), eq(Limit.of(2))))
+                .thenReturn(List.of(change(3, 3L)));
+
+        // Act
+        int relayed = relay.relayOnce();
+
+        // Assert
+        assertEquals(List.of(1L, 3L, 2L), subscriber.take(3));
+        assertTrue(relayed >= 3);
+    }
+
+    @Test
+    void relayOnce_SubscriberFails_TheChangeCountsAsHandled() throws InterruptedException {
+        // Arrange
+        RecordingSubscriber failing = new RecordingSubscriber() {
+            @Override
+            public void onEvent(ChangeEvent event) throws Exception {
+                super.onEvent(event);
+                throw new IllegalStateException("Subscriber error");
+            }
+        };
+        OutboxRelay relay = relay("0s", failing);
+        outboxHolds(0L, change(1, 1L), change(2, 1L));
+
+        // Act
+        relay.relayOnce();
+
+        // Assert
+        assertEquals(List.of(1L, 2L), failing.take(2));
+        waitForCursor(relay, 2L);
+        assertTrue(savedCursors().contains(2L));
+    }
+
+    @Test
+    void relayOnce_ResumesAfterTheNodesCursor() throws InterruptedException {
+        // Arrange
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        OutboxRelay relay = relay("1h", subscriber);
+        when(jdbcTemplate.queryForList(startsWith("select last_id from outbox_cursors"), eq(Long.class), eq("node-1")))
+                .thenReturn(List.of(7L));
+        outboxHolds(0L, change(1, 1L));
+        outboxHolds(7L, change(8, 1L));
+
+        // Act
+        relay.relayOnce();
+
+        // Assert
+        assertEquals(List.of(8L), subscriber.take(1));
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    void relayOnce_NodeWithoutCursor_StartsAtTheEndOfTheOutbox() throws InterruptedException {
+        // Arrange: the changes up to 5 were handed out before the node joined
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        OutboxRelay relay = relay("1h", subscriber);
+        when(jdbcTemplate.queryForObject(startsWith("select coalesce(max(id), 0) from outbox_events"), eq(Long.class)))
+                .thenReturn(5L);
+        outboxHolds(0L, change(1, 1L));
+        outboxHolds(5L, change(6, 1L));
+
+        // Act
+        relay.relayOnce();
+
+        // Assert
+        assertEquals(List.of(6L), subscriber.take(1));
+    }
+
+    @Test
+    void relayOnce_Sweep_DeletesTheRowsPastTheRetentionInBatches() throws InterruptedException {
+        // Arrange
+        OutboxRelay relay = relay("0s");
+        when(jdbcTemplate.update(startsWith("delete from outbox_events"), any(), eq(2))).thenReturn(2, 1);
+
+        // Act
+        relay.relayOnce();
+
+        // Assert
+        ArgumentCaptor<Object> before = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, times(2)).update(startsWith("delete from outbox_events"), before.capture(), eq(2));
+        LocalDateTime cutOff = (LocalDateTime) before.getValue();
+        assertTrue(cutOff.isBefore(LocalDateTime.now().minusHours(23)));
+        assertTrue(cutOff.isAfter(LocalDateTime.now().minusHours(25)));
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void record_WritesTheChangeToTheOutbox() {
+        // Arrange
+        OutboxRelay relay = relay("1h");
+        Outbox outbox = new Outbox(outboxEventRepository, relay);
+
+        // Act
+        outbox.record(Entity.CASE, Action.DELETED, 5L, 5L, null, null);
+
+        // Assert
+        ArgumentCaptor<OutboxEvent> saved = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(saved.capture());
+        assertEquals(Entity.CASE, saved.getValue().getAggregateType());
+        assertEquals(5L, saved.getValue().getAggregateId());
+        assertEquals(Action.DELETED, saved.getValue().getAction());
+        assertNotNull(saved.getValue().getCreatedAt());
+    }
+}
@@ -0,0 +1,39 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.PooledIdGenerator;
+import org.hibernate.MappingException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledIdGeneratorTest {
+
+    @Test
+    void blockSize_TableSetting_OverridesDefault() {
+        // Arrange
+        Map<String, Object> settings = Map.of(
+                "legalcase.id.block-size.default", "50",
+                "legalcase.id.block-size.hearings", 200);
+
+        // Act & Assert
+        assertEquals(200, PooledIdGenerator.blockSize(settings, "hearings"));
+        assertEquals(50, PooledIdGenerator.blockSize(settings, "cases"));
+    }
+
+    @Test
+    void blockSize_NotConfigured_ReturnsBuiltInDefault() {
+        // Act & Assert
+        assertEquals(PooledIdGenerator.DEFAULT_BLOCK_SIZE, PooledIdGenerator.blockSize(Map.of(), "users"));
+    }
+
+    @Test
+    void blockSize_LessThanOne_Throws() {
+        // Arrange
+        Map<String, Object> settings = Map.of("legalcase.id.block-size.documents", " 0 ");
+
+        // Act & Assert
+        assertThrows(MappingException.class, () -> PooledIdGenerator.blockSize(settings, "documents"));
+    }
+}
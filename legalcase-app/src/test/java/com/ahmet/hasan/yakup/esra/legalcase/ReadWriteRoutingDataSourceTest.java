@@ -0,0 +1,227 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.config.ReadWriteRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replica1Connection;
+
+    @Mock
+    private Connection replica2Connection;
+
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        routing = new ReadWriteRoutingDataSource(primary, replicas(), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadWriteRoutingDataSource.clearWrites();
+    }
+
+    private Map<String, DataSource> replicas() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        return replicas;
+    }
+
+    private static void inTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    @Test
+    void getConnection_ReadOnlyTransaction_AlternatesReplicas() throws SQLException {
+        // Arrange
+        inTransaction(true);
+
+        // Act & Assert
+        assertSame(replica1Connection, routing.getConnection());
+        assertSame(replica2Connection, routing.getConnection());
+        assertSame(replica1Connection, routing.getConnection());
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_ReadWriteTransaction_UsesPrimary() throws SQLException {
+        // Arrange
+        inTransaction(false);
+
+        // Act & Assert
+        assertSame(primaryConnection, routing.getConnection());
+        verify(replica1, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_NoTransaction_UsesPrimary() throws SQLException {
+        // Act & Assert
+        assertSame(primaryConnection, routing.getConnection());
+        verify(replica1, never()).getConnection();
+        verify(replica2, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_FailingReplica_FailsOverAndLeavesRotation() throws SQLException {
+        // Arrange
+        when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+        inTransaction(true);
+
+        // Act
+        Connection first = routing.getConnection();
+        Connection second = routing.getConnection();
+
+        // Assert
+        assertSame(replica2Connection, first);
+        assertSame(replica2Connection, second);
+        verify(replica1, times(1)).getConnection();
+        assertEquals(Map.of("replica-1", false, "replica-2", true), routing.replicaStatus());
+    }
+
+    @Test
+    void getConnection_NoHealthyReplica_FallsBackToPrimary() throws SQLException {
+        // Arrange
+        when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(replica2.getConnection()).thenThrow(new SQLException("Connection refused"));
+        inTransaction(true);
+
+        // Act & Assert
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void checkReplicas_ValidReplica_ReturnsToRotation() throws SQLException {
+        // Arrange
+        when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"))
+                .thenReturn(replica1Connection);
+        when(replica1Connection.isValid(anyInt())).thenReturn(true);
+        when(replica2Connection.isValid(anyInt())).thenReturn(true);
+        inTransaction(true);
+        routing.getConnection();
+        assertFalse(routing.replicaStatus().get("replica-1"));
+
+        // Act
+        routing.checkReplicas();
+
+        // Assert
+        assertTrue(routing.replicaStatus().get("replica-1"));
+        verify(replica1Connection).close();
+    }
+
+    @Test
+    void checkReplicas_InvalidConnection_TakesReplicaOutOfRotation() throws SQLException {
+        // Arrange
+        when(replica1Connection.isValid(anyInt())).thenReturn(false);
+        when(replica2Connection.isValid(anyInt())).thenReturn(true);
+
+        // Act
+        routing.checkReplicas();
+        inTransaction(true);
+
+        // Assert
+        assertSame(replica2Connection, routing.getConnection());
+        assertSame(replica2Connection, routing.getConnection());
+    }
+
+    @Test
+    void getConnection_ReadAfterWrite_StaysOnPrimaryUntilCleared() throws SQLException {
+        // Arrange
+        inTransaction(false);
+        routing.getConnection();
+
+        // Act
+        inTransaction(true);
+        Connection readAfterWrite = routing.getConnection();
+        ReadWriteRoutingDataSource.clearWrites();
+        Connection nextRequestRead = routing.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, readAfterWrite);
+        assertSame(replica1Connection, nextRequestRead);
+    }
+
+    @Test
+    void getConnection_ReadYourWritesDisabled_ReadsFromReplicaAfterWrite() throws SQLException {
+        // Arrange
+        routing = new ReadWriteRoutingDataSource(primary, replicas(), false);
+        inTransaction(false);
+        routing.getConnection();
+
+        // Act
+        inTransaction(true);
+
+        // Assert
+        assertSame(replica1Connection, routing.getConnection());
+    }
+
+    @Test
+    void close_ClosesReplicaPools() throws Exception {
+        // Arrange
+        AutoCloseablePool pool = mock(AutoCloseablePool.class);
+        routing = new ReadWriteRoutingDataSource(primary, Map.of("replica-1", pool), true);
+
+        // Act
+        routing.close();
+
+        // Assert
+        verify(pool).close();
+    }
+
+    @Test
+    void close_FailingPool_ClosesTheOthersAndThrowsSQLException() throws Exception {
+        // Arrange
+        AutoCloseablePool failing = mock(AutoCloseablePool.class);
+        AutoCloseablePool pool = mock(AutoCloseablePool.class);
+        doThrow(new IllegalStateException("pool busy")).when(failing).close();
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        pools.put("replica-1", failing);
+        pools.put("replica-2", pool);
+        routing = new ReadWriteRoutingDataSource(primary, pools, true);
+
+        // Act
+        SQLException thrown = assertThrows(SQLException.class, () -> routing.close());
+
+        // Assert
+        verify(pool).close();
+        assertEquals("pool busy", thrown.getSuppressed()[0].getMessage());
+    }
+
+    private interface AutoCloseablePool extends DataSource, AutoCloseable {
+    }
+}
@@ -0,0 +1,222 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.Case;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Client;
+import com.ahmet.hasan.yakup.esra.legalcase.model.Hearing;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceVersionTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123_456_000);
+
+    private static Case caseWith(long id, LocalDateTime updatedAt) {
+        Case caseEntity = new Case();
+        caseEntity.setId(id);
+        caseEntity.setUpdatedAt(updatedAt);
+        return caseEntity;
+    }
+
+    private static Client clientWith(long id, LocalDateTime updatedAt) {
+        Client client = new Client();
+        client.setId(id);
+        client.setUpdatedAt(updatedAt);
+        return client;
+    }
+
+    private static HttpHeaders ifMatch(String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch(etag);
+        return headers;
+    }
+
+    private static HttpHeaders ifNoneMatch(String... etags) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(List.of(etags));
+        return headers;
+    }
+
+    @Test
+    void singleRow_StrongEtagOfTheVersionAndLastModified() {
+        // Arrange
+        Case caseEntity = caseWith(1L, UPDATED);
+        caseEntity.setVersion(4);
+        ResourceVersion version = ResourceVersion.of(caseEntity);
+
+        // Assert
+        assertEquals("\"4\"", version.getEtag());
+        caseEntity.setVersion(5);
+        assertNotEquals(version.getEtag(), ResourceVersion.of(caseEntity).getEtag());
+        assertEquals(UPDATED.atZone(ZoneId.systemDefault()).toInstant(), version.getLastModified());
+    }
+
+    @Test
+    void embeddedRow_SubMicrosecondDifferenceIsIgnored() {
+        // The column keeps microseconds: a row read back must match the one just written
+        Hearing hearing = new Hearing();
+        hearing.setId(5L);
+        assertEquals(ResourceVersion.of(hearing, caseWith(1L, UPDATED)).getEtag(),
+                ResourceVersion.of(hearing, caseWith(1L, UPDATED.plusNanos(999))).getEtag());
+    }
+
+    @Test
+    void embeddedRow_ChangesTheEtagAndMovesLastModified() {
+        // Arrange
+        Hearing hearing = new Hearing();
+        hearing.setId(5L);
+        hearing.setUpdatedAt(UPDATED);
+        Case later = caseWith(1L, UPDATED.plusHours(1));
+
+        // Act
+        ResourceVersion version = ResourceVersion.of(hearing, later);
+
+        // Assert
+        assertTrue(version.getEtag().startsWith("\"0."));
+        assertNotEquals(version.getEtag(), ResourceVersion.of(hearing, caseWith(1L, UPDATED)).getEtag());
+        assertEquals(later.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant(), version.getLastModified());
+    }
+
+    @Test
+    void embeddedCollection_EtagFollowsMembershipWithoutLastModified() {
+        // Arrange
+        Case caseEntity = caseWith(1L, UPDATED);
+        caseEntity.getClients().add(clientWith(7L, UPDATED));
+        caseEntity.getClients().add(clientWith(3L, UPDATED));
+        Case reordered = caseWith(1L, UPDATED);
+        reordered.getClients().add(clientWith(3L, UPDATED));
+        reordered.getClients().add(clientWith(7L, UPDATED));
+        Case removed = caseWith(1L, UPDATED);
+        removed.getClients().add(clientWith(3L, UPDATED));
+
+        // Act
+        ResourceVersion version = ResourceVersion.of(caseEntity, caseEntity.getClients());
+
+        // Assert
+        assertEquals(version.getEtag(), ResourceVersion.of(reordered, reordered.getClients()).getEtag());
+        assertNotEquals(version.getEtag(), ResourceVersion.of(removed, removed.getClients()).getEtag());
+        assertNull(version.getLastModified());
+        assertNull(version.headers().getFirst(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void page_ChangesWhenARowOrItsCaseChangesOrLeaves() {
+        // Arrange
+        List<RowStamp> page = List.of(new RowStamp(1L, UPDATED, UPDATED), new RowStamp(2L, UPDATED, UPDATED));
+        String etag = ResourceVersion.ofPage(page).getEtag();
+
+        // Assert
+        assertTrue(etag.startsWith("W/\""));
+        assertEquals(etag, ResourceVersion.ofPage(List.copyOf(page)).getEtag());
+        assertNotEquals(etag, ResourceVersion.ofPage(List.of(new RowStamp(1L, UPDATED, UPDATED),
+                new RowStamp(2L, UPDATED, UPDATED.plusSeconds(1)))).getEtag());
+        assertNotEquals(etag, ResourceVersion.ofPage(List.of(new RowStamp(1L, UPDATED, UPDATED))).getEtag());
+        assertNotEquals(etag, ResourceVersion.ofPage(List.of(new RowStamp(1L, UPDATED, UPDATED),
+                new RowStamp(3L, UPDATED, UPDATED))).getEtag());
+        assertNull(ResourceVersion.ofPage(page).getLastModified());
+    }
+
+    @Test
+    void isNotModified_IfNoneMatchComparesWeaklyAndTakesPrecedence() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.of(caseWith(1L, UPDATED));
+        String weak = "W/" + version.getEtag();
+
+        // Assert
+        assertTrue(version.isNotModified(ifNoneMatch("\"other\"", version.getEtag())));
+        assertTrue(version.isNotModified(ifNoneMatch(weak)));
+        assertTrue(version.isNotModified(ifNoneMatch("*")));
+        assertFalse(version.isNotModified(ifNoneMatch("\"other\"")));
+
+        // A stale ETag wins over a current date
+        HttpHeaders headers = ifNoneMatch("\"other\"");
+        headers.setIfModifiedSince(UPDATED.plusDays(1).atZone(ZoneId.systemDefault()).toInstant());
+        assertFalse(version.isNotModified(headers));
+    }
+
+    @Test
+    void isNotModified_IfModifiedSinceAtSecondPrecision() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.of(caseWith(1L, UPDATED));
+        HttpHeaders sameSecond = new HttpHeaders();
+        sameSecond.setIfModifiedSince(UPDATED.withNano(0).atZone(ZoneId.systemDefault()).toInstant());
+        HttpHeaders earlier = new HttpHeaders();
+        earlier.setIfModifiedSince(UPDATED.minusSeconds(1).atZone(ZoneId.systemDefault()).toInstant());
+
+        // Assert
+        assertTrue(version.isNotModified(sameSecond));
+        assertFalse(version.isNotModified(earlier));
+        assertFalse(version.isNotModified(new HttpHeaders()));
+        // Without Last-Modified a date alone never matches
+        assertFalse(ResourceVersion.ofPage(List.of()).isNotModified(sameSecond));
+    }
+
+    @Test
+    void isNotModified_MalformedConditionsAreIgnored() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.of(caseWith(1L, UPDATED));
+        HttpHeaders badEtag = new HttpHeaders();
+        badEtag.add(HttpHeaders.IF_NONE_MATCH, "not-quoted");
+        HttpHeaders badDate = new HttpHeaders();
+        badDate.add(HttpHeaders.IF_MODIFIED_SINCE, "yesterday");
+
+        // Assert
+        assertFalse(version.isNotModified(badEtag));
+        assertFalse(version.isNotModified(badDate));
+    }
+
+    @Test
+    void respond_304WithValidatorsAndNoBody() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.of(caseWith(1L, UPDATED));
+
+        // Act
+        ResponseEntity<String> notModified = version.respond(ifNoneMatch(version.getEtag()), "body");
+        ResponseEntity<String> ok = version.respond(new HttpHeaders(), "body");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertNull(notModified.getBody());
+        assertEquals(version.getEtag(), notModified.getHeaders().getETag());
+        assertEquals(HttpStatus.OK, ok.getStatusCode());
+        assertEquals("body", ok.getBody());
+        assertEquals(version.getEtag(), ok.getHeaders().getETag());
+        assertEquals("no-cache, private", ok.getHeaders().getCacheControl());
+        assertTrue(ok.getHeaders().getLastModified() > 0);
+    }
+
+    @Test
+    void expectedVersion_ReadsTheVersionOfAStrongIfMatch() {
+        // Arrange
+        Case caseEntity = caseWith(1L, UPDATED);
+        caseEntity.setVersion(7);
+        caseEntity.getClients().add(clientWith(3L, UPDATED));
+
+        // Assert
+        assertEquals(7L, ResourceVersion.expectedVersion(ifMatch(ResourceVersion.of(caseEntity).getEtag())));
+        assertEquals(7L, ResourceVersion.expectedVersion(
+                ifMatch(ResourceVersion.of(caseEntity, caseEntity.getClients()).getEtag())));
+        // Without a condition, or with *, the update is unconditional
+        assertNull(ResourceVersion.expectedVersion(new HttpHeaders()));
+        assertNull(ResourceVersion.expectedVersion(ifMatch("*")));
+    }
+
+    @Test
+    void expectedVersion_WeakOrMalformedIfMatchNeverMatches() {
+        // Assert
+        assertEquals(ResourceVersion.NO_MATCH, ResourceVersion.expectedVersion(ifMatch("W/\"7\"")));
+        assertEquals(ResourceVersion.NO_MATCH, ResourceVersion.expectedVersion(ifMatch("\"abc\"")));
+        HttpHeaders unquoted = new HttpHeaders();
+        unquoted.add(HttpHeaders.IF_MATCH, "7");
+        assertEquals(ResourceVersion.NO_MATCH, ResourceVersion.expectedVersion(unquoted));
+    }
+}
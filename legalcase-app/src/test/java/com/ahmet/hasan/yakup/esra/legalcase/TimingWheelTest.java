@@ -0,0 +1,124 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.utils.TimingWheel;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.TimingWheel.Timer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    // Not on a bucket boundary of any level
+    private static final long START = 123_456_789L;
+
+    @Test
+    void advance_FiresATimerOnItsTickAndNotBefore() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(START);
+        wheel.schedule(START + 10, "ten");
+        wheel.schedule(START + 5_000, "five thousand");
+
+        // Assert
+        assertTrue(wheel.advance(START + 9).isEmpty());
+        assertEquals(List.of("ten"), wheel.advance(START + 10));
+        assertTrue(wheel.advance(START + 4_999).isEmpty());
+        assertEquals(List.of("five thousand"), wheel.advance(START + 6_000));
+        assertEquals(0, wheel.size());
+        assertEquals(START + 6_000, wheel.now());
+    }
+
+    @Test
+    void schedule_PassedDeadlineFiresOnTheNextTick() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(START);
+        wheel.schedule(START - 100, "late");
+        wheel.schedule(START, "now");
+
+        // Assert
+        assertEquals(List.of("late", "now"), wheel.advance(START + 1));
+    }
+
+    @Test
+    void cancel_TakesTheTimerOutOnce() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(START);
+        Timer<String> timer = wheel.schedule(START + 100_000, "cancelled");
+        wheel.schedule(START + 100_000, "kept");
+
+        // Act
+        assertTrue(wheel.cancel(timer));
+        assertFalse(wheel.cancel(timer));
+
+        // Assert
+        assertFalse(timer.isPending());
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("kept"), wheel.advance(START + 100_000));
+    }
+
+    @Test
+    void advance_MatchesABruteForceScanThroughSchedulingAndCancelling() {
+        // Arrange
+        Random random = new Random(42);
+        TimingWheel<Long> wheel = new TimingWheel<>(START);
+        Map<Long, Timer<Long>> pending = new HashMap<>();
+        long next = 0;
+
+        for (int step = 0; step < 2000; step++) {
+            // Act: deadlines from a few ticks to beyond the third level
+            for (int i = random.nextInt(20); i > 0; i--) {
+                long deadline = wheel.now() + 1 + (long) (Math.pow(random.nextDouble(), 3) * 500_000);
+                pending.put(next, wheel.schedule(deadline, next));
+                next++;
+            }
+            if (!pending.isEmpty() && random.nextInt(3) == 0) {
+                Long cancelled = new ArrayList<>(pending.keySet()).get(random.nextInt(pending.size()));
+                assertTrue(wheel.cancel(pending.remove(cancelled)));
+            }
+            long to = wheel.now() + random.nextInt(2_000);
+            List<Long> expected = new ArrayList<>();
+            pending.forEach((value, timer) -> {
+                if (timer.deadline() <= to) {
+                    expected.add(value);
+                }
+            });
+
+            List<Long> fired = wheel.advance(to);
+
+            // Assert
+            fired.sort(null);
+            expected.sort(null);
+            assertEquals(expected, fired);
+            fired.forEach(pending::remove);
+            assertEquals(pending.size(), wheel.size());
+        }
+    }
+
+    @Test
+    void advance_AMillionTimersCostOnlyWhatFires() {
+        // Arrange: a million timers spread over a year of seconds
+        TimingWheel<Integer> wheel = new TimingWheel<>(START);
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000_000; i++) {
+            wheel.schedule(START + 1 + random.nextInt(365 * 24 * 3600), i);
+        }
+
+        // Act: an hour, tick by tick
+        long started = System.nanoTime();
+        int fired = 0;
+        for (long tick = START + 1; tick <= START + 3600; tick++) {
+            fired += wheel.advance(tick).size();
+        }
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        // Assert: about 114 timers fire in an hour
+        assertTrue(fired > 50 && fired < 250, "fired " + fired);
+        assertEquals(1_000_000 - fired, wheel.size());
+        assertTrue(millis < 2_000, "took " + millis + " ms");
+    }
+}
@@ -0,0 +1,164 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.SearchableText;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.CaseRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.ClientRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.UserRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.TrigramSearchIndex;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex.Field;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TrigramSearchIndexTest {
+
+    @Mock
+    private CaseRepository caseRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private HearingRepository hearingRepository;
+
+    private TrigramSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        index = new TrigramSearchIndex(caseRepository, clientRepository, userRepository, hearingRepository);
+    }
+
+    @Test
+    void search_MatchesSubstringAcrossTurkishFolding() {
+        // Arrange
+        index.index(Field.CASE_TITLE, 1L, "Kira Sözleşmesi İhlali");
+        index.index(Field.CASE_TITLE, 2L, "Boşanma Davası");
+        index.index(Field.CASE_TITLE, 3L, "Tapu İptali");
+
+        // Assert
+        assertEquals(List.of(1L), index.search(Field.CASE_TITLE, "SOZLES", 0L, 10));
+        assertEquals(List.of(1L, 3L), index.search(Field.CASE_TITLE, "ALİ", 0L, 10));
+        assertEquals(List.of(2L), index.search(Field.CASE_TITLE, "şanma dav", 0L, 10));
+        assertTrue(index.search(Field.CASE_TITLE, "kira davasi", 0L, 10).isEmpty());
+    }
+
+    @Test
+    void search_GramsPresentButNotAdjacent_IsNotAMatch() {
+        // Arrange: "abcd" and "xbcde" hold every gram of "abcde" between them, but not the term
+        index.index(Field.CLIENT_NAME, 1L, "abcd", "xbcde");
+
+        // Assert
+        assertTrue(index.search(Field.CLIENT_NAME, "abcde", 0L, 10).isEmpty());
+        assertEquals(List.of(1L), index.search(Field.CLIENT_NAME, "bcde", 0L, 10));
+    }
+
+    @Test
+    void search_ShortTerm_ScansStoredValues() {
+        // Arrange
+        index.index(Field.USER_NAME, 1L, "Ayşe", "Yılmaz");
+        index.index(Field.USER_NAME, 2L, "Mehmet", "Demir");
+        index.index(Field.USER_NAME, 3L, "Ali", "Şahin");
+
+        // Assert
+        assertEquals(List.of(1L, 3L), index.search(Field.USER_NAME, "a", 0L, 10));
+        assertEquals(List.of(1L), index.search(Field.USER_NAME, "YI", 0L, 10));
+        assertEquals(List.of(3L), index.search(Field.USER_NAME, "sa", 0L, 10));
+        assertEquals(List.of(1L, 2L, 3L), index.search(Field.USER_NAME, "", 0L, 10));
+    }
+
+    @Test
+    void search_PagesAfterIdInAscendingOrder() {
+        // Arrange
+        for (long id = 10; id >= 1; id--) {
+            index.index(Field.HEARING_JUDGE, id, "Hakim " + id);
+        }
+
+        // Act
+        List<Long> first = index.search(Field.HEARING_JUDGE, "hakim", 0L, 4);
+        List<Long> second = index.search(Field.HEARING_JUDGE, "hakim", first.get(first.size() - 1), 4);
+        List<Long> last = index.search(Field.HEARING_JUDGE, "hakim", 8L, 4);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 4L), first);
+        assertEquals(List.of(5L, 6L, 7L, 8L), second);
+        assertEquals(List.of(9L, 10L), last);
+    }
+
+    @Test
+    void index_ReplacesPreviousValues() {
+        // Arrange
+        index.index(Field.CASE_TITLE, 1L, "İcra Takibi");
+
+        // Act
+        index.index(Field.CASE_TITLE, 1L, "Tazminat Davası");
+
+        // Assert
+        assertTrue(index.search(Field.CASE_TITLE, "takib", 0L, 10).isEmpty());
+        assertEquals(List.of(1L), index.search(Field.CASE_TITLE, "tazminat", 0L, 10));
+    }
+
+    @Test
+    void remove_DropsEntityAndIgnoresUnknownIds() {
+        // Arrange
+        index.index(Field.CLIENT_NAME, 1L, "Ahmet", "Kaya");
+        index.index(Field.CLIENT_NAME, 2L, "Ahmet", "Çelik");
+
+        // Act
+        index.remove(Field.CLIENT_NAME, 1L);
+        index.remove(Field.CLIENT_NAME, 99L);
+
+        // Assert
+        assertEquals(List.of(2L), index.search(Field.CLIENT_NAME, "ahmet", 0L, 10));
+        assertEquals(List.of(2L), index.search(Field.CLIENT_NAME, "ah", 0L, 10));
+    }
+
+    @Test
+    void fields_AreIndependent() {
+        // Arrange
+        index.index(Field.CLIENT_NAME, 1L, "Yıldız");
+
+        // Assert
+        assertTrue(index.search(Field.USER_NAME, "yildiz", 0L, 10).isEmpty());
+        assertEquals(List.of(1L), index.search(Field.CLIENT_NAME, "yildiz", 0L, 10));
+    }
+
+    @Test
+    void rebuild_PagesThroughRepositoryAndKeepsNewerEntries() {
+        // Arrange
+        List<SearchableText> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            firstPage.add(new SearchableText(id, "Müvekkil", "No " + id));
+        }
+        when(clientRepository.findNameTextAfter(0L, Limit.of(1000))).thenReturn(firstPage);
+        when(clientRepository.findNameTextAfter(1000L, Limit.of(1000)))
+                .thenReturn(List.of(new SearchableText(1001L, "Eski", "Ad")));
+        // Written by a request while the rebuild was running
+        index.index(Field.CLIENT_NAME, 1001L, "Yeni", "Ad");
+        assertFalse(index.isReady(Field.CLIENT_NAME));
+
+        // Act
+        int added = index.rebuild(Field.CLIENT_NAME);
+
+        // Assert
+        assertEquals(1000, added);
+        assertTrue(index.isReady(Field.CLIENT_NAME));
+        assertFalse(index.isReady(Field.CASE_TITLE));
+        assertEquals(List.of(1001L), index.search(Field.CLIENT_NAME, "yeni", 0L, 10));
+        assertTrue(index.search(Field.CLIENT_NAME, "eski", 0L, 10).isEmpty());
+        assertEquals(List.of(1L, 2L), index.search(Field.CLIENT_NAME, "muvekkil", 0L, 2));
+        verify(clientRepository, times(2)).findNameTextAfter(anyLong(), any());
+    }
+}
@@ -0,0 +1,177 @@
+package com.ahmet.hasan.yakup.esra.legalcase;
+
+import com.ahmet.hasan.yakup.esra.legalcase.model.enums.HearingStatus;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.HearingDate;
+import com.ahmet.hasan.yakup.esra.legalcase.repository.HearingRepository;
+import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.UpcomingHearingIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UpcomingHearingIndexTest {
+
+    private static final Comparator<HearingDate> BY_DATE =
+            Comparator.comparing(HearingDate::date).thenComparingLong(HearingDate::id);
+
+    @Mock
+    private HearingRepository hearingRepository;
+
+    private UpcomingHearingIndex index;
+
+    private LocalDateTime now;
+
+    // The ids on the page after the given date and id
+    private List<Long> ids(LocalDateTime afterDate, long afterId, LocalDateTime at) {
+        return index.page(afterDate, afterId, 10, at).stream().map(HearingDate::id).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        index = new UpcomingHearingIndex(hearingRepository);
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    void page_CutsPagesInOrderOfDateThenIdAfterTheCursor() {
+        // Arrange
+        index.index(5L, now.plusDays(1), HearingStatus.SCHEDULED);
+        index.index(2L, now.plusDays(9), HearingStatus.POSTPONED);
+        index.index(9L, now.plusHours(1), HearingStatus.COMPLETED);
+        index.index(7L, now.plusDays(1), HearingStatus.SCHEDULED);
+
+        // Assert
+        assertEquals(List.of(new HearingDate(9L, now.plusHours(1)), new HearingDate(5L, now.plusDays(1))),
+                index.page(now, Long.MAX_VALUE, 2, now));
+        assertEquals(List.of(new HearingDate(7L, now.plusDays(1)), new HearingDate(2L, now.plusDays(9))),
+                index.page(now.plusDays(1), 5L, 2, now));
+        assertTrue(index.page(now.plusDays(9), 2L, 2, now).isEmpty());
+    }
+
+    @Test
+    void index_CancelledOrPastHearingsAreTakenOut() {
+        // Arrange
+        index.index(1L, now.plusDays(1), HearingStatus.SCHEDULED);
+        index.index(2L, now.plusDays(2), HearingStatus.SCHEDULED);
+        index.index(3L, now.minusDays(1), HearingStatus.SCHEDULED);
+
+        // Act
+        index.index(1L, now.plusDays(1), HearingStatus.CANCELLED);
+        index.index(2L, now.minusHours(1), HearingStatus.SCHEDULED);
+
+        // Assert
+        assertTrue(ids(now, Long.MAX_VALUE, now).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void page_RollsForwardAsTimePasses() {
+        // Arrange
+        index.index(1L, now.plusHours(1), HearingStatus.SCHEDULED);
+        index.index(2L, now.plusHours(3), HearingStatus.SCHEDULED);
+        index.index(3L, now.plusHours(2), HearingStatus.SCHEDULED);
+
+        // Assert: a hearing is upcoming until its start, and gone from the index after it
+        assertEquals(List.of(1L, 3L, 2L), ids(now, Long.MAX_VALUE, now));
+        assertEquals(List.of(3L, 2L), ids(now, Long.MAX_VALUE, now.plusHours(1)));
+        assertEquals(2, index.size());
+        assertEquals(List.of(2L), ids(now, Long.MAX_VALUE, now.plusHours(2).plusMinutes(30)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void index_RescheduleMovesTheHearingAndRemoveTakesItOut() {
+        // Arrange
+        index.index(1L, now.plusHours(1), HearingStatus.SCHEDULED);
+
+        // Act: moved later, so it must not pass with its old date
+        index.index(1L, now.plusDays(1), HearingStatus.SCHEDULED);
+
+        // Assert
+        assertEquals(List.of(1L), ids(now, Long.MAX_VALUE, now.plusHours(2)));
+
+        index.remove(1L);
+        index.remove(1L);
+        assertTrue(ids(now, Long.MAX_VALUE, now).isEmpty());
+    }
+
+    @Test
+    void page_MatchesABruteForceScanThroughChangesAndTime() {
+        // Arrange
+        Random random = new Random(42);
+        Map<Long, LocalDateTime> dates = new HashMap<>();
+        LocalDateTime clock = now;
+        for (int step = 0; step < 5000; step++) {
+            long id = 1 + random.nextInt(500);
+            int change = random.nextInt(5);
+            if (change == 0) {
+                index.remove(id);
+                dates.remove(id);
+            } else if (change == 1) {
+                index.index(id, now.plusMinutes(random.nextInt(100_000)), HearingStatus.CANCELLED);
+                dates.remove(id);
+            } else {
+                LocalDateTime date = now.plusMinutes(1 + random.nextInt(100_000));
+                index.index(id, date, HearingStatus.SCHEDULED);
+                dates.put(id, date);
+            }
+
+            // Assert
+            if (step % 50 == 0) {
+                clock = clock.plusMinutes(random.nextInt(1000));
+                LocalDateTime at = clock;
+                // Mostly the date of an indexed hearing, as a cursor from an earlier page is
+                LocalDateTime afterDate = dates.isEmpty() || random.nextInt(4) == 0
+                        ? now.plusMinutes(random.nextInt(100_000))
+                        : new ArrayList<>(dates.values()).get(random.nextInt(dates.size()));
+                long afterId = random.nextInt(500);
+                int limit = 1 + random.nextInt(60);
+                HearingDate cursor = new HearingDate(afterId, afterDate);
+                List<HearingDate> expected = dates.entrySet().stream()
+                        .map(entry -> new HearingDate(entry.getKey(), entry.getValue()))
+                        .filter(hearing -> BY_DATE.compare(hearing, cursor) > 0 && hearing.date().isAfter(at))
+                        .sorted(BY_DATE).limit(limit).toList();
+                assertEquals(expected, index.page(afterDate, afterId, limit, at));
+            }
+        }
+    }
+
+    @Test
+    void rebuild_PagesThroughUpcomingHearingsAndKeepsNewerEntries() {
+        // Arrange
+        List<HearingDate> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            firstPage.add(new HearingDate(id, now.plusDays(id)));
+        }
+        when(hearingRepository.findUpcomingDatesAfter(any(), eq(HearingStatus.CANCELLED), eq(0L), eq(Limit.of(1000))))
+                .thenReturn(firstPage);
+        when(hearingRepository.findUpcomingDatesAfter(any(), eq(HearingStatus.CANCELLED), eq(1000L), eq(Limit.of(1000))))
+                .thenReturn(List.of(new HearingDate(1001L, now.plusHours(1))));
+        // Rescheduled by a request while the rebuild was running
+        index.index(1001L, now.plusDays(5000), HearingStatus.SCHEDULED);
+        assertFalse(index.isReady());
+
+        // Act
+        int added = index.rebuild();
+
+        // Assert
+        assertEquals(1000, added);
+        assertTrue(index.isReady());
+        assertEquals(1001, index.size());
+        assertEquals(List.of(1001L), ids(now.plusDays(1000), 1000L, now.plusHours(2)));
+        verify(hearingRepository, times(2)).findUpcomingDatesAfter(any(), eq(HearingStatus.CANCELLED), anyLong(), any());
+    }
+}
@@ -5,11 +5,15 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -21,14 +25,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import com.ahmet.hasan.yakup.esra.legalcase.api.UserController;
 import com.ahmet.hasan.yakup.esra.legalcase.model.User;
 import com.ahmet.hasan.yakup.esra.legalcase.model.enums.UserRole;
+import com.ahmet.hasan.yakup.esra.legalcase.model.projection.RowStamp;
 import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.IUserService;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
+import com.ahmet.hasan.yakup.esra.legalcase.utils.ResourceVersion;
 
 /**
  * Test for UserController using Mockito
@@ -112,10 +119,10 @@ public class UserControllerTest {
     @Test
     public void testGetAllUsers() {
         // Arrange
-        when(userService.getAllUsers()).thenReturn(listSuccessResponse);
+        when(userService.getAllUsers(null, null)).thenReturn(listSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<User>>> response = userController.getAllUsers();
+        ResponseEntity<ApiResponse<List<User>>> response = userController.getAllUsers(null, null, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -124,7 +131,75 @@ public class UserControllerTest {
         assertEquals(1, response.getBody().getData().size());
 
         // Verify service method was called
-        verify(userService).getAllUsers();
+        verify(userService).getAllUsers(null, null);
+    }
+
+    @Test
+    public void testGetUserById_NotModified() {
+        // Arrange
+        when(userService.getUserById(anyLong())).thenReturn(userSuccessResponse);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(ResourceVersion.of(testUser).getEtag());
+
+        // Act
+        ResponseEntity<ApiResponse<User>> response = userController.getUserById(1L, headers);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(headers.getIfNoneMatch().get(0), response.getHeaders().getETag());
+    }
+
+    @Test
+    public void testGetUserById_CarriesValidators() {
+        // Arrange
+        when(userService.getUserById(anyLong())).thenReturn(userSuccessResponse);
+
+        // Act
+        ResponseEntity<ApiResponse<User>> response = userController.getUserById(1L, new HttpHeaders());
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ResourceVersion.of(testUser).getEtag(), response.getHeaders().getETag());
+        assertEquals(ResourceVersion.of(testUser).getLastModified().toEpochMilli() / 1000,
+                response.getHeaders().getLastModified() / 1000);
+    }
+
+    @Test
+    public void testGetAllUsers_NotModified() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.ofPage(List.of(new RowStamp(1L, LocalDateTime.now())));
+        when(userService.getUserPageVersion(null, null)).thenReturn(version);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(version.getEtag());
+
+        // Act
+        ResponseEntity<ApiResponse<List<User>>> response = userController.getAllUsers(null, null, headers);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+
+        // The page itself is never loaded
+        verify(userService, never()).getAllUsers(null, null);
+    }
+
+    @Test
+    public void testGetAllUsers_CarriesETag() {
+        // Arrange
+        ResourceVersion version = ResourceVersion.ofPage(List.of(new RowStamp(1L, LocalDateTime.now())));
+        when(userService.getUserPageVersion(null, null)).thenReturn(version);
+        when(userService.getAllUsers(null, null)).thenReturn(listSuccessResponse);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("W/\"stale\"");
+
+        // Act
+        ResponseEntity<ApiResponse<List<User>>> response = userController.getAllUsers(null, null, headers);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(version.getEtag(), response.getHeaders().getETag());
+        assertEquals(-1, response.getHeaders().getLastModified());
     }
 
     @Test
@@ -133,7 +208,7 @@ public class UserControllerTest {
         when(userService.getUserById(anyLong())).thenReturn(userSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<User>> response = userController.getUserById(1L);
+        ResponseEntity<ApiResponse<User>> response = userController.getUserById(1L, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -151,7 +226,7 @@ public class UserControllerTest {
                 ApiResponse.error("User not found", HttpStatus.NOT_FOUND.value()));
 
         // Act
-        ResponseEntity<ApiResponse<User>> response = userController.getUserById(1L);
+        ResponseEntity<ApiResponse<User>> response = userController.getUserById(1L, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -216,10 +291,10 @@ public class UserControllerTest {
     @Test
     public void testGetUsersByRole() {
         // Arrange
-        when(userService.getUsersByRole(any(UserRole.class))).thenReturn(listSuccessResponse);
+        when(userService.getUsersByRole(any(UserRole.class), isNull(), isNull())).thenReturn(listSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<User>>> response = userController.getUsersByRole(UserRole.LAWYER);
+        ResponseEntity<ApiResponse<List<User>>> response = userController.getUsersByRole(UserRole.LAWYER, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -227,16 +302,16 @@ public class UserControllerTest {
         assertEquals(testUserList, response.getBody().getData());
 
         // Verify service method was called
-        verify(userService).getUsersByRole(UserRole.LAWYER);
+        verify(userService).getUsersByRole(UserRole.LAWYER, null, null);
     }
 
     @Test
     public void testSearchUsers() {
         // Arrange
-        when(userService.searchUsers(anyString())).thenReturn(listSuccessResponse);
+        when(userService.searchUsers(anyString(), isNull(), isNull())).thenReturn(listSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<List<User>>> response = userController.searchUsers("Test");
+        ResponseEntity<ApiResponse<List<User>>> response = userController.searchUsers("Test", null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -244,16 +319,16 @@ public class UserControllerTest {
         assertEquals(testUserList, response.getBody().getData());
 
         // Verify service method was called
-        verify(userService).searchUsers("Test");
+        verify(userService).searchUsers("Test", null, null);
     }
 
     @Test
     public void testUpdateUser_Success() {
         // Arrange
-        when(userService.updateUser(any(User.class))).thenReturn(userSuccessResponse);
+        when(userService.updateUser(any(User.class), isNull())).thenReturn(userSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<User>> response = userController.updateUser(1L, testUser);
+        ResponseEntity<ApiResponse<User>> response = userController.updateUser(1L, testUser, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -261,7 +336,7 @@ public class UserControllerTest {
         assertEquals(testUser, response.getBody().getData());
 
         // Verify service method was called
-        verify(userService).updateUser(testUser);
+        verify(userService).updateUser(testUser, null);
     }
 
     @Test
@@ -271,10 +346,10 @@ public class UserControllerTest {
         userWithoutId.setUsername("testuser");
         userWithoutId.setEmail("test@example.com");
 
-        when(userService.updateUser(any(User.class))).thenReturn(userSuccessResponse);
+        when(userService.updateUser(any(User.class), isNull())).thenReturn(userSuccessResponse);
 
         // Act
-        ResponseEntity<ApiResponse<User>> response = userController.updateUser(1L, userWithoutId);
+        ResponseEntity<ApiResponse<User>> response = userController.updateUser(1L, userWithoutId, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -282,7 +357,7 @@ public class UserControllerTest {
         assertEquals(1L, userWithoutId.getId());
 
         // Verify service method was called
-        verify(userService).updateUser(userWithoutId);
+        verify(userService).updateUser(userWithoutId, null);
     }
 
     @Test
@@ -293,7 +368,7 @@ public class UserControllerTest {
         userWithDifferentId.setUsername("testuser");
 
         // Act
-        ResponseEntity<ApiResponse<User>> response = userController.updateUser(1L, userWithDifferentId);
+        ResponseEntity<ApiResponse<User>> response = userController.updateUser(1L, userWithDifferentId, new HttpHeaders());
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -5,6 +5,7 @@ import com.ahmet.hasan.yakup.esra.legalcase.model.enums.UserRole;
 import com.ahmet.hasan.yakup.esra.legalcase.repository.UserRepository;
 import com.ahmet.hasan.yakup.esra.legalcase.utils.ApiResponse;
 import com.ahmet.hasan.yakup.esra.legalcase.service.concrete.UserService;
+import com.ahmet.hasan.yakup.esra.legalcase.service.virtual.ITrigramSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -26,6 +27,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ITrigramSearchIndex trigramIndex;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
@@ -34,7 +38,7 @@ class UserServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        userService = new UserService(userRepository, passwordEncoder);
+        userService = new UserService(userRepository, passwordEncoder, trigramIndex);
     }
 
     // Helper method to create a test user
@@ -656,7 +660,7 @@ class UserServiceTest {
         updatedUser.setName("Updated Name");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         ApiResponse<User> response = userService.updateUser(updatedUser);
@@ -666,7 +670,26 @@ class UserServiceTest {
         assertEquals("Updated Name", response.getData().getName());
         assertNull(response.getData().getPassword()); // Password should be cleared
         verify(userRepository).findById(1L);
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void updateUser_StaleExpectedVersion_ReturnsPreconditionFailed() {
+        // Arrange
+        User existingUser = createTestUser();
+        existingUser.setVersion(3);
+        User updatedUser = createTestUser();
+        updatedUser.setName("Updated Name");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
+
+        // Act
+        ApiResponse<User> response = userService.updateUser(updatedUser, 2L);
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals(HttpStatus.PRECONDITION_FAILED.value(), response.getErrorCode());
+        assertNotEquals("Updated Name", existingUser.getName());
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -683,7 +706,7 @@ class UserServiceTest {
         assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
         assertTrue(response.getErrorMessages().get(0).contains("Invalid user ID"));
         verify(userRepository, never()).findById(anyLong());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -700,7 +723,7 @@ class UserServiceTest {
         assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
         assertTrue(response.getErrorMessages().get(0).contains("Invalid user ID"));
         verify(userRepository, never()).findById(anyLong());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -717,7 +740,7 @@ class UserServiceTest {
         assertEquals(HttpStatus.NOT_FOUND.value(), response.getErrorCode());
         assertTrue(response.getErrorMessages().get(0).contains("User not found"));
         verify(userRepository).findById(1L);
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -745,7 +768,7 @@ class UserServiceTest {
         assertTrue(response.getErrorMessages().get(0).contains("Username is already in use by another user"));
         verify(userRepository).findById(1L);
         verify(userRepository).findByUsername("newusername");
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -773,7 +796,7 @@ class UserServiceTest {
         assertTrue(response.getErrorMessages().get(0).contains("Email is already in use by another user"));
         verify(userRepository).findById(1L);
         verify(userRepository).findByEmail("new@example.com");
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -783,7 +806,7 @@ class UserServiceTest {
         User updatedUser = createTestUser();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(any(User.class))).thenThrow(new RuntimeException("Database error"));
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new RuntimeException("Database error"));
 
         // Act
         ApiResponse<User> response = userService.updateUser(updatedUser);
@@ -793,7 +816,7 @@ class UserServiceTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getErrorCode());
         assertTrue(response.getErrorMessages().get(0).contains("Failed to update user"));
         verify(userRepository).findById(1L);
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
     }
 
     @Test